@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.classloader;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Loads every class of the Guava jar through a fresh filtering, URL, multi-parent and caching class loader hierarchy, from a number of threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class ParallelClassLoadingBenchmark {
+
+    @Param({"1", "4", "16", "32"})
+    int threads;
+
+    private final List<String> classNames = new ArrayList<String>();
+    private List<URL> classpath;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        URL jar = ImmutableList.class.getProtectionDomain().getCodeSource().getLocation();
+        classpath = Collections.singletonList(jar);
+        JarFile jarFile = new JarFile(new File(jar.toURI()));
+        try {
+            for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+                    classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        } finally {
+            jarFile.close();
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int loadClasses() throws Exception {
+        FilteringClassLoader systemClassLoader = new FilteringClassLoader(getClass().getClassLoader(), new FilteringClassLoader.Spec());
+        VisitableURLClassLoader urlClassLoader = new VisitableURLClassLoader(systemClassLoader, classpath);
+        final ClassLoader classLoader = new CachingClassLoader(new MultiParentClassLoader(urlClassLoader));
+        final AtomicInteger nextClass = new AtomicInteger();
+
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    int loaded = 0;
+                    for (int index = nextClass.getAndIncrement(); index < classNames.size(); index = nextClass.getAndIncrement()) {
+                        loaded += classLoader.loadClass(classNames.get(index)).getName().length();
+                    }
+                    return loaded;
+                }
+            }));
+        }
+        int loaded = 0;
+        for (Future<Integer> future : futures) {
+            loaded += future.get();
+        }
+        urlClassLoader.close();
+        return loaded;
+    }
+}
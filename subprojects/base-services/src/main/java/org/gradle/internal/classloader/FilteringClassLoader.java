@@ -44,6 +44,11 @@ public class FilteringClassLoader extends ClassLoader implements ClassLoaderHier
     private final Set<String> disallowedPackagePrefixes = new HashSet<String>();
 
     static {
+        try {
+            ClassLoader.registerAsParallelCapable();
+        } catch (NoSuchMethodError ignore) {
+            // Not supported on Java 6
+        }
         EXT_CLASS_LOADER = ClassLoaderUtils.getPlatformClassLoader();
         JavaMethod<ClassLoader, Package[]> method = JavaReflectionUtil.method(ClassLoader.class, Package[].class, "getPackages");
         Package[] systemPackages = method.invoke(EXT_CLASS_LOADER);
@@ -43,6 +43,14 @@ public class MultiParentClassLoader extends ClassLoader implements ClassLoaderHi
 
     private final List<ClassLoader> parents;
 
+    static {
+        try {
+            ClassLoader.registerAsParallelCapable();
+        } catch (NoSuchMethodError ignore) {
+            // Not supported on Java 6
+        }
+    }
+
     public MultiParentClassLoader(ClassLoader... parents) {
         this(Arrays.asList(parents));
     }
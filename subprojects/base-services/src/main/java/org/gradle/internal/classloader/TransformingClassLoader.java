@@ -30,6 +30,14 @@ import java.security.cert.Certificate;
 import java.util.Collection;
 
 public abstract class TransformingClassLoader extends VisitableURLClassLoader {
+    static {
+        try {
+            ClassLoader.registerAsParallelCapable();
+        } catch (NoSuchMethodError ignore) {
+            // Not supported on Java 6
+        }
+    }
+
     public TransformingClassLoader(ClassLoader parent, ClassPath classPath) {
         super(parent, classPath);
     }
@@ -70,7 +78,11 @@ public abstract class TransformingClassLoader extends VisitableURLClassLoader {
         String packageName = StringUtils.substringBeforeLast(name, ".");
         Package p = getPackage(packageName);
         if (p == null) {
-            definePackage(packageName, null, null, null, null, null, null, null);
+            try {
+                definePackage(packageName, null, null, null, null, null, null, null);
+            } catch (IllegalArgumentException ignore) {
+                // Defined by another thread loading a class from the same package
+            }
         }
         return defineClass(name, bytes, 0, bytes.length, codeSource);
     }
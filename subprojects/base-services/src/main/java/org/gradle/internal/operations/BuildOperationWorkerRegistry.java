@@ -37,6 +37,14 @@ public interface BuildOperationWorkerRegistry {
      */
     Operation getCurrent();
 
+    /**
+     * Runs the given action after releasing the lease of the build operation associated with the current thread, if any, and reacquires the lease once the action has completed.
+     * Blocks until a lease is available. The action may start new build operations in the current thread.
+     *
+     * <p>Used where the current operation blocks waiting for work that requires leases, for example an included build.</p>
+     */
+    void withoutLease(Runnable action);
+
     interface Operation {
         /**
          * Starts a child operation of the current worker. Marks the start of the build operation, reserving a lease. Blocks until a lease is available.
@@ -45,6 +53,12 @@ public interface BuildOperationWorkerRegistry {
          * <p>Note that the caller must call {@link Completion#operationFinish()} to mark the completion of the operation and to release the lease for other threads to use.
          */
         Completion operationStart();
+
+        /**
+         * Returns true when a child operation of this operation could start now without waiting for a lease. Other threads may take the available lease
+         * before a child operation is started, so this is only a hint.
+         */
+        boolean isLeaseAvailable();
     }
 
     interface Completion {
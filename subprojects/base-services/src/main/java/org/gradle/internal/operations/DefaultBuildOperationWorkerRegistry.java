@@ -66,23 +66,56 @@ public class DefaultBuildOperationWorkerRegistry implements BuildOperationWorker
             }
 
             DefaultOperation operation = new DefaultOperation(parent, workerId, ownerThread);
-            while (!parent.grantLease()) {
+            acquireLease(operation);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Worker {} started ({} in use).", operation.getDisplayName(), root.leasesInUse);
+            }
+            return operation;
+        }
+    }
+
+    @Override
+    public void withoutLease(Runnable action) {
+        DefaultOperation operation;
+        synchronized (lock) {
+            operation = threads.remove(Thread.currentThread());
+            if (operation != null) {
+                operation.parent.releaseLease();
+                lock.notifyAll();
                 if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Worker {} waiting for a lease. Currently {} in use", operation.getDisplayName(), root.leasesInUse);
+                    LOGGER.debug("Worker {} released its lease ({} in use).", operation.getDisplayName(), root.leasesInUse);
                 }
-                try {
-                    lock.wait();
-                } catch (InterruptedException e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        try {
+            action.run();
+        } finally {
+            if (operation != null) {
+                synchronized (lock) {
+                    if (threads.containsKey(operation.ownerThread)) {
+                        throw new IllegalStateException("Some build operations have not been marked as completed.");
+                    }
+                    acquireLease(operation);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Worker {} reacquired its lease ({} in use).", operation.getDisplayName(), root.leasesInUse);
+                    }
                 }
             }
+        }
+    }
 
-            threads.put(ownerThread, operation);
+    private void acquireLease(DefaultOperation operation) {
+        while (!operation.parent.grantLease()) {
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Worker {} started ({} in use).", operation.getDisplayName(), root.leasesInUse);
+                LOGGER.debug("Worker {} waiting for a lease. Currently {} in use", operation.getDisplayName(), root.leasesInUse);
+            }
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
             }
-            return operation;
         }
+        threads.put(operation.ownerThread, operation);
     }
 
     @Override
@@ -163,6 +196,13 @@ public class DefaultBuildOperationWorkerRegistry implements BuildOperationWorker
             return doStartOperation(this);
         }
 
+        @Override
+        public boolean isLeaseAvailable() {
+            synchronized (lock) {
+                return children == 0 || root.leasesInUse < maxWorkerCount;
+            }
+        }
+
         @Override
         public void operationFinish() {
             synchronized (lock) {
@@ -76,6 +76,12 @@ class CachingClassLoaderTest extends Specification {
         0 * visitor._
     }
 
+    def "is parallel capable"() {
+        expect:
+        !classLoader.getClassLoadingLock("someClass").is(classLoader)
+        !classLoader.getClassLoadingLock("someClass").is(classLoader.getClassLoadingLock("otherClass"))
+    }
+
     def "equals and hashcode"() {
         def c1 = new URLClassLoader()
         def c2 = new URLClassLoader()
@@ -323,6 +323,12 @@ class FilteringClassLoaderTest extends Specification {
         1 * visitor.visitParent(parent)
     }
 
+    void "is parallel capable"() {
+        expect:
+        !classLoader.getClassLoadingLock("a.A").is(classLoader)
+        !classLoader.getClassLoadingLock("a.A").is(classLoader.getClassLoadingLock("a.B"))
+    }
+
     private void withSpec(ClassLoader parent = null, Closure cl) {
         if (parent == null) {
             parent = getClass().getClassLoader()
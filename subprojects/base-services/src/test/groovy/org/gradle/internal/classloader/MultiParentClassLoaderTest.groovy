@@ -121,6 +121,12 @@ class MultiParentClassLoaderTest extends Specification {
         0 * visitor._
     }
 
+    def "is parallel capable"() {
+        expect:
+        !loader.getClassLoadingLock('string').is(loader)
+        !loader.getClassLoadingLock('string').is(loader.getClassLoadingLock('integer'))
+    }
+
     def "equals and hashcode"() {
         def c1 = new URLClassLoader()
         def c2 = new CachingClassLoader(c1)
@@ -36,4 +36,12 @@ class VisitableURLClassLoaderTest extends Specification {
         1 * visitor.visitParent(parent)
         0 * visitor._
     }
+
+    def "is parallel capable"() {
+        def cl = new VisitableURLClassLoader(null, [])
+
+        expect:
+        !cl.getClassLoadingLock("a.A").is(cl)
+        !cl.getClassLoadingLock("a.A").is(cl.getClassLoadingLock("a.B"))
+    }
 }
@@ -219,4 +219,102 @@ class DefaultBuildOperationWorkerRegistryTest extends ConcurrentSpec {
         cleanup:
         registry?.stop()
     }
+
+    def "releases lease of current operation while running action without lease"() {
+        def registry = new DefaultBuildOperationWorkerRegistry(1)
+
+        when:
+        async {
+            start {
+                def cl = registry.operationStart()
+                def op = registry.current
+                registry.withoutLease {
+                    instant.released
+                    thread.blockUntil.worker2Finished
+                }
+                instant.reacquired
+                assert registry.current == op
+                cl.operationFinish()
+            }
+            start {
+                thread.blockUntil.released
+                def cl = registry.operationStart()
+                thread.block()
+                instant.worker2Finished
+                cl.operationFinish()
+            }
+        }
+
+        then:
+        instant.reacquired > instant.worker2Finished
+
+        cleanup:
+        registry?.stop()
+    }
+
+    def "can start operation in current thread while running action without lease"() {
+        def registry = new DefaultBuildOperationWorkerRegistry(1)
+
+        given:
+        def cl = registry.operationStart()
+        def op = registry.current
+
+        when:
+        registry.withoutLease {
+            def nested = registry.operationStart()
+            assert registry.current != op
+            nested.operationFinish()
+        }
+
+        then:
+        registry.current == op
+
+        cleanup:
+        cl?.operationFinish()
+        registry?.stop()
+    }
+
+    def "runs action without lease when current thread has no operation"() {
+        def registry = new DefaultBuildOperationWorkerRegistry(1)
+        def action = Mock(Runnable)
+
+        when:
+        registry.withoutLease(action)
+
+        then:
+        1 * action.run()
+
+        cleanup:
+        registry?.stop()
+    }
+
+    def "reports whether a lease is available for a child operation"() {
+        def registry = new DefaultBuildOperationWorkerRegistry(1)
+
+        given:
+        def cl = registry.operationStart()
+        def op = registry.current
+
+        expect:
+        // The first child borrows the lease of its parent
+        op.isLeaseAvailable()
+
+        async {
+            start {
+                def child = op.operationStart()
+                instant.childStarted
+                thread.blockUntil.checked
+                child.operationFinish()
+            }
+            thread.blockUntil.childStarted
+            assert !op.isLeaseAvailable()
+            instant.checked
+        }
+
+        op.isLeaseAvailable()
+
+        cleanup:
+        cl?.operationFinish()
+        registry?.stop()
+    }
 }
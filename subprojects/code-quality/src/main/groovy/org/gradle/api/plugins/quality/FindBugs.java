@@ -26,6 +26,7 @@ import org.gradle.api.JavaVersion;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.internal.ClosureBackedAction;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.api.plugins.quality.internal.FindBugsReportsImpl;
 import org.gradle.api.plugins.quality.internal.FindBugsReportsInternal;
@@ -113,6 +114,11 @@ public class FindBugs extends SourceTask implements VerificationTask, Reporting<
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected CompilerDaemonManager getCompilerDaemonManager() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * The reports to be generated by this task.
      *
@@ -231,7 +237,12 @@ public class FindBugs extends SourceTask implements VerificationTask, Reporting<
         getLogging().captureStandardOutput(LogLevel.DEBUG);
         getLogging().captureStandardError(LogLevel.DEBUG);
 
-        FindBugsResult result = manager.runWorker(getProject().getProjectDir(), getWorkerProcessBuilderFactory(), getFindbugsClasspath(), spec);
+        FindBugsResult result;
+        if (FindBugsWorkerManager.isDaemonEnabled()) {
+            result = manager.runDaemon(getProject().getProjectDir(), getCompilerDaemonManager(), getFindbugsClasspath(), getPluginClasspath(), spec, getTemporaryDir());
+        } else {
+            result = manager.runWorker(getProject().getProjectDir(), getWorkerProcessBuilderFactory(), getFindbugsClasspath(), spec);
+        }
         evaluateResult(result);
     }
 
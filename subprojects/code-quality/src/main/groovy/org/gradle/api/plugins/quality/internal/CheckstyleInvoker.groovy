@@ -18,15 +18,26 @@ package org.gradle.api.plugins.quality.internal
 
 import org.gradle.api.GradleException
 import org.gradle.api.file.FileCollection
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager
 import org.gradle.api.plugins.quality.Checkstyle
 import org.gradle.api.plugins.quality.CheckstyleReports
+import org.gradle.api.plugins.quality.internal.analysis.IncrementalSourceAnalyzer
+import org.gradle.api.plugins.quality.internal.checkstyle.CheckstyleRunner
 import org.gradle.internal.logging.ConsoleRenderer
+import org.gradle.internal.operations.BuildOperationProcessor
 import org.gradle.util.GFileUtils
 
 abstract class CheckstyleInvoker {
     private final static String FAILURE_PROPERTY_NAME = 'org.gradle.checkstyle.violations'
 
     static void invoke(Checkstyle checkstyleTask) {
+        if (IncrementalSourceAnalyzer.enabled) {
+            def services = ((ProjectInternal) checkstyleTask.project).services
+            new CheckstyleRunner(services.get(CompilerDaemonManager), services.get(BuildOperationProcessor)).run(checkstyleTask)
+            return
+        }
+
         def antBuilder = checkstyleTask.antBuilder
         def checkstyleClasspath = checkstyleTask.checkstyleClasspath
         def source = checkstyleTask.source
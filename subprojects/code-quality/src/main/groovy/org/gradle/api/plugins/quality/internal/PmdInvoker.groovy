@@ -18,11 +18,22 @@ package org.gradle.api.plugins.quality.internal
 
 import org.gradle.api.GradleException
 import org.gradle.api.file.FileCollection
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager
 import org.gradle.api.plugins.quality.Pmd
+import org.gradle.api.plugins.quality.internal.analysis.IncrementalSourceAnalyzer
+import org.gradle.api.plugins.quality.internal.pmd.PmdRunner
 import org.gradle.internal.logging.ConsoleRenderer
+import org.gradle.internal.operations.BuildOperationProcessor
 
 abstract class PmdInvoker {
     static void invoke(Pmd pmdTask) {
+        if (IncrementalSourceAnalyzer.enabled && PmdRunner.canRun(pmdTask.pmdClasspath)) {
+            def services = ((ProjectInternal) pmdTask.project).services
+            new PmdRunner(services.get(CompilerDaemonManager), services.get(BuildOperationProcessor)).run(pmdTask)
+            return
+        }
+
         def pmdClasspath = pmdTask.pmdClasspath
         def targetJdk = pmdTask.targetJdk
         def ruleSets = pmdTask.ruleSets
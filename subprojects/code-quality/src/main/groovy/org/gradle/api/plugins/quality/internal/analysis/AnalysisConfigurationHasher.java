@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.analysis;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.gradle.api.Nullable;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Calculates the hash of the configuration of an analysis, which is used to decide whether cached per-file results can be reused.
+ *
+ * <p>Configuration files and classpath entries are hashed by content, so that a rebuilt jar is detected even when its size and modification time are
+ * unchanged. The files of classpath directories are hashed individually.</p>
+ *
+ * <p>When the configuration depends on something that cannot be hashed, such as a file that the configuration refers to in a way that cannot be
+ * resolved, the configuration is marked as not cacheable and results should not be reused.</p>
+ */
+public class AnalysisConfigurationHasher {
+    private final Hasher hasher = Hashing.md5().newHasher();
+    private String notCacheableReason;
+
+    public AnalysisConfigurationHasher putString(@Nullable String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length());
+            hasher.putString(value, Charsets.UTF_8);
+        }
+        return this;
+    }
+
+    public AnalysisConfigurationHasher putFile(@Nullable File file) {
+        if (file == null || !file.isFile()) {
+            return putString(null);
+        }
+        putString(file.getAbsolutePath());
+        hasher.putBytes(HashUtil.createHash(file, "MD5").asByteArray());
+        return this;
+    }
+
+    public AnalysisConfigurationHasher putClasspath(Iterable<File> classpath) {
+        for (File file : classpath) {
+            putClasspathEntry(file);
+        }
+        hasher.putInt(-2);
+        return this;
+    }
+
+    private void putClasspathEntry(File file) {
+        putString(file.getAbsolutePath());
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    putClasspathEntry(child);
+                }
+            }
+            hasher.putInt(-3);
+        } else if (file.isFile()) {
+            hasher.putBytes(HashUtil.createHash(file, "MD5").asByteArray());
+        } else {
+            hasher.putInt(-4);
+        }
+    }
+
+    public AnalysisConfigurationHasher putMap(Map<String, String> map) {
+        hasher.putInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            putString(entry.getKey());
+            putString(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Marks the configuration as not cacheable, for the given reason.
+     */
+    public AnalysisConfigurationHasher notCacheable(String reason) {
+        if (notCacheableReason == null) {
+            notCacheableReason = reason;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the reason why results for this configuration cannot be reused, or null when they can.
+     */
+    @Nullable
+    public String getNotCacheableReason() {
+        return notCacheableReason;
+    }
+
+    public HashValue hash() {
+        return new HashValue(hasher.hash().asBytes());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.analysis;
+
+import org.gradle.api.Nullable;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.MapSerializer;
+import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Map;
+
+/**
+ * The per-file results of analyzing a batch of source files, keyed by absolute file path. Used to hand the results from the worker process back to the task.
+ */
+public class AnalysisResults<T> {
+    private final String toolVersion;
+    private final Map<String, T> results;
+
+    public AnalysisResults(@Nullable String toolVersion, Map<String, T> results) {
+        this.toolVersion = toolVersion;
+        this.results = results;
+    }
+
+    @Nullable
+    public String getToolVersion() {
+        return toolVersion;
+    }
+
+    public Map<String, T> getResults() {
+        return results;
+    }
+
+    public void writeTo(File file, Serializer<T> resultSerializer) {
+        try {
+            KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(file));
+            try {
+                encoder.writeNullableString(toolVersion);
+                new MapSerializer<String, T>(BaseSerializerFactory.STRING_SERIALIZER, resultSerializer).write(encoder, results);
+            } finally {
+                encoder.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    public static <T> AnalysisResults<T> readFrom(File file, Serializer<T> resultSerializer) {
+        try {
+            KryoBackedDecoder decoder = new KryoBackedDecoder(new FileInputStream(file));
+            try {
+                String toolVersion = decoder.readNullableString();
+                Map<String, T> results = new MapSerializer<String, T>(BaseSerializerFactory.STRING_SERIALIZER, resultSerializer).read(decoder);
+                return new AnalysisResults<T>(toolVersion, results);
+            } finally {
+                decoder.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.analysis;
+
+import org.gradle.api.Action;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analyzes the source files of a code quality task, reusing the cached results of the files that have not changed since the last execution.
+ *
+ * <p>Every source file is hashed and checked against the cache. The remaining files are split into shards that are analyzed in parallel using the build
+ * operation thread pool.</p>
+ */
+public class IncrementalSourceAnalyzer<T> {
+    /**
+     * When set, the code quality tasks run their tools incrementally rather than through the Ant tasks.
+     */
+    public static final String INCREMENTAL_PROPERTY = "org.gradle.internal.codequality.incremental";
+
+    private static final Logger LOGGER = Logging.getLogger(IncrementalSourceAnalyzer.class);
+    static final int MIN_FILES_PER_SHARD = 100;
+
+    private final BuildOperationProcessor buildOperationProcessor;
+    private final int maxShards;
+
+    public IncrementalSourceAnalyzer(BuildOperationProcessor buildOperationProcessor, int maxShards) {
+        this.buildOperationProcessor = buildOperationProcessor;
+        this.maxShards = Math.max(1, maxShards);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(INCREMENTAL_PROPERTY);
+    }
+
+    /**
+     * Returns the results for the given source files, in the order of the source files. Updates the given cache with the results of the analyzed files.
+     */
+    public Map<File, T> analyze(Collection<File> sourceFiles, SourceFileAnalysisCache<T> cache, final ShardAnalyzer<T> analyzer) {
+        Map<File, HashValue> toAnalyze = new LinkedHashMap<File, HashValue>();
+        for (File sourceFile : sourceFiles) {
+            HashValue fileHash = HashUtil.createHash(sourceFile, "MD5");
+            if (cache.get(sourceFile, fileHash) == null) {
+                toAnalyze.put(sourceFile, fileHash);
+            }
+        }
+        LOGGER.info("Analyzing {} of {} source files.", toAnalyze.size(), sourceFiles.size());
+
+        if (!toAnalyze.isEmpty()) {
+            List<Shard<T>> shards = shard(new ArrayList<File>(toAnalyze.keySet()), analyzer);
+            if (shards.size() == 1) {
+                shards.get(0).run();
+            } else {
+                runInParallel(shards);
+            }
+            for (Shard<T> shard : shards) {
+                if (shard.results.getToolVersion() != null) {
+                    cache.setToolVersion(shard.results.getToolVersion());
+                }
+                for (File file : shard.files) {
+                    T result = shard.results.getResults().get(file.getAbsolutePath());
+                    if (result != null) {
+                        cache.put(file, toAnalyze.get(file), result);
+                    }
+                }
+            }
+        }
+
+        cache.retainAll(sourceFiles);
+        cache.store();
+
+        Map<File, T> results = new LinkedHashMap<File, T>();
+        for (File sourceFile : sourceFiles) {
+            T result = cache.get(sourceFile);
+            if (result != null) {
+                results.put(sourceFile, result);
+            }
+        }
+        return results;
+    }
+
+    private List<Shard<T>> shard(List<File> files, ShardAnalyzer<T> analyzer) {
+        int shardCount = Math.min(maxShards, (files.size() + MIN_FILES_PER_SHARD - 1) / MIN_FILES_PER_SHARD);
+        List<Shard<T>> shards = new ArrayList<Shard<T>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int from = i * files.size() / shardCount;
+            int to = (i + 1) * files.size() / shardCount;
+            shards.add(new Shard<T>(new ArrayList<File>(files.subList(from, to)), analyzer));
+        }
+        return shards;
+    }
+
+    private void runInParallel(final List<Shard<T>> shards) {
+        buildOperationProcessor.run(new Action<BuildOperationQueue<Shard<T>>>() {
+            @Override
+            public void execute(BuildOperationQueue<Shard<T>> queue) {
+                for (Shard<T> shard : shards) {
+                    queue.add(shard);
+                }
+            }
+        });
+    }
+
+    /**
+     * Analyzes a batch of source files.
+     */
+    public interface ShardAnalyzer<T> {
+        /**
+         * Returns the results for the given files. Files without a result are analyzed again by the next execution.
+         */
+        AnalysisResults<T> analyze(List<File> files);
+    }
+
+    private static class Shard<T> implements RunnableBuildOperation {
+        private final List<File> files;
+        private final ShardAnalyzer<T> analyzer;
+        private AnalysisResults<T> results;
+
+        Shard(List<File> files, ShardAnalyzer<T> analyzer) {
+            this.files = files;
+            this.analyzer = analyzer;
+        }
+
+        @Override
+        public void run() {
+            results = analyzer.analyze(files);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Analyze " + files.size() + " source files";
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.analysis;
+
+import org.gradle.api.Nullable;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The analysis results of individual source files, keyed by the hash of the file content and reused for as long as the configuration of the analysis does not change.
+ *
+ * <p>The cache is kept in a single file that is read when the cache is created and replaced by {@link #store()}. The whole cache is discarded when the
+ * configuration hash differs from the one it was stored with, or when it cannot be read.</p>
+ */
+public class SourceFileAnalysisCache<T> {
+    private static final Logger LOGGER = Logging.getLogger(SourceFileAnalysisCache.class);
+
+    private final File cacheFile;
+    private final HashValue configHash;
+    private final Serializer<T> resultSerializer;
+    private final Map<String, CachedResult<T>> entries = new HashMap<String, CachedResult<T>>();
+    private String toolVersion;
+
+    /**
+     * Opens the cache for the given configuration. Discards the previous results when they cannot be reused for this configuration.
+     */
+    public static <T> SourceFileAnalysisCache<T> open(File cacheFile, AnalysisConfigurationHasher configuration, Serializer<T> resultSerializer) {
+        if (configuration.getNotCacheableReason() != null) {
+            LOGGER.info("Not reusing analysis results in {} as {}.", cacheFile, configuration.getNotCacheableReason());
+            GFileUtils.deleteQuietly(cacheFile);
+        }
+        return new SourceFileAnalysisCache<T>(cacheFile, configuration.hash(), resultSerializer);
+    }
+
+    public SourceFileAnalysisCache(File cacheFile, HashValue configHash, Serializer<T> resultSerializer) {
+        this.cacheFile = cacheFile;
+        this.configHash = configHash;
+        this.resultSerializer = resultSerializer;
+        load();
+    }
+
+    @Nullable
+    public String getToolVersion() {
+        return toolVersion;
+    }
+
+    public void setToolVersion(@Nullable String toolVersion) {
+        this.toolVersion = toolVersion;
+    }
+
+    /**
+     * Returns the cached result for the given file, regardless of the content the result was calculated for.
+     */
+    @Nullable
+    public T get(File file) {
+        CachedResult<T> entry = entries.get(file.getAbsolutePath());
+        return entry == null ? null : entry.result;
+    }
+
+    /**
+     * Returns the cached result for the given file, if it was calculated for content with the given hash.
+     */
+    @Nullable
+    public T get(File file, HashValue fileHash) {
+        CachedResult<T> entry = entries.get(file.getAbsolutePath());
+        return entry == null || !entry.fileHash.equals(fileHash) ? null : entry.result;
+    }
+
+    public void put(File file, HashValue fileHash, T result) {
+        entries.put(file.getAbsolutePath(), new CachedResult<T>(fileHash, result));
+    }
+
+    /**
+     * Discards the results of all files other than the given files.
+     */
+    public void retainAll(Collection<File> files) {
+        Set<String> paths = new HashSet<String>(files.size());
+        for (File file : files) {
+            paths.add(file.getAbsolutePath());
+        }
+        entries.keySet().retainAll(paths);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void store() {
+        try {
+            GFileUtils.mkdirs(cacheFile.getParentFile());
+            KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(cacheFile));
+            try {
+                encoder.writeString(configHash.asHexString());
+                encoder.writeNullableString(toolVersion);
+                encoder.writeSmallInt(entries.size());
+                for (Map.Entry<String, CachedResult<T>> entry : entries.entrySet()) {
+                    encoder.writeString(entry.getKey());
+                    encoder.writeBinary(entry.getValue().fileHash.asByteArray());
+                    resultSerializer.write(encoder, entry.getValue().result);
+                }
+            } finally {
+                encoder.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private void load() {
+        if (!cacheFile.isFile()) {
+            return;
+        }
+        try {
+            KryoBackedDecoder decoder = new KryoBackedDecoder(new FileInputStream(cacheFile));
+            try {
+                if (!configHash.equals(new HashValue(decoder.readString()))) {
+                    LOGGER.info("Discarding analysis results in {} as the configuration has changed.", cacheFile);
+                    return;
+                }
+                toolVersion = decoder.readNullableString();
+                int count = decoder.readSmallInt();
+                for (int i = 0; i < count; i++) {
+                    String path = decoder.readString();
+                    HashValue fileHash = new HashValue(decoder.readBinary());
+                    entries.put(path, new CachedResult<T>(fileHash, resultSerializer.read(decoder)));
+                }
+            } finally {
+                decoder.close();
+            }
+        } catch (Exception e) {
+            LOGGER.info("Could not read analysis results from {}. Discarding them.", cacheFile, e);
+            entries.clear();
+            toolVersion = null;
+        }
+    }
+
+    private static class CachedResult<T> {
+        private final HashValue fileHash;
+        private final T result;
+
+        CachedResult(HashValue fileHash, T result) {
+            this.fileHash = fileHash;
+            this.result = result;
+        }
+    }
+}
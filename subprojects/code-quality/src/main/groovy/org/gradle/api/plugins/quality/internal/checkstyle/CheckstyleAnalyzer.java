@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.DefaultContext;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.language.base.internal.compile.Compiler;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs Checkstyle against a batch of source files using the Checkstyle API, in the same way as the Checkstyle Ant task. Executed in a compiler daemon that
+ * has the Checkstyle implementation on its classpath.
+ */
+public class CheckstyleAnalyzer implements Compiler<CheckstyleSpec>, Serializable {
+    @Override
+    public WorkResult execute(CheckstyleSpec spec) {
+        URLClassLoader classpathLoader = new URLClassLoader(toUrls(spec.getClasspath()), Checker.class.getClassLoader());
+        try {
+            Map<String, CheckstyleFileResult> results = analyze(spec, classpathLoader);
+            String toolVersion = Checker.class.getPackage().getImplementationVersion();
+            new AnalysisResults<CheckstyleFileResult>(toolVersion, results).writeTo(spec.getResultsFile(), CheckstyleFileResult.SERIALIZER);
+            return new SimpleWorkResult(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            ClassLoaderUtils.tryClose(classpathLoader);
+        }
+    }
+
+    private static Map<String, CheckstyleFileResult> analyze(CheckstyleSpec spec, ClassLoader classpathLoader) throws Exception {
+        Properties properties = new Properties();
+        properties.putAll(spec.getConfigProperties());
+        Configuration config = ConfigurationLoader.loadConfiguration(spec.getConfigFile().getAbsolutePath(), new PropertiesExpander(properties));
+
+        DefaultContext context = new DefaultContext();
+        context.add("classloader", classpathLoader);
+        context.add("moduleClassLoader", Checker.class.getClassLoader());
+
+        Checker checker = new Checker();
+        try {
+            checker.setLocaleLanguage(spec.getLocale().getLanguage());
+            checker.setLocaleCountry(spec.getLocale().getCountry());
+            checker.contextualize(context);
+            checker.configure(config);
+            CollectingAuditListener listener = new CollectingAuditListener();
+            checker.addListener(listener);
+            checker.process(spec.getSourceFiles());
+            return listener.getResults();
+        } finally {
+            checker.destroy();
+        }
+    }
+
+    private static URL[] toUrls(List<File> classpath) {
+        URL[] urls = new URL[classpath.size()];
+        for (int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = classpath.get(i).toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        return urls;
+    }
+
+    private static class CollectingAuditListener implements AuditListener {
+        private final Map<String, CheckstyleFileResult> results = new HashMap<String, CheckstyleFileResult>();
+        private List<CheckstyleViolation> violations = new ArrayList<CheckstyleViolation>();
+        private List<String> exceptions = new ArrayList<String>();
+
+        Map<String, CheckstyleFileResult> getResults() {
+            return results;
+        }
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            // Checks that look across files report once all files have been processed, so a file can be reported more than once
+            String path = new File(event.getFileName()).getAbsolutePath();
+            CheckstyleFileResult previous = results.get(path);
+            if (previous == null) {
+                results.put(path, new CheckstyleFileResult(violations, exceptions));
+            } else {
+                previous.getViolations().addAll(violations);
+                previous.getExceptions().addAll(exceptions);
+            }
+            violations = new ArrayList<CheckstyleViolation>();
+            exceptions = new ArrayList<String>();
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            SeverityLevel severity = event.getSeverityLevel();
+            if (severity != SeverityLevel.IGNORE) {
+                violations.add(new CheckstyleViolation(event.getLine(), event.getColumn(), severity.getName(), event.getMessage(), event.getSourceName()));
+            }
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            StringWriter stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            exceptions.add(stackTrace.toString());
+        }
+    }
+}
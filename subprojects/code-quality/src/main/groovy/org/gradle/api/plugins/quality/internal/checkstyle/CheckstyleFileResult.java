@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.Serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The violations found in a single source file, along with the stack traces of any exceptions thrown while checking it.
+ */
+public class CheckstyleFileResult {
+    public static final Serializer<CheckstyleFileResult> SERIALIZER = new ResultSerializer();
+
+    private final List<CheckstyleViolation> violations;
+    private final List<String> exceptions;
+
+    public CheckstyleFileResult(List<CheckstyleViolation> violations, List<String> exceptions) {
+        this.violations = violations;
+        this.exceptions = exceptions;
+    }
+
+    public List<CheckstyleViolation> getViolations() {
+        return violations;
+    }
+
+    public List<String> getExceptions() {
+        return exceptions;
+    }
+
+    public int getErrorCount() {
+        int count = exceptions.size();
+        for (CheckstyleViolation violation : violations) {
+            if (violation.isError()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class ResultSerializer implements Serializer<CheckstyleFileResult> {
+        @Override
+        public CheckstyleFileResult read(Decoder decoder) throws Exception {
+            int violationCount = decoder.readSmallInt();
+            List<CheckstyleViolation> violations = new ArrayList<CheckstyleViolation>(violationCount);
+            for (int i = 0; i < violationCount; i++) {
+                violations.add(new CheckstyleViolation(decoder.readSmallInt(), decoder.readSmallInt(), decoder.readString(), decoder.readString(), decoder.readString()));
+            }
+            int exceptionCount = decoder.readSmallInt();
+            List<String> exceptions = new ArrayList<String>(exceptionCount);
+            for (int i = 0; i < exceptionCount; i++) {
+                exceptions.add(decoder.readString());
+            }
+            return new CheckstyleFileResult(violations, exceptions);
+        }
+
+        @Override
+        public void write(Encoder encoder, CheckstyleFileResult value) throws Exception {
+            encoder.writeSmallInt(value.violations.size());
+            for (CheckstyleViolation violation : value.violations) {
+                encoder.writeSmallInt(violation.getLine());
+                encoder.writeSmallInt(violation.getColumn());
+                encoder.writeString(violation.getSeverity());
+                encoder.writeString(violation.getMessage());
+                encoder.writeString(violation.getSource());
+            }
+            encoder.writeSmallInt(value.exceptions.size());
+            for (String exception : value.exceptions) {
+                encoder.writeString(exception);
+            }
+        }
+    }
+}
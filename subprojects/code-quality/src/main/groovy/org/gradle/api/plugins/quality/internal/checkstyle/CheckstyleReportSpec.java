@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import org.gradle.api.Nullable;
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+
+public class CheckstyleReportSpec implements CompileSpec, Serializable {
+    private final File resultsFile;
+    private final File xmlDestination;
+    private final String stylesheet;
+    private final File htmlDestination;
+
+    public CheckstyleReportSpec(File resultsFile, File xmlDestination, @Nullable String stylesheet, @Nullable File htmlDestination) {
+        this.resultsFile = resultsFile;
+        this.xmlDestination = xmlDestination;
+        this.stylesheet = stylesheet;
+        this.htmlDestination = htmlDestination;
+    }
+
+    /**
+     * The file to read the {@link org.gradle.api.plugins.quality.internal.analysis.AnalysisResults} of all source files from.
+     */
+    public File getResultsFile() {
+        return resultsFile;
+    }
+
+    public File getXmlDestination() {
+        return xmlDestination;
+    }
+
+    /**
+     * The stylesheet to transform the XML report into the HTML report with, or null when no HTML report is required.
+     */
+    @Nullable
+    public String getStylesheet() {
+        return stylesheet;
+    }
+
+    @Nullable
+    public File getHtmlDestination() {
+        return htmlDestination;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.XMLLogger;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GFileUtils;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Writes the reports of a Checkstyle run from the results of all source files. Executed in a compiler daemon that has the Checkstyle implementation on
+ * its classpath.
+ *
+ * <p>The cached results are replayed to the Checkstyle {@link XMLLogger}, so the XML report is the same as the one written by the Checkstyle Ant task.
+ * The HTML report is transformed from the XML report with the configured stylesheet, as the Ant task does.</p>
+ */
+public class CheckstyleReportWriter implements Compiler<CheckstyleReportSpec>, Serializable {
+    @Override
+    public WorkResult execute(CheckstyleReportSpec spec) {
+        try {
+            AnalysisResults<CheckstyleFileResult> results = AnalysisResults.readFrom(spec.getResultsFile(), CheckstyleFileResult.SERIALIZER);
+            writeXml(results.getResults(), spec.getXmlDestination());
+            if (spec.getStylesheet() != null && spec.getHtmlDestination() != null) {
+                writeHtml(spec.getXmlDestination(), spec.getStylesheet(), spec.getHtmlDestination());
+            }
+            return new SimpleWorkResult(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static void writeXml(Map<String, CheckstyleFileResult> results, File destination) throws Exception {
+        GFileUtils.mkdirs(destination.getParentFile());
+        AuditListener logger = new XMLLogger(new FileOutputStream(destination), true);
+        logger.auditStarted(new AuditEvent(logger));
+        for (Map.Entry<String, CheckstyleFileResult> entry : results.entrySet()) {
+            String fileName = entry.getKey();
+            logger.fileStarted(new AuditEvent(logger, fileName));
+            for (CheckstyleViolation violation : entry.getValue().getViolations()) {
+                logger.addError(new AuditEvent(logger, fileName, toMessage(violation)));
+            }
+            for (String exception : entry.getValue().getExceptions()) {
+                logger.addException(new AuditEvent(logger, fileName), new ReportedException(exception));
+            }
+            logger.fileFinished(new AuditEvent(logger, fileName));
+        }
+        logger.auditFinished(new AuditEvent(logger));
+    }
+
+    private static LocalizedMessage toMessage(CheckstyleViolation violation) throws ClassNotFoundException {
+        // The message has already been formatted, so it is quoted to be used as the message format
+        String messageFormat = "'" + violation.getMessage().replace("'", "''") + "'";
+        Class<?> source = Class.forName(violation.getSource(), false, Checker.class.getClassLoader());
+        return new LocalizedMessage(violation.getLine(), violation.getColumn(), null, null, null, SeverityLevel.getInstance(violation.getSeverity()), null, source, messageFormat);
+    }
+
+    private static void writeHtml(File xmlReport, String stylesheet, File destination) throws Exception {
+        GFileUtils.mkdirs(destination.getParentFile());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer(new StreamSource(new StringReader(stylesheet)));
+        OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(destination));
+        try {
+            transformer.transform(new StreamSource(xmlReport), new StreamResult(outputStream));
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * An exception thrown while checking a file, which prints the stack trace that was recorded when it was thrown.
+     */
+    private static class ReportedException extends Exception {
+        private final String stackTrace;
+
+        ReportedException(String stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.print(stackTrace);
+        }
+
+        @Override
+        public void printStackTrace(PrintStream stream) {
+            stream.print(stackTrace);
+        }
+    }
+}
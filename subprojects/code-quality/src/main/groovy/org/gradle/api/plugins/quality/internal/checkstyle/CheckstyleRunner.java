@@ -0,0 +1,282 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import org.gradle.api.GradleException;
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.plugins.quality.Checkstyle;
+import org.gradle.api.plugins.quality.CheckstyleReports;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisConfigurationHasher;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.plugins.quality.internal.analysis.IncrementalSourceAnalyzer;
+import org.gradle.api.plugins.quality.internal.analysis.SourceFileAnalysisCache;
+import org.gradle.api.reporting.CustomizableHtmlReport;
+import org.gradle.api.reporting.SingleFileReport;
+import org.gradle.api.resources.TextResource;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.logging.ConsoleRenderer;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs Checkstyle for a {@link Checkstyle} task in compiler daemons, analyzing only the source files that have changed since the previous execution.
+ *
+ * <p>The reports are generated from the results of all source files, so that they are the same as the reports generated by the Checkstyle Ant task. The
+ * cache key includes the configuration, the files it refers to, the classpath and the Checkstyle classpath.</p>
+ *
+ * <p>Some checks look across source files and report once all files have been processed. When the configuration uses one of these checks, results are
+ * not cached and all source files are checked together.</p>
+ */
+public class CheckstyleRunner {
+    private static final Iterable<String> SHARED_PACKAGES = Collections.singletonList("com.puppycrawl.tools.checkstyle");
+    private static final Pattern VALUE_ATTRIBUTE = Pattern.compile("value\\s*=\\s*([\"'])(.*?)\\1");
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]*)\\}");
+    private static final Pattern MODULE_NAME = Pattern.compile("<module\\s+name\\s*=\\s*([\"'])(.*?)\\1");
+    private static final Set<String> MULTI_FILE_CHECKS = ImmutableSet.of("JavadocPackage", "Translation", "UniqueProperties", "StrictDuplicateCode");
+
+    private final CompilerDaemonFactory compilerDaemonFactory;
+    private final BuildOperationProcessor buildOperationProcessor;
+
+    public CheckstyleRunner(CompilerDaemonFactory compilerDaemonFactory, BuildOperationProcessor buildOperationProcessor) {
+        this.compilerDaemonFactory = compilerDaemonFactory;
+        this.buildOperationProcessor = buildOperationProcessor;
+    }
+
+    public void run(Checkstyle task) {
+        final File configFile = task.getConfig().asFile();
+        final Map<String, String> configProperties = configProperties(task);
+        final List<File> classpath = task.getClasspath() == null ? Collections.<File>emptyList() : ImmutableList.copyOf(task.getClasspath());
+        final List<File> checkstyleClasspath = ImmutableList.copyOf(task.getCheckstyleClasspath());
+        final Locale locale = Locale.getDefault();
+        final File temporaryDir = task.getTemporaryDir();
+
+        AnalysisConfigurationHasher configHasher = new AnalysisConfigurationHasher()
+            .putFile(configFile)
+            .putMap(configProperties)
+            .putClasspath(classpath)
+            .putClasspath(checkstyleClasspath)
+            .putString(locale.toString());
+        putReferencedFiles(configHasher, configFile, configProperties, task.getProject().getProjectDir());
+        String multiFileCheck = findMultiFileCheck(configFile);
+        if (multiFileCheck != null) {
+            configHasher.notCacheable("the Checkstyle configuration uses " + multiFileCheck + ", which checks across source files");
+        }
+        SourceFileAnalysisCache<CheckstyleFileResult> cache = SourceFileAnalysisCache.open(new File(temporaryDir, "analysis-results.bin"), configHasher, CheckstyleFileResult.SERIALIZER);
+
+        DaemonForkOptions forkOptions = new DaemonForkOptions(null, null, Collections.<String>emptyList(), checkstyleClasspath, SHARED_PACKAGES);
+        final CompilerDaemon daemon = compilerDaemonFactory.getDaemon(task.getProject().getProjectDir(), forkOptions);
+        int maxShards = multiFileCheck != null ? 1 : task.getProject().getGradle().getStartParameter().getMaxWorkerCount();
+        Map<File, CheckstyleFileResult> results = new IncrementalSourceAnalyzer<CheckstyleFileResult>(buildOperationProcessor, maxShards).analyze(task.getSource().getFiles(), cache, new IncrementalSourceAnalyzer.ShardAnalyzer<CheckstyleFileResult>() {
+            @Override
+            public AnalysisResults<CheckstyleFileResult> analyze(List<File> files) {
+                File resultsFile = createResultsFile(temporaryDir);
+                try {
+                    CompileResult result = daemon.execute(new CheckstyleAnalyzer(), new CheckstyleSpec(files, configFile, configProperties, classpath, locale, resultsFile));
+                    if (!result.isSuccess()) {
+                        throw UncheckedException.throwAsUncheckedException(result.getException());
+                    }
+                    return AnalysisResults.readFrom(resultsFile, CheckstyleFileResult.SERIALIZER);
+                } finally {
+                    GFileUtils.deleteQuietly(resultsFile);
+                }
+            }
+        });
+
+        writeReports(task, daemon, cache.getToolVersion(), results);
+        if (task.isShowViolations()) {
+            logViolations(task.getLogger(), results);
+        }
+        checkForErrors(task, results);
+    }
+
+    private static Map<String, String> configProperties(Checkstyle task) {
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        // The Ant task makes the properties of the Ant project available to the configuration file
+        properties.put("basedir", task.getProject().getProjectDir().getAbsolutePath());
+        for (Map.Entry<String, Object> entry : task.getConfigProperties().entrySet()) {
+            properties.put(entry.getKey(), entry.getValue().toString());
+        }
+        return properties;
+    }
+
+    /**
+     * Hashes the files that property values of the configuration refer to, such as suppression filters. The configuration is not cacheable when a value
+     * refers to a property that is not defined.
+     */
+    static void putReferencedFiles(AnalysisConfigurationHasher configHasher, File configFile, Map<String, String> configProperties, File baseDir) {
+        Matcher valueMatcher = VALUE_ATTRIBUTE.matcher(readConfig(configFile));
+        while (valueMatcher.find()) {
+            String value = valueMatcher.group(2);
+            StringBuffer expanded = new StringBuffer();
+            Matcher propertyMatcher = PROPERTY_REFERENCE.matcher(value);
+            while (propertyMatcher.find()) {
+                String propertyValue = configProperties.get(propertyMatcher.group(1));
+                if (propertyValue == null) {
+                    configHasher.notCacheable("the Checkstyle configuration refers to undefined property '" + propertyMatcher.group(1) + "'");
+                    propertyValue = "";
+                }
+                propertyMatcher.appendReplacement(expanded, Matcher.quoteReplacement(propertyValue));
+            }
+            propertyMatcher.appendTail(expanded);
+            File file = new File(expanded.toString());
+            if (!file.isAbsolute()) {
+                file = new File(baseDir, expanded.toString());
+            }
+            if (file.isFile()) {
+                configHasher.putFile(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of a check in the given configuration that looks across source files, or null when there is no such check.
+     */
+    @Nullable
+    static String findMultiFileCheck(File configFile) {
+        Matcher matcher = MODULE_NAME.matcher(readConfig(configFile));
+        while (matcher.find()) {
+            // Modules are named by simple name, with or without the Check suffix, or by class name
+            String name = matcher.group(2);
+            name = name.substring(name.lastIndexOf('.') + 1);
+            if (name.endsWith("Check")) {
+                name = name.substring(0, name.length() - "Check".length());
+            }
+            if (MULTI_FILE_CHECKS.contains(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static String readConfig(File configFile) {
+        try {
+            return Files.toString(configFile, Charsets.UTF_8);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static File createResultsFile(File temporaryDir) {
+        try {
+            return File.createTempFile("results", ".bin", temporaryDir);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static void writeReports(Checkstyle task, CompilerDaemon daemon, String toolVersion, Map<File, CheckstyleFileResult> results) {
+        CheckstyleReports reports = task.getReports();
+        if (!reports.getXml().isEnabled() && !reports.getHtml().isEnabled()) {
+            return;
+        }
+        boolean htmlOnly = !reports.getXml().isEnabled();
+        File xmlDestination = htmlOnly ? new File(task.getTemporaryDir(), reports.getXml().getDestination().getName()) : reports.getXml().getDestination();
+        String stylesheet = null;
+        File htmlDestination = null;
+        if (reports.getHtml().isEnabled()) {
+            TextResource customStylesheet = ((CustomizableHtmlReport) reports.getHtml()).getStylesheet();
+            stylesheet = customStylesheet != null ? customStylesheet.asString() : readDefaultStylesheet();
+            htmlDestination = reports.getHtml().getDestination();
+        }
+
+        Map<String, CheckstyleFileResult> resultsByPath = new LinkedHashMap<String, CheckstyleFileResult>();
+        for (Map.Entry<File, CheckstyleFileResult> entry : results.entrySet()) {
+            resultsByPath.put(entry.getKey().getAbsolutePath(), entry.getValue());
+        }
+        File resultsFile = createResultsFile(task.getTemporaryDir());
+        try {
+            new AnalysisResults<CheckstyleFileResult>(toolVersion, resultsByPath).writeTo(resultsFile, CheckstyleFileResult.SERIALIZER);
+            CompileResult result = daemon.execute(new CheckstyleReportWriter(), new CheckstyleReportSpec(resultsFile, xmlDestination, stylesheet, htmlDestination));
+            if (!result.isSuccess()) {
+                throw UncheckedException.throwAsUncheckedException(result.getException());
+            }
+        } finally {
+            GFileUtils.deleteQuietly(resultsFile);
+        }
+        if (htmlOnly) {
+            GFileUtils.deleteQuietly(xmlDestination);
+        }
+    }
+
+    private static String readDefaultStylesheet() {
+        try {
+            return Resources.toString(Checkstyle.class.getClassLoader().getResource("checkstyle-noframes-sorted.xsl"), Charsets.UTF_8);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static void logViolations(Logger logger, Map<File, CheckstyleFileResult> results) {
+        for (Map.Entry<File, CheckstyleFileResult> entry : results.entrySet()) {
+            String path = entry.getKey().getAbsolutePath();
+            for (CheckstyleViolation violation : entry.getValue().getViolations()) {
+                StringBuilder message = new StringBuilder(path).append(':').append(violation.getLine());
+                if (violation.getColumn() > 0) {
+                    message.append(':').append(violation.getColumn());
+                }
+                message.append(": ");
+                if (!violation.isError()) {
+                    message.append(violation.getSeverity()).append(": ");
+                }
+                message.append(violation.getMessage());
+                logger.error(message.toString());
+            }
+        }
+    }
+
+    private static void checkForErrors(Checkstyle task, Map<File, CheckstyleFileResult> results) {
+        int errors = 0;
+        for (CheckstyleFileResult result : results.values()) {
+            errors += result.getErrorCount();
+        }
+        if (errors == 0) {
+            return;
+        }
+        String message = "Checkstyle rule violations were found.";
+        CheckstyleReports reports = task.getReports();
+        SingleFileReport report = reports.getHtml().isEnabled() ? reports.getHtml() : reports.getXml().isEnabled() ? reports.getXml() : null;
+        if (report != null) {
+            message += " See the report at: " + new ConsoleRenderer().asClickableFileUrl(report.getDestination());
+        }
+        if (task.getIgnoreFailures()) {
+            task.getLogger().warn(message);
+        } else {
+            throw new GradleException(message);
+        }
+    }
+}
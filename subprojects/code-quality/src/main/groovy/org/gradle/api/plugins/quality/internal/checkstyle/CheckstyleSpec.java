@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class CheckstyleSpec implements CompileSpec, Serializable {
+    private final List<File> sourceFiles;
+    private final File configFile;
+    private final Map<String, String> configProperties;
+    private final List<File> classpath;
+    private final Locale locale;
+    private final File resultsFile;
+
+    public CheckstyleSpec(List<File> sourceFiles, File configFile, Map<String, String> configProperties, List<File> classpath, Locale locale, File resultsFile) {
+        this.sourceFiles = sourceFiles;
+        this.configFile = configFile;
+        this.configProperties = configProperties;
+        this.classpath = classpath;
+        this.locale = locale;
+        this.resultsFile = resultsFile;
+    }
+
+    public List<File> getSourceFiles() {
+        return sourceFiles;
+    }
+
+    public File getConfigFile() {
+        return configFile;
+    }
+
+    public Map<String, String> getConfigProperties() {
+        return configProperties;
+    }
+
+    public List<File> getClasspath() {
+        return classpath;
+    }
+
+    /**
+     * The locale to use for the violation messages. This is the default locale of the build process rather than that of the daemon.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * The file to write the {@link org.gradle.api.plugins.quality.internal.analysis.AnalysisResults} to.
+     */
+    public File getResultsFile() {
+        return resultsFile;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+public class CheckstyleViolation {
+    public static final String SEVERITY_ERROR = "error";
+
+    private final int line;
+    private final int column;
+    private final String severity;
+    private final String message;
+    private final String source;
+
+    public CheckstyleViolation(int line, int column, String severity, String message, String source) {
+        this.line = line;
+        this.column = column;
+        this.severity = severity;
+        this.message = message;
+        this.source = source;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * The column of the violation, or 0 when the violation applies to the whole line.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isError() {
+        return SEVERITY_ERROR.equals(severity);
+    }
+}
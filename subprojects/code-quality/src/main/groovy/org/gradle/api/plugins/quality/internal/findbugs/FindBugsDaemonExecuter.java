@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.findbugs;
+
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.language.base.internal.compile.Compiler;
+
+import java.io.Serializable;
+
+/**
+ * Runs FindBugs in a compiler daemon that has the FindBugs implementation on its classpath. The result is written to the result file of the spec,
+ * as the compiler daemon protocol only reports success or failure.
+ */
+public class FindBugsDaemonExecuter implements Compiler<FindBugsDaemonSpec>, Serializable {
+    @Override
+    public WorkResult execute(FindBugsDaemonSpec spec) {
+        try {
+            FindBugsResult result = new FindBugsExecuter().runFindbugs(spec.getSpec());
+            FindBugsResultSerializer.write(result, spec.getResultFile());
+            return new SimpleWorkResult(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.findbugs;
+
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+
+public class FindBugsDaemonSpec implements CompileSpec, Serializable {
+    private final FindBugsSpec spec;
+    private final File resultFile;
+
+    public FindBugsDaemonSpec(FindBugsSpec spec, File resultFile) {
+        this.spec = spec;
+        this.resultFile = resultFile;
+    }
+
+    public FindBugsSpec getSpec() {
+        return spec;
+    }
+
+    public File getResultFile() {
+        return resultFile;
+    }
+}
@@ -17,15 +17,54 @@
 package org.gradle.api.plugins.quality.internal.findbugs;
 
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
 import org.gradle.process.internal.JavaExecHandleBuilder;
 import org.gradle.process.internal.worker.SingleRequestWorkerProcessBuilder;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
+import org.gradle.util.CollectionUtils;
+import org.gradle.util.GFileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 
+/**
+ * Runs FindBugs in a worker process.
+ *
+ * <p>By default, FindBugs runs in the pool of compiler daemons, so that a warm worker with the same FindBugs classpath, plugins and heap size is
+ * reused by later FindBugs tasks of the build. The size of the pool is controlled by the {@code org.gradle.compiler.daemon.maxPoolSize} system property.
+ * A fresh worker process per task is used when the {@code org.gradle.internal.findbugs.singleRequestWorkers} system property is set to true.</p>
+ */
 public class FindBugsWorkerManager {
+    public static final String SINGLE_REQUEST_WORKERS_PROPERTY = "org.gradle.internal.findbugs.singleRequestWorkers";
+    private static final String PLUGINS_PROPERTY = "org.gradle.findbugs.plugins";
+    private static final Iterable<String> SHARED_PACKAGES = Collections.singletonList("edu.umd.cs.findbugs");
+
+    public static boolean isDaemonEnabled() {
+        return !Boolean.getBoolean(SINGLE_REQUEST_WORKERS_PROPERTY);
+    }
+
+    public FindBugsResult runDaemon(File workingDir, CompilerDaemonFactory daemonFactory, FileCollection findBugsClasspath, FileCollection pluginClasspath, FindBugsSpec spec, File temporaryDir) {
+        // FindBugs keeps the plugins it has loaded for the lifetime of the JVM, so only share a daemon between tasks that use the same plugins
+        String plugins = pluginClasspath == null ? "" : CollectionUtils.join(File.pathSeparator, pluginClasspath.getFiles());
+        DaemonForkOptions forkOptions = new DaemonForkOptions(null, spec.getMaxHeapSize(), Collections.singletonList("-D" + PLUGINS_PROPERTY + "=" + plugins), findBugsClasspath.getFiles(), SHARED_PACKAGES);
+        CompilerDaemon daemon = daemonFactory.getDaemon(workingDir, forkOptions);
+        File resultFile = new File(temporaryDir, "result.bin");
+        try {
+            CompileResult result = daemon.execute(new FindBugsDaemonExecuter(), new FindBugsDaemonSpec(spec, resultFile));
+            if (!result.isSuccess()) {
+                return new FindBugsResult(0, 0, 0, result.getException());
+            }
+            return FindBugsResultSerializer.read(resultFile);
+        } finally {
+            GFileUtils.deleteQuietly(resultFile);
+        }
+    }
+
     public FindBugsResult runWorker(File workingDir, WorkerProcessFactory workerFactory, FileCollection findBugsClasspath, FindBugsSpec spec) throws IOException, InterruptedException {
         FindBugsWorker worker = createWorkerProcess(workingDir, workerFactory, findBugsClasspath, spec);
         return worker.runFindbugs(spec);
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import com.google.common.base.Joiner;
+import net.sourceforge.pmd.PMD;
+import net.sourceforge.pmd.PMDConfiguration;
+import net.sourceforge.pmd.Report;
+import net.sourceforge.pmd.RuleContext;
+import net.sourceforge.pmd.RulePriority;
+import net.sourceforge.pmd.RuleViolation;
+import net.sourceforge.pmd.RulesetsFactoryUtils;
+import net.sourceforge.pmd.renderers.AbstractAccumulatingRenderer;
+import net.sourceforge.pmd.renderers.Renderer;
+import net.sourceforge.pmd.util.datasource.DataSource;
+import net.sourceforge.pmd.util.datasource.FileDataSource;
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.language.base.internal.compile.Compiler;
+
+import java.io.File;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs PMD 5 against a batch of source files using the PMD API, in the same way as the PMD Ant task. Executed in a compiler daemon that has the PMD
+ * implementation on its classpath.
+ */
+public class PmdAnalyzer implements Compiler<PmdSpec>, Serializable {
+    @Override
+    public WorkResult execute(PmdSpec spec) {
+        try {
+            Map<String, PmdFileResult> results = analyze(spec);
+            new AnalysisResults<PmdFileResult>(PMD.VERSION, results).writeTo(spec.getResultsFile(), PmdFileResult.SERIALIZER);
+            return new SimpleWorkResult(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static Map<String, PmdFileResult> analyze(PmdSpec spec) throws Exception {
+        PMDConfiguration configuration = new PMDConfiguration();
+        configuration.setRuleSets(Joiner.on(',').join(spec.getRuleSets()));
+        configuration.setMinimumPriority(RulePriority.valueOf(spec.getRulePriority()));
+        // Source files are already analyzed in parallel by the caller
+        configuration.setThreads(0);
+        if (!spec.getAuxClasspath().isEmpty()) {
+            configuration.prependClasspath(Joiner.on(File.pathSeparator).join(spec.getAuxClasspath()));
+        }
+
+        Map<String, PmdFileResult> results = new LinkedHashMap<String, PmdFileResult>();
+        List<DataSource> dataSources = new ArrayList<DataSource>(spec.getSourceFiles().size());
+        for (File sourceFile : spec.getSourceFiles()) {
+            dataSources.add(new FileDataSource(sourceFile));
+            results.put(sourceFile.getAbsolutePath(), new PmdFileResult(new ArrayList<PmdViolation>(), new ArrayList<String>()));
+        }
+
+        CollectingRenderer renderer = new CollectingRenderer();
+        renderer.setWriter(new StringWriter());
+        PMD.processFiles(configuration, RulesetsFactoryUtils.getRulesetFactory(configuration), dataSources, new RuleContext(), Collections.<Renderer>singletonList(renderer));
+
+        for (RuleViolation violation : renderer.getReport()) {
+            PmdFileResult result = results.get(new File(violation.getFilename()).getAbsolutePath());
+            if (result != null) {
+                result.getViolations().add(new PmdViolation(
+                    violation.getBeginLine(), violation.getEndLine(), violation.getBeginColumn(), violation.getEndColumn(),
+                    violation.getRule().getName(), violation.getRule().getRuleSetName(),
+                    violation.getPackageName(), violation.getClassName(), violation.getMethodName(), violation.getVariableName(),
+                    violation.getRule().getExternalInfoUrl(), violation.getRule().getPriority().getPriority(), violation.getDescription()));
+            }
+        }
+        for (Iterator<Report.ProcessingError> errors = renderer.getReport().errors(); errors.hasNext();) {
+            Report.ProcessingError error = errors.next();
+            PmdFileResult result = results.get(new File(error.getFile()).getAbsolutePath());
+            if (result != null) {
+                result.getErrors().add(error.getMsg());
+            }
+        }
+        return results;
+    }
+
+    private static class CollectingRenderer extends AbstractAccumulatingRenderer {
+        CollectingRenderer() {
+            super("gradle", "Collects the report for Gradle");
+        }
+
+        Report getReport() {
+            return report;
+        }
+
+        @Override
+        public String defaultFileExtension() {
+            return "bin";
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.Serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The violations found in a single source file, along with the messages of any errors that occurred while processing it.
+ */
+public class PmdFileResult {
+    public static final Serializer<PmdFileResult> SERIALIZER = new ResultSerializer();
+
+    private final List<PmdViolation> violations;
+    private final List<String> errors;
+
+    public PmdFileResult(List<PmdViolation> violations, List<String> errors) {
+        this.violations = violations;
+        this.errors = errors;
+    }
+
+    public List<PmdViolation> getViolations() {
+        return violations;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private static class ResultSerializer implements Serializer<PmdFileResult> {
+        @Override
+        public PmdFileResult read(Decoder decoder) throws Exception {
+            int violationCount = decoder.readSmallInt();
+            List<PmdViolation> violations = new ArrayList<PmdViolation>(violationCount);
+            for (int i = 0; i < violationCount; i++) {
+                violations.add(new PmdViolation(
+                    decoder.readSmallInt(), decoder.readSmallInt(), decoder.readSmallInt(), decoder.readSmallInt(),
+                    decoder.readString(), decoder.readNullableString(),
+                    decoder.readNullableString(), decoder.readNullableString(), decoder.readNullableString(), decoder.readNullableString(), decoder.readNullableString(),
+                    decoder.readSmallInt(), decoder.readString()));
+            }
+            int errorCount = decoder.readSmallInt();
+            List<String> errors = new ArrayList<String>(errorCount);
+            for (int i = 0; i < errorCount; i++) {
+                errors.add(decoder.readString());
+            }
+            return new PmdFileResult(violations, errors);
+        }
+
+        @Override
+        public void write(Encoder encoder, PmdFileResult value) throws Exception {
+            encoder.writeSmallInt(value.violations.size());
+            for (PmdViolation violation : value.violations) {
+                encoder.writeSmallInt(violation.getBeginLine());
+                encoder.writeSmallInt(violation.getEndLine());
+                encoder.writeSmallInt(violation.getBeginColumn());
+                encoder.writeSmallInt(violation.getEndColumn());
+                encoder.writeString(violation.getRule());
+                encoder.writeNullableString(violation.getRuleSet());
+                encoder.writeNullableString(violation.getPackageName());
+                encoder.writeNullableString(violation.getClassName());
+                encoder.writeNullableString(violation.getMethodName());
+                encoder.writeNullableString(violation.getVariableName());
+                encoder.writeNullableString(violation.getExternalInfoUrl());
+                encoder.writeSmallInt(violation.getPriority());
+                encoder.writeString(violation.getDescription());
+            }
+            encoder.writeSmallInt(value.errors.size());
+            for (String error : value.errors) {
+                encoder.writeString(error);
+            }
+        }
+    }
+}
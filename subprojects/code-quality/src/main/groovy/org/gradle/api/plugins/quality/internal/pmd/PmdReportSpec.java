@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import org.gradle.api.Nullable;
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+
+public class PmdReportSpec implements CompileSpec, Serializable {
+    private final File resultsFile;
+    private final File xmlDestination;
+    private final File htmlDestination;
+
+    public PmdReportSpec(File resultsFile, @Nullable File xmlDestination, @Nullable File htmlDestination) {
+        this.resultsFile = resultsFile;
+        this.xmlDestination = xmlDestination;
+        this.htmlDestination = htmlDestination;
+    }
+
+    /**
+     * The file to read the {@link org.gradle.api.plugins.quality.internal.analysis.AnalysisResults} of all source files from.
+     */
+    public File getResultsFile() {
+        return resultsFile;
+    }
+
+    @Nullable
+    public File getXmlDestination() {
+        return xmlDestination;
+    }
+
+    @Nullable
+    public File getHtmlDestination() {
+        return htmlDestination;
+    }
+}
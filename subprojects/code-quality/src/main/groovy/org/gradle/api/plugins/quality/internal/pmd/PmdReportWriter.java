@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import net.sourceforge.pmd.Report;
+import net.sourceforge.pmd.Rule;
+import net.sourceforge.pmd.RulePriority;
+import net.sourceforge.pmd.RuleViolation;
+import net.sourceforge.pmd.lang.rule.MockRule;
+import net.sourceforge.pmd.renderers.Renderer;
+import net.sourceforge.pmd.renderers.RendererFactory;
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GFileUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Writes the reports of a PMD run from the results of all source files, using the PMD renderers in the same way as the PMD Ant task. Executed in a
+ * compiler daemon that has the PMD implementation on its classpath.
+ */
+public class PmdReportWriter implements Compiler<PmdReportSpec>, Serializable {
+    @Override
+    public WorkResult execute(PmdReportSpec spec) {
+        try {
+            Report report = createReport(AnalysisResults.readFrom(spec.getResultsFile(), PmdFileResult.SERIALIZER).getResults());
+            if (spec.getXmlDestination() != null) {
+                render("xml", report, spec.getXmlDestination());
+            }
+            if (spec.getHtmlDestination() != null) {
+                render("html", report, spec.getHtmlDestination());
+            }
+            return new SimpleWorkResult(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static Report createReport(Map<String, PmdFileResult> results) {
+        Report report = new Report();
+        for (Map.Entry<String, PmdFileResult> entry : results.entrySet()) {
+            for (PmdViolation violation : entry.getValue().getViolations()) {
+                report.addRuleViolation(new ReportedViolation(entry.getKey(), violation));
+            }
+            for (String error : entry.getValue().getErrors()) {
+                report.addError(new Report.ProcessingError(error, entry.getKey()));
+            }
+        }
+        return report;
+    }
+
+    private static void render(String format, Report report, File destination) throws Exception {
+        GFileUtils.mkdirs(destination.getParentFile());
+        Renderer renderer = RendererFactory.createRenderer(format, new Properties());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destination), "UTF-8"));
+        try {
+            renderer.setWriter(writer);
+            renderer.start();
+            renderer.renderFileReport(report);
+            renderer.end();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * A violation read from the results, which reports the same values as the violation that was found when the file was analyzed.
+     */
+    private static class ReportedViolation implements RuleViolation {
+        private final String fileName;
+        private final PmdViolation violation;
+        private final Rule rule;
+
+        ReportedViolation(String fileName, PmdViolation violation) {
+            this.fileName = fileName;
+            this.violation = violation;
+            rule = new MockRule(violation.getRule(), null, null, violation.getRuleSet(), RulePriority.valueOf(violation.getPriority()));
+            rule.setExternalInfoUrl(violation.getExternalInfoUrl());
+        }
+
+        @Override
+        public Rule getRule() {
+            return rule;
+        }
+
+        @Override
+        public String getDescription() {
+            return violation.getDescription();
+        }
+
+        @Override
+        public boolean isSuppressed() {
+            return false;
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public int getBeginLine() {
+            return violation.getBeginLine();
+        }
+
+        @Override
+        public int getBeginColumn() {
+            return violation.getBeginColumn();
+        }
+
+        @Override
+        public int getEndLine() {
+            return violation.getEndLine();
+        }
+
+        @Override
+        public int getEndColumn() {
+            return violation.getEndColumn();
+        }
+
+        @Override
+        public String getPackageName() {
+            return violation.getPackageName();
+        }
+
+        @Override
+        public String getClassName() {
+            return violation.getClassName();
+        }
+
+        @Override
+        public String getMethodName() {
+            return violation.getMethodName();
+        }
+
+        @Override
+        public String getVariableName() {
+            return violation.getVariableName();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.gradle.api.GradleException;
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.plugins.quality.Pmd;
+import org.gradle.api.plugins.quality.PmdReports;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisConfigurationHasher;
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisResults;
+import org.gradle.api.plugins.quality.internal.analysis.IncrementalSourceAnalyzer;
+import org.gradle.api.plugins.quality.internal.analysis.SourceFileAnalysisCache;
+import org.gradle.api.reporting.SingleFileReport;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.logging.ConsoleRenderer;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs PMD for a {@link Pmd} task in compiler daemons, analyzing only the source files that have changed since the previous execution.
+ *
+ * <p>Only PMD 5.5.x is supported. The cache key includes the rule sets, the rule set files they refer to, the auxiliary classpath and the PMD classpath.</p>
+ */
+public class PmdRunner {
+    private static final Iterable<String> SHARED_PACKAGES = Collections.singletonList("net.sourceforge.pmd");
+    private static final Pattern PMD_JAR = Pattern.compile("pmd(?:-core)?-(\\d+)\\.(\\d+)\\.[0-9.]+\\.jar");
+    private static final Pattern RULE_REFERENCE = Pattern.compile("ref\\s*=\\s*([\"'])(.*?)\\1");
+
+    private final CompilerDaemonFactory compilerDaemonFactory;
+    private final BuildOperationProcessor buildOperationProcessor;
+
+    public PmdRunner(CompilerDaemonFactory compilerDaemonFactory, BuildOperationProcessor buildOperationProcessor) {
+        this.compilerDaemonFactory = compilerDaemonFactory;
+        this.buildOperationProcessor = buildOperationProcessor;
+    }
+
+    /**
+     * Returns true when the given PMD classpath contains a version of PMD that can be run by this runner. Only PMD 5.5.x is supported, as {@link PmdAnalyzer}
+     * uses PMD APIs that differ between other versions.
+     */
+    public static boolean canRun(Iterable<File> pmdClasspath) {
+        for (File file : pmdClasspath) {
+            Matcher matcher = PMD_JAR.matcher(file.getName());
+            if (matcher.matches()) {
+                return Integer.parseInt(matcher.group(1)) == 5 && Integer.parseInt(matcher.group(2)) == 5;
+            }
+        }
+        return false;
+    }
+
+    public void run(Pmd task) {
+        final List<String> ruleSets = ruleSets(task);
+        final int rulePriority = task.getRulePriority();
+        final List<File> auxClasspath = task.getClasspath() == null ? Collections.<File>emptyList() : ImmutableList.copyOf(task.getClasspath());
+        final List<File> pmdClasspath = ImmutableList.copyOf(task.getPmdClasspath());
+        final File temporaryDir = task.getTemporaryDir();
+
+        AnalysisConfigurationHasher configHasher = new AnalysisConfigurationHasher();
+        putRuleSets(configHasher, ruleSets, task.getProject().getProjectDir());
+        configHasher.putString(String.valueOf(rulePriority)).putClasspath(auxClasspath).putClasspath(pmdClasspath);
+        SourceFileAnalysisCache<PmdFileResult> cache = SourceFileAnalysisCache.open(new File(temporaryDir, "analysis-results.bin"), configHasher, PmdFileResult.SERIALIZER);
+
+        DaemonForkOptions forkOptions = new DaemonForkOptions(null, null, Collections.<String>emptyList(), pmdClasspath, SHARED_PACKAGES);
+        final CompilerDaemon daemon = compilerDaemonFactory.getDaemon(task.getProject().getProjectDir(), forkOptions);
+        int maxShards = task.getProject().getGradle().getStartParameter().getMaxWorkerCount();
+        Map<File, PmdFileResult> results = new IncrementalSourceAnalyzer<PmdFileResult>(buildOperationProcessor, maxShards).analyze(task.getSource().getFiles(), cache, new IncrementalSourceAnalyzer.ShardAnalyzer<PmdFileResult>() {
+            @Override
+            public AnalysisResults<PmdFileResult> analyze(List<File> files) {
+                File resultsFile = createResultsFile(temporaryDir);
+                try {
+                    CompileResult result = daemon.execute(new PmdAnalyzer(), new PmdSpec(files, ruleSets, rulePriority, auxClasspath, resultsFile));
+                    if (!result.isSuccess()) {
+                        throw UncheckedException.throwAsUncheckedException(result.getException());
+                    }
+                    return AnalysisResults.readFrom(resultsFile, PmdFileResult.SERIALIZER);
+                } finally {
+                    GFileUtils.deleteQuietly(resultsFile);
+                }
+            }
+        });
+
+        writeReports(task, daemon, cache.getToolVersion(), results);
+        if (task.isConsoleOutput()) {
+            logViolations(task.getLogger(), results);
+        }
+        checkForViolations(task, results);
+    }
+
+    private static List<String> ruleSets(Pmd task) {
+        List<String> ruleSets = new ArrayList<String>(task.getRuleSets());
+        for (File ruleSetFile : task.getRuleSetFiles()) {
+            ruleSets.add(ruleSetFile.getAbsolutePath());
+        }
+        if (task.getRuleSetConfig() != null) {
+            ruleSets.add(task.getRuleSetConfig().asFile().getAbsolutePath());
+        }
+        return ruleSets;
+    }
+
+    /**
+     * Hashes the given rule sets and the rule set files that they refer to. Rule sets that are neither files nor built into PMD cannot be hashed, so the
+     * configuration is not cacheable when they are used.
+     */
+    static void putRuleSets(AnalysisConfigurationHasher configHasher, List<String> ruleSets, File baseDir) {
+        Set<File> visited = new HashSet<File>();
+        for (String ruleSet : ruleSets) {
+            configHasher.putString(ruleSet);
+            putRuleSet(configHasher, ruleSet, baseDir, baseDir, visited);
+        }
+    }
+
+    private static void putRuleSet(AnalysisConfigurationHasher configHasher, String location, File referrerDir, File baseDir, Set<File> visited) {
+        File file = resolveRuleSetFile(location, referrerDir, baseDir);
+        if (file == null) {
+            if (!isBuiltInRuleSet(location)) {
+                configHasher.notCacheable("PMD rule set '" + location + "' cannot be found");
+            }
+            return;
+        }
+        if (!visited.add(file)) {
+            return;
+        }
+        configHasher.putFile(file);
+        String content;
+        try {
+            content = Files.toString(file, Charsets.UTF_8);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        Matcher matcher = RULE_REFERENCE.matcher(content);
+        while (matcher.find()) {
+            // A reference is either a rule set, or a rule set followed by the name of a rule in it
+            String reference = matcher.group(2);
+            int end = reference.indexOf(".xml");
+            putRuleSet(configHasher, end < 0 ? reference : reference.substring(0, end + 4), file.getParentFile(), baseDir, visited);
+        }
+    }
+
+    @Nullable
+    private static File resolveRuleSetFile(String location, File referrerDir, File baseDir) {
+        File file = new File(location);
+        if (file.isAbsolute()) {
+            return file.isFile() ? file : null;
+        }
+        for (File dir : Arrays.asList(referrerDir, baseDir)) {
+            file = new File(dir, location);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBuiltInRuleSet(String location) {
+        // Built-in rule sets are loaded from the PMD classpath, which is hashed
+        return location.startsWith("rulesets/") || !location.contains("/") && !location.endsWith(".xml");
+    }
+
+    private static File createResultsFile(File temporaryDir) {
+        try {
+            return File.createTempFile("results", ".bin", temporaryDir);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static void writeReports(Pmd task, CompilerDaemon daemon, String toolVersion, Map<File, PmdFileResult> results) {
+        PmdReports reports = task.getReports();
+        if (!reports.getXml().isEnabled() && !reports.getHtml().isEnabled()) {
+            return;
+        }
+        File xmlDestination = reports.getXml().isEnabled() ? reports.getXml().getDestination() : null;
+        File htmlDestination = reports.getHtml().isEnabled() ? reports.getHtml().getDestination() : null;
+
+        Map<String, PmdFileResult> resultsByPath = new LinkedHashMap<String, PmdFileResult>();
+        for (Map.Entry<File, PmdFileResult> entry : results.entrySet()) {
+            resultsByPath.put(entry.getKey().getAbsolutePath(), entry.getValue());
+        }
+        File resultsFile = createResultsFile(task.getTemporaryDir());
+        try {
+            new AnalysisResults<PmdFileResult>(toolVersion, resultsByPath).writeTo(resultsFile, PmdFileResult.SERIALIZER);
+            CompileResult result = daemon.execute(new PmdReportWriter(), new PmdReportSpec(resultsFile, xmlDestination, htmlDestination));
+            if (!result.isSuccess()) {
+                throw UncheckedException.throwAsUncheckedException(result.getException());
+            }
+        } finally {
+            GFileUtils.deleteQuietly(resultsFile);
+        }
+    }
+
+    private static void logViolations(Logger logger, Map<File, PmdFileResult> results) {
+        for (Map.Entry<File, PmdFileResult> entry : results.entrySet()) {
+            String path = entry.getKey().getAbsolutePath();
+            for (PmdViolation violation : entry.getValue().getViolations()) {
+                logger.quiet(path + ":" + violation.getBeginLine() + ":\t" + violation.getDescription());
+            }
+            for (String error : entry.getValue().getErrors()) {
+                logger.quiet(path + "\t-\t" + error);
+            }
+        }
+    }
+
+    private static void checkForViolations(Pmd task, Map<File, PmdFileResult> results) {
+        int violations = 0;
+        for (PmdFileResult result : results.values()) {
+            violations += result.getViolations().size();
+        }
+        if (violations == 0) {
+            return;
+        }
+        String message = violations + " PMD rule violations were found.";
+        PmdReports reports = task.getReports();
+        SingleFileReport report = reports.getHtml().isEnabled() ? reports.getHtml() : reports.getXml().isEnabled() ? reports.getXml() : null;
+        if (report != null) {
+            message += " See the report at: " + new ConsoleRenderer().asClickableFileUrl(report.getDestination());
+        }
+        if (task.getIgnoreFailures()) {
+            task.getLogger().warn(message);
+        } else {
+            throw new GradleException(message);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+
+public class PmdSpec implements CompileSpec, Serializable {
+    private final List<File> sourceFiles;
+    private final List<String> ruleSets;
+    private final int rulePriority;
+    private final List<File> auxClasspath;
+    private final File resultsFile;
+
+    public PmdSpec(List<File> sourceFiles, List<String> ruleSets, int rulePriority, List<File> auxClasspath, File resultsFile) {
+        this.sourceFiles = sourceFiles;
+        this.ruleSets = ruleSets;
+        this.rulePriority = rulePriority;
+        this.auxClasspath = auxClasspath;
+        this.resultsFile = resultsFile;
+    }
+
+    public List<File> getSourceFiles() {
+        return sourceFiles;
+    }
+
+    /**
+     * The names and paths of the rule sets to apply.
+     */
+    public List<String> getRuleSets() {
+        return ruleSets;
+    }
+
+    public int getRulePriority() {
+        return rulePriority;
+    }
+
+    public List<File> getAuxClasspath() {
+        return auxClasspath;
+    }
+
+    /**
+     * The file to write the {@link org.gradle.api.plugins.quality.internal.analysis.AnalysisResults} to.
+     */
+    public File getResultsFile() {
+        return resultsFile;
+    }
+}
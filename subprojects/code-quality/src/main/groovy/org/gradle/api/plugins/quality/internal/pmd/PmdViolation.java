@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.pmd;
+
+import org.gradle.api.Nullable;
+
+public class PmdViolation {
+    private final int beginLine;
+    private final int endLine;
+    private final int beginColumn;
+    private final int endColumn;
+    private final String rule;
+    private final String ruleSet;
+    private final String packageName;
+    private final String className;
+    private final String methodName;
+    private final String variableName;
+    private final String externalInfoUrl;
+    private final int priority;
+    private final String description;
+
+    public PmdViolation(int beginLine, int endLine, int beginColumn, int endColumn, String rule, @Nullable String ruleSet, @Nullable String packageName, @Nullable String className,
+                        @Nullable String methodName, @Nullable String variableName, @Nullable String externalInfoUrl, int priority, String description) {
+        this.beginLine = beginLine;
+        this.endLine = endLine;
+        this.beginColumn = beginColumn;
+        this.endColumn = endColumn;
+        this.rule = rule;
+        this.ruleSet = ruleSet;
+        this.packageName = packageName;
+        this.className = className;
+        this.methodName = methodName;
+        this.variableName = variableName;
+        this.externalInfoUrl = externalInfoUrl;
+        this.priority = priority;
+        this.description = description;
+    }
+
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    public int getEndLine() {
+        return endLine;
+    }
+
+    public int getBeginColumn() {
+        return beginColumn;
+    }
+
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    @Nullable
+    public String getRuleSet() {
+        return ruleSet;
+    }
+
+    @Nullable
+    public String getPackageName() {
+        return packageName;
+    }
+
+    @Nullable
+    public String getClassName() {
+        return className;
+    }
+
+    @Nullable
+    public String getMethodName() {
+        return methodName;
+    }
+
+    @Nullable
+    public String getVariableName() {
+        return variableName;
+    }
+
+    @Nullable
+    public String getExternalInfoUrl() {
+        return externalInfoUrl;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
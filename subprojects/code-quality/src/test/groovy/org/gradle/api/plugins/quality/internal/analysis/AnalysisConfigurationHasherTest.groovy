@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.plugins.quality.internal.analysis
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class AnalysisConfigurationHasherTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def "hash of classpath changes when a file in a classpath directory changes"() {
+        def classesDir = testDir.createDir("classes")
+        def classFile = classesDir.file("org/Thing.class").createFile()
+        def jar = testDir.file("lib.jar").createFile()
+        def before = new AnalysisConfigurationHasher().putClasspath([classesDir, jar]).hash()
+
+        expect:
+        new AnalysisConfigurationHasher().putClasspath([classesDir, jar]).hash() == before
+
+        when:
+        classFile << "changed"
+
+        then:
+        new AnalysisConfigurationHasher().putClasspath([classesDir, jar]).hash() != before
+
+        when:
+        classesDir.file("org/Other.class").createFile()
+
+        then:
+        new AnalysisConfigurationHasher().putClasspath([classesDir, jar]).hash() != before
+    }
+
+    def "hash of classpath changes when a jar is rebuilt with the same size and modification time"() {
+        def jar = testDir.file("lib.jar")
+        jar.text = "first"
+        def lastModified = jar.lastModified()
+        def before = new AnalysisConfigurationHasher().putClasspath([jar]).hash()
+
+        when:
+        jar.text = "other"
+        jar.lastModified = lastModified
+
+        then:
+        new AnalysisConfigurationHasher().putClasspath([jar]).hash() != before
+    }
+
+    def "is cacheable until marked otherwise"() {
+        def hasher = new AnalysisConfigurationHasher()
+
+        expect:
+        hasher.notCacheableReason == null
+
+        when:
+        hasher.notCacheable("first reason")
+        hasher.notCacheable("second reason")
+
+        then:
+        hasher.notCacheableReason == "first reason"
+    }
+}
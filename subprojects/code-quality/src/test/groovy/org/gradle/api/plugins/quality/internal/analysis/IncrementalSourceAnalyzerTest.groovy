@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.analysis
+
+import org.gradle.api.Action
+import org.gradle.internal.hash.HashUtil
+import org.gradle.internal.operations.BuildOperationProcessor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class IncrementalSourceAnalyzerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def buildOperationProcessor = Mock(BuildOperationProcessor)
+    def analyzer = new IncrementalSourceAnalyzer<String>(buildOperationProcessor, 4)
+    def cacheFile = testDir.file("cache.bin")
+    def configHash = HashUtil.createHash("config", "MD5")
+    def shardAnalyzer = Mock(IncrementalSourceAnalyzer.ShardAnalyzer)
+
+    def "analyzes all files on first execution and reuses results of unchanged files afterwards"() {
+        def files = (1..3).collect { testDir.file("src/File${it}.java").createFile() }
+
+        when:
+        def results = analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * shardAnalyzer.analyze(files) >> resultsFor(files)
+        results == files.collectEntries { [it, "result:$it.name"] }
+
+        when:
+        files[1] << "changed"
+        results = analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * shardAnalyzer.analyze([files[1]]) >> resultsFor([files[1]], "changed")
+        results == [(files[0]): "result:File1.java", (files[1]): "changed:File2.java", (files[2]): "result:File3.java"]
+    }
+
+    def "discards results of removed files"() {
+        def files = (1..2).collect { testDir.file("src/File${it}.java").createFile() }
+        analyzer.analyze(files, cache(), Stub(IncrementalSourceAnalyzer.ShardAnalyzer) {
+            analyze(_) >> resultsFor(files)
+        })
+
+        when:
+        def results = analyzer.analyze([files[1]], cache(), shardAnalyzer)
+
+        then:
+        0 * shardAnalyzer._
+        results == [(files[1]): "result:File2.java"]
+        cache().size() == 1
+    }
+
+    def "analyzes all files again when configuration changes"() {
+        def files = [testDir.file("src/File1.java").createFile()]
+        analyzer.analyze(files, cache(), Stub(IncrementalSourceAnalyzer.ShardAnalyzer) {
+            analyze(_) >> resultsFor(files)
+        })
+        configHash = HashUtil.createHash("other config", "MD5")
+
+        when:
+        analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * shardAnalyzer.analyze(files) >> resultsFor(files)
+    }
+
+    def "analyzes large numbers of files in parallel shards"() {
+        def files = (1..(IncrementalSourceAnalyzer.MIN_FILES_PER_SHARD * 3)).collect { testDir.file("src/File${it}.java").createFile() }
+        def analyzed = []
+
+        when:
+        def results = analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * buildOperationProcessor.run(_ as Action) >> { Action<BuildOperationQueue> generator ->
+            generator.execute([add: { it.run() }] as BuildOperationQueue)
+        }
+        3 * shardAnalyzer.analyze(_) >> { args ->
+            analyzed << args[0].size()
+            resultsFor(args[0])
+        }
+        analyzed == [IncrementalSourceAnalyzer.MIN_FILES_PER_SHARD] * 3
+        results.size() == files.size()
+    }
+
+    def "does not cache files without a result"() {
+        def files = (1..2).collect { testDir.file("src/File${it}.java").createFile() }
+
+        when:
+        def results = analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * shardAnalyzer.analyze(files) >> resultsFor([files[0]])
+        results == [(files[0]): "result:File1.java"]
+
+        when:
+        analyzer.analyze(files, cache(), shardAnalyzer)
+
+        then:
+        1 * shardAnalyzer.analyze([files[1]]) >> resultsFor([files[1]])
+    }
+
+    private SourceFileAnalysisCache<String> cache() {
+        return new SourceFileAnalysisCache<String>(cacheFile, configHash, BaseSerializerFactory.STRING_SERIALIZER)
+    }
+
+    private static AnalysisResults<String> resultsFor(List<File> files, String prefix = "result") {
+        return new AnalysisResults<String>("1.0", files.collectEntries { [it.absolutePath, "$prefix:$it.name".toString()] })
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.plugins.quality.internal.checkstyle
+
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisConfigurationHasher
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CheckstyleRunnerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+    def configDir = testDir.createDir("config")
+    def configFile = configDir.file("checkstyle.xml")
+    def suppressions = configDir.file("suppressions.xml").createFile()
+
+    def "hashes files that the configuration refers to through properties"() {
+        configFile << """<module name="Checker">
+            <module name="SuppressionFilter"><property name="file" value="\${config_loc}/suppressions.xml"/></module>
+            <module name="TreeWalker"><module name="ConstantName"><property name="format" value="^[A-Z]+\$"/></module></module>
+        </module>"""
+        def before = hash().hash()
+
+        expect:
+        hash().notCacheableReason == null
+        hash().hash() == before
+
+        when:
+        suppressions << "<suppressions/>"
+
+        then:
+        hash().hash() != before
+    }
+
+    def "hashes files that the configuration refers to relative to the project directory"() {
+        configFile << """<module name="Checker"><module name="SuppressionFilter"><property name="file" value='config/suppressions.xml'/></module></module>"""
+        def before = hash()
+
+        when:
+        suppressions << "<suppressions/>"
+
+        then:
+        hash().hash() != before.hash()
+    }
+
+    def "configuration is not cacheable when it refers to an undefined property"() {
+        configFile << """<module name="Checker"><module name="SuppressionFilter"><property name="file" value="\${suppressions}"/></module></module>"""
+
+        expect:
+        hash().notCacheableReason == "the Checkstyle configuration refers to undefined property 'suppressions'"
+    }
+
+    def "finds checks that look across source files"() {
+        configFile << """<module name="Checker">
+            <module name="$module"/>
+            <module name="TreeWalker"><module name="ConstantName"/></module>
+        </module>"""
+
+        expect:
+        CheckstyleRunner.findMultiFileCheck(configFile) == check
+
+        where:
+        module                                                          | check
+        "JavadocPackage"                                                | "JavadocPackage"
+        "TranslationCheck"                                              | "Translation"
+        "com.puppycrawl.tools.checkstyle.checks.UniquePropertiesCheck"  | "UniqueProperties"
+        "NewlineAtEndOfFile"                                            | null
+    }
+
+    private AnalysisConfigurationHasher hash() {
+        def hasher = new AnalysisConfigurationHasher()
+        CheckstyleRunner.putReferencedFiles(hasher, configFile, [config_loc: configDir.absolutePath], testDir.testDirectory)
+        return hasher
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.findbugs
+
+import org.gradle.api.file.FileCollection
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class FindBugsWorkerManagerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def daemonFactory = Mock(CompilerDaemonFactory)
+    def daemon = Mock(CompilerDaemon)
+    def spec = new FindBugsSpec(["-textui"], "512m", false)
+    def manager = new FindBugsWorkerManager()
+
+    def "runs FindBugs in a compiler daemon and reads back the result"() {
+        def findBugsClasspath = files("findbugs.jar", "bcel.jar")
+        DaemonForkOptions forkOptions = null
+
+        when:
+        def result = manager.runDaemon(testDir.testDirectory, daemonFactory, findBugsClasspath, files(), spec, testDir.testDirectory)
+
+        then:
+        1 * daemonFactory.getDaemon(testDir.testDirectory, _) >> { File workingDir, DaemonForkOptions options ->
+            forkOptions = options
+            daemon
+        }
+        1 * daemon.execute(_ as FindBugsDaemonExecuter, _ as FindBugsDaemonSpec) >> { compiler, FindBugsDaemonSpec daemonSpec ->
+            assert daemonSpec.spec == spec
+            FindBugsResultSerializer.write(new FindBugsResult(3, 2, 1), daemonSpec.resultFile)
+            new CompileResult(true, null)
+        }
+        forkOptions.maxHeapSize == "512m"
+        forkOptions.classpath as List == findBugsClasspath.files as List
+        forkOptions.sharedPackages as List == ["edu.umd.cs.findbugs"]
+        result.bugCount == 3
+        result.missingClassCount == 2
+        result.errorCount == 1
+        result.exception == null
+        testDir.testDirectory.listFiles().length == 0
+    }
+
+    def "maps a failure in the compiler daemon to the result"() {
+        def failure = new RuntimeException("broken")
+
+        when:
+        def result = manager.runDaemon(testDir.testDirectory, daemonFactory, files("findbugs.jar"), null, spec, testDir.testDirectory)
+
+        then:
+        1 * daemonFactory.getDaemon(_, _) >> daemon
+        1 * daemon.execute(_, _) >> new CompileResult(true, failure)
+        result.exception == failure
+    }
+
+    def "uses separate daemons for tasks with different plugins"() {
+        def forkOptions = []
+
+        when:
+        [files(), files("plugin1.jar"), files("plugin2.jar")].each { plugins ->
+            manager.runDaemon(testDir.testDirectory, daemonFactory, files("findbugs.jar"), plugins, spec, testDir.testDirectory)
+        }
+
+        then:
+        3 * daemonFactory.getDaemon(_, _) >> { File workingDir, DaemonForkOptions options ->
+            forkOptions << options
+            daemon
+        }
+        3 * daemon.execute(_, _) >> { compiler, FindBugsDaemonSpec daemonSpec ->
+            FindBugsResultSerializer.write(new FindBugsResult(0, 0, 0), daemonSpec.resultFile)
+            new CompileResult(true, null)
+        }
+        !forkOptions[0].isCompatibleWith(forkOptions[1])
+        !forkOptions[1].isCompatibleWith(forkOptions[0])
+        !forkOptions[1].isCompatibleWith(forkOptions[2])
+    }
+
+    private FileCollection files(String... names) {
+        def files = names.collect { testDir.file(it) } as Set
+        return Stub(FileCollection) {
+            getFiles() >> files
+            iterator() >> { files.iterator() }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.plugins.quality.internal.pmd
+
+import org.gradle.api.plugins.quality.internal.analysis.AnalysisConfigurationHasher
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PmdRunnerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    @Unroll
+    def "can run PMD from classpath #jars: #canRun"() {
+        expect:
+        PmdRunner.canRun(jars.collect { new File(it) }) == canRun
+
+        where:
+        jars                                         | canRun
+        ["pmd-java-5.5.1.jar", "pmd-core-5.5.1.jar"] | true
+        ["pmd-core-5.5.4.jar"]                       | true
+        ["pmd-core-5.1.0.jar"]                       | false
+        ["pmd-5.0.5.jar"]                            | false
+        ["pmd-4.3.jar"]                              | false
+        ["pmd-core-6.0.0.jar"]                       | false
+        ["other.jar"]                                | false
+    }
+
+    def "hashes rule set files that rule sets refer to"() {
+        def ruleSet = testDir.file("config/ruleset.xml")
+        def referenced = testDir.file("config/other.xml").createFile()
+        ruleSet << """<ruleset><rule ref="rulesets/java/basic.xml/EmptyCatchBlock"/><rule ref="other.xml/SomeRule"/></ruleset>"""
+        def before = hash([ruleSet.absolutePath, "java-unusedcode"])
+
+        expect:
+        before.notCacheableReason == null
+
+        when:
+        referenced << "<ruleset/>"
+
+        then:
+        hash([ruleSet.absolutePath, "java-unusedcode"]).hash() != before.hash()
+    }
+
+    def "configuration is not cacheable when a rule set cannot be found"() {
+        def ruleSet = testDir.file("ruleset.xml")
+        ruleSet << """<ruleset><rule ref="http://server/ruleset.xml"/></ruleset>"""
+
+        expect:
+        hash([ruleSet.absolutePath]).notCacheableReason == "PMD rule set 'http://server/ruleset.xml' cannot be found"
+    }
+
+    private AnalysisConfigurationHasher hash(List<String> ruleSets) {
+        def hasher = new AnalysisConfigurationHasher()
+        PmdRunner.putRuleSets(hasher, ruleSets, testDir.testDirectory)
+        return hasher
+    }
+}
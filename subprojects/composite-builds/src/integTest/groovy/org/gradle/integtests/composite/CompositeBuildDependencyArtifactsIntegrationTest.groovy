@@ -477,6 +477,41 @@ class CompositeBuildDependencyArtifactsIntegrationTest extends AbstractComposite
             .assertHasCause("jar task failed")
     }
 
+    def "does not report failure to build artifact to builds that do not require it"() {
+        given:
+        buildB.file('b2/build.gradle') << """
+            jar.doLast {
+                throw new GradleException("jar task failed")
+            }
+"""
+        buildA.buildFile << """
+            configurations {
+                first
+                second
+                third
+            }
+            dependencies {
+                first 'org.test:b1:1.0'
+                second 'org.test:b2:1.0'
+                third 'org.test:b1:1.0'
+            }
+            task resolveFirst { doLast { configurations.first.files } }
+            task resolveSecond { doLast { configurations.second.files } }
+            task resolveThird { doLast { configurations.third.files } }
+            resolveSecond.mustRunAfter resolveFirst
+            resolveThird.mustRunAfter resolveSecond
+"""
+
+        when:
+        fails(buildA, ":resolveFirst", [":resolveSecond", ":resolveThird", "--continue"])
+
+        then:
+        executed ":buildB:b1:jar", ":buildB:b2:jar", ":resolveFirst", ":resolveThird"
+        failure
+            .assertHasDescription("Failed to build artifacts for build 'buildB'")
+            .assertHasCause("jar task failed")
+    }
+
     private void resolveArtifacts() {
         execute(buildA, ":resolve", arguments)
     }
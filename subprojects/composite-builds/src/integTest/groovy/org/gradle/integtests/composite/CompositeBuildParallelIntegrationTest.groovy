@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.integtests.composite
+
+import org.gradle.integtests.fixtures.build.BuildTestFile
+import org.gradle.test.fixtures.server.http.BlockingHttpServer
+import org.junit.Rule
+
+/**
+ * Tests for executing included builds in parallel.
+ */
+class CompositeBuildParallelIntegrationTest extends AbstractCompositeBuildIntegrationTest {
+    @Rule
+    public final BlockingHttpServer blockingServer = new BlockingHttpServer()
+
+    def setup() {
+        blockingServer.start()
+
+        buildA.buildFile << """
+            task resolve(type: Copy) {
+                from configurations.compile
+                into 'libs'
+            }
+"""
+    }
+
+    def "builds included builds in parallel"() {
+        given:
+        ['buildB', 'buildC', 'buildD'].each { name ->
+            includedBuilds << pingingBuild(name)
+            dependency "org.test:${name}:1.0"
+        }
+
+        when:
+        blockingServer.expectConcurrentExecution('buildB', 'buildC', 'buildD')
+        execute(buildA, ":resolve", ['--parallel', '--max-workers=3'])
+
+        then:
+        executed ":buildB:jar", ":buildC:jar", ":buildD:jar"
+    }
+
+    def "builds included build that is required by other included builds only once"() {
+        given:
+        def buildD = pingingBuild('buildD')
+        ['buildB', 'buildC'].each { name ->
+            def build = pingingBuild(name)
+            dependency(build, 'org.test:buildD:1.0')
+            includedBuilds << build
+            dependency "org.test:${name}:1.0"
+        }
+        includedBuilds << buildD
+
+        when:
+        blockingServer.expectSerialExecution('buildD')
+        blockingServer.expectConcurrentExecution('buildB', 'buildC')
+        execute(buildA, ":resolve", ['--parallel', '--max-workers=3'])
+
+        then:
+        executed ":buildB:jar", ":buildC:jar", ":buildD:jar"
+    }
+
+    def "reports failure of included build that is built in parallel"() {
+        given:
+        ['buildB', 'buildC'].each { name ->
+            includedBuilds << pingingBuild(name)
+            dependency "org.test:${name}:1.0"
+        }
+        includedBuilds[1].buildFile << """
+            jar.doLast {
+                throw new RuntimeException('broken')
+            }
+"""
+
+        when:
+        blockingServer.expectConcurrentExecution('buildB', 'buildC')
+        fails(buildA, ":resolve", ['--parallel', '--max-workers=3'])
+
+        then:
+        failure.assertHasDescription("Failed to build artifacts for build 'buildC'")
+        failure.assertHasCause('broken')
+    }
+
+    private BuildTestFile pingingBuild(String name) {
+        return singleProjectBuild(name) {
+            buildFile << """
+                apply plugin: 'java'
+                repositories {
+                    maven { url "${mavenRepo.uri}" }
+                }
+                jar.doFirst {
+                    new URL("http://localhost:${blockingServer.port}/${name}").text
+                }
+"""
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.gradle.initialization.IncludedBuildExecuter;
 import org.gradle.initialization.IncludedBuildFactory;
 import org.gradle.initialization.IncludedBuilds;
 import org.gradle.internal.composite.CompositeContextBuilder;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.operations.BuildOperationWorkerRegistry;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.ServiceRegistry;
@@ -77,8 +79,9 @@ public class CompositeBuildServices implements PluginServiceRegistry {
             return new DefaultIncludedBuildExecuter(includedBuilds);
         }
 
-        public IncludedBuildArtifactBuilder createIncludedBuildArtifactBuilder(IncludedBuildExecuter includedBuildExecuter) {
-            return new IncludedBuildArtifactBuilder(includedBuildExecuter);
+        public IncludedBuildArtifactBuilder createIncludedBuildArtifactBuilder(IncludedBuildExecuter includedBuildExecuter, ExecutorFactory executorFactory, BuildOperationWorkerRegistry workerLeases, StartParameter startParameter) {
+            int maxConcurrentBuilds = startParameter.isParallelProjectExecutionEnabled() ? startParameter.getMaxWorkerCount() : 1;
+            return new IncludedBuildArtifactBuilder(includedBuildExecuter, executorFactory, workerLeases, maxConcurrentBuilds);
         }
     }
 
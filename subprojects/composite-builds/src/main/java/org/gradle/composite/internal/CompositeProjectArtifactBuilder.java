@@ -19,8 +19,9 @@ package org.gradle.composite.internal;
 import org.gradle.api.internal.artifacts.ivyservice.projectmodule.ProjectArtifactBuilder;
 import org.gradle.initialization.BuildIdentity;
 import org.gradle.internal.component.model.ComponentArtifactMetadata;
+import org.gradle.internal.concurrent.Stoppable;
 
-class CompositeProjectArtifactBuilder implements ProjectArtifactBuilder {
+class CompositeProjectArtifactBuilder implements ProjectArtifactBuilder, Stoppable {
     private final IncludedBuildArtifactBuilder artifactBuilder;
     private final BuildIdentity buildIdentity;
 
@@ -31,11 +32,17 @@ class CompositeProjectArtifactBuilder implements ProjectArtifactBuilder {
 
     @Override
     public void willBuild(ComponentArtifactMetadata artifact) {
-        artifactBuilder.willBuild(artifact);
+        artifactBuilder.willBuild(buildIdentity.getCurrentBuild(), artifact);
     }
 
     @Override
     public void build(ComponentArtifactMetadata artifact) {
         artifactBuilder.build(buildIdentity.getCurrentBuild(), artifact);
     }
+
+    @Override
+    public void stop() {
+        // Included builds started on behalf of this build must complete before it finishes
+        artifactBuilder.buildFinished(buildIdentity.getCurrentBuild());
+    }
 }
@@ -18,7 +18,9 @@ package org.gradle.composite.internal;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import org.gradle.api.artifacts.component.BuildIdentifier;
 import org.gradle.api.artifacts.component.ProjectComponentSelector;
 import org.gradle.initialization.IncludedBuildExecuter;
@@ -30,6 +32,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -41,10 +45,12 @@ class DefaultIncludedBuildExecuter implements IncludedBuildExecuter {
     // Fields guarded by lock
     private final Lock lock = new ReentrantLock();
     private final Condition buildCompleted = lock.newCondition();
-    private final List<BuildRequest> executingBuilds = Lists.newLinkedList();
-
-    // TODO:DAZ Should be guarded by lock
+    // Requests that are executing or waiting for an existing build of the same target to complete
+    private final List<BuildRequest> activeRequests = Lists.newLinkedList();
+    private final Set<BuildIdentifier> executingBuilds = Sets.newHashSet();
     private final Multimap<BuildIdentifier, String> executedTasks = LinkedHashMultimap.create();
+    // Failures of executed tasks, so that each request that requires a failed task receives the failure
+    private final Map<BuildIdentifier, Map<String, RuntimeException>> taskFailures = Maps.newHashMap();
 
     public DefaultIncludedBuildExecuter(IncludedBuilds includedBuilds) {
         this.includedBuilds = includedBuilds;
@@ -53,31 +59,73 @@ class DefaultIncludedBuildExecuter implements IncludedBuildExecuter {
     @Override
     public void execute(BuildIdentifier sourceBuild, final BuildIdentifier targetBuild, final Iterable<String> taskNames) {
         BuildRequest buildRequest = new BuildRequest(sourceBuild, targetBuild, taskNames);
-        buildStarted(buildRequest);
+        List<String> tasksToExecute = buildStarted(buildRequest);
         try {
-            doBuild(targetBuild, taskNames);
+            doBuild(targetBuild, tasksToExecute);
+        } catch (RuntimeException e) {
+            buildFailed(targetBuild, tasksToExecute, e);
+            throw e;
         } finally {
             buildCompleted(buildRequest);
         }
     }
 
-    private void buildStarted(BuildRequest buildRequest) {
+    private List<String> buildStarted(BuildRequest buildRequest) {
         lock.lock();
         try {
             List<BuildIdentifier> candidateCycle = Lists.newArrayList();
             checkNoCycles(buildRequest, buildRequest.targetBuild, candidateCycle);
-            waitForExistingBuildToComplete(buildRequest.targetBuild);
-            executingBuilds.add(buildRequest);
+            activeRequests.add(buildRequest);
+            try {
+                waitForExistingBuildToComplete(buildRequest.targetBuild);
+            } catch (RuntimeException e) {
+                activeRequests.remove(buildRequest);
+                throw e;
+            }
+            executingBuilds.add(buildRequest.targetBuild);
+            return tasksToExecute(buildRequest);
         } finally {
             lock.unlock();
         }
     }
 
+    private List<String> tasksToExecute(BuildRequest buildRequest) {
+        RuntimeException failure = previousFailure(buildRequest);
+        if (failure != null) {
+            // A requested task has already been attempted, possibly by another thread, and failed
+            executingBuilds.remove(buildRequest.targetBuild);
+            activeRequests.remove(buildRequest);
+            buildCompleted.signalAll();
+            throw failure;
+        }
+        List<String> tasksToExecute = Lists.newArrayList();
+        for (String taskPath : buildRequest.tasks) {
+            if (executedTasks.put(buildRequest.targetBuild, taskPath)) {
+                tasksToExecute.add(taskPath);
+            }
+        }
+        return tasksToExecute;
+    }
+
+    private RuntimeException previousFailure(BuildRequest buildRequest) {
+        Map<String, RuntimeException> failures = taskFailures.get(buildRequest.targetBuild);
+        if (failures == null) {
+            return null;
+        }
+        for (String taskPath : buildRequest.tasks) {
+            RuntimeException failure = failures.get(taskPath);
+            if (failure != null) {
+                return failure;
+            }
+        }
+        return null;
+    }
+
     private void checkNoCycles(BuildRequest buildRequest, BuildIdentifier target, List<BuildIdentifier> candidateCycle) {
         candidateCycle.add(target);
-        for (BuildRequest executingBuild : executingBuilds) {
-            if (executingBuild.requestingBuild.equals(target)) {
-                BuildIdentifier nextTarget = executingBuild.targetBuild;
+        for (BuildRequest activeRequest : activeRequests) {
+            if (activeRequest.requestingBuild.equals(target)) {
+                BuildIdentifier nextTarget = activeRequest.targetBuild;
 
                 if (nextTarget.equals(buildRequest.requestingBuild)) {
                     candidateCycle.add(nextTarget);
@@ -93,7 +141,7 @@ class DefaultIncludedBuildExecuter implements IncludedBuildExecuter {
 
     private void waitForExistingBuildToComplete(BuildIdentifier buildId) {
         try {
-            while (buildInProgress(buildId)) {
+            while (executingBuilds.contains(buildId)) {
                 buildCompleted.await();
             }
         } catch (InterruptedException e) {
@@ -101,15 +149,6 @@ class DefaultIncludedBuildExecuter implements IncludedBuildExecuter {
         }
     }
 
-    private boolean buildInProgress(BuildIdentifier buildId) {
-        for (BuildRequest executingBuild : executingBuilds) {
-            if (executingBuild.targetBuild.equals(buildId)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String reportCycle(List<BuildIdentifier> cycle) {
         StringBuilder cycleReport = new StringBuilder();
         for (BuildIdentifier buildIdentifier : cycle) {
@@ -123,24 +162,35 @@ class DefaultIncludedBuildExecuter implements IncludedBuildExecuter {
     private void buildCompleted(BuildRequest buildRequest) {
         lock.lock();
         try {
-            executingBuilds.remove(buildRequest);
+            executingBuilds.remove(buildRequest.targetBuild);
+            activeRequests.remove(buildRequest);
             buildCompleted.signalAll();
         } finally {
             lock.unlock();
         }
     }
 
-    private void doBuild(BuildIdentifier buildId, Iterable<String> taskPaths) {
-        List<String> tasksToExecute = Lists.newArrayList();
-        for (String taskPath : taskPaths) {
-            if (executedTasks.put(buildId, taskPath)) {
-                tasksToExecute.add(taskPath);
+    private void buildFailed(BuildIdentifier buildId, List<String> tasks, RuntimeException failure) {
+        lock.lock();
+        try {
+            Map<String, RuntimeException> failures = taskFailures.get(buildId);
+            if (failures == null) {
+                failures = Maps.newHashMap();
+                taskFailures.put(buildId, failures);
             }
+            for (String taskPath : tasks) {
+                failures.put(taskPath, failure);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
+
+    private void doBuild(BuildIdentifier buildId, List<String> tasksToExecute) {
         if (tasksToExecute.isEmpty()) {
             return;
         }
-        LOGGER.info("Executing " + buildId.getName() + " tasks " + taskPaths);
+        LOGGER.info("Executing " + buildId.getName() + " tasks " + tasksToExecute);
 
         IncludedBuildInternal build = (IncludedBuildInternal) includedBuilds.getBuild(buildId.getName());
         build.execute(tasksToExecute);
@@ -16,40 +16,160 @@
 
 package org.gradle.composite.internal;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import org.gradle.api.GradleException;
 import org.gradle.api.artifacts.component.BuildIdentifier;
 import org.gradle.initialization.IncludedBuildExecuter;
 import org.gradle.initialization.ReportedException;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.component.model.ComponentArtifactMetadata;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.exceptions.Contextual;
 import org.gradle.internal.exceptions.LocationAwareException;
+import org.gradle.internal.operations.BuildOperationWorkerRegistry;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-class IncludedBuildArtifactBuilder {
+/**
+ * Builds the artifacts of included builds.
+ *
+ * <p>When parallel execution is enabled, the included builds whose artifacts will be required are scheduled as the artifacts are discovered, and are started
+ * concurrently when the first artifact is actually required. A build that requires an artifact does not wait for these builds to be started, but executes the
+ * required tasks itself when they are not already executing.</p>
+ *
+ * <p>Included builds share the worker leases of the build session, so that their tasks count against {@code max-workers} along with the tasks of the build that
+ * requires them. The operation that requires an artifact releases its lease while the included build executes.</p>
+ */
+class IncludedBuildArtifactBuilder implements Stoppable {
     private final Multimap<BuildIdentifier, String> tasksForBuild = LinkedHashMultimap.create();
+    private final Multimap<BuildIdentifier, String> requestedTasks = HashMultimap.create();
+    private final Map<BuildIdentifier, ScheduledBuild> scheduledBuilds = Maps.newLinkedHashMap();
+    private final Multimap<BuildIdentifier, Future<?>> startedBuilds = ArrayListMultimap.create();
     private final IncludedBuildExecuter includedBuildExecuter;
+    private final ExecutorFactory executorFactory;
+    private final BuildOperationWorkerRegistry workerLeases;
+    private final int maxConcurrentBuilds;
+    private StoppableExecutor executor;
 
-    IncludedBuildArtifactBuilder(IncludedBuildExecuter includedBuildExecuter) {
+    IncludedBuildArtifactBuilder(IncludedBuildExecuter includedBuildExecuter, ExecutorFactory executorFactory, BuildOperationWorkerRegistry workerLeases, int maxConcurrentBuilds) {
         this.includedBuildExecuter = includedBuildExecuter;
+        this.executorFactory = executorFactory;
+        this.workerLeases = workerLeases;
+        this.maxConcurrentBuilds = maxConcurrentBuilds;
     }
 
-    public void willBuild(ComponentArtifactMetadata artifact) {
+    public void willBuild(BuildIdentifier requestingBuild, ComponentArtifactMetadata artifact) {
         if (artifact instanceof CompositeProjectComponentArtifactMetadata) {
             CompositeProjectComponentArtifactMetadata compositeBuildArtifact = (CompositeProjectComponentArtifactMetadata) artifact;
             BuildIdentifier buildId = getBuildIdentifier(compositeBuildArtifact);
             addTasksForBuild(buildId, compositeBuildArtifact);
+            scheduleBuild(requestingBuild, buildId);
         }
     }
 
-    public void build(BuildIdentifier requestingBuild, ComponentArtifactMetadata artifact) {
+    public void build(final BuildIdentifier requestingBuild, ComponentArtifactMetadata artifact) {
         if (artifact instanceof CompositeProjectComponentArtifactMetadata) {
             CompositeProjectComponentArtifactMetadata compositeBuildArtifact = (CompositeProjectComponentArtifactMetadata) artifact;
-            BuildIdentifier buildId = getBuildIdentifier(compositeBuildArtifact);
-            Collection<String> tasksToExecute = addTasksForBuild(buildId, compositeBuildArtifact);
-            execute(requestingBuild, buildId, tasksToExecute);
+            final BuildIdentifier buildId = getBuildIdentifier(compositeBuildArtifact);
+            addTasksForBuild(buildId, compositeBuildArtifact);
+            startScheduledBuilds();
+            final Collection<String> tasks = tasksToExecute(buildId, compositeBuildArtifact.getTasks());
+            workerLeases.withoutLease(new Runnable() {
+                @Override
+                public void run() {
+                    execute(requestingBuild, buildId, tasks);
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits for the included builds started on behalf of the given build to complete, and discards those that have not been started.
+     */
+    public void buildFinished(BuildIdentifier requestingBuild) {
+        List<Future<?>> builds;
+        synchronized (this) {
+            Iterator<ScheduledBuild> iterator = scheduledBuilds.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().requestingBuild.equals(requestingBuild)) {
+                    iterator.remove();
+                }
+            }
+            builds = Lists.newArrayList(startedBuilds.removeAll(requestingBuild));
+        }
+        for (Future<?> build : builds) {
+            try {
+                build.get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
+    }
+
+    private synchronized void scheduleBuild(BuildIdentifier requestingBuild, BuildIdentifier buildId) {
+        if (maxConcurrentBuilds > 1 && !scheduledBuilds.containsKey(buildId)) {
+            scheduledBuilds.put(buildId, new ScheduledBuild(requestingBuild));
+        }
+    }
+
+    private void startScheduledBuilds() {
+        Map<BuildIdentifier, ScheduledBuild> buildsToStart;
+        synchronized (this) {
+            if (scheduledBuilds.isEmpty()) {
+                return;
+            }
+            buildsToStart = Maps.newLinkedHashMap(scheduledBuilds);
+            scheduledBuilds.clear();
+            if (executor == null) {
+                executor = executorFactory.create("included builds", maxConcurrentBuilds);
+            }
+            for (Map.Entry<BuildIdentifier, ScheduledBuild> entry : buildsToStart.entrySet()) {
+                final BuildIdentifier buildId = entry.getKey();
+                final ScheduledBuild scheduledBuild = entry.getValue();
+                final Collection<String> tasks = tasksToExecute(buildId, Collections.<String>emptyList());
+                if (tasks.isEmpty()) {
+                    continue;
+                }
+                startedBuilds.put(scheduledBuild.requestingBuild, executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            includedBuildExecuter.execute(scheduledBuild.requestingBuild, buildId, tasks);
+                        } catch (RuntimeException e) {
+                            // Ignore: the failure is rethrown to each build that requires an artifact of the included build
+                        }
+                    }
+                }));
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        StoppableExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor != null) {
+            executor.stop();
         }
     }
 
@@ -61,9 +181,23 @@ class IncludedBuildArtifactBuilder {
         }
     }
 
-    private synchronized Collection<String> addTasksForBuild(BuildIdentifier buildId, CompositeProjectComponentArtifactMetadata compositeBuildArtifact) {
+    private synchronized void addTasksForBuild(BuildIdentifier buildId, CompositeProjectComponentArtifactMetadata compositeBuildArtifact) {
         tasksForBuild.putAll(buildId, compositeBuildArtifact.getTasks());
-        return tasksForBuild.get(buildId);
+    }
+
+    /**
+     * Returns the required tasks along with the known tasks of the build that have not been requested yet, so that these are executed together.
+     * Tasks requested previously are not included, so that the failure of an unrelated task is not reported to this request.
+     */
+    private synchronized Collection<String> tasksToExecute(BuildIdentifier buildId, Collection<String> requiredTasks) {
+        Set<String> tasks = Sets.newLinkedHashSet(requiredTasks);
+        requestedTasks.putAll(buildId, requiredTasks);
+        for (String task : tasksForBuild.get(buildId)) {
+            if (requestedTasks.put(buildId, task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 
     private BuildIdentifier getBuildIdentifier(CompositeProjectComponentArtifactMetadata artifact) {
@@ -80,6 +214,14 @@ class IncludedBuildArtifactBuilder {
         return e;
     }
 
+    private static class ScheduledBuild {
+        final BuildIdentifier requestingBuild;
+
+        ScheduledBuild(BuildIdentifier requestingBuild) {
+            this.requestingBuild = requestingBuild;
+        }
+    }
+
     @Contextual
     private static class IncludedBuildArtifactException extends GradleException {
         public IncludedBuildArtifactException(String message, Throwable cause) {
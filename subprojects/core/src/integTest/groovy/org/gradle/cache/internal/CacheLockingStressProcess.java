@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.cache.internal;
+
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.internal.locklistener.DefaultFileLockContentionHandler;
+import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.remote.internal.inet.InetAddressFactory;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.gradle.cache.internal.FileLockManager.LockMode.None;
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * Repeatedly increments a counter held in a shared cache, in the same way that a build process uses its caches, and reports how long it waited
+ * for the cache lock. Several of these processes are run concurrently by {@link CrossProcessCacheLockingStressIntegrationTest}.
+ */
+public class CacheLockingStressProcess {
+    public static void main(String[] args) throws Exception {
+        File cacheDir = new File(args[0]);
+        int iterations = Integer.parseInt(args[1]);
+
+        DefaultExecutorFactory executorFactory = new DefaultExecutorFactory();
+        DefaultFileLockContentionHandler contentionHandler = new DefaultFileLockContentionHandler(executorFactory, new InetAddressFactory());
+        FileLockManager lockManager = new DefaultFileLockManager(new ProcessMetaDataProvider() {
+            public String getProcessIdentifier() {
+                return ManagementFactory.getRuntimeMXBean().getName();
+            }
+
+            public String getProcessDisplayName() {
+                return "stress process";
+            }
+        }, contentionHandler);
+        DefaultPersistentDirectoryStore store = new DefaultPersistentDirectoryStore(cacheDir, "stress cache", mode(None), lockManager);
+        store.open();
+        try {
+            final PersistentIndexedCache<String, Long> cache = store.createCache("counter", String.class, BaseSerializerFactory.LONG_SERIALIZER);
+            long totalWait = 0;
+            long maxWait = 0;
+            for (int i = 0; i < iterations; i++) {
+                final long start = System.nanoTime();
+                long wait = store.useCache("increment counter", new Factory<Long>() {
+                    public Long create() {
+                        long waited = System.nanoTime() - start;
+                        Long value = cache.get("count");
+                        cache.put("count", value == null ? 1 : value + 1);
+                        return waited;
+                    }
+                });
+                totalWait += wait;
+                maxWait = Math.max(maxWait, wait);
+                // Do some work outside the cache, as a build does between cache accesses
+                Thread.sleep(2);
+            }
+            System.out.println("wait-time-ms: total=" + TimeUnit.NANOSECONDS.toMillis(totalWait) + " max=" + TimeUnit.NANOSECONDS.toMillis(maxWait));
+        } finally {
+            store.close();
+            contentionHandler.stop();
+            executorFactory.stop();
+        }
+    }
+}
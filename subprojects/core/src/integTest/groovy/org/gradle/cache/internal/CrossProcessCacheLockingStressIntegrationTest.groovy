@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.cache.internal
+
+import org.gradle.cache.internal.locklistener.NoOpFileLockContentionHandler
+import org.gradle.internal.Factory
+import org.gradle.internal.jvm.Jvm
+import org.gradle.internal.nativeintegration.ProcessEnvironment
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.testfixtures.internal.NativeServicesTestFixture
+import org.junit.Rule
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import static org.gradle.cache.internal.FileLockManager.LockMode.None
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode
+
+@Timeout(300)
+class CrossProcessCacheLockingStressIntegrationTest extends Specification {
+    static final int PROCESSES = 4
+    static final int ITERATIONS = 200
+
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def cacheDir = tmpDir.file("cache")
+
+    def "processes sharing a cache hand the lock over to each other without long waits"() {
+        when:
+        def processes = (1..PROCESSES).collect {
+            def builder = new ProcessBuilder(Jvm.current().javaExecutable.absolutePath, "-cp", System.getProperty("java.class.path"),
+                CacheLockingStressProcess.name, cacheDir.absolutePath, ITERATIONS as String)
+            builder.redirectErrorStream(true)
+            builder.start()
+        }
+        def outputs = processes.collect { it.inputStream.text }
+        def exitValues = processes.collect { it.waitFor() }
+
+        then:
+        exitValues == [0] * PROCESSES
+
+        and:
+        def waits = outputs.collect { output ->
+            def matcher = output =~ /wait-time-ms: total=(\d+) max=(\d+)/
+            assert matcher.find() : output
+            [total: matcher.group(1) as long, max: matcher.group(2) as long]
+        }
+        println "Cache lock wait times per process (ms): $waits"
+        waits.every { it.max < 5000 }
+
+        and:
+        readCount() == PROCESSES * ITERATIONS
+    }
+
+    private long readCount() {
+        def metaDataProvider = new DefaultProcessMetaDataProvider(NativeServicesTestFixture.getInstance().get(ProcessEnvironment))
+        def store = new DefaultPersistentDirectoryStore(cacheDir, "stress cache", mode(None), new DefaultFileLockManager(metaDataProvider, new NoOpFileLockContentionHandler()))
+        store.open()
+        try {
+            def cache = store.createCache("counter", String, BaseSerializerFactory.LONG_SERIALIZER)
+            return store.useCache("read counter", { cache.get("count") } as Factory<Long>)
+        } finally {
+            store.close()
+        }
+    }
+}
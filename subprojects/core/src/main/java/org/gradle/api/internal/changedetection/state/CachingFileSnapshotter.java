@@ -25,6 +25,8 @@ import org.gradle.api.internal.hash.Hasher;
 import org.gradle.cache.CacheAccess;
 import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.cache.PersistentStore;
+import org.gradle.internal.metrics.Counter;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.internal.resource.TextResource;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
@@ -39,9 +41,15 @@ public class CachingFileSnapshotter implements FileSnapshotter {
     private final Hasher hasher;
     private final StringInterner stringInterner;
     private final CacheAccess cacheAccess;
+    private final Counter snapshotCounter;
+    private final Counter hashedFilesCounter;
+    private final Counter hashedBytesCounter;
 
-    public CachingFileSnapshotter(Hasher hasher, PersistentStore store, StringInterner stringInterner) {
+    public CachingFileSnapshotter(Hasher hasher, PersistentStore store, StringInterner stringInterner, MetricsRegistry metricsRegistry) {
         this.hasher = hasher;
+        this.snapshotCounter = metricsRegistry.counter("fileHashing.snapshots");
+        this.hashedFilesCounter = metricsRegistry.counter("fileHashing.hashedFiles");
+        this.hashedBytesCounter = metricsRegistry.counter("fileHashing.hashedBytes");
         this.cacheAccess = store;
         this.cache = store.createCache("fileHashes", String.class, new FileInfoSerializer());
         this.stringInterner = stringInterner;
@@ -76,6 +84,7 @@ public class CachingFileSnapshotter implements FileSnapshotter {
     }
 
     private FileInfo snapshot(File file, long length, long timestamp) {
+        snapshotCounter.increment();
         String absolutePath = file.getAbsolutePath();
         FileInfo info = cache.get(absolutePath);
 
@@ -84,6 +93,8 @@ public class CachingFileSnapshotter implements FileSnapshotter {
         }
 
         HashCode hash = hasher.hash(file);
+        hashedFilesCounter.increment();
+        hashedBytesCounter.add(length);
         info = new FileInfo(hash, length, timestamp);
         cache.put(stringInterner.intern(absolutePath), info);
         return info;
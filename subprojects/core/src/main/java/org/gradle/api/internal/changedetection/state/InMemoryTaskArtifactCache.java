@@ -28,6 +28,8 @@ import org.gradle.api.logging.Logging;
 import org.gradle.cache.internal.CacheDecorator;
 import org.gradle.cache.internal.FileLock;
 import org.gradle.cache.internal.MultiProcessSafePersistentIndexedCache;
+import org.gradle.internal.metrics.Counter;
+import org.gradle.internal.metrics.MetricsRegistry;
 
 import java.io.File;
 import java.util.HashMap;
@@ -74,6 +76,13 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
             .build();
 
     private final Map<String, FileLock.State> states = new HashMap<String, FileLock.State>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public InMemoryTaskArtifactCache(MetricsRegistry metricsRegistry) {
+        this.hitCounter = metricsRegistry.counter("taskArtifactCache.hits");
+        this.missCounter = metricsRegistry.counter("taskArtifactCache.misses");
+    }
 
     public <K, V> MultiProcessSafePersistentIndexedCache<K, V> decorate(final String cacheId, String cacheName, final MultiProcessSafePersistentIndexedCache<K, V> original) {
         final Cache<Object, Object> data = loadData(cacheId, cacheName);
@@ -87,11 +96,14 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
                 assert key instanceof String || key instanceof Long || key instanceof File : "Unsupported key type: " + key;
                 Object value = data.getIfPresent(key);
                 if (value == NULL) {
+                    hitCounter.increment();
                     return null;
                 }
                 if (value != null) {
+                    hitCounter.increment();
                     return (V) value;
                 }
+                missCounter.increment();
                 V out = original.get(key);
                 data.put(key, out == null ? NULL : out);
                 return out;
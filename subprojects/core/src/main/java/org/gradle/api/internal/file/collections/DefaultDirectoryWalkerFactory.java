@@ -19,6 +19,7 @@ package org.gradle.api.internal.file.collections;
 import com.google.common.base.Charsets;
 import org.gradle.api.JavaVersion;
 import org.gradle.api.internal.file.collections.jdk7.Jdk7DirectoryWalker;
+import org.gradle.api.internal.file.collections.jdk7.ParallelDirectoryWalker;
 import org.gradle.internal.Factory;
 import org.gradle.internal.nativeintegration.services.FileSystems;
 import org.gradle.internal.nativeplatform.filesystem.FileSystem;
@@ -26,6 +27,11 @@ import org.gradle.internal.nativeplatform.filesystem.FileSystem;
 import java.nio.charset.Charset;
 
 public class DefaultDirectoryWalkerFactory implements Factory<DirectoryWalker> {
+    /**
+     * When set to {@code true}, directories are listed concurrently. Only safe when all include and exclude specs are thread-safe.
+     */
+    public static final String PARALLEL_WALK_PROPERTY = "org.gradle.internal.file.parallelWalk";
+
     private final JavaVersion javaVersion;
     private DirectoryWalker instance;
 
@@ -49,6 +55,9 @@ public class DefaultDirectoryWalkerFactory implements Factory<DirectoryWalker> {
     private DirectoryWalker createInstance() {
         FileSystem fileSystem = FileSystems.getDefault();
         if (javaVersion.isJava8Compatible() || (javaVersion.isJava7Compatible() && defaultEncodingContainsPlatformEncoding())) {
+            if (Boolean.getBoolean(PARALLEL_WALK_PROPERTY)) {
+                return new ParallelDirectoryWalker(fileSystem);
+            }
             return new Jdk7DirectoryWalker(fileSystem);
         } else {
             return new DefaultDirectoryWalker(fileSystem);
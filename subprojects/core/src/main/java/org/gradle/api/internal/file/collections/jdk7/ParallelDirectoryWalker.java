@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.collections.jdk7;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.file.DefaultFileVisitDetails;
+import org.gradle.api.internal.file.collections.DirectoryWalker;
+import org.gradle.api.specs.Spec;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link DirectoryWalker} that lists the directories of a tree concurrently on a fork-join pool.
+ *
+ * <p>Each directory is listed by its own task, which applies the spec to the directory entries and forks a task for each
+ * matching subdirectory only, so that excluded subtrees are never listed. The results are handed to the {@link FileVisitor}
+ * on the calling thread in the same order as {@link org.gradle.api.internal.file.collections.DefaultDirectoryWalker}: all files of a
+ * directory are visited before any of its child directories, and directories are visited in listing order.</p>
+ *
+ * <p>The spec is evaluated on the pool threads, so this walker must only be used with thread-safe specs.</p>
+ */
+public class ParallelDirectoryWalker implements DirectoryWalker {
+    private static final LinkOption[] NO_LINK_OPTIONS = new LinkOption[0];
+    private static final LinkOption[] NOFOLLOW_LINKS = new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+
+    private final FileSystem fileSystem;
+    private final ForkJoinPool pool;
+
+    public ParallelDirectoryWalker(FileSystem fileSystem) {
+        this(fileSystem, SharedPool.INSTANCE);
+    }
+
+    public ParallelDirectoryWalker(FileSystem fileSystem, ForkJoinPool pool) {
+        this.fileSystem = fileSystem;
+        this.pool = pool;
+    }
+
+    @Override
+    public void walkDir(File rootDir, RelativePath rootPath, FileVisitor visitor, Spec<FileTreeElement> spec, AtomicBoolean stopFlag, boolean postfix) {
+        ListDirectoryTask root = new ListDirectoryTask(rootDir.toPath(), rootPath, spec, stopFlag, Collections.<Object>emptySet());
+        pool.execute(root);
+        visitDirectory(root, visitor, stopFlag, postfix);
+    }
+
+    private void visitDirectory(ListDirectoryTask task, FileVisitor visitor, AtomicBoolean stopFlag, boolean postfix) {
+        DirectoryContents contents = task.join();
+        if (contents.failure != null) {
+            cancelAll(contents.children);
+            throw contents.failure;
+        }
+        for (int i = 0; !stopFlag.get() && i < contents.files.size(); i++) {
+            visitor.visitFile(contents.files.get(i));
+        }
+        for (int i = 0; !stopFlag.get() && i < contents.children.size(); i++) {
+            ListDirectoryTask child = contents.children.get(i);
+            if (postfix) {
+                visitDirectory(child, visitor, stopFlag, postfix);
+                if (!stopFlag.get()) {
+                    visitor.visitDir(child.details);
+                }
+            } else {
+                visitor.visitDir(child.details);
+                if (!stopFlag.get()) {
+                    visitDirectory(child, visitor, stopFlag, postfix);
+                }
+            }
+        }
+        if (stopFlag.get()) {
+            cancelAll(contents.children);
+        }
+    }
+
+    private static void cancelAll(List<ListDirectoryTask> tasks) {
+        for (ListDirectoryTask task : tasks) {
+            task.cancel(false);
+        }
+    }
+
+    private static class DirectoryContents {
+        final List<FileVisitDetails> files = new ArrayList<FileVisitDetails>();
+        final List<ListDirectoryTask> children = new ArrayList<ListDirectoryTask>();
+        GradleException failure;
+    }
+
+    private class ListDirectoryTask extends RecursiveTask<DirectoryContents> {
+        private final Path dir;
+        private final RelativePath path;
+        private final Spec<FileTreeElement> spec;
+        private final AtomicBoolean stopFlag;
+        private final Set<Object> ancestorKeys;
+        private final FileVisitDetails details;
+
+        ListDirectoryTask(Path dir, RelativePath path, Spec<FileTreeElement> spec, AtomicBoolean stopFlag, Set<Object> ancestorKeys) {
+            this(dir, path, spec, stopFlag, ancestorKeys, null);
+        }
+
+        ListDirectoryTask(Path dir, RelativePath path, Spec<FileTreeElement> spec, AtomicBoolean stopFlag, Set<Object> ancestorKeys, FileVisitDetails details) {
+            this.dir = dir;
+            this.path = path;
+            this.spec = spec;
+            this.stopFlag = stopFlag;
+            this.ancestorKeys = ancestorKeys;
+            this.details = details;
+        }
+
+        @Override
+        protected DirectoryContents compute() {
+            DirectoryContents contents = new DirectoryContents();
+            if (stopFlag.get()) {
+                return contents;
+            }
+            try {
+                Set<Object> keys = withKeyOf(dir);
+                DirectoryStream<Path> stream = Files.newDirectoryStream(dir);
+                try {
+                    for (Path child : stream) {
+                        if (stopFlag.get()) {
+                            break;
+                        }
+                        visitEntry(child, keys, contents);
+                    }
+                } finally {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                contents.failure = new GradleException(String.format("Could not list contents of directory '%s'.", dir), e);
+            } catch (GradleException e) {
+                contents.failure = e;
+            }
+            return contents;
+        }
+
+        private void visitEntry(Path child, Set<Object> keys, DirectoryContents contents) throws IOException {
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(child, BasicFileAttributes.class, NO_LINK_OPTIONS);
+            } catch (IOException e) {
+                // The link could not be followed, fall back to the attributes of the link itself
+                attrs = Files.readAttributes(child, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            }
+            boolean isDirectory = attrs.isDirectory();
+            File file = child.toFile();
+            RelativePath childPath = path.append(!isDirectory, file.getName());
+            FileVisitDetails childDetails = new DefaultFileVisitDetails(file, childPath, stopFlag, fileSystem, fileSystem, isDirectory, attrs.lastModifiedTime().toMillis(), attrs.size());
+            if (!spec.isSatisfiedBy(childDetails)) {
+                return;
+            }
+            if (!isDirectory) {
+                if (attrs.isSymbolicLink()) {
+                    throw new GradleException(String.format("Could not list contents of '%s'. Couldn't follow symbolic link.", child));
+                }
+                contents.files.add(childDetails);
+                return;
+            }
+            Object key = attrs.fileKey();
+            if (key != null && keys.contains(key)) {
+                // Symbolic link back to one of the ancestors, ignore it
+                return;
+            }
+            ListDirectoryTask childTask = new ListDirectoryTask(child, childPath, spec, stopFlag, keys, childDetails);
+            childTask.fork();
+            contents.children.add(childTask);
+        }
+
+        private Set<Object> withKeyOf(Path dir) throws IOException {
+            Object key = Files.readAttributes(dir, BasicFileAttributes.class, NO_LINK_OPTIONS).fileKey();
+            if (key == null) {
+                return ancestorKeys;
+            }
+            Set<Object> keys = new HashSet<Object>(ancestorKeys);
+            keys.add(key);
+            return keys;
+        }
+    }
+
+    private static class SharedPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.pattern;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of Ant-style patterns compiled into a single automaton over path segments.
+ *
+ * <p>Patterns that share a common prefix share the same nodes, so a path is matched against all patterns in a single pass over its segments,
+ * instead of once per pattern. Fixed segments of case sensitive patterns are looked up in a hash map, all other segments are matched using
+ * the same {@link PatternStep}s as {@link PatternMatcherFactory}.</p>
+ *
+ * <p>Instances are immutable and can be used concurrently.</p>
+ */
+public class PathPatternTrie {
+    private static final String PATH_SEPARATORS = "\\/";
+
+    private final Node root;
+
+    private PathPatternTrie(Node root) {
+        this.root = root;
+    }
+
+    public static PathPatternTrie compile(Iterable<String> patterns, boolean caseSensitive) {
+        Node root = new Node(false);
+        for (String pattern : patterns) {
+            root.add(pattern, caseSensitive);
+        }
+        return new PathPatternTrie(root);
+    }
+
+    /**
+     * Returns true if the given path satisfies at least one of the patterns.
+     */
+    public boolean matches(String[] segments) {
+        List<Node> nodes = advance(segments);
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the given path, or a path below it, could satisfy at least one of the patterns. When this returns false, nothing below
+     * the given path can match, so a directory with this path does not need to be traversed.
+     */
+    public boolean isPrefix(String[] segments) {
+        if (segments.length == 0) {
+            return root.hasTransitions();
+        }
+        return !advance(segments).isEmpty();
+    }
+
+    private List<Node> advance(String[] segments) {
+        List<Node> current = new ArrayList<Node>(4);
+        List<Node> next = new ArrayList<Node>(4);
+        addWithClosure(current, root);
+        for (int i = 0; i < segments.length && !current.isEmpty(); i++) {
+            String segment = segments[i];
+            for (int j = 0; j < current.size(); j++) {
+                current.get(j).transition(segment, next);
+            }
+            List<Node> tmp = current;
+            current = next;
+            next = tmp;
+            next.clear();
+        }
+        return current;
+    }
+
+    private static void addWithClosure(List<Node> nodes, Node node) {
+        // A '**' matches zero segments, so the node that follows it is reachable without consuming a segment
+        while (node != null) {
+            if (!containsNode(nodes, node)) {
+                nodes.add(node);
+            }
+            node = node.greedy;
+        }
+    }
+
+    private static boolean containsNode(List<Node> nodes, Node node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+        private final boolean matchesAnySegment;
+        private Map<String, Node> fixedSteps;
+        private List<StepTransition> steps;
+        private Node greedy;
+        private boolean terminal;
+
+        Node(boolean matchesAnySegment) {
+            this.matchesAnySegment = matchesAnySegment;
+        }
+
+        boolean hasTransitions() {
+            return matchesAnySegment || greedy != null || fixedSteps != null || steps != null;
+        }
+
+        void add(String pattern, boolean caseSensitive) {
+            Node node = this;
+            if (pattern.length() > 0) {
+                // trailing / or \ assumes **
+                if (pattern.endsWith("/") || pattern.endsWith("\\")) {
+                    pattern = pattern + "**";
+                }
+                for (String part : StringUtils.split(pattern, PATH_SEPARATORS)) {
+                    node = node.child(part, caseSensitive);
+                }
+            }
+            node.terminal = true;
+        }
+
+        private Node child(String part, boolean caseSensitive) {
+            if (part.equals("**")) {
+                if (matchesAnySegment) {
+                    // Consecutive '**' are equivalent to a single one
+                    return this;
+                }
+                if (greedy == null) {
+                    greedy = new Node(true);
+                }
+                return greedy;
+            }
+            if (caseSensitive && part.indexOf('*') < 0 && part.indexOf('?') < 0) {
+                if (fixedSteps == null) {
+                    fixedSteps = new HashMap<String, Node>();
+                }
+                Node child = fixedSteps.get(part);
+                if (child == null) {
+                    child = new Node(false);
+                    fixedSteps.put(part, child);
+                }
+                return child;
+            }
+            if (steps == null) {
+                steps = new ArrayList<StepTransition>();
+            }
+            for (StepTransition transition : steps) {
+                if (transition.source.equals(part)) {
+                    return transition.target;
+                }
+            }
+            StepTransition transition = new StepTransition(part, PatternStepFactory.getStep(part, caseSensitive), new Node(false));
+            steps.add(transition);
+            return transition.target;
+        }
+
+        void transition(String segment, List<Node> next) {
+            if (matchesAnySegment) {
+                addWithClosure(next, this);
+            }
+            if (fixedSteps != null) {
+                Node target = fixedSteps.get(segment);
+                if (target != null) {
+                    addWithClosure(next, target);
+                }
+            }
+            if (steps != null) {
+                for (int i = 0; i < steps.size(); i++) {
+                    StepTransition transition = steps.get(i);
+                    if (transition.step.matches(segment)) {
+                        addWithClosure(next, transition.target);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class StepTransition {
+        private final String source;
+        private final PatternStep step;
+        private final Node target;
+
+        StepTransition(String source, PatternStep step, Node target) {
+            this.source = source;
+            this.step = step;
+            this.target = target;
+        }
+    }
+}
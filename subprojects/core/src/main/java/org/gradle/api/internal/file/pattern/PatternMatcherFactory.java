@@ -32,6 +32,13 @@ public class PatternMatcherFactory {
         return new PathMatcherBackedSpec(partialMatchDirs, pathMatcher);
     }
 
+    /**
+     * Returns a spec that is satisfied when at least one of the given patterns matches. All patterns are compiled into a single {@link PathPatternTrie}.
+     */
+    public static Spec<RelativePath> getPatternsMatcher(boolean partialMatchDirs, boolean caseSensitive, Iterable<String> patterns) {
+        return new PathPatternTrieBackedSpec(partialMatchDirs, PathPatternTrie.compile(patterns, caseSensitive));
+    }
+
     private static PathMatcher compile(boolean caseSensitive, String pattern) {
         if (pattern.length() == 0) {
             return END_OF_PATH_MATCHER;
@@ -81,4 +88,22 @@ public class PatternMatcherFactory {
             }
         }
     }
+
+    private static class PathPatternTrieBackedSpec implements Spec<RelativePath> {
+        private final boolean partialMatchDirs;
+        private final PathPatternTrie trie;
+
+        public PathPatternTrieBackedSpec(boolean partialMatchDirs, PathPatternTrie trie) {
+            this.partialMatchDirs = partialMatchDirs;
+            this.trie = trie;
+        }
+
+        public boolean isSatisfiedBy(RelativePath element) {
+            if (element.isFile() || !partialMatchDirs) {
+                return trie.matches(element.getSegments());
+            } else {
+                return trie.isPrefix(element.getSegments());
+            }
+        }
+    }
 }
@@ -27,6 +27,7 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.StopActionException;
 import org.gradle.api.tasks.StopExecutionException;
 import org.gradle.api.tasks.TaskExecutionException;
+import org.gradle.internal.work.AsyncWorkTracker;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,10 +39,12 @@ public class ExecuteActionsTaskExecuter implements TaskExecuter {
     private static final Logger LOGGER = Logging.getLogger(ExecuteActionsTaskExecuter.class);
     private final TaskActionExecutionListener internalListener;
     private final TaskActionListener listener;
+    private final AsyncWorkTracker asyncWorkTracker;
 
-    public ExecuteActionsTaskExecuter(TaskActionExecutionListener internalListener, TaskActionListener publicListener) {
+    public ExecuteActionsTaskExecuter(TaskActionExecutionListener internalListener, TaskActionListener publicListener, AsyncWorkTracker asyncWorkTracker) {
         this.internalListener = internalListener;
         this.listener = publicListener;
+        this.asyncWorkTracker = asyncWorkTracker;
     }
 
     public void execute(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
@@ -60,6 +63,22 @@ public class ExecuteActionsTaskExecuter implements TaskExecuter {
     }
 
     private GradleException executeActions(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
+        GradleException failure = executeTaskActions(task, state, context);
+        // Work submitted asynchronously by the actions must complete, even when an action fails
+        GradleException asyncWorkFailure = waitForAsyncWork(task);
+        return failure != null ? failure : asyncWorkFailure;
+    }
+
+    private GradleException waitForAsyncWork(TaskInternal task) {
+        try {
+            asyncWorkTracker.waitForCompletion();
+            return null;
+        } catch (Throwable t) {
+            return new TaskExecutionException(task, t);
+        }
+    }
+
+    private GradleException executeTaskActions(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
         LOGGER.debug("Executing actions for {}.", task);
         final List<ContextAwareTaskAction> actions = new ArrayList<ContextAwareTaskAction>(task.getTaskActions());
         for (ContextAwareTaskAction action : actions) {
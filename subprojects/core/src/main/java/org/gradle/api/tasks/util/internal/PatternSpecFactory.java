@@ -52,13 +52,11 @@ public class PatternSpecFactory {
     public Spec<FileTreeElement> createExcludeSpec(PatternSet patternSet) {
         List<Spec<FileTreeElement>> allExcludeSpecs = new ArrayList<Spec<FileTreeElement>>(2 + patternSet.getExcludeSpecs().size());
 
-        if (!patternSet.getExcludes().isEmpty()) {
-            allExcludeSpecs.add(createSpec(patternSet.getExcludes(), false, patternSet.isCaseSensitive()));
-        }
-
-        List<String> defaultExcludes = Arrays.asList(DirectoryScanner.getDefaultExcludes());
-        if (!defaultExcludes.isEmpty()) {
-            allExcludeSpecs.add(createSpec(defaultExcludes, false, patternSet.isCaseSensitive()));
+        // Compile the excludes and the default excludes together, so that a path is only matched once against all of them
+        List<String> excludes = new ArrayList<String>(patternSet.getExcludes());
+        excludes.addAll(Arrays.asList(DirectoryScanner.getDefaultExcludes()));
+        if (!excludes.isEmpty()) {
+            allExcludeSpecs.add(createSpec(excludes, false, patternSet.isCaseSensitive()));
         }
 
         allExcludeSpecs.addAll(patternSet.getExcludeSpecs());
@@ -75,12 +73,7 @@ public class PatternSpecFactory {
             return include ? Specs.<FileTreeElement>satisfyAll() : Specs.<FileTreeElement>satisfyNone();
         }
 
-        List<Spec<RelativePath>> matchers = new ArrayList<Spec<RelativePath>>(patterns.size());
-        for (String pattern : patterns) {
-            Spec<RelativePath> patternMatcher = PatternMatcherFactory.getPatternMatcher(include, caseSensitive, pattern);
-            matchers.add(patternMatcher);
-        }
-
-        return new RelativePathSpec(Specs.union(matchers));
+        Spec<RelativePath> matcher = PatternMatcherFactory.getPatternsMatcher(include, caseSensitive, patterns);
+        return new RelativePathSpec(matcher);
     }
 }
@@ -32,6 +32,7 @@ import org.gradle.internal.serialize.Serializer;
 import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -43,6 +44,7 @@ import static org.gradle.cache.internal.FileLockManager.LockMode.Shared;
 public class DefaultCacheAccess implements CacheCoordinator {
 
     private final static Logger LOG = Logging.getLogger(DefaultCacheAccess.class);
+    static final long HAND_OFF_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
     private final String cacheDisplayName;
     private final File lockTarget;
@@ -58,6 +60,7 @@ public class DefaultCacheAccess implements CacheCoordinator {
     private FileLock fileLock;
     private FileLock.State stateAtOpen;
     private boolean contended;
+    private long handOffStarted;
     private final CacheAccessOperationsStack operations;
     private int cacheClosedCount;
 
@@ -181,8 +184,10 @@ public class DefaultCacheAccess implements CacheCoordinator {
         }
 
         boolean wasStarted = false;
+        boolean outermost;
         lock.lock();
         try {
+            outermost = !operations.isInCacheAction();
             takeOwnership(operationDisplayName);
             wasStarted = onStartWork();
         } finally {
@@ -194,7 +199,9 @@ public class DefaultCacheAccess implements CacheCoordinator {
             lock.lock();
             try {
                 try {
-                    if (wasStarted) {
+                    // A lock that was kept from an earlier unit of work is also released here when another process has asked for it,
+                    // so that the lock is held for at most one unit of work after contention is detected
+                    if (wasStarted || (outermost && contended)) {
                         onEndWork();
                     }
                 } finally {
@@ -346,6 +353,7 @@ public class DefaultCacheAccess implements CacheCoordinator {
         if (fileLock != null) {
             return false;
         }
+        awaitHandOff();
         fileLock = lockManager.lock(lockTarget, lockOptions.withMode(Exclusive), cacheDisplayName, operations.getDescription());
         if (initializationAction.requiresInitialization(fileLock)) {
             fileLock.writeFile(new Runnable() {
@@ -368,12 +376,38 @@ public class DefaultCacheAccess implements CacheCoordinator {
         if (fileLock == null) {
             return false;
         }
-        if (contended || fileLock.getMode() == Shared) {
+        if (contended) {
+            handOffLock();
+        } else if (fileLock.getMode() == Shared) {
             closeFileLock();
         }
         return true;
     }
 
+    /**
+     * Releases the file lock to another process that has requested it. This process does not attempt to reacquire the lock until the
+     * hand-off window has passed, to give the other process a chance to acquire the lock.
+     */
+    private void handOffLock() {
+        closeFileLock();
+        handOffStarted = System.nanoTime();
+    }
+
+    private void awaitHandOff() {
+        if (handOffStarted == 0) {
+            return;
+        }
+        long remaining = HAND_OFF_WINDOW_NANOS - (System.nanoTime() - handOffStarted);
+        handOffStarted = 0;
+        try {
+            while (remaining > 0) {
+                remaining = condition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
     private FileLock getLock() {
         lock.lock();
         try {
@@ -422,7 +456,7 @@ public class DefaultCacheAccess implements CacheCoordinator {
 
                     takeOwnership("Other process requested access to " + cacheDisplayName);
                     try {
-                        closeFileLock();
+                        handOffLock();
                     } finally {
                         releaseOwnership();
                     }
@@ -25,12 +25,16 @@ import org.gradle.internal.Factory;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.id.IdGenerator;
 import org.gradle.internal.id.RandomLongIdGenerator;
+import org.gradle.internal.metrics.Counter;
+import org.gradle.internal.metrics.Histogram;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.util.GFileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 
 import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 
@@ -40,6 +44,8 @@ import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 public class DefaultFileLockManager implements FileLockManager {
     private static final Logger LOGGER = Logging.getLogger(DefaultFileLockManager.class);
     public static final int DEFAULT_LOCK_TIMEOUT = 60000;
+    private static final long STATE_POLL_INTERVAL_MS = 20;
+    private static final long PING_INTERVAL_MS = 200;
 
     private final Set<File> lockedFiles = new CopyOnWriteArraySet<File>();
     private final ProcessMetaDataProvider metaDataProvider;
@@ -47,9 +53,17 @@ public class DefaultFileLockManager implements FileLockManager {
     private final IdGenerator<Long> generator;
     private final FileLockContentionHandler fileLockContentionHandler;
     private final long shortTimeoutMs = 10000;
+    private final Counter acquiredLocksCounter;
+    private final Histogram acquireTimeHistogram;
+    private final Counter contendedAcquisitionsCounter;
+    private final Histogram contendedWaitTimeHistogram;
 
     public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, FileLockContentionHandler fileLockContentionHandler) {
-        this(metaDataProvider, DEFAULT_LOCK_TIMEOUT, fileLockContentionHandler);
+        this(metaDataProvider, fileLockContentionHandler, new MetricsRegistry());
+    }
+
+    public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, FileLockContentionHandler fileLockContentionHandler, MetricsRegistry metricsRegistry) {
+        this(metaDataProvider, DEFAULT_LOCK_TIMEOUT, fileLockContentionHandler, new RandomLongIdGenerator(), metricsRegistry);
     }
 
     public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, int lockTimeoutMs, FileLockContentionHandler fileLockContentionHandler) {
@@ -58,10 +72,19 @@ public class DefaultFileLockManager implements FileLockManager {
 
     DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, int lockTimeoutMs, FileLockContentionHandler fileLockContentionHandler,
                            IdGenerator<Long> generator) {
+        this(metaDataProvider, lockTimeoutMs, fileLockContentionHandler, generator, new MetricsRegistry());
+    }
+
+    DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, int lockTimeoutMs, FileLockContentionHandler fileLockContentionHandler,
+                           IdGenerator<Long> generator, MetricsRegistry metricsRegistry) {
         this.metaDataProvider = metaDataProvider;
         this.lockTimeoutMs = lockTimeoutMs;
         this.fileLockContentionHandler = fileLockContentionHandler;
         this.generator = generator;
+        this.acquiredLocksCounter = metricsRegistry.counter("fileLock.acquired");
+        this.acquireTimeHistogram = metricsRegistry.histogram("fileLock.acquireTimeMs");
+        this.contendedAcquisitionsCounter = metricsRegistry.counter("fileLock.contendedAcquisitions");
+        this.contendedWaitTimeHistogram = metricsRegistry.histogram("fileLock.contendedWaitTimeMs");
     }
 
     public FileLock lock(File target, LockOptions options, String targetDisplayName) throws LockTimeoutException {
@@ -76,9 +99,13 @@ public class DefaultFileLockManager implements FileLockManager {
         if (!lockedFiles.add(canonicalTarget)) {
             throw new IllegalStateException(String.format("Cannot lock %s as it has already been locked by this process.", targetDisplayName));
         }
+        long start = System.nanoTime();
         try {
             int port = fileLockContentionHandler.reservePort();
-            return new DefaultFileLock(canonicalTarget, options, targetDisplayName, operationDisplayName, port);
+            DefaultFileLock fileLock = new DefaultFileLock(canonicalTarget, options, targetDisplayName, operationDisplayName, port);
+            acquiredLocksCounter.increment();
+            acquireTimeHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return fileLock;
         } catch (Throwable t) {
             lockedFiles.remove(canonicalTarget);
             throw throwAsUncheckedException(t);
@@ -313,12 +340,22 @@ public class DefaultFileLockManager implements FileLockManager {
         }
 
         private java.nio.channels.FileLock lockStateRegion(LockMode lockMode, final long waitUntil) throws IOException, InterruptedException {
+            long contendedSince = 0;
+            long nextPing = 0;
             do {
                 java.nio.channels.FileLock fileLock = lockFileAccess.tryLockState(lockMode == LockMode.Shared);
                 if (fileLock != null) {
+                    if (contendedSince != 0) {
+                        contendedAcquisitionsCounter.increment();
+                        contendedWaitTimeHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - contendedSince));
+                    }
                     return fileLock;
                 }
-                if (port != -1) { //we don't like the assumption about the port very much
+                if (contendedSince == 0) {
+                    contendedSince = System.nanoTime();
+                }
+                // Poll the lock often, so that it is picked up soon after the owner releases it, but only ping the owner every so often
+                if (port != -1 && System.currentTimeMillis() >= nextPing) { //we don't like the assumption about the port very much
                     LockInfo lockInfo = readInformationRegion(System.currentTimeMillis()); //no need for timeout here, as we're already looping with timeout
                     if (lockInfo.port != -1) {
                         LOGGER.debug("The file lock is held by a different Gradle process (pid: {}, operation: {}). Will attempt to ping owner at port {}", lockInfo.pid, lockInfo.operation, lockInfo.port);
@@ -326,9 +363,10 @@ public class DefaultFileLockManager implements FileLockManager {
                     } else {
                         LOGGER.debug("The file lock is held by a different Gradle process. I was unable to read on which port the owner listens for lock access requests.");
                     }
+                    nextPing = System.currentTimeMillis() + PING_INTERVAL_MS;
                 }
                 //TODO SF we should inform on the progress/status bar that we're waiting
-                Thread.sleep(200L);
+                Thread.sleep(STATE_POLL_INTERVAL_MS);
             } while (System.currentTimeMillis() < waitUntil);
             return null;
         }
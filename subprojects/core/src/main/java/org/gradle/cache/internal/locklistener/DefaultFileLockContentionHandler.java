@@ -23,10 +23,14 @@ import org.gradle.cache.internal.GracefullyStoppedException;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.internal.metrics.Counter;
+import org.gradle.internal.metrics.Histogram;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.internal.remote.internal.inet.InetAddressFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -36,14 +40,22 @@ public class DefaultFileLockContentionHandler implements FileLockContentionHandl
     private final Map<Long, Runnable> contendedActions = new HashMap<Long, Runnable>();
     private final ExecutorFactory executorFactory;
     private final InetAddressFactory addressFactory;
+    private final Histogram pingTimeHistogram;
+    private final Counter contentionRequestsCounter;
 
     private FileLockCommunicator communicator;
     private StoppableExecutor executor;
     private boolean stopped;
 
     public DefaultFileLockContentionHandler(ExecutorFactory executorFactory, InetAddressFactory addressFactory) {
+        this(executorFactory, addressFactory, new MetricsRegistry());
+    }
+
+    public DefaultFileLockContentionHandler(ExecutorFactory executorFactory, InetAddressFactory addressFactory, MetricsRegistry metricsRegistry) {
         this.executorFactory = executorFactory;
         this.addressFactory = addressFactory;
+        this.pingTimeHistogram = metricsRegistry.histogram("fileLock.pingTimeMicros");
+        this.contentionRequestsCounter = metricsRegistry.counter("fileLock.contentionRequestsReceived");
     }
 
     private Runnable listener() {
@@ -68,6 +80,7 @@ public class DefaultFileLockContentionHandler implements FileLockContentionHandl
                     } catch (GracefullyStoppedException e) {
                         return;
                     }
+                    contentionRequestsCounter.increment();
                     lock.lock();
                     Runnable action;
                     try {
@@ -106,7 +119,9 @@ public class DefaultFileLockContentionHandler implements FileLockContentionHandl
     }
 
     public void pingOwner(int port, long lockId, String displayName) {
+        long start = System.nanoTime();
         getCommunicator().pingOwner(port, lockId, displayName);
+        pingTimeHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
     }
 
     private void assertNotStopped() {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.initialization;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
+import org.gradle.StartParameter;
+import org.gradle.api.Nullable;
+import org.gradle.api.Project;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.initialization.Settings;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.groovy.scripts.Script;
+import org.gradle.groovy.scripts.ScriptExecutionListener;
+import org.gradle.groovy.scripts.ScriptSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reports at info level which of the inputs that affect the configuration of a build have changed since the previous build of the same directory in this
+ * process. This is a diagnostic only, used when the {@value #ENABLED_PROPERTY} system property is set. It does not change how the build is configured.
+ *
+ * <p>The inputs are the scripts the build ran, the settings, {@code gradle.properties} and buildSrc files, the command-line parameters and the environment
+ * variables. Files that build logic reads by itself are not tracked.</p>
+ */
+public class ConfigurationInputsTracker extends BuildAdapter implements ScriptExecutionListener {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.configuration.reportInputChanges";
+    private static final Logger LOGGER = Logging.getLogger(ConfigurationInputsTracker.class);
+    private static final int MAX_REPORTED_CHANGES = 5;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String UNTRACKED_INPUT = "untracked input";
+
+    private final Map<File, Map<String, String>> previousBuilds;
+    private final StartParameter startParameter;
+    private final File buildDir;
+    private final Set<File> scriptFiles = Collections.synchronizedSet(new LinkedHashSet<File>());
+    private volatile String untrackedInput;
+    private boolean configured;
+
+    /**
+     * @param previousBuilds The inputs of the most recent build of each directory in this process, keyed by build directory.
+     */
+    public ConfigurationInputsTracker(Map<File, Map<String, String>> previousBuilds, StartParameter startParameter) {
+        this.previousBuilds = previousBuilds;
+        this.startParameter = startParameter;
+        this.buildDir = startParameter.getCurrentDir().getAbsoluteFile();
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    @Override
+    public void scriptClassLoaded(ScriptSource source, Class<? extends Script> scriptClass) {
+        File file = source.getResource().getLocation().getFile();
+        if (file != null) {
+            scriptFiles.add(file.getAbsoluteFile());
+        } else if (untrackedInput == null) {
+            untrackedInput = source.getDisplayName() + " is not a local file";
+        }
+    }
+
+    @Override
+    public void projectsEvaluated(Gradle gradle) {
+        Map<String, String> inputs = captureInputs(gradle);
+        String result = compareWithPreviousBuild(inputs);
+        if (result != null) {
+            LOGGER.info(result);
+        }
+        previousBuilds.put(buildDir, inputs);
+        configured = true;
+    }
+
+    @Override
+    public void buildFinished(BuildResult result) {
+        if (result.getFailure() != null && !configured) {
+            previousBuilds.remove(buildDir);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of each configuration input of the given build, keyed by a description of the input.
+     */
+    Map<String, String> captureInputs(Gradle gradle) {
+        Map<String, String> inputs = new TreeMap<String, String>();
+        if (untrackedInput != null) {
+            inputs.put(UNTRACKED_INPUT, untrackedInput);
+        }
+
+        Set<File> files = new LinkedHashSet<File>(scriptFiles);
+        File rootDir = gradle.getRootProject().getProjectDir();
+        files.add(new File(buildDir, Settings.DEFAULT_SETTINGS_FILE));
+        files.add(new File(rootDir, Settings.DEFAULT_SETTINGS_FILE));
+        files.add(new File(rootDir, DefaultSettings.DEFAULT_BUILD_SRC_DIR));
+        files.add(new File(startParameter.getGradleUserHomeDir(), Project.GRADLE_PROPERTIES));
+        for (Project project : gradle.getRootProject().getAllprojects()) {
+            files.add(project.getBuildFile());
+            files.add(new File(project.getProjectDir(), Project.GRADLE_PROPERTIES));
+        }
+        for (File file : files) {
+            inputs.put("file '" + file + "'", fingerprint(file));
+        }
+
+        for (Map.Entry<String, String> variable : System.getenv().entrySet()) {
+            inputs.put("environment variable '" + variable.getKey() + "'", variable.getValue());
+        }
+        inputs.put("requested tasks", String.valueOf(startParameter.getTaskNames()));
+        inputs.put("excluded tasks", String.valueOf(startParameter.getExcludedTaskNames()));
+        inputs.put("project properties", String.valueOf(new TreeMap<String, String>(startParameter.getProjectProperties())));
+        inputs.put("system properties", String.valueOf(new TreeMap<String, String>(startParameter.getSystemPropertiesArgs())));
+        inputs.put("build file", String.valueOf(startParameter.getBuildFile()));
+        inputs.put("settings file", String.valueOf(startParameter.getSettingsFile()));
+        inputs.put("init scripts", String.valueOf(startParameter.getInitScripts()));
+        inputs.put("included builds", String.valueOf(startParameter.getIncludedBuilds()));
+        inputs.put("offline mode", String.valueOf(startParameter.isOffline()));
+        inputs.put("configure on demand", String.valueOf(startParameter.isConfigureOnDemand()));
+        return inputs;
+    }
+
+    /**
+     * Compares the configuration inputs of the previous build of this directory with the given inputs of this build. Returns a message describing the
+     * result, or null when there was no previous build.
+     */
+    @Nullable
+    String compareWithPreviousBuild(Map<String, String> current) {
+        Map<String, String> previous = previousBuilds.get(buildDir);
+        if (previous == null) {
+            return null;
+        }
+        String untracked = previous.containsKey(UNTRACKED_INPUT) ? previous.get(UNTRACKED_INPUT) : current.get(UNTRACKED_INPUT);
+        if (untracked != null) {
+            return "Cannot tell whether configuration inputs have changed since the previous build, as " + untracked + ".";
+        }
+        List<String> changes = new ArrayList<String>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String previousValue = previous.get(entry.getKey());
+            if (previousValue == null) {
+                changes.add(entry.getKey() + " has been added");
+            } else if (!previousValue.equals(entry.getValue())) {
+                changes.add(entry.getKey() + " has changed");
+            }
+        }
+        for (String name : previous.keySet()) {
+            if (!current.containsKey(name)) {
+                changes.add(name + " has been removed");
+            }
+        }
+        if (changes.isEmpty()) {
+            return "Configuration inputs have not changed since the previous build.";
+        }
+        StringBuilder message = new StringBuilder("Configuration inputs have changed since the previous build:");
+        for (String change : changes.subList(0, Math.min(changes.size(), MAX_REPORTED_CHANGES))) {
+            message.append(String.format("%n  - %s", change));
+        }
+        if (changes.size() > MAX_REPORTED_CHANGES) {
+            message.append(String.format("%n  - and %d more", changes.size() - MAX_REPORTED_CHANGES));
+        }
+        return message.toString();
+    }
+
+    private static String fingerprint(File file) {
+        if (file.isFile()) {
+            return hash(file);
+        }
+        if (file.isDirectory()) {
+            Hasher hasher = Hashing.md5().newHasher();
+            hashDirectory(file, "", hasher);
+            return hasher.hash().toString();
+        }
+        return "missing";
+    }
+
+    private static void hashDirectory(File dir, String path, Hasher hasher) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            // Ignore the outputs and caches of the build in the directory, such as buildSrc
+            if (path.isEmpty() && (child.getName().equals("build") || child.getName().equals(".gradle"))) {
+                continue;
+            }
+            String childPath = path + "/" + child.getName();
+            hasher.putString(childPath, UTF_8);
+            if (child.isDirectory()) {
+                hashDirectory(child, childPath, hasher);
+            } else {
+                hasher.putString(hash(child), UTF_8);
+            }
+        }
+    }
+
+    private static String hash(File file) {
+        try {
+            return Files.hash(file, Hashing.md5()).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
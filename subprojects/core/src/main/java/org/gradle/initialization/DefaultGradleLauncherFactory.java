@@ -36,6 +36,8 @@ import org.gradle.internal.featurelifecycle.ScriptUsageLocationReporter;
 import org.gradle.internal.logging.LoggingManagerInternal;
 import org.gradle.internal.logging.progress.ProgressLoggerFactory;
 import org.gradle.internal.logging.text.StyledTextOutputFactory;
+import org.gradle.internal.metrics.MetricsRegistry;
+import org.gradle.internal.metrics.MetricsReporter;
 import org.gradle.internal.progress.BuildOperationExecutor;
 import org.gradle.internal.progress.BuildProgressFilter;
 import org.gradle.internal.progress.BuildProgressLogger;
@@ -46,18 +48,25 @@ import org.gradle.internal.service.scopes.BuildScopeServices;
 import org.gradle.internal.service.scopes.BuildSessionScopeServices;
 import org.gradle.internal.service.scopes.ServiceRegistryFactory;
 import org.gradle.invocation.DefaultGradle;
+import org.gradle.profile.BuildOperationTraceListener;
 import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ReportGeneratingProfileListener;
 import org.gradle.util.DeprecationLogger;
 
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
     private final ServiceRegistry sharedServices;
     private final NestedBuildTracker tracker;
     private final BuildProgressLogger buildProgressLogger;
+    private final Map<File, Map<String, String>> configurationInputs;
 
     public DefaultGradleLauncherFactory(ServiceRegistry sharedServices) {
         this.sharedServices = sharedServices;
         tracker = new NestedBuildTracker();
+        configurationInputs = ConfigurationInputsTracker.isEnabled() ? new ConcurrentHashMap<File, Map<String, String>>() : null;
 
         // Register default loggers
         ListenerManager listenerManager = sharedServices.get(ListenerManager.class);
@@ -152,6 +161,18 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
         if (startParameter.isProfile()) {
             listenerManager.addListener(new ReportGeneratingProfileListener());
         }
+        if (tracker.getCurrentBuild() == null) {
+            MetricsRegistry metricsRegistry = serviceRegistry.get(MetricsRegistry.class);
+            metricsRegistry.reset();
+            listenerManager.addListener(new MetricsReporter(metricsRegistry));
+            if (configurationInputs != null) {
+                listenerManager.addListener(new ConfigurationInputsTracker(configurationInputs, startParameter));
+            }
+        }
+        String traceFile = System.getProperty(BuildOperationTraceListener.TRACE_FILE_PROPERTY);
+        if (traceFile != null && tracker.getCurrentBuild() == null) {
+            listenerManager.addListener(new BuildOperationTraceListener(resolveTraceFile(startParameter, traceFile)));
+        }
         ScriptUsageLocationReporter usageLocationReporter = new ScriptUsageLocationReporter();
         listenerManager.addListener(usageLocationReporter);
         ShowStacktrace showStacktrace = startParameter.getShowStacktrace();
@@ -185,4 +206,9 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
             serviceRegistry
         );
     }
+
+    private static File resolveTraceFile(StartParameter startParameter, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(startParameter.getCurrentDir(), path);
+    }
 }
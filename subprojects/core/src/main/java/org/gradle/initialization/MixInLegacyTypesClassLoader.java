@@ -78,6 +78,14 @@ public class MixInLegacyTypesClassLoader extends TransformingClassLoader {
     private final Set<String> classesToMixInGroovyObject;
     private final Set<String> syntheticClasses;
 
+    static {
+        try {
+            ClassLoader.registerAsParallelCapable();
+        } catch (NoSuchMethodError ignore) {
+            // Not supported on Java 6
+        }
+    }
+
     public MixInLegacyTypesClassLoader(ClassLoader parent, ClassPath classPath) {
         super(parent, classPath);
         classesToMixInGroovyObject = readClassNames("converted-types.txt");
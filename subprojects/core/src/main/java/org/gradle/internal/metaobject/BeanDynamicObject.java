@@ -19,7 +19,6 @@ import groovy.lang.GroovyObject;
 import groovy.lang.GroovySystem;
 import groovy.lang.MetaBeanProperty;
 import groovy.lang.MetaClass;
-import groovy.lang.MetaClassImpl;
 import groovy.lang.MetaMethod;
 import groovy.lang.MetaProperty;
 import groovy.lang.MissingMethodException;
@@ -33,11 +32,8 @@ import org.gradle.api.internal.DynamicObjectAware;
 import org.gradle.api.internal.coerce.MethodArgumentsTransformer;
 import org.gradle.api.internal.coerce.PropertySetTransformer;
 import org.gradle.api.internal.coerce.StringToEnumTransformer;
-import org.gradle.internal.UncheckedException;
 import org.gradle.internal.reflect.JavaReflectionUtil;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
@@ -53,8 +49,7 @@ import java.util.Map;
  * coercion and error reporting. Enjoy.
  */
 public class BeanDynamicObject extends AbstractDynamicObject {
-    private static final Method META_PROP_METHOD;
-    private static final Field MISSING_PROPERTY_GET_METHOD;
+    private static final MetaClassLookupCache LOOKUP_CACHE = new MetaClassLookupCache();
     private final Object bean;
     private final boolean includeProperties;
     private final MetaClassAdapter delegate;
@@ -65,17 +60,6 @@ public class BeanDynamicObject extends AbstractDynamicObject {
     private final MethodArgumentsTransformer argsTransformer;
     private final PropertySetTransformer propertySetTransformer;
 
-    static {
-        try {
-            META_PROP_METHOD = MetaClassImpl.class.getDeclaredMethod("getMetaProperty", String.class, boolean.class);
-            META_PROP_METHOD.setAccessible(true);
-            MISSING_PROPERTY_GET_METHOD = MetaClassImpl.class.getDeclaredField("propertyMissingGet");
-            MISSING_PROPERTY_GET_METHOD.setAccessible(true);
-        } catch (Exception e) {
-            throw UncheckedException.throwAsUncheckedException(e);
-        }
-    }
-
     public BeanDynamicObject(Object bean) {
         this(bean, null, true, true, StringToEnumTransformer.INSTANCE, StringToEnumTransformer.INSTANCE);
     }
@@ -209,7 +193,7 @@ public class BeanDynamicObject extends AbstractDynamicObject {
             }
 
             // Fall back to propertyMissing, if available
-            MetaMethod propertyMissing = findPropertyMissingMethod(metaClass);
+            MetaMethod propertyMissing = LOOKUP_CACHE.findPropertyMissingMethod(metaClass);
             if (propertyMissing != null) {
                 try {
                     result.result(propertyMissing.invoke(bean, new Object[]{name}));
@@ -232,39 +216,9 @@ public class BeanDynamicObject extends AbstractDynamicObject {
         protected void getOpaqueProperty(String name, GetPropertyResult result) {
         }
 
-        @Nullable
-        private MetaMethod findPropertyMissingMethod(MetaClass metaClass) {
-            if (metaClass instanceof MetaClassImpl) {
-                // Reach into meta class to avoid lookup
-                try {
-                    return (MetaMethod) MISSING_PROPERTY_GET_METHOD.get(metaClass);
-                } catch (IllegalAccessException e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
-                }
-            }
-
-            // Query the declared methods of the meta class
-            for (MetaMethod method : metaClass.getMethods()) {
-                if (method.getName().equals("propertyMissing") && method.getParameterTypes().length == 1) {
-                    return method;
-                }
-            }
-            return null;
-        }
-
         @Nullable
         protected MetaProperty lookupProperty(MetaClass metaClass, String name) {
-            if (metaClass instanceof MetaClassImpl) {
-                // MetaClass.getMetaProperty(name) is very expensive when the property is not known. Instead, reach into the meta class to call a much more efficient lookup method
-                try {
-                    return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
-                } catch (Throwable e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
-                }
-            }
-
-            // Some other meta-class implementation - fall back to the public API
-            return metaClass.getMetaProperty(name);
+            return LOOKUP_CACHE.lookupProperty(metaClass, name);
         }
 
         public void setProperty(final String name, Object value, SetPropertyResult result) {
@@ -383,7 +337,7 @@ public class BeanDynamicObject extends AbstractDynamicObject {
                 return;
             }
 
-            List<MetaMethod> metaMethods = metaClass.respondsTo(bean, name);
+            List<MetaMethod> metaMethods = LOOKUP_CACHE.respondsTo(metaClass, bean, name);
             for (MetaMethod method : metaMethods) {
                 if (method.getParameterTypes().length != arguments.length) {
                     continue;
@@ -419,7 +373,7 @@ public class BeanDynamicObject extends AbstractDynamicObject {
 
         @Nullable
         protected MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
-            return metaClass.getMetaMethod(name, arguments);
+            return LOOKUP_CACHE.lookupMethod(metaClass, name, arguments);
         }
 
         protected Object invokeOpaqueMethod(MetaClass metaClass, String name, Object[] arguments) {
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import groovy.lang.ExpandoMetaClass;
+import groovy.lang.MetaClass;
+import groovy.lang.MetaClassImpl;
+import groovy.lang.MetaMethod;
+import groovy.lang.MetaProperty;
+import org.gradle.api.Nullable;
+import org.gradle.internal.UncheckedException;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Looks up the properties and methods of a {@link MetaClass}, caching the results so that they can be shared by all {@link BeanDynamicObject} instances
+ * and reused across builds.
+ *
+ * <p>Results are cached per meta-class instance, and missing properties and methods are cached as well as those that are found. Registering a new meta-class
+ * for a type replaces the meta-class instance, so the results for the old meta-class are no longer used. Meta-classes that can be changed in place, such as
+ * {@link ExpandoMetaClass}, are not cached. The cached results are only softly referenced, so that they do not keep the types of a build alive.</p>
+ *
+ * <p>Method lookups are keyed on the argument types, which are often build script types that belong to a different class loader to the meta-class, such
+ * as the type of a closure. The argument types are only weakly referenced, so that a lookup on a long-lived meta-class does not keep a script class loader
+ * alive. Entries whose argument types have been collected are removed on the next method lookup.</p>
+ */
+class MetaClassLookupCache {
+    private static final Method META_PROP_METHOD;
+    private static final Field MISSING_PROPERTY_GET_METHOD;
+    private static final Object MISSING = new Object();
+
+    private final LoadingCache<MetaClass, Lookups> lookups = CacheBuilder.newBuilder()
+        .weakKeys()
+        .softValues()
+        .build(new CacheLoader<MetaClass, Lookups>() {
+            @Override
+            public Lookups load(MetaClass metaClass) {
+                return new Lookups();
+            }
+        });
+
+    static {
+        try {
+            META_PROP_METHOD = MetaClassImpl.class.getDeclaredMethod("getMetaProperty", String.class, boolean.class);
+            META_PROP_METHOD.setAccessible(true);
+            MISSING_PROPERTY_GET_METHOD = MetaClassImpl.class.getDeclaredField("propertyMissingGet");
+            MISSING_PROPERTY_GET_METHOD.setAccessible(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Nullable
+    public MetaProperty lookupProperty(MetaClass metaClass, String name) {
+        Lookups cached = lookupsFor(metaClass);
+        if (cached == null) {
+            return findProperty(metaClass, name);
+        }
+        Object property = cached.properties.get(name);
+        if (property == null) {
+            property = findProperty(metaClass, name);
+            cached.properties.putIfAbsent(name, property == null ? MISSING : property);
+        }
+        return property == MISSING ? null : (MetaProperty) property;
+    }
+
+    @Nullable
+    public MetaMethod findPropertyMissingMethod(MetaClass metaClass) {
+        Lookups cached = lookupsFor(metaClass);
+        if (cached == null) {
+            return findPropertyMissing(metaClass);
+        }
+        Object method = cached.propertyMissing;
+        if (method == null) {
+            method = findPropertyMissing(metaClass);
+            cached.propertyMissing = method == null ? MISSING : method;
+        }
+        return method == MISSING ? null : (MetaMethod) method;
+    }
+
+    @Nullable
+    public MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
+        Lookups cached = lookupsFor(metaClass);
+        if (cached == null) {
+            return metaClass.getMetaMethod(name, arguments);
+        }
+        cached.removeCollectedMethods();
+        Object method = cached.methods.get(new LookupKey(name, arguments));
+        if (method == null) {
+            method = metaClass.getMetaMethod(name, arguments);
+            cached.methods.putIfAbsent(new CachedKey(name, arguments, cached.collectedArguments), method == null ? MISSING : method);
+        }
+        return method == MISSING ? null : (MetaMethod) method;
+    }
+
+    /**
+     * Returns the methods with the given name that the given bean responds to.
+     */
+    public List<MetaMethod> respondsTo(MetaClass metaClass, Object bean, String name) {
+        Lookups cached = lookupsFor(metaClass);
+        if (cached == null) {
+            return metaClass.respondsTo(bean, name);
+        }
+        List<MetaMethod> methods = cached.respondsTo.get(name);
+        if (methods == null) {
+            methods = metaClass.respondsTo(bean, name);
+            cached.respondsTo.putIfAbsent(name, methods);
+        }
+        return methods;
+    }
+
+    @Nullable
+    private Lookups lookupsFor(MetaClass metaClass) {
+        if (!(metaClass instanceof MetaClassImpl) || metaClass instanceof ExpandoMetaClass) {
+            return null;
+        }
+        return lookups.getUnchecked(metaClass);
+    }
+
+    @Nullable
+    private static MetaProperty findProperty(MetaClass metaClass, String name) {
+        if (metaClass instanceof MetaClassImpl) {
+            // MetaClass.getMetaProperty(name) is very expensive when the property is not known. Instead, reach into the meta class to call a much more efficient lookup method
+            try {
+                return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
+            } catch (Throwable e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        // Some other meta-class implementation - fall back to the public API
+        return metaClass.getMetaProperty(name);
+    }
+
+    @Nullable
+    private static MetaMethod findPropertyMissing(MetaClass metaClass) {
+        if (metaClass instanceof MetaClassImpl) {
+            // Reach into meta class to avoid lookup
+            try {
+                return (MetaMethod) MISSING_PROPERTY_GET_METHOD.get(metaClass);
+            } catch (IllegalAccessException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        // Query the declared methods of the meta class
+        for (MetaMethod method : metaClass.getMethods()) {
+            if (method.getName().equals("propertyMissing") && method.getParameterTypes().length == 1) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static class Lookups {
+        private final ConcurrentMap<String, Object> properties = new ConcurrentHashMap<String, Object>();
+        private final ConcurrentMap<MethodKey, Object> methods = new ConcurrentHashMap<MethodKey, Object>();
+        private final ConcurrentMap<String, List<MetaMethod>> respondsTo = new ConcurrentHashMap<String, List<MetaMethod>>();
+        private volatile Object propertyMissing;
+        private final ReferenceQueue<Class> collectedArguments = new ReferenceQueue<Class>();
+
+        void removeCollectedMethods() {
+            ArgumentReference reference;
+            while ((reference = (ArgumentReference) collectedArguments.poll()) != null) {
+                methods.remove(reference.key);
+            }
+        }
+    }
+
+    /**
+     * Identifies a method lookup. Two keys are equal when they have the same name and the same argument types, regardless of how the argument types are referenced.
+     */
+    private static abstract class MethodKey {
+        private final String name;
+        private final int hashCode;
+
+        MethodKey(String name, Class[] arguments) {
+            this.name = name;
+            int hashCode = name.hashCode();
+            for (Class argument : arguments) {
+                hashCode = 31 * hashCode + (argument == null ? 0 : argument.hashCode());
+            }
+            this.hashCode = hashCode;
+        }
+
+        abstract int getArgumentCount();
+
+        /**
+         * Returns the argument type at the given index, or null for a null argument.
+         */
+        @Nullable
+        abstract Class getArgument(int index);
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey other = (MethodKey) obj;
+            if (hashCode != other.hashCode || !name.equals(other.name) || getArgumentCount() != other.getArgumentCount()) {
+                return false;
+            }
+            for (int i = 0; i < getArgumentCount(); i++) {
+                if (getArgument(i) != other.getArgument(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * A short-lived key used to query the cache, which references the argument types strongly.
+     */
+    private static class LookupKey extends MethodKey {
+        private final Class[] arguments;
+
+        LookupKey(String name, Class[] arguments) {
+            super(name, arguments);
+            this.arguments = arguments;
+        }
+
+        @Override
+        int getArgumentCount() {
+            return arguments.length;
+        }
+
+        @Override
+        Class getArgument(int index) {
+            return arguments[index];
+        }
+    }
+
+    /**
+     * The key stored in the cache, which references the argument types weakly.
+     */
+    private static class CachedKey extends MethodKey {
+        private final ArgumentReference[] arguments;
+
+        CachedKey(String name, Class[] arguments, ReferenceQueue<Class> collectedArguments) {
+            super(name, arguments);
+            this.arguments = new ArgumentReference[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i] != null) {
+                    this.arguments[i] = new ArgumentReference(arguments[i], this, collectedArguments);
+                }
+            }
+        }
+
+        @Override
+        int getArgumentCount() {
+            return arguments.length;
+        }
+
+        @Override
+        Class getArgument(int index) {
+            if (arguments[index] == null) {
+                return null;
+            }
+            Class argument = arguments[index].get();
+            // Once an argument type has been collected, the key no longer matches any lookup
+            return argument == null ? CollectedArgument.class : argument;
+        }
+    }
+
+    private static class CollectedArgument {
+    }
+
+    private static class ArgumentReference extends WeakReference<Class> {
+        private final CachedKey key;
+
+        ArgumentReference(Class argument, CachedKey key, ReferenceQueue<Class> collectedArguments) {
+            super(argument, collectedArguments);
+            this.key = key;
+        }
+    }
+}
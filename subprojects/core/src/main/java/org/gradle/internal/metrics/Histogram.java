@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the distribution of non-negative values, such as durations in milliseconds, in power-of-two buckets. Recording a value does not allocate.
+ */
+public final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final Counter count;
+    private final Counter total;
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(int stripes) {
+        this.count = new Counter(stripes);
+        this.total = new Counter(stripes);
+    }
+
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        buckets.getAndIncrement(bucketFor(recorded));
+        count.increment();
+        total.add(recorded);
+        long currentMax = max.get();
+        while (recorded > currentMax && !max.compareAndSet(currentMax, recorded)) {
+            currentMax = max.get();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(count.getValue(), total.getValue(), max.get(), counts);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private static int bucketFor(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * The values recorded by a histogram at some point in time.
+     */
+    public static class Snapshot {
+        private final long count;
+        private final long total;
+        private final long max;
+        private final long[] buckets;
+
+        Snapshot(long count, long total, long max, long[] buckets) {
+            this.count = count;
+            this.total = total;
+            this.max = max;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns an upper bound for the given percentile of the recorded values, accurate to within a factor of two.
+         */
+        public long getPercentile(double percentile) {
+            long bucketTotal = 0;
+            for (long bucketCount : buckets) {
+                bucketTotal += bucketCount;
+            }
+            if (bucketTotal == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(bucketTotal * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    long upperBound = i == 0 ? 0 : (1L << i) - 1;
+                    return Math.min(upperBound, max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metrics;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.initialization.BuildCompletionListener;
+
+import java.util.Map;
+
+/**
+ * Logs the values of the build metrics when the build completes, so that they end up in the daemon log.
+ */
+public class MetricsReporter implements BuildCompletionListener {
+    private static final Logger LOGGER = Logging.getLogger(MetricsReporter.class);
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsReporter(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public void completed() {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        MetricsSnapshot snapshot = metricsRegistry.snapshot();
+        StringBuilder report = new StringBuilder("Build metrics:");
+        for (Map.Entry<String, Long> entry : snapshot.getCounters().entrySet()) {
+            report.append(String.format("%n  %s: %d", entry.getKey(), entry.getValue()));
+        }
+        for (Map.Entry<String, Histogram.Snapshot> entry : snapshot.getHistograms().entrySet()) {
+            Histogram.Snapshot histogram = entry.getValue();
+            report.append(String.format("%n  %s: count=%d, total=%d, max=%d, p50<=%d, p99<=%d", entry.getKey(),
+                histogram.getCount(), histogram.getTotal(), histogram.getMax(), histogram.getPercentile(50), histogram.getPercentile(99)));
+        }
+        LOGGER.info(report.toString());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metrics;
+
+import java.util.SortedMap;
+
+/**
+ * The values of the metrics in a {@link MetricsRegistry} at some point in time.
+ */
+public class MetricsSnapshot {
+    private final SortedMap<String, Long> counters;
+    private final SortedMap<String, Histogram.Snapshot> histograms;
+
+    MetricsSnapshot(SortedMap<String, Long> counters, SortedMap<String, Histogram.Snapshot> histograms) {
+        this.counters = counters;
+        this.histograms = histograms;
+    }
+
+    public SortedMap<String, Long> getCounters() {
+        return counters;
+    }
+
+    public SortedMap<String, Histogram.Snapshot> getHistograms() {
+        return histograms;
+    }
+}
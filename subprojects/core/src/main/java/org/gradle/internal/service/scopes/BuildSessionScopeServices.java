@@ -38,6 +38,8 @@ import org.gradle.internal.classpath.DefaultCachedClasspathTransformer;
 import org.gradle.internal.file.JarCache;
 import org.gradle.internal.id.LongIdGenerator;
 import org.gradle.internal.jvm.inspection.JvmVersionDetector;
+import org.gradle.internal.operations.BuildOperationWorkerRegistry;
+import org.gradle.internal.operations.DefaultBuildOperationWorkerRegistry;
 import org.gradle.internal.remote.MessagingServer;
 import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.ServiceRegistration;
@@ -97,6 +99,11 @@ public class BuildSessionScopeServices extends DefaultServiceRegistry {
         return new WorkerProcessClassPathProvider(cacheRepository);
     }
 
+    BuildOperationWorkerRegistry createBuildOperationWorkerRegistry(StartParameter startParameter) {
+        // Shared by the builds of the session, so that included builds run against the same max-workers budget as the build that requires them
+        return new DefaultBuildOperationWorkerRegistry(startParameter.getMaxWorkerCount());
+    }
+
     TaskCachingInternal createTaskCaching() {
         return new DefaultTaskCaching();
     }
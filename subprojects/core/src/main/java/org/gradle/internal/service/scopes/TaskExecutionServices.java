@@ -64,19 +64,22 @@ import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.environment.GradleBuildEnvironment;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.id.RandomLongIdGenerator;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.internal.nativeplatform.filesystem.FileSystem;
 import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.internal.operations.BuildOperationWorkerRegistry;
 import org.gradle.internal.operations.DefaultBuildOperationProcessor;
 import org.gradle.internal.operations.DefaultBuildOperationQueueFactory;
-import org.gradle.internal.operations.DefaultBuildOperationWorkerRegistry;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.serialize.DefaultSerializerRegistry;
 import org.gradle.internal.serialize.SerializerRegistry;
+import org.gradle.internal.work.AsyncWorkTracker;
+import org.gradle.internal.work.DefaultAsyncWorkTracker;
 
 public class TaskExecutionServices {
 
-    TaskExecuter createTaskExecuter(TaskArtifactStateRepository repository, TaskOutputPacker packer, StartParameter startParameter, ListenerManager listenerManager, GradleInternal gradle) {
+    TaskExecuter createTaskExecuter(TaskArtifactStateRepository repository, TaskOutputPacker packer, StartParameter startParameter, ListenerManager listenerManager, GradleInternal gradle,
+                                    AsyncWorkTracker asyncWorkTracker) {
         // TODO - need a more comprehensible way to only collect inputs for the outer build
         //      - we are trying to ignore buildSrc here, but also avoid weirdness with use of GradleBuild tasks
         boolean isOuterBuild = gradle.getParent() == null;
@@ -100,7 +103,8 @@ public class TaskExecutionServices {
                                     new PostExecutionAnalysisTaskExecuter(
                                         new ExecuteActionsTaskExecuter(
                                             listenerManager.getBroadcaster(TaskActionExecutionListener.class),
-                                            listenerManager.getBroadcaster(TaskActionListener.class)
+                                            listenerManager.getBroadcaster(TaskActionListener.class),
+                                            asyncWorkTracker
                                         )
                                     )
                                 )
@@ -130,8 +134,8 @@ public class TaskExecutionServices {
         return new DefaultTaskArtifactStateCacheAccess(gradle, cacheRepository, decorator);
     }
 
-    CachingFileSnapshotter createFileSnapshotter(TaskArtifactStateCacheAccess cacheAccess, StringInterner stringInterner) {
-        return new CachingFileSnapshotter(new DefaultHasher(), cacheAccess, stringInterner);
+    CachingFileSnapshotter createFileSnapshotter(TaskArtifactStateCacheAccess cacheAccess, StringInterner stringInterner, MetricsRegistry metricsRegistry) {
+        return new CachingFileSnapshotter(new DefaultHasher(), cacheAccess, stringInterner, metricsRegistry);
     }
 
     FileCollectionSnapshotter createFileCollectionSnapshotter(FileSnapshotter fileSnapshotter, TaskArtifactStateCacheAccess cacheAccess, StringInterner stringInterner, FileSystem fileSystem, DirectoryFileTreeFactory directoryFileTreeFactory, ListenerManager listenerManager) {
@@ -176,8 +180,8 @@ public class TaskExecutionServices {
         return new DefaultBuildOperationProcessor(new DefaultBuildOperationQueueFactory(), executorFactory, startParameter.getMaxWorkerCount());
     }
 
-    BuildOperationWorkerRegistry createBuildOperationWorkerRegistry(StartParameter startParameter) {
-        return new DefaultBuildOperationWorkerRegistry(startParameter.getMaxWorkerCount());
+    AsyncWorkTracker createAsyncWorkTracker(BuildOperationWorkerRegistry buildOperationWorkerRegistry) {
+        return new DefaultAsyncWorkTracker(buildOperationWorkerRegistry);
     }
 
     TaskOutputPacker createTaskResultPacker() {
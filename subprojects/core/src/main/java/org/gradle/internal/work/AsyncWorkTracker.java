@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.work;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Keeps track of the work that build operations, such as task executions, start asynchronously, so that the work can be completed before the build
+ * operation itself completes.
+ */
+@ThreadSafe
+public interface AsyncWorkTracker {
+    /**
+     * Registers work started by the build operation of the current thread.
+     */
+    void registerWork(AsyncWorkCompletion workCompletion);
+
+    /**
+     * Blocks until all work registered by the build operation of the current thread has completed. Fails with a {@link org.gradle.internal.exceptions.MultiCauseException}
+     * when any of this work failed.
+     */
+    void waitForCompletion();
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.profile;
+
+import org.gradle.api.Project;
+import org.gradle.api.ProjectEvaluationListener;
+import org.gradle.api.ProjectState;
+import org.gradle.api.Task;
+import org.gradle.api.artifacts.DependencyResolutionListener;
+import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.execution.TaskExecutionListener;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.TaskState;
+import org.gradle.initialization.BuildCompletionListener;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.progress.BuildOperationInternal;
+import org.gradle.internal.progress.InternalBuildListener;
+import org.gradle.internal.progress.OperationResult;
+import org.gradle.internal.progress.OperationStartEvent;
+import org.gradle.util.GFileUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the start and finish of build operations, project configuration, dependency resolution and task execution, along with the thread that ran them,
+ * and writes them to a file in the Chrome trace event format when the build completes. The file can be loaded into {@code chrome://tracing}.
+ *
+ * <p>Enabled by setting the {@value #TRACE_FILE_PROPERTY} system property to the path of the trace file. When the property is not set this listener is
+ * not registered at all.</p>
+ */
+public class BuildOperationTraceListener implements InternalBuildListener, ProjectEvaluationListener, TaskExecutionListener, DependencyResolutionListener, BuildCompletionListener {
+    public static final String TRACE_FILE_PROPERTY = "org.gradle.internal.operations.trace";
+    private static final Logger LOGGER = Logging.getLogger(BuildOperationTraceListener.class);
+
+    private final File traceFile;
+    private final long startNanos = System.nanoTime();
+    private final ConcurrentMap<Object, Long> running = new ConcurrentHashMap<Object, Long>();
+    private final List<TraceEvent> events = new ArrayList<TraceEvent>();
+    private final Map<Long, String> threadNames = new LinkedHashMap<Long, String>();
+
+    public BuildOperationTraceListener(File traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    // InternalBuildListener
+    @Override
+    public void started(BuildOperationInternal buildOperation, OperationStartEvent startEvent) {
+        start(buildOperation);
+    }
+
+    @Override
+    public void finished(BuildOperationInternal buildOperation, OperationResult result) {
+        Map<String, Object> args = new LinkedHashMap<String, Object>();
+        args.put("id", buildOperation.getId());
+        if (buildOperation.getParentId() != null) {
+            args.put("parentId", buildOperation.getParentId());
+        }
+        if (result.getFailure() != null) {
+            args.put("failure", String.valueOf(result.getFailure().getMessage()));
+        }
+        finish(buildOperation, buildOperation.getDisplayName(), "operation", args);
+    }
+
+    // ProjectEvaluationListener
+    @Override
+    public void beforeEvaluate(Project project) {
+        start(project);
+    }
+
+    @Override
+    public void afterEvaluate(Project project, ProjectState state) {
+        Map<String, Object> args = new LinkedHashMap<String, Object>();
+        args.put("project", project.getPath());
+        finish(project, "Configure project " + project.getPath(), "configuration", args);
+    }
+
+    // TaskExecutionListener
+    @Override
+    public void beforeExecute(Task task) {
+        start(task);
+    }
+
+    @Override
+    public void afterExecute(Task task, TaskState state) {
+        Map<String, Object> args = new LinkedHashMap<String, Object>();
+        args.put("task", task.getPath());
+        args.put("outcome", state.getSkipMessage() != null ? state.getSkipMessage() : state.getFailure() != null ? "FAILED" : "EXECUTED");
+        finish(task, "Execute task " + task.getPath(), "task", args);
+    }
+
+    // DependencyResolutionListener
+    @Override
+    public void beforeResolve(ResolvableDependencies dependencies) {
+        start(dependencies);
+    }
+
+    @Override
+    public void afterResolve(ResolvableDependencies dependencies) {
+        Map<String, Object> args = new LinkedHashMap<String, Object>();
+        args.put("path", dependencies.getPath());
+        finish(dependencies, "Resolve dependencies " + dependencies.getPath(), "dependencies", args);
+    }
+
+    // BuildCompletionListener
+    @Override
+    public void completed() {
+        List<TraceEvent> events;
+        Map<Long, String> threadNames;
+        synchronized (this) {
+            events = new ArrayList<TraceEvent>(this.events);
+            threadNames = new LinkedHashMap<Long, String>(this.threadNames);
+            this.events.clear();
+        }
+        write(events, threadNames);
+        LOGGER.lifecycle("Build operation trace written to {}", traceFile);
+    }
+
+    private void start(Object operation) {
+        running.put(operation, System.nanoTime());
+    }
+
+    private void finish(Object operation, String name, String category, Map<String, Object> args) {
+        long now = System.nanoTime();
+        Long start = running.remove(operation);
+        if (start == null) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        TraceEvent event = new TraceEvent(name, category, thread.getId(), toMicros(start), toMicros(now) - toMicros(start), args);
+        synchronized (this) {
+            events.add(event);
+            if (!threadNames.containsKey(thread.getId())) {
+                threadNames.put(thread.getId(), thread.getName());
+            }
+        }
+    }
+
+    private long toMicros(long nanos) {
+        return (nanos - startNanos) / 1000;
+    }
+
+    private void write(List<TraceEvent> events, Map<Long, String> threadNames) {
+        GFileUtils.mkdirs(traceFile.getAbsoluteFile().getParentFile());
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(traceFile), "UTF-8"));
+            try {
+                writer.write("{\"traceEvents\":[\n");
+                boolean first = true;
+                for (Map.Entry<Long, String> entry : threadNames.entrySet()) {
+                    first = separator(writer, first);
+                    writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + entry.getKey() + ",\"args\":{\"name\":");
+                    writeString(writer, entry.getValue());
+                    writer.write("}}");
+                }
+                for (TraceEvent event : events) {
+                    first = separator(writer, first);
+                    writer.write("{\"name\":");
+                    writeString(writer, event.name);
+                    writer.write(",\"cat\":\"" + event.category + "\",\"ph\":\"X\",\"pid\":1,\"tid\":" + event.threadId + ",\"ts\":" + event.start + ",\"dur\":" + event.duration + ",\"args\":{");
+                    boolean firstArg = true;
+                    for (Map.Entry<String, Object> arg : event.args.entrySet()) {
+                        if (!firstArg) {
+                            writer.write(",");
+                        }
+                        firstArg = false;
+                        writeString(writer, arg.getKey());
+                        writer.write(":");
+                        writeString(writer, String.valueOf(arg.getValue()));
+                    }
+                    writer.write("}}");
+                }
+                writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+            } finally {
+                writer.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static boolean separator(Writer writer, boolean first) throws IOException {
+        if (!first) {
+            writer.write(",\n");
+        }
+        return false;
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) ch));
+                    } else {
+                        writer.write(ch);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static class TraceEvent {
+        final String name;
+        final String category;
+        final long threadId;
+        final long start;
+        final long duration;
+        final Map<String, Object> args;
+
+        TraceEvent(String name, String category, long threadId, long start, long duration, Map<String, Object> args) {
+            this.name = name;
+            this.category = category;
+            this.threadId = threadId;
+            this.start = start;
+            this.duration = duration;
+            this.args = args;
+        }
+    }
+}
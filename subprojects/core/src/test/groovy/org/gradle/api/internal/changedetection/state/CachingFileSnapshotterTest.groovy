@@ -21,6 +21,7 @@ import com.google.common.hash.Hashing
 import org.gradle.api.internal.cache.StringInterner
 import org.gradle.api.internal.hash.Hasher
 import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.metrics.MetricsRegistry
 import org.gradle.internal.resource.TextResource
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
@@ -34,12 +35,13 @@ class CachingFileSnapshotterTest extends Specification {
     def cacheAccess = Mock(TaskArtifactStateCacheAccess)
     def hash = Hashing.md5().hashString("hello", Charsets.UTF_8)
     def file = tmpDir.createFile("testfile")
+    def metricsRegistry = new MetricsRegistry()
     CachingFileSnapshotter hasher
 
     def setup() {
         file.write("some-content")
         1 * cacheAccess.createCache("fileHashes", _, _) >> cache
-        hasher = new CachingFileSnapshotter(target, cacheAccess, new StringInterner());
+        hasher = new CachingFileSnapshotter(target, cacheAccess, new StringInterner(), metricsRegistry);
     }
 
     def hashesFileWhenHashNotCached() {
@@ -137,4 +139,19 @@ class CachingFileSnapshotterTest extends Specification {
         1 * resource.text >> "hello"
         0 * _._
     }
+
+    def countsSnapshotsAndHashedFiles() {
+        given:
+        cache.get(file.getAbsolutePath()) >>> [null, new CachingFileSnapshotter.FileInfo(hash, file.length(), file.lastModified())]
+        target.hash(file) >> hash
+
+        when:
+        hasher.snapshot(file)
+        hasher.snapshot(file)
+
+        then:
+        metricsRegistry.counter("fileHashing.snapshots").value == 2
+        metricsRegistry.counter("fileHashing.hashedFiles").value == 1
+        metricsRegistry.counter("fileHashing.hashedBytes").value == file.length()
+    }
 }
@@ -17,10 +17,12 @@
 package org.gradle.api.internal.changedetection.state
 
 import org.gradle.cache.internal.MultiProcessSafePersistentIndexedCache
+import org.gradle.internal.metrics.MetricsRegistry
 import spock.lang.Specification
 
 class InMemoryTaskArtifactCacheTest extends Specification {
-    def cacheFactory = new InMemoryTaskArtifactCache()
+    def metricsRegistry = new MetricsRegistry()
+    def cacheFactory = new InMemoryTaskArtifactCache(metricsRegistry)
     def target = Mock(MultiProcessSafePersistentIndexedCache)
 
     def "caches result from backing cache"() {
@@ -133,4 +135,18 @@ class InMemoryTaskArtifactCacheTest extends Specification {
         0 * target._
     }
 
+    def "counts hits and misses"() {
+        given:
+        def cache = cacheFactory.decorate("path/fileSnapshots.bin", "fileSnapshots", target)
+        target.get("key") >> "result"
+
+        when:
+        cache.get("key")
+        cache.get("key")
+        cache.get("key")
+
+        then:
+        metricsRegistry.counter("taskArtifactCache.hits").value == 2
+        metricsRegistry.counter("taskArtifactCache.misses").value == 1
+    }
 }
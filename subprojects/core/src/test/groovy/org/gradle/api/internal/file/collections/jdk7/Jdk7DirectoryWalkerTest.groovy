@@ -19,11 +19,13 @@ package org.gradle.api.internal.file.collections.jdk7
 import com.google.common.base.Charsets
 import org.gradle.api.GradleException
 import org.gradle.api.JavaVersion
+import org.gradle.api.file.FileTreeElement
 import org.gradle.api.file.FileVisitDetails
 import org.gradle.api.file.FileVisitor
 import org.gradle.api.internal.file.TestFiles
 import org.gradle.api.internal.file.collections.DefaultDirectoryWalker
 import org.gradle.api.internal.file.collections.DirectoryFileTree
+import org.gradle.api.specs.Spec
 import org.gradle.api.tasks.util.PatternSet
 import org.gradle.internal.Factory
 import org.gradle.test.fixtures.file.TestFile
@@ -106,7 +108,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         !visited.contains(doesNotExist.absolutePath)
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ParallelDirectoryWalker(TestFiles.fileSystem())]
     }
 
     def "both DirectoryWalker implementations return same set of files and attributes"() {
@@ -124,6 +126,65 @@ class Jdk7DirectoryWalkerTest extends Specification {
         checkFileVisitDetailsEqual(visitedWithDefaultWalker, visitedWithJdk7Walker)
     }
 
+    def "parallel walker visits same files in same order as default walker"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        generateFilesAndSubDirectories(rootDir, 10, 5, 3, 1, new AtomicInteger(0))
+
+        when:
+        def visitedWithParallelWalker = walkFiles(rootDir, new ParallelDirectoryWalker(TestFiles.fileSystem()), postfix)
+        def visitedWithDefaultWalker = walkFiles(rootDir, new DefaultDirectoryWalker(TestFiles.fileSystem()), postfix)
+
+        then:
+        visitedWithParallelWalker.size() == 340
+        visitedWithParallelWalker*.relativePath == visitedWithDefaultWalker*.relativePath
+        checkFileVisitDetailsEqual(visitedWithDefaultWalker, visitedWithParallelWalker)
+
+        where:
+        postfix << [false, true]
+    }
+
+    def "parallel walker does not list contents of excluded directories"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        def included = rootDir.file("src/a/b.txt").createFile()
+        rootDir.file("build/a/b.txt").createFile()
+        def listed = Collections.synchronizedList([])
+        def patterns = new PatternSet()
+        patterns.exclude({ FileTreeElement element ->
+            listed << element.relativePath.pathString
+            element.name == "build"
+        } as Spec)
+
+        when:
+        def visited = walkFiles(rootDir, new ParallelDirectoryWalker(TestFiles.fileSystem()), false, patterns)
+
+        then:
+        visited*.file == [rootDir.file("src"), rootDir.file("src/a"), included]
+        !listed.any { it.startsWith("build/") }
+    }
+
+    def "parallel walker stops when visitor requests it"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        generateFilesAndSubDirectories(rootDir, 10, 5, 3, 1, new AtomicInteger(0))
+        def fileTree = new DirectoryFileTree(rootDir, new PatternSet(), { new ParallelDirectoryWalker(TestFiles.fileSystem()) } as Factory, TestFiles.fileSystem(), false)
+        def visited = []
+        def visitClosure = { FileVisitDetails details ->
+            visited << details
+            if (visited.size() == 20) {
+                details.stopVisiting()
+            }
+        }
+        def fileVisitor = [visitFile: visitClosure, visitDir: visitClosure] as FileVisitor
+
+        when:
+        fileTree.visit(fileVisitor)
+
+        then:
+        visited.size() == 20
+    }
+
     private void checkFileVisitDetailsEqual(List<FileVisitDetails> visitedWithDefaultWalker, List<FileVisitDetails> visitedWithJdk7Walker) {
         visitedWithDefaultWalker.each { FileVisitDetails details ->
             def detailsFromJdk7Walker = visitedWithJdk7Walker.find { it.file.absolutePath == details.file.absolutePath }
@@ -151,8 +212,8 @@ class Jdk7DirectoryWalkerTest extends Specification {
         }
     }
 
-    private List<FileVisitDetails> walkFiles(rootDir, walkerInstance) {
-        def fileTree = new DirectoryFileTree(rootDir, new PatternSet(), { walkerInstance } as Factory, TestFiles.fileSystem(), false)
+    private List<FileVisitDetails> walkFiles(rootDir, walkerInstance, boolean postfix = false, PatternSet patterns = new PatternSet()) {
+        def fileTree = new DirectoryFileTree(rootDir, patterns, { walkerInstance } as Factory, TestFiles.fileSystem(), postfix)
         def visited = []
         def visitClosure = { visited << it }
         def fileVisitor = [visitFile: visitClosure, visitDir: visitClosure] as FileVisitor
@@ -188,7 +249,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ParallelDirectoryWalker(TestFiles.fileSystem())]
     }
 
     @Requires(TestPrecondition.SYMLINKS)
@@ -219,7 +280,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ParallelDirectoryWalker(TestFiles.fileSystem())]
     }
 
     @Requires(TestPrecondition.SYMLINKS)
@@ -248,7 +309,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ParallelDirectoryWalker(TestFiles.fileSystem())]
     }
 
     @Issue("GRADLE-3400")
@@ -282,7 +343,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ParallelDirectoryWalker(TestFiles.fileSystem())]
     }
 
     def "file walker sees a snapshot of file metadata even if files are deleted after walking has started"() {
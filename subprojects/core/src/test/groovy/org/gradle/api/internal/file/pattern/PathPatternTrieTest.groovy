@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.pattern
+
+import org.gradle.api.file.RelativePath
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PathPatternTrieTest extends Specification {
+    def "matches a path when any of the patterns matches"() {
+        def trie = PathPatternTrie.compile(["a/b/c", "a/*/d", "**/e.java", "f/**"], true)
+
+        expect:
+        trie.matches(path("a/b/c"))
+        trie.matches(path("a/x/d"))
+        trie.matches(path("e.java"))
+        trie.matches(path("a/b/e.java"))
+        trie.matches(path("f"))
+        trie.matches(path("f/g/h"))
+
+        !trie.matches(path("a/b"))
+        !trie.matches(path("a/b/c/d"))
+        !trie.matches(path("a/x/y/d"))
+        !trie.matches(path("e.groovy"))
+        !trie.matches(path("g/f"))
+    }
+
+    def "determines whether anything below a path can match"() {
+        def trie = PathPatternTrie.compile(["a/b/c", "d/**", "**/e"], true)
+
+        expect:
+        trie.isPrefix(path("a"))
+        trie.isPrefix(path("a/b"))
+        trie.isPrefix(path("a/b/c"))
+        trie.isPrefix(path("d/x/y"))
+        trie.isPrefix(path("x/y"))
+
+        and:
+        def withoutGreedy = PathPatternTrie.compile(["a/b/c", "d/*"], true)
+        withoutGreedy.isPrefix(path("a/b"))
+        withoutGreedy.isPrefix(path("d/x"))
+        !withoutGreedy.isPrefix(path("a/c"))
+        !withoutGreedy.isPrefix(path("a/b/c/d"))
+        !withoutGreedy.isPrefix(path("d/x/y"))
+    }
+
+    def "empty pattern only matches the empty path"() {
+        def trie = PathPatternTrie.compile([""], true)
+
+        expect:
+        trie.matches([] as String[])
+        !trie.matches(path("a"))
+        !trie.isPrefix([] as String[])
+        !trie.isPrefix(path("a"))
+    }
+
+    def "trailing separator is replaced with trailing greedy"() {
+        def trie = PathPatternTrie.compile(["a/b/", "c\\d\\"], true)
+
+        expect:
+        trie.matches(path("a/b"))
+        trie.matches(path("a/b/x/y"))
+        trie.matches(path("c/d/x"))
+        !trie.matches(path("a"))
+        !trie.matches(path("c/x"))
+    }
+
+    def "matches case insensitively"() {
+        def trie = PathPatternTrie.compile(["a/B/c", "**/*.Java"], false)
+
+        expect:
+        trie.matches(path("A/b/C"))
+        trie.matches(path("x/Y.JAVA"))
+        !trie.matches(path("a/b"))
+
+        and:
+        !PathPatternTrie.compile(["a/B/c"], true).matches(path("A/b/C"))
+    }
+
+    @Unroll
+    def "behaves the same as matching pattern by pattern when partially matching directories is #partial"() {
+        def patterns = ["a/b/**/c", "**/*.java", "a?/b*", "*/x/**", "**/y/*z/**", "b/", "**/a/**/b/**/c"]
+        def trie = PatternMatcherFactory.getPatternsMatcher(partial, true, patterns)
+        def matchers = patterns.collect { PatternMatcherFactory.getPatternMatcher(partial, true, it) }
+
+        expect:
+        paths.each { String p ->
+            [true, false].each { boolean isFile ->
+                def relativePath = RelativePath.parse(isFile, p)
+                assert trie.isSatisfiedBy(relativePath) == matchers.any { it.isSatisfiedBy(relativePath) }
+            }
+        }
+
+        where:
+        partial << [true, false]
+        paths = ["a", "a/b", "a/b/c", "a/b/x/c", "a/b/c/d", "x/Y.java", "ab/bc", "ab/b/c", "q/x", "q/x/r", "y/z", "y/az/b", "b", "b/c",
+                 "a/b/c", "x/a/y/b/z/c/w", "c/b/a"]
+    }
+
+    private static String[] path(String path) {
+        return path.split("/")
+    }
+}
@@ -26,6 +26,7 @@ import org.gradle.api.tasks.StopActionException;
 import org.gradle.api.tasks.StopExecutionException;
 import org.gradle.api.tasks.TaskExecutionException;
 import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.internal.work.AsyncWorkTracker;
 import org.gradle.logging.StandardOutputCapture;
 import org.gradle.util.JUnit4GroovyMockery;
 import org.jmock.Expectations;
@@ -57,7 +58,8 @@ public class ExecuteActionsTaskExecuterTest {
     private final Sequence sequence = context.sequence("seq");
     private final TaskActionListener publicListener = context.mock(TaskActionListener.class);
     private final TaskActionExecutionListener internalListener = context.mock(TaskActionExecutionListener.class);
-    private final ExecuteActionsTaskExecuter executer = new ExecuteActionsTaskExecuter(internalListener, publicListener);
+    private final AsyncWorkTracker asyncWorkTracker = context.mock(AsyncWorkTracker.class);
+    private final ExecuteActionsTaskExecuter executer = new ExecuteActionsTaskExecuter(internalListener, publicListener, asyncWorkTracker);
 
     @Before
     public void setUp() {
@@ -74,6 +76,8 @@ public class ExecuteActionsTaskExecuterTest {
             will(returnValue(standardOutputCapture));
 
             ignoring(scriptSource);
+
+            allowing(asyncWorkTracker).waitForCompletion();
         }});
     }
 
@@ -389,4 +393,63 @@ public class ExecuteActionsTaskExecuterTest {
 
         executer.execute(task, state, executionContext);
     }
+
+    @Test
+    public void failsWhenAsyncWorkSubmittedByActionsFails() {
+        final Throwable failure = new RuntimeException("failure");
+        final Collector<Throwable> wrappedFailure = collector();
+        final AsyncWorkTracker failingAsyncWorkTracker = context.mock(AsyncWorkTracker.class, "failingAsyncWorkTracker");
+        context.checking(new Expectations() {{
+            allowing(task).getTaskActions();
+            will(returnValue(toList(action1)));
+
+            oneOf(publicListener).beforeActions(task);
+            inSequence(sequence);
+
+            oneOf(internalListener).startTaskActions();
+            inSequence(sequence);
+
+            oneOf(state).setExecuting(true);
+            inSequence(sequence);
+
+            oneOf(state).setDidWork(true);
+            inSequence(sequence);
+
+            oneOf(standardOutputCapture).start();
+            inSequence(sequence);
+
+            oneOf(action1).contextualise(executionContext);
+            inSequence(sequence);
+
+            oneOf(action1).execute(task);
+            inSequence(sequence);
+
+            oneOf(action1).contextualise(null);
+            inSequence(sequence);
+
+            oneOf(standardOutputCapture).stop();
+            inSequence(sequence);
+
+            oneOf(failingAsyncWorkTracker).waitForCompletion();
+            will(throwException(failure));
+            inSequence(sequence);
+
+            oneOf(state).executed(with(notNullValue(Throwable.class)));
+            will(collectTo(wrappedFailure));
+            inSequence(sequence);
+
+            oneOf(state).setExecuting(false);
+            inSequence(sequence);
+
+            oneOf(publicListener).afterActions(task);
+            inSequence(sequence);
+        }});
+
+        new ExecuteActionsTaskExecuter(internalListener, publicListener, failingAsyncWorkTracker).execute(task, state, executionContext);
+
+        assertThat(wrappedFailure.get(), instanceOf(TaskExecutionException.class));
+        TaskExecutionException exception = (TaskExecutionException) wrappedFailure.get();
+        assertThat(exception.getTask(), equalTo((Task) task));
+        assertThat(exception.getCause(), sameInstance(failure));
+    }
 }
@@ -328,6 +328,66 @@ class DefaultCacheAccessTest extends ConcurrentSpec {
         !access.owner
     }
 
+    def "use cache operation releases existing file lock at the end of the operation when contended"() {
+        Factory<String> action = Mock()
+
+        given:
+        lockManager.lock(lockFile, mode(Exclusive), "<display-name>", "some operation") >> lock
+        access.open(mode(None))
+        access.useCache("some operation", action)
+
+        when:
+        access.useCache("some other operation", action)
+
+        then:
+        1 * action.create() >> {
+            access.whenContended().run()
+        }
+
+        then:
+        1 * lock.close()
+        0 * lockManager._
+
+        and:
+        !access.owner
+    }
+
+    def "nested use cache operation does not release existing file lock when contended"() {
+        Factory<String> action = Mock()
+
+        given:
+        lockManager.lock(lockFile, mode(Exclusive), "<display-name>", "some operation") >> lock
+        access.open(mode(None))
+        access.useCache("some operation", action)
+
+        when:
+        access.useCache("some other operation", {
+            access.useCache("nested operation", { access.whenContended().run() } as Runnable)
+            assert access.owner == Thread.currentThread()
+        } as Runnable)
+
+        then:
+        1 * lock.close()
+    }
+
+    def "waits for hand-off window before reacquiring lock released to another process"() {
+        Factory<String> action = Mock()
+
+        given:
+        lockManager.lock(lockFile, mode(Exclusive), "<display-name>", "some operation") >> lock
+        access.open(mode(None))
+        access.useCache("some operation", action)
+        access.whenContended().run()
+
+        when:
+        def start = System.nanoTime()
+        access.useCache("some other operation", action)
+
+        then:
+        1 * lockManager.lock(lockFile, mode(Exclusive), "<display-name>", _) >> lock
+        System.nanoTime() - start >= DefaultCacheAccess.HAND_OFF_WINDOW_NANOS
+    }
+
     def "use cache operation does not allow shared locks"() {
         given:
         1 * lockManager.lock(lockFile, mode(Shared), "<display-name>") >> lock
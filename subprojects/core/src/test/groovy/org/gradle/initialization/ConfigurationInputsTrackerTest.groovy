@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.initialization
+
+import org.gradle.BuildResult
+import org.gradle.StartParameter
+import org.gradle.api.Project
+import org.gradle.api.invocation.Gradle
+import org.gradle.groovy.scripts.Script
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.internal.resource.ResourceLocation
+import org.gradle.internal.resource.TextResource
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class ConfigurationInputsTrackerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def previousBuilds = [:]
+    def rootDir = tmpDir.createDir("root")
+    def buildFile = rootDir.file("build.gradle").createFile()
+    def startParameter = new StartParameter(currentDir: rootDir, gradleUserHomeDir: tmpDir.createDir("user-home"))
+
+    def "reports nothing when the directory has not been built before"() {
+        expect:
+        check() == null
+    }
+
+    def "reports unchanged inputs"() {
+        given:
+        configure()
+
+        expect:
+        check() == "Configuration inputs have not changed since the previous build."
+    }
+
+    def "reports changed script"() {
+        given:
+        configure()
+        buildFile << "apply plugin: 'java'"
+
+        expect:
+        check() == "Configuration inputs have changed since the previous build:" + String.format("%n  - file '$buildFile' has changed")
+    }
+
+    def "reports added properties file and changed requested tasks"() {
+        given:
+        configure()
+        rootDir.file("gradle.properties").createFile()
+        startParameter.taskNames = ["build"]
+
+        when:
+        def result = check()
+
+        then:
+        result.contains("file '${rootDir.file("gradle.properties")}' has changed")
+        result.contains("requested tasks has changed")
+    }
+
+    def "reports changes to buildSrc sources but not to its outputs"() {
+        given:
+        def source = rootDir.file("buildSrc/src/main/groovy/Thing.groovy").createFile()
+        configure()
+        rootDir.file("buildSrc/build/classes/Thing.class").createFile()
+
+        expect:
+        check() == "Configuration inputs have not changed since the previous build."
+
+        when:
+        source << "class Thing {}"
+
+        then:
+        check().contains("file '${rootDir.file("buildSrc")}' has changed")
+    }
+
+    def "reports changed buildSrc source with the same length and modification time"() {
+        given:
+        def source = rootDir.file("buildSrc/src/main/groovy/Thing.groovy")
+        source.text = "class Thing {}"
+        def lastModified = source.lastModified()
+        configure()
+
+        when:
+        source.text = "class Thang {}"
+        source.lastModified = lastModified
+
+        then:
+        check().contains("file '${rootDir.file("buildSrc")}' has changed")
+    }
+
+    def "tracks environment variables"() {
+        given:
+        def name = System.getenv().keySet().iterator().next()
+        configure()
+        previousBuilds[rootDir][("environment variable '" + name + "'")] = "some other value"
+
+        expect:
+        check() == "Configuration inputs have changed since the previous build:" + String.format("%n  - environment variable '$name' has changed")
+    }
+
+    def "reports when a script is not a local file"() {
+        given:
+        configure(script(null, "script 'http://server/script.gradle'"))
+
+        expect:
+        check() == "Cannot tell whether configuration inputs have changed since the previous build, as script 'http://server/script.gradle' is not a local file."
+    }
+
+    def "reports when a script of this build is not a local file"() {
+        given:
+        configure()
+
+        expect:
+        check(script(null, "script 'http://server/script.gradle'")) == "Cannot tell whether configuration inputs have changed since the previous build, as script 'http://server/script.gradle' is not a local file."
+    }
+
+    def "remembers the inputs of the latest build"() {
+        given:
+        configure()
+        buildFile << "apply plugin: 'java'"
+        configure()
+
+        expect:
+        check() == "Configuration inputs have not changed since the previous build."
+    }
+
+    def "forgets inputs when the build fails before it is configured"() {
+        given:
+        configure()
+
+        when:
+        new ConfigurationInputsTracker(previousBuilds, startParameter).buildFinished(new BuildResult(Stub(Gradle), new RuntimeException()))
+
+        then:
+        check() == null
+    }
+
+    private String check(ScriptSource scriptSource = script(buildFile, "build file")) {
+        def tracker = new ConfigurationInputsTracker(previousBuilds, startParameter)
+        tracker.scriptClassLoaded(scriptSource, Script)
+        return tracker.compareWithPreviousBuild(tracker.captureInputs(gradle()))
+    }
+
+    private void configure(ScriptSource scriptSource = script(buildFile, "build file")) {
+        def tracker = new ConfigurationInputsTracker(previousBuilds, startParameter)
+        tracker.buildStarted(gradle())
+        tracker.scriptClassLoaded(scriptSource, Script)
+        tracker.projectsEvaluated(gradle())
+        tracker.buildFinished(new BuildResult(gradle(), null))
+    }
+
+    private ScriptSource script(File file, String displayName) {
+        return Stub(ScriptSource) {
+            getDisplayName() >> displayName
+            getResource() >> Stub(TextResource) {
+                getLocation() >> Stub(ResourceLocation) {
+                    getFile() >> file
+                }
+            }
+        }
+    }
+
+    private Gradle gradle() {
+        Project project
+        project = Stub(Project) {
+            getProjectDir() >> rootDir
+            getBuildFile() >> buildFile
+            getAllprojects() >> { [project] as Set }
+        }
+        return Stub(Gradle) {
+            getRootProject() >> project
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject
+
+import org.gradle.test.fixtures.ConcurrentTestUtil
+import spock.lang.Specification
+
+import java.lang.ref.WeakReference
+
+class MetaClassLookupCacheTest extends Specification {
+    def cache = new MetaClassLookupCache()
+
+    def "reuses property and method lookups for same meta-class"() {
+        def metaClass = new MetaClassImpl(LookupBean)
+        metaClass.initialize()
+
+        expect:
+        def property = cache.lookupProperty(metaClass, "prop")
+        property.name == "prop"
+        cache.lookupProperty(metaClass, "prop").is(property)
+        cache.lookupProperty(metaClass, "unknown") == null
+        cache.lookupProperty(metaClass, "unknown") == null
+
+        def method = cache.lookupMethod(metaClass, "doSomething", [String] as Class[])
+        method.name == "doSomething"
+        cache.lookupMethod(metaClass, "doSomething", [String] as Class[]).is(method)
+        cache.lookupMethod(metaClass, "doSomething", [Integer] as Class[]) == null
+        cache.lookupMethod(metaClass, "unknown", [] as Class[]) == null
+
+        def methods = cache.respondsTo(metaClass, new LookupBean(), "doSomething")
+        methods.size() == 1
+        cache.respondsTo(metaClass, new LookupBean(), "doSomething").is(methods)
+
+        cache.findPropertyMissingMethod(metaClass).name == "propertyMissing"
+    }
+
+    def "does not reuse lookups for different meta-class instances"() {
+        def metaClass1 = new MetaClassImpl(LookupBean)
+        metaClass1.initialize()
+        def metaClass2 = new MetaClassImpl(LookupBean)
+        metaClass2.initialize()
+
+        expect:
+        !cache.lookupProperty(metaClass1, "prop").is(cache.lookupProperty(metaClass2, "prop"))
+    }
+
+    def "does not cache lookups for expando meta-class"() {
+        def metaClass = new ExpandoMetaClass(LookupBean, false, true)
+        metaClass.initialize()
+
+        expect:
+        cache.lookupMethod(metaClass, "added", [] as Class[]) == null
+        cache.lookupProperty(metaClass, "addedProp") == null
+
+        when:
+        metaClass.added = { -> "added" }
+        metaClass.getAddedProp = { -> "value" }
+
+        then:
+        cache.lookupMethod(metaClass, "added", [] as Class[]) != null
+        cache.lookupProperty(metaClass, "addedProp") != null
+    }
+
+    def "method lookup does not keep the class loader of an argument type alive"() {
+        def metaClass = new MetaClassImpl(LookupBean)
+        metaClass.initialize()
+
+        when:
+        def classLoader = lookupMethodWithArgumentFromNewClassLoader(metaClass)
+
+        then:
+        ConcurrentTestUtil.poll(10) {
+            System.gc()
+            assert classLoader.get() == null
+        }
+
+        and:
+        cache.lookupMethod(metaClass, "doSomething", [String] as Class[]).name == "doSomething"
+    }
+
+    private WeakReference<ClassLoader> lookupMethodWithArgumentFromNewClassLoader(MetaClass metaClass) {
+        def classLoader = new GroovyClassLoader(getClass().classLoader)
+        def argumentType = classLoader.parseClass("class ScriptType {}")
+        assert cache.lookupMethod(metaClass, "doSomething", [argumentType] as Class[]) == null
+        classLoader.clearCache()
+        return new WeakReference<ClassLoader>(classLoader)
+    }
+}
+
+class LookupBean {
+    String prop
+
+    void doSomething(String value) {
+    }
+
+    def propertyMissing(String name) {
+        return name
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metrics
+
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+class MetricsRegistryTest extends ConcurrentSpec {
+    def registry = new MetricsRegistry(4)
+
+    def "returns the same metric for a given name"() {
+        expect:
+        registry.counter("a").is(registry.counter("a"))
+        !registry.counter("a").is(registry.counter("b"))
+        registry.histogram("a").is(registry.histogram("a"))
+    }
+
+    def "counts increments from many threads"() {
+        def counter = registry.counter("count")
+
+        when:
+        async {
+            10.times {
+                start {
+                    1000.times { counter.increment() }
+                    counter.add(5)
+                }
+            }
+        }
+
+        then:
+        counter.value == 10050
+    }
+
+    def "summarizes recorded values"() {
+        def histogram = registry.histogram("timeMs")
+
+        when:
+        [0, 1, 3, 7, 100, -2].each { histogram.record(it) }
+        def snapshot = histogram.snapshot()
+
+        then:
+        snapshot.count == 6
+        snapshot.total == 111
+        snapshot.max == 100
+        snapshot.getPercentile(50) == 1
+        snapshot.getPercentile(80) == 7
+        snapshot.getPercentile(100) == 100
+    }
+
+    def "percentiles of an empty histogram are zero"() {
+        expect:
+        registry.histogram("empty").snapshot().getPercentile(99) == 0
+    }
+
+    def "takes a snapshot of all metrics sorted by name"() {
+        registry.counter("b").add(2)
+        registry.counter("a").increment()
+        registry.histogram("h").record(12)
+
+        when:
+        def snapshot = registry.snapshot()
+
+        then:
+        snapshot.counters == [a: 1L, b: 2L]
+        snapshot.counters.keySet() as List == ["a", "b"]
+        snapshot.histograms.keySet() == ["h"] as Set
+        snapshot.histograms.h.count == 1
+        snapshot.histograms.h.total == 12
+    }
+
+    def "reset sets metrics back to zero and keeps them registered"() {
+        def counter = registry.counter("count")
+        def histogram = registry.histogram("timeMs")
+        counter.add(12)
+        histogram.record(100)
+
+        when:
+        registry.reset()
+
+        then:
+        counter.value == 0
+        histogram.snapshot().count == 0
+        histogram.snapshot().max == 0
+        registry.snapshot().counters == [count: 0L]
+
+        when:
+        counter.increment()
+
+        then:
+        registry.counter("count").value == 1
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.work
+
+import org.gradle.internal.exceptions.DefaultMultiCauseException
+import org.gradle.internal.operations.DefaultBuildOperationWorkerRegistry
+import spock.lang.Specification
+
+class DefaultAsyncWorkTrackerTest extends Specification {
+    def registry = new DefaultBuildOperationWorkerRegistry(2)
+    def tracker = new DefaultAsyncWorkTracker(registry)
+    def completion = registry.operationStart()
+
+    def cleanup() {
+        completion.operationFinish()
+        registry.stop()
+    }
+
+    def "waits for all work registered by the current operation"() {
+        def work1 = Mock(AsyncWorkCompletion)
+        def work2 = Mock(AsyncWorkCompletion)
+        tracker.registerWork(work1)
+        tracker.registerWork(work2)
+
+        when:
+        tracker.waitForCompletion()
+
+        then:
+        1 * work1.waitForCompletion()
+
+        then:
+        1 * work2.waitForCompletion()
+    }
+
+    def "does not wait for work again once it has completed"() {
+        def work = Mock(AsyncWorkCompletion)
+        tracker.registerWork(work)
+        tracker.waitForCompletion()
+
+        when:
+        tracker.waitForCompletion()
+
+        then:
+        0 * work._
+    }
+
+    def "does nothing when no work has been registered"() {
+        when:
+        tracker.waitForCompletion()
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "waits for all work and collects failures when work fails"() {
+        def failure1 = new RuntimeException("broken 1")
+        def failure2 = new RuntimeException("broken 2")
+        def work1 = Mock(AsyncWorkCompletion)
+        def work2 = Mock(AsyncWorkCompletion)
+        def work3 = Mock(AsyncWorkCompletion)
+        tracker.registerWork(work1)
+        tracker.registerWork(work2)
+        tracker.registerWork(work3)
+
+        when:
+        tracker.waitForCompletion()
+
+        then:
+        1 * work1.waitForCompletion() >> { throw failure1 }
+        1 * work2.waitForCompletion()
+        1 * work3.waitForCompletion() >> { throw failure2 }
+
+        and:
+        def e = thrown(DefaultMultiCauseException)
+        e.causes == [failure1, failure2]
+    }
+}
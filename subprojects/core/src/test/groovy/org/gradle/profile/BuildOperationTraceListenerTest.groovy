@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.profile
+
+import groovy.json.JsonSlurper
+import org.gradle.api.Task
+import org.gradle.api.artifacts.ResolvableDependencies
+import org.gradle.api.tasks.TaskState
+import org.gradle.internal.progress.BuildOperationInternal
+import org.gradle.internal.progress.OperationResult
+import org.gradle.internal.progress.OperationStartEvent
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildOperationTraceListenerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def traceFile = tmpDir.file("trace/trace.json")
+    def listener = new BuildOperationTraceListener(traceFile)
+
+    def "writes nested build operations as trace events"() {
+        def parent = new BuildOperationInternal(1L, null, "Run build")
+        def child = new BuildOperationInternal(2L, 1L, "Configure \"build\"")
+
+        when:
+        listener.started(parent, new OperationStartEvent(0))
+        listener.started(child, new OperationStartEvent(0))
+        listener.finished(child, new OperationResult(0, 0, null))
+        listener.finished(parent, new OperationResult(0, 0, new RuntimeException("broken")))
+        listener.completed()
+
+        then:
+        def events = traceEvents()
+        def operations = events.findAll { it.ph == "X" }
+        operations*.name == ["Configure \"build\"", "Run build"]
+        operations*.cat == ["operation", "operation"]
+        operations[0].args == [id: "2", parentId: "1"]
+        operations[1].args == [id: "1", failure: "broken"]
+        operations[1].ts <= operations[0].ts
+        operations[1].ts + operations[1].dur >= operations[0].ts + operations[0].dur
+        operations*.tid == [Thread.currentThread().id] * 2
+
+        def threads = events.findAll { it.ph == "M" }
+        threads.size() == 1
+        threads[0].tid == Thread.currentThread().id
+        threads[0].args.name == Thread.currentThread().name
+    }
+
+    def "writes task execution and dependency resolution as trace events"() {
+        def task = Stub(Task) {
+            getPath() >> ":compile"
+        }
+        def state = Stub(TaskState) {
+            getSkipMessage() >> "UP-TO-DATE"
+        }
+        def dependencies = Stub(ResolvableDependencies) {
+            getPath() >> ":compile"
+        }
+
+        when:
+        listener.beforeResolve(dependencies)
+        listener.afterResolve(dependencies)
+        listener.beforeExecute(task)
+        listener.afterExecute(task, state)
+        listener.completed()
+
+        then:
+        def operations = traceEvents().findAll { it.ph == "X" }
+        operations*.name == ["Resolve dependencies :compile", "Execute task :compile"]
+        operations*.cat == ["dependencies", "task"]
+        operations[1].args == [task: ":compile", outcome: "UP-TO-DATE"]
+    }
+
+    def "ignores operations that finish without having been started"() {
+        when:
+        listener.finished(new BuildOperationInternal(1L, null, "Run build"), new OperationResult(0, 0, null))
+        listener.completed()
+
+        then:
+        traceEvents().empty
+    }
+
+    private List traceEvents() {
+        return new JsonSlurper().parse(traceFile).traceEvents
+    }
+}
@@ -17,24 +17,37 @@
 package org.gradle.internal.resource.transfer;
 
 import org.gradle.api.Nullable;
+import org.gradle.internal.metrics.Counter;
+import org.gradle.internal.metrics.Histogram;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
 import org.gradle.internal.logging.progress.ProgressLoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.concurrent.TimeUnit;
 
 public class ProgressLoggingExternalResourceAccessor extends AbstractProgressLoggingHandler implements ExternalResourceAccessor {
     private final ExternalResourceAccessor delegate;
+    private final Counter requestsCounter;
+    private final Counter downloadsCounter;
+    private final Histogram requestTimeHistogram;
 
-    public ProgressLoggingExternalResourceAccessor(ExternalResourceAccessor delegate, ProgressLoggerFactory progressLoggerFactory) {
+    public ProgressLoggingExternalResourceAccessor(ExternalResourceAccessor delegate, ProgressLoggerFactory progressLoggerFactory, MetricsRegistry metricsRegistry) {
         super(progressLoggerFactory);
         this.delegate = delegate;
+        this.requestsCounter = metricsRegistry.counter("network.requests");
+        this.downloadsCounter = metricsRegistry.counter("network.downloads");
+        this.requestTimeHistogram = metricsRegistry.histogram("network.requestTimeMs");
     }
 
     public ExternalResourceReadResponse openResource(URI location) {
+        long start = System.nanoTime();
         ExternalResourceReadResponse resource = delegate.openResource(location);
+        requestFinished(start);
         if (resource != null) {
+            downloadsCounter.increment();
             return new ProgressLoggingExternalResource(location, resource);
         } else {
             return null;
@@ -43,7 +56,15 @@ public class ProgressLoggingExternalResourceAccessor extends AbstractProgressLog
 
     @Nullable
     public ExternalResourceMetaData getMetaData(URI location) {
-        return delegate.getMetaData(location);
+        long start = System.nanoTime();
+        ExternalResourceMetaData metaData = delegate.getMetaData(location);
+        requestFinished(start);
+        return metaData;
+    }
+
+    private void requestFinished(long start) {
+        requestsCounter.increment();
+        requestTimeHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     private class ProgressLoggingExternalResource implements ExternalResourceReadResponse {
@@ -19,6 +19,7 @@ package org.gradle.internal.resource.transfer
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData
 import org.gradle.internal.logging.progress.ProgressLogger
 import org.gradle.internal.logging.progress.ProgressLoggerFactory
+import org.gradle.internal.metrics.MetricsRegistry
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -26,7 +27,8 @@ class ProgressLoggingExternalResourceAccessorTest extends Specification {
 
     ExternalResourceAccessor accessor = Mock()
     ProgressLoggerFactory progressLoggerFactory = Mock();
-    ProgressLoggingExternalResourceAccessor progressLoggerAccessor = new ProgressLoggingExternalResourceAccessor(accessor, progressLoggerFactory)
+    MetricsRegistry metricsRegistry = new MetricsRegistry()
+    ProgressLoggingExternalResourceAccessor progressLoggerAccessor = new ProgressLoggingExternalResourceAccessor(accessor, progressLoggerFactory, metricsRegistry)
     ProgressLogger progressLogger = Mock()
     ExternalResourceReadResponse externalResource = Mock()
     ExternalResourceMetaData metaData = Mock()
@@ -144,4 +146,21 @@ class ProgressLoggingExternalResourceAccessorTest extends Specification {
         1 * progressLogger.completed()
         0 * progressLogger.progress(_)
     }
-}
\ No newline at end of file
+
+    def "counts requests and downloads"() {
+        setup:
+        accessor.openResource(new URI("found")) >> externalResource
+        accessor.openResource(new URI("missing")) >> null
+        progressLoggerFactory.newOperation(_) >> progressLogger
+
+        when:
+        progressLoggerAccessor.getMetaData(new URI("found"))
+        progressLoggerAccessor.openResource(new URI("found"))
+        progressLoggerAccessor.openResource(new URI("missing"))
+
+        then:
+        metricsRegistry.counter("network.requests").value == 3
+        metricsRegistry.counter("network.downloads").value == 1
+        metricsRegistry.histogram("network.requestTimeMs").snapshot().count == 3
+    }
+}
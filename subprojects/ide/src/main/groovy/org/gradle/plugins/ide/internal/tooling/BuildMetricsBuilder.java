@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.plugins.ide.internal.tooling;
+
+import org.gradle.api.Project;
+import org.gradle.internal.metrics.Histogram;
+import org.gradle.internal.metrics.MetricsRegistry;
+import org.gradle.internal.metrics.MetricsSnapshot;
+import org.gradle.tooling.internal.build.DefaultBuildMetrics;
+import org.gradle.tooling.internal.build.DefaultHistogramMetric;
+import org.gradle.tooling.provider.model.ToolingModelBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the BuildMetrics model from the current values of the build metrics.
+ */
+public class BuildMetricsBuilder implements ToolingModelBuilder {
+    private final MetricsRegistry metricsRegistry;
+
+    public BuildMetricsBuilder(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public boolean canBuild(String modelName) {
+        return modelName.equals("org.gradle.tooling.model.build.BuildMetrics");
+    }
+
+    @Override
+    public Object buildAll(String modelName, Project target) {
+        MetricsSnapshot snapshot = metricsRegistry.snapshot();
+        List<DefaultHistogramMetric> histograms = new ArrayList<DefaultHistogramMetric>();
+        for (Map.Entry<String, Histogram.Snapshot> entry : snapshot.getHistograms().entrySet()) {
+            Histogram.Snapshot histogram = entry.getValue();
+            histograms.add(new DefaultHistogramMetric(entry.getKey(), histogram.getCount(), histogram.getTotal(), histogram.getMax()));
+        }
+        return new DefaultBuildMetrics(new LinkedHashMap<String, Long>(snapshot.getCounters()), histograms);
+    }
+}
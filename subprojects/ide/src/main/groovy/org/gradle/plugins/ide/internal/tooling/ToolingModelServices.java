@@ -18,6 +18,7 @@ package org.gradle.plugins.ide.internal.tooling;
 
 import org.gradle.api.internal.artifacts.ivyservice.projectmodule.ProjectPublicationRegistry;
 import org.gradle.api.internal.project.ProjectTaskLister;
+import org.gradle.internal.metrics.MetricsRegistry;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
@@ -48,7 +49,7 @@ public class ToolingModelServices implements PluginServiceRegistry {
 
     private static class BuildScopeToolingServices {
 
-        protected ToolingModelBuilderRegistry createBuildScopedToolingModelBuilders(ProjectTaskLister taskLister, ProjectPublicationRegistry projectPublicationRegistry, ServiceRegistry services) {
+        protected ToolingModelBuilderRegistry createBuildScopedToolingModelBuilders(ProjectTaskLister taskLister, ProjectPublicationRegistry projectPublicationRegistry, MetricsRegistry metricsRegistry, ServiceRegistry services) {
             DefaultToolingModelBuilderRegistry registry = new DefaultToolingModelBuilderRegistry();
             GradleProjectBuilder gradleProjectBuilder  = new GradleProjectBuilder();
             IdeaModelBuilder ideaModelBuilder = new IdeaModelBuilder(gradleProjectBuilder, services);
@@ -60,6 +61,7 @@ public class ToolingModelServices implements PluginServiceRegistry {
             registry.register(new BuildInvocationsBuilder(taskLister));
             registry.register(new PublicationsBuilder(projectPublicationRegistry));
             registry.register(new BuildEnvironmentBuilder());
+            registry.register(new BuildMetricsBuilder(metricsRegistry));
             return registry;
         }
     }
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import org.gradle.api.Nullable;
+import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.data.CRC64;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Analyzes the classes of a class directory or archive against execution data, reusing the results of earlier analyses.
+ *
+ * <p>The coverage of a class only depends on the class file and on the execution data recorded for it, so results are cached per directory or
+ * archive, keyed by the JaCoCo class id (a checksum of the class file) and the execution data of each class it contains. Results are kept in memory,
+ * and in a cache directory shared between builds when one is given. The cache directory holds one entry per directory or archive content, named by the
+ * class ids of its classes, and the entry is replaced when the execution data changes. The class id is calculated with an internal JaCoCo type, so
+ * caching is only used with the JaCoCo versions it has been tested with. Directories and archives that contain nested archives are analyzed without
+ * caching.</p>
+ */
+class CachingCoverageAnalyzer {
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ZIP_MAGIC = 0x504B0304;
+    private static final int PACK200_MAGIC = 0xCAFED00D;
+    private static final int GZIP_MAGIC = 0x1F8B;
+    private static final String CLASS_EXTENSION = ".class";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Cache<HashCode, List<IClassCoverage>> results;
+    private final ClassCoverageSerializer serializer = new ClassCoverageSerializer();
+
+    CachingCoverageAnalyzer(int maxEntries) {
+        results = CacheBuilder.newBuilder().maximumSize(maxEntries).softValues().build();
+    }
+
+    /**
+     * Returns true when the class ids calculated by the given JaCoCo version match those calculated by this analyzer.
+     */
+    static boolean isSupported(String jacocoVersion) {
+        return jacocoVersion.startsWith("0.7.");
+    }
+
+    Collection<IClassCoverage> analyze(File input, ExecutionDataStore executionData, @Nullable File cacheDir) throws IOException {
+        ClassKeyCollector keys = new ClassKeyCollector(executionData);
+        if (!isSupported(JaCoCo.VERSION) || !visitClasses(input, keys)) {
+            CoverageBuilder builder = new CoverageBuilder();
+            new Analyzer(executionData, builder).analyzeAll(input);
+            return builder.getClasses();
+        }
+
+        HashCode key = keys.hash();
+        List<IClassCoverage> result = results.getIfPresent(key);
+        if (result != null) {
+            return result;
+        }
+        File cacheEntry = cacheDir == null ? null : new File(cacheDir, keys.classIdsHash().toString());
+        if (cacheEntry != null) {
+            result = load(cacheEntry, key);
+        }
+        if (result == null) {
+            CoverageBuilder builder = new CoverageBuilder();
+            final Analyzer analyzer = new Analyzer(executionData, builder);
+            visitClasses(input, new ClassVisitor() {
+                @Override
+                public void visitClass(byte[] classFile, String location) throws IOException {
+                    analyzer.analyzeClass(classFile, location);
+                }
+            });
+            result = new ArrayList<IClassCoverage>(builder.getClasses());
+            if (cacheEntry != null) {
+                store(cacheEntry, key, result);
+            }
+        }
+        results.put(key, result);
+        return result;
+    }
+
+    /**
+     * Reads the results in the given cache entry, or returns null when there is no entry or it was stored for different execution data.
+     */
+    @Nullable
+    private List<IClassCoverage> load(File cacheEntry, HashCode key) {
+        if (!cacheEntry.isFile()) {
+            return null;
+        }
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheEntry)));
+            try {
+                byte[] storedKey = new byte[input.readUnsignedByte()];
+                input.readFully(storedKey);
+                if (!Arrays.equals(storedKey, key.asBytes())) {
+                    return null;
+                }
+                return serializer.read(input);
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            // An unreadable entry is replaced by the results of a new analysis
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given results to the cache entry. The entry is written to a temporary file first, so that concurrent builds never read a partial entry.
+     */
+    private void store(File cacheEntry, HashCode key, List<IClassCoverage> result) throws IOException {
+        File tempFile = File.createTempFile(cacheEntry.getName(), ".tmp", cacheEntry.getParentFile());
+        try {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                byte[] keyBytes = key.asBytes();
+                output.writeByte(keyBytes.length);
+                output.write(keyBytes);
+                serializer.write(result, output);
+            } finally {
+                output.close();
+            }
+            if (!tempFile.renameTo(cacheEntry)) {
+                // Some platforms do not replace existing files on rename
+                cacheEntry.delete();
+                tempFile.renameTo(cacheEntry);
+            }
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Visits the class files of the given file or directory, reading one class file at a time. Returns false when it contains nested archives.
+     */
+    private static boolean visitClasses(File input, ClassVisitor visitor) throws IOException {
+        if (input.isDirectory()) {
+            File[] children = input.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    if (!visitClasses(child, visitor)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        if (!input.isFile()) {
+            return true;
+        }
+        if (input.getName().endsWith(CLASS_EXTENSION)) {
+            visitor.visitClass(Files.toByteArray(input), input.getPath());
+            return true;
+        }
+        // Other files are only read far enough to tell whether they are archives
+        InputStream inputStream = new BufferedInputStream(new FileInputStream(input));
+        try {
+            byte[] header = readHeader(inputStream);
+            if (isClass(header)) {
+                visitor.visitClass(readRemaining(header, inputStream), input.getPath());
+                return true;
+            }
+            if (startsWith(header, ZIP_MAGIC)) {
+                return visitArchiveClasses(new SequenceInputStream(new ByteArrayInputStream(header), inputStream), input.getPath(), visitor);
+            }
+            return !isOtherArchive(header);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static boolean visitArchiveClasses(InputStream archive, String location, ClassVisitor visitor) throws IOException {
+        ZipInputStream zipStream = new ZipInputStream(archive);
+        ZipEntry entry;
+        while ((entry = zipStream.getNextEntry()) != null) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            String entryLocation = location + "@" + entry.getName();
+            if (entry.getName().endsWith(CLASS_EXTENSION)) {
+                visitor.visitClass(ByteStreams.toByteArray(zipStream), entryLocation);
+                continue;
+            }
+            byte[] header = readHeader(zipStream);
+            if (isClass(header)) {
+                visitor.visitClass(readRemaining(header, zipStream), entryLocation);
+            } else if (startsWith(header, ZIP_MAGIC) || isOtherArchive(header)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] readHeader(InputStream inputStream) throws IOException {
+        byte[] header = new byte[4];
+        int length = ByteStreams.read(inputStream, header, 0, header.length);
+        return length == header.length ? header : Arrays.copyOf(header, length);
+    }
+
+    private static byte[] readRemaining(byte[] header, InputStream inputStream) throws IOException {
+        byte[] remaining = ByteStreams.toByteArray(inputStream);
+        byte[] content = Arrays.copyOf(header, header.length + remaining.length);
+        System.arraycopy(remaining, 0, content, header.length, remaining.length);
+        return content;
+    }
+
+    private static boolean isClass(byte[] content) {
+        return startsWith(content, CLASS_MAGIC);
+    }
+
+    private static boolean isOtherArchive(byte[] content) {
+        return startsWith(content, PACK200_MAGIC) || (content.length >= 2 && ((content[0] & 0xFF) << 8 | content[1] & 0xFF) == GZIP_MAGIC);
+    }
+
+    private static boolean startsWith(byte[] content, int magic) {
+        return content.length >= 4 && ((content[0] & 0xFF) << 24 | (content[1] & 0xFF) << 16 | (content[2] & 0xFF) << 8 | content[3] & 0xFF) == magic;
+    }
+
+    /**
+     * Reads the internal name of the class defined by the given class file from its constant pool.
+     */
+    static String readClassName(byte[] classFile) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(classFile));
+        input.skipBytes(8);
+        int constantPoolCount = input.readUnsignedShort();
+        String[] utf8Constants = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8Constants[i] = input.readUTF();
+                    break;
+                case 7:
+                    classNameIndexes[i] = input.readUnsignedShort();
+                    break;
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    input.skipBytes(2);
+                    break;
+                case 15:
+                    input.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 18:
+                    input.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    input.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unexpected constant pool tag " + tag + ".");
+            }
+        }
+        input.skipBytes(2);
+        return utf8Constants[classNameIndexes[input.readUnsignedShort()]];
+    }
+
+    private interface ClassVisitor {
+        void visitClass(byte[] classFile, String location) throws IOException;
+    }
+
+    /**
+     * Collects the id and execution data of each visited class, without retaining the class files.
+     */
+    private static class ClassKeyCollector implements ClassVisitor {
+        private final ExecutionDataStore executionData;
+        private final List<ClassKey> classKeys = new ArrayList<ClassKey>();
+
+        ClassKeyCollector(ExecutionDataStore executionData) {
+            this.executionData = executionData;
+        }
+
+        @Override
+        public void visitClass(byte[] classFile, String location) throws IOException {
+            long id = CRC64.checksum(classFile);
+            ExecutionData data = executionData.get(id);
+            // A class without execution data is reported as not matching when there is execution data for a different class of the same name
+            boolean noMatch = data == null && executionData.contains(readClassName(classFile));
+            classKeys.add(new ClassKey(id, data == null ? null : data.getProbes(), noMatch));
+        }
+
+        /**
+         * Returns a hash of the ids of the classes, which identifies the content of the directory or archive.
+         */
+        HashCode classIdsHash() {
+            Hasher hasher = Hashing.md5().newHasher();
+            hasher.putString(JaCoCo.VERSION, UTF_8);
+            for (ClassKey classKey : sorted()) {
+                hasher.putLong(classKey.id);
+            }
+            return hasher.hash();
+        }
+
+        /**
+         * Returns a hash of the ids and the execution data of the classes, which identifies the analysis results.
+         */
+        HashCode hash() {
+            Hasher hasher = Hashing.md5().newHasher();
+            for (ClassKey classKey : sorted()) {
+                hasher.putLong(classKey.id);
+                hasher.putBoolean(classKey.noMatch);
+                if (classKey.probes == null) {
+                    hasher.putInt(-1);
+                } else {
+                    hasher.putInt(classKey.probes.length);
+                    for (boolean probe : classKey.probes) {
+                        hasher.putBoolean(probe);
+                    }
+                }
+            }
+            return hasher.hash();
+        }
+
+        private ClassKey[] sorted() {
+            ClassKey[] sorted = classKeys.toArray(new ClassKey[0]);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static class ClassKey implements Comparable<ClassKey> {
+        private final long id;
+        private final boolean[] probes;
+        private final boolean noMatch;
+
+        ClassKey(long id, boolean[] probes, boolean noMatch) {
+            this.id = id;
+            this.probes = probes;
+            this.noMatch = noMatch;
+        }
+
+        @Override
+        public int compareTo(ClassKey other) {
+            return id < other.id ? -1 : id == other.id ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.MethodCoverageImpl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes and reads the coverage of analyzed classes, so that analysis results can be kept between builds.
+ *
+ * <p>JaCoCo has no serialized form for its coverage nodes. The coverage is written as the counters of each method and of each of its lines, and read back
+ * into the JaCoCo node types that the analyzer creates, so that the reports of read results are the same as those of a new analysis.</p>
+ */
+class ClassCoverageSerializer {
+    void write(Collection<IClassCoverage> classes, DataOutputStream output) throws IOException {
+        output.writeInt(classes.size());
+        for (IClassCoverage classCoverage : classes) {
+            output.writeUTF(classCoverage.getName());
+            output.writeLong(classCoverage.getId());
+            output.writeBoolean(classCoverage.isNoMatch());
+            writeNullableString(classCoverage.getSignature(), output);
+            writeNullableString(classCoverage.getSuperName(), output);
+            String[] interfaces = classCoverage.getInterfaceNames();
+            output.writeInt(interfaces == null ? -1 : interfaces.length);
+            if (interfaces != null) {
+                for (String name : interfaces) {
+                    output.writeUTF(name);
+                }
+            }
+            writeNullableString(classCoverage.getSourceFileName(), output);
+            output.writeInt(classCoverage.getMethods().size());
+            for (IMethodCoverage method : classCoverage.getMethods()) {
+                writeMethod(method, output);
+            }
+        }
+    }
+
+    List<IClassCoverage> read(DataInputStream input) throws IOException {
+        int classCount = input.readInt();
+        List<IClassCoverage> classes = new ArrayList<IClassCoverage>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            ClassCoverageImpl classCoverage = new ClassCoverageImpl(input.readUTF(), input.readLong(), input.readBoolean());
+            classCoverage.setSignature(readNullableString(input));
+            classCoverage.setSuperName(readNullableString(input));
+            int interfaceCount = input.readInt();
+            if (interfaceCount >= 0) {
+                String[] interfaces = new String[interfaceCount];
+                for (int j = 0; j < interfaceCount; j++) {
+                    interfaces[j] = input.readUTF();
+                }
+                classCoverage.setInterfaces(interfaces);
+            }
+            classCoverage.setSourceFileName(readNullableString(input));
+            int methodCount = input.readInt();
+            for (int j = 0; j < methodCount; j++) {
+                classCoverage.addMethod(readMethod(input));
+            }
+            classes.add(classCoverage);
+        }
+        return classes;
+    }
+
+    private void writeMethod(IMethodCoverage method, DataOutputStream output) throws IOException {
+        output.writeUTF(method.getName());
+        output.writeUTF(method.getDesc());
+        writeNullableString(method.getSignature(), output);
+        writeCounter(method.getInstructionCounter(), output);
+        writeCounter(method.getBranchCounter(), output);
+        writeCounter(method.getComplexityCounter(), output);
+        writeCounter(method.getMethodCounter(), output);
+        int firstLine = method.getFirstLine();
+        int lastLine = method.getLastLine();
+        output.writeInt(firstLine);
+        output.writeInt(lastLine);
+        if (firstLine != ISourceNode.UNKNOWN_LINE) {
+            for (int line = firstLine; line <= lastLine; line++) {
+                ILine counters = method.getLine(line);
+                writeCounter(counters.getInstructionCounter(), output);
+                writeCounter(counters.getBranchCounter(), output);
+            }
+        }
+    }
+
+    private IMethodCoverage readMethod(DataInputStream input) throws IOException {
+        String name = input.readUTF();
+        String desc = input.readUTF();
+        String signature = readNullableString(input);
+        ICounter instructions = readCounter(input);
+        ICounter branches = readCounter(input);
+        ICounter complexity = readCounter(input);
+        ICounter methods = readCounter(input);
+        int firstLine = input.readInt();
+        int lastLine = input.readInt();
+
+        ReadMethodCoverage method = new ReadMethodCoverage(name, desc, signature);
+        int lineInstructionsMissed = 0;
+        int lineInstructionsCovered = 0;
+        int lineBranchesMissed = 0;
+        int lineBranchesCovered = 0;
+        if (firstLine != ISourceNode.UNKNOWN_LINE) {
+            for (int line = firstLine; line <= lastLine; line++) {
+                ICounter lineInstructions = readCounter(input);
+                ICounter lineBranches = readCounter(input);
+                if (lineInstructions.getTotalCount() > 0 || lineBranches.getTotalCount() > 0) {
+                    method.increment(lineInstructions, lineBranches, line);
+                }
+                lineInstructionsMissed += lineInstructions.getMissedCount();
+                lineInstructionsCovered += lineInstructions.getCoveredCount();
+                lineBranchesMissed += lineBranches.getMissedCount();
+                lineBranchesCovered += lineBranches.getCoveredCount();
+            }
+        }
+        // Instructions without line numbers only count towards the method
+        method.increment(
+            CounterImpl.getInstance(instructions.getMissedCount() - lineInstructionsMissed, instructions.getCoveredCount() - lineInstructionsCovered),
+            CounterImpl.getInstance(branches.getMissedCount() - lineBranchesMissed, branches.getCoveredCount() - lineBranchesCovered),
+            ISourceNode.UNKNOWN_LINE);
+        method.setCounters(complexity, methods);
+        return method;
+    }
+
+    private static void writeCounter(ICounter counter, DataOutputStream output) throws IOException {
+        output.writeInt(counter.getMissedCount());
+        output.writeInt(counter.getCoveredCount());
+    }
+
+    private static ICounter readCounter(DataInputStream input) throws IOException {
+        return CounterImpl.getInstance(input.readInt(), input.readInt());
+    }
+
+    private static void writeNullableString(String value, DataOutputStream output) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * The complexity of a method is calculated from the branches of each of its instructions, which are not kept, so it is read along with the method counter.
+     */
+    private static class ReadMethodCoverage extends MethodCoverageImpl {
+        ReadMethodCoverage(String name, String desc, String signature) {
+            super(name, desc, signature);
+        }
+
+        void setCounters(ICounter complexity, ICounter methods) {
+            complexityCounter = CounterImpl.getInstance(complexity);
+            methodCounter = CounterImpl.getInstance(methods);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.internal.UncheckedException;
+import org.jacoco.core.tools.ExecFileLoader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Loads JaCoCo execution data files. The files are read concurrently and their contents are merged in the given order, which gives
+ * the same result as loading them one after the other.
+ */
+class ExecutionDataFiles {
+    private ExecutionDataFiles() {
+    }
+
+    static ExecFileLoader load(List<File> files, ExecutorService executor) {
+        List<Future<ExecFileLoader>> loaders = new ArrayList<Future<ExecFileLoader>>(files.size());
+        for (final File file : files) {
+            loaders.add(executor.submit(new Callable<ExecFileLoader>() {
+                @Override
+                public ExecFileLoader call() throws Exception {
+                    ExecFileLoader loader = new ExecFileLoader();
+                    loader.load(file);
+                    return loader;
+                }
+            }));
+        }
+        ExecFileLoader merged = new ExecFileLoader();
+        for (Future<ExecFileLoader> future : loaders) {
+            ExecFileLoader loader = get(future);
+            loader.getSessionInfoStore().accept(merged.getSessionInfoStore());
+            loader.getExecutionDataStore().accept(merged.getExecutionDataStore());
+        }
+        return merged;
+    }
+
+    static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
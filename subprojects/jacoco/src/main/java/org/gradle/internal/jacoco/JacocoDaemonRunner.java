@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
+import org.gradle.api.reporting.Report;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.internal.FileLockManager;
+import org.gradle.internal.UncheckedException;
+import org.gradle.language.base.internal.compile.CompileSpec;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.testing.jacoco.tasks.JacocoReportsContainer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * Runs JaCoCo reports and merges through the JaCoCo API in a compiler daemon, instead of through the JaCoCo Ant tasks in the build process.
+ */
+public class JacocoDaemonRunner {
+    /**
+     * When true, the JaCoCo Ant tasks are used instead.
+     */
+    public static final String USE_ANT_PROPERTY = "org.gradle.internal.jacoco.ant";
+
+    private static final Iterable<String> SHARED_PACKAGES = Collections.singletonList("org.jacoco");
+    private static final Pattern PRE_0_7_JAR = Pattern.compile("org\\.jacoco\\.core-0\\.[0-6]\\..*\\.jar");
+
+    private final CompilerDaemonFactory compilerDaemonFactory;
+
+    public JacocoDaemonRunner(CompilerDaemonFactory compilerDaemonFactory) {
+        this.compilerDaemonFactory = compilerDaemonFactory;
+    }
+
+    /**
+     * Returns true when the JaCoCo version on the given classpath can be run by this runner.
+     */
+    public static boolean canRun(FileCollection jacocoClasspath) {
+        if (Boolean.getBoolean(USE_ANT_PROPERTY)) {
+            return false;
+        }
+        for (File file : jacocoClasspath) {
+            if (PRE_0_7_JAR.matcher(file.getName()).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void report(File workingDir, FileCollection jacocoClasspath, String projectName, FileCollection allClassesDirs, FileCollection allSourcesDirs,
+                       FileCollection executionData, JacocoReportsContainer reports, CacheRepository cacheRepository) {
+        // The daemon replaces the entries of the analysis cache atomically, so that no lock is needed
+        PersistentCache analysisCache = cacheRepository
+            .cache("jacoco-analysis")
+            .withDisplayName("JaCoCo analysis cache")
+            .withLockOptions(mode(FileLockManager.LockMode.None))
+            .open();
+        try {
+            JacocoReportSpec spec = new JacocoReportSpec(projectName, ImmutableList.copyOf(allClassesDirs), ImmutableList.copyOf(allSourcesDirs), existingFiles(executionData),
+                destination(reports.getHtml()), destination(reports.getXml()), destination(reports.getCsv()), analysisCache.getBaseDir());
+            execute(workingDir, jacocoClasspath, new JacocoReportGenerator(), spec);
+        } finally {
+            analysisCache.close();
+        }
+    }
+
+    public void merge(File workingDir, FileCollection jacocoClasspath, FileCollection executionData, File destinationFile) {
+        execute(workingDir, jacocoClasspath, new JacocoExecutionDataMerger(), new JacocoMergeSpec(existingFiles(executionData), destinationFile));
+    }
+
+    private <T extends CompileSpec> void execute(File workingDir, FileCollection jacocoClasspath, Compiler<T> compiler, T spec) {
+        DaemonForkOptions forkOptions = new DaemonForkOptions(null, null, Collections.<String>emptyList(), jacocoClasspath.getFiles(), SHARED_PACKAGES);
+        CompilerDaemon daemon = compilerDaemonFactory.getDaemon(workingDir, forkOptions);
+        CompileResult result = daemon.execute(compiler, spec);
+        if (!result.isSuccess()) {
+            throw UncheckedException.throwAsUncheckedException(result.getException());
+        }
+    }
+
+    private static List<File> existingFiles(FileCollection files) {
+        List<File> result = new ArrayList<File>();
+        for (File file : files) {
+            if (file.isFile()) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private static File destination(Report report) {
+        return report.isEnabled() ? report.getDestination() : null;
+    }
+}
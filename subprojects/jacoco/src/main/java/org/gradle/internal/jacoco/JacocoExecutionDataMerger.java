@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GFileUtils;
+import org.jacoco.core.tools.ExecFileLoader;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Merges JaCoCo execution data files using the JaCoCo API, in the same way as the JaCoCo Ant merge task. Executed in a compiler daemon
+ * that has JaCoCo on its classpath.
+ */
+public class JacocoExecutionDataMerger implements Compiler<JacocoMergeSpec>, Serializable {
+    @Override
+    public WorkResult execute(JacocoMergeSpec spec) {
+        int threads = Math.max(1, Math.min(spec.getExecutionData().size(), Runtime.getRuntime().availableProcessors()));
+        StoppableExecutor executor = new DefaultExecutorFactory().create("JaCoCo merge", threads);
+        try {
+            ExecFileLoader executionData = ExecutionDataFiles.load(spec.getExecutionData(), executor);
+            GFileUtils.mkdirs(spec.getDestinationFile().getParentFile());
+            executionData.save(spec.getDestinationFile(), false);
+            return new SimpleWorkResult(true);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            executor.stop();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GFileUtils;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.report.DirectorySourceFileLocator;
+import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.MultiReportVisitor;
+import org.jacoco.report.MultiSourceFileLocator;
+import org.jacoco.report.csv.CSVFormatter;
+import org.jacoco.report.html.HTMLFormatter;
+import org.jacoco.report.xml.XMLFormatter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Generates JaCoCo coverage reports using the JaCoCo API, with the same defaults as the JaCoCo Ant report task. Executed in a compiler daemon
+ * that has JaCoCo on its classpath.
+ *
+ * <p>Class directories are analyzed concurrently, and the analysis results are kept in the daemon and in the analysis cache directory for reuse by later
+ * reports.</p>
+ */
+public class JacocoReportGenerator implements Compiler<JacocoReportSpec>, Serializable {
+    private static final int TAB_WIDTH = 4;
+    private static final int ANALYSIS_CACHE_SIZE = 2000;
+    private static final CachingCoverageAnalyzer ANALYZER = new CachingCoverageAnalyzer(ANALYSIS_CACHE_SIZE);
+
+    @Override
+    public WorkResult execute(JacocoReportSpec spec) {
+        int threads = Math.max(1, Math.min(Math.max(spec.getClassDirs().size(), spec.getExecutionData().size()), Runtime.getRuntime().availableProcessors()));
+        StoppableExecutor executor = new DefaultExecutorFactory().create("JaCoCo report", threads);
+        try {
+            ExecFileLoader executionData = ExecutionDataFiles.load(spec.getExecutionData(), executor);
+            IBundleCoverage bundle = analyze(spec, executionData.getExecutionDataStore(), executor);
+            writeReports(spec, executionData, bundle);
+            return new SimpleWorkResult(true);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private static IBundleCoverage analyze(final JacocoReportSpec spec, final ExecutionDataStore executionData, StoppableExecutor executor) {
+        List<Future<Collection<IClassCoverage>>> results = new ArrayList<Future<Collection<IClassCoverage>>>(spec.getClassDirs().size());
+        for (final File classDir : spec.getClassDirs()) {
+            results.add(executor.submit(new Callable<Collection<IClassCoverage>>() {
+                @Override
+                public Collection<IClassCoverage> call() throws Exception {
+                    return ANALYZER.analyze(classDir, executionData, spec.getAnalysisCacheDir());
+                }
+            }));
+        }
+        // Combine the results in the order of the class directories, as a single analysis of all directories would
+        CoverageBuilder builder = new CoverageBuilder();
+        for (Future<Collection<IClassCoverage>> result : results) {
+            for (IClassCoverage classCoverage : ExecutionDataFiles.get(result)) {
+                builder.visitCoverage(classCoverage);
+            }
+        }
+        return builder.getBundle(spec.getProjectName());
+    }
+
+    private static void writeReports(JacocoReportSpec spec, ExecFileLoader executionData, IBundleCoverage bundle) throws IOException {
+        List<IReportVisitor> visitors = new ArrayList<IReportVisitor>();
+        if (spec.getHtmlDestination() != null) {
+            visitors.add(new HTMLFormatter().createVisitor(new FileMultiReportOutput(spec.getHtmlDestination())));
+        }
+        if (spec.getXmlDestination() != null) {
+            visitors.add(new XMLFormatter().createVisitor(open(spec.getXmlDestination())));
+        }
+        if (spec.getCsvDestination() != null) {
+            visitors.add(new CSVFormatter().createVisitor(open(spec.getCsvDestination())));
+        }
+        IReportVisitor visitor = new MultiReportVisitor(visitors);
+        visitor.visitInfo(executionData.getSessionInfoStore().getInfos(), executionData.getExecutionDataStore().getContents());
+        MultiSourceFileLocator sourceLocator = new MultiSourceFileLocator(TAB_WIDTH);
+        for (File sourceDir : spec.getSourceDirs()) {
+            sourceLocator.add(new DirectorySourceFileLocator(sourceDir, null, TAB_WIDTH));
+        }
+        visitor.visitBundle(bundle, sourceLocator);
+        visitor.visitEnd();
+    }
+
+    private static OutputStream open(File destination) throws IOException {
+        GFileUtils.mkdirs(destination.getParentFile());
+        return new BufferedOutputStream(new FileOutputStream(destination));
+    }
+}
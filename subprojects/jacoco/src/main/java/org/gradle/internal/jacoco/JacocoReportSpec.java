@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.api.Nullable;
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+
+public class JacocoReportSpec implements CompileSpec, Serializable {
+    private final String projectName;
+    private final List<File> classDirs;
+    private final List<File> sourceDirs;
+    private final List<File> executionData;
+    private final File htmlDestination;
+    private final File xmlDestination;
+    private final File csvDestination;
+    private final File analysisCacheDir;
+
+    public JacocoReportSpec(String projectName, List<File> classDirs, List<File> sourceDirs, List<File> executionData,
+                            @Nullable File htmlDestination, @Nullable File xmlDestination, @Nullable File csvDestination, @Nullable File analysisCacheDir) {
+        this.projectName = projectName;
+        this.classDirs = classDirs;
+        this.sourceDirs = sourceDirs;
+        this.executionData = executionData;
+        this.htmlDestination = htmlDestination;
+        this.xmlDestination = xmlDestination;
+        this.csvDestination = csvDestination;
+        this.analysisCacheDir = analysisCacheDir;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public List<File> getClassDirs() {
+        return classDirs;
+    }
+
+    public List<File> getSourceDirs() {
+        return sourceDirs;
+    }
+
+    public List<File> getExecutionData() {
+        return executionData;
+    }
+
+    @Nullable
+    public File getHtmlDestination() {
+        return htmlDestination;
+    }
+
+    @Nullable
+    public File getXmlDestination() {
+        return xmlDestination;
+    }
+
+    @Nullable
+    public File getCsvDestination() {
+        return csvDestination;
+    }
+
+    /**
+     * Returns the directory to keep analysis results in between builds, or null to not keep them.
+     */
+    @Nullable
+    public File getAnalysisCacheDir() {
+        return analysisCacheDir;
+    }
+}
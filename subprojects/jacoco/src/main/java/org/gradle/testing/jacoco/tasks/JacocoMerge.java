@@ -21,11 +21,13 @@ import org.gradle.api.Task;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.project.IsolatedAntBuilder;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.TaskCollection;
 import org.gradle.internal.jacoco.AntJacocoMerge;
+import org.gradle.internal.jacoco.JacocoDaemonRunner;
 import org.gradle.testing.jacoco.plugins.JacocoTaskExtension;
 
 import javax.inject.Inject;
@@ -69,9 +71,18 @@ public class JacocoMerge extends JacocoBase {
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected CompilerDaemonManager getCompilerDaemonManager() {
+        throw new UnsupportedOperationException();
+    }
+
     @TaskAction
     public void merge() {
-        new AntJacocoMerge(getAntBuilder()).execute(getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        if (JacocoDaemonRunner.canRun(getJacocoClasspath())) {
+            new JacocoDaemonRunner(getCompilerDaemonManager()).merge(getProject().getProjectDir(), getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        } else {
+            new AntJacocoMerge(getAntBuilder()).execute(getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        }
     }
 
     /**
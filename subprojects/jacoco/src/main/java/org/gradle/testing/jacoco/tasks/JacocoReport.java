@@ -25,6 +25,7 @@ import org.gradle.api.Task;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.ClosureBackedAction;
 import org.gradle.api.internal.project.IsolatedAntBuilder;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
 import org.gradle.api.reporting.Reporting;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.CacheableTask;
@@ -37,7 +38,9 @@ import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.TaskCollection;
+import org.gradle.cache.CacheRepository;
 import org.gradle.internal.jacoco.AntJacocoReport;
+import org.gradle.internal.jacoco.JacocoDaemonRunner;
 import org.gradle.internal.jacoco.JacocoReportsContainerImpl;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.testing.jacoco.plugins.JacocoTaskExtension;
@@ -90,6 +93,16 @@ public class JacocoReport extends JacocoBase implements Reporting<JacocoReportsC
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected CompilerDaemonManager getCompilerDaemonManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Inject
+    protected CacheRepository getCacheRepository() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns the reports to be generated by this task.
      */
@@ -188,6 +201,19 @@ public class JacocoReport extends JacocoBase implements Reporting<JacocoReportsC
                 return file.exists();
             }
         };
+        if (JacocoDaemonRunner.canRun(getJacocoClasspath())) {
+            new JacocoDaemonRunner(getCompilerDaemonManager()).report(
+                getProject().getProjectDir(),
+                getJacocoClasspath(),
+                getProject().getName(),
+                getAllClassDirs().filter(fileExistsSpec),
+                getAllSourceDirs().filter(fileExistsSpec),
+                getExecutionData(),
+                getReports(),
+                getCacheRepository()
+            );
+            return;
+        }
         new AntJacocoReport(getAntBuilder()).execute(
             getJacocoClasspath(),
             getProject().getName(),
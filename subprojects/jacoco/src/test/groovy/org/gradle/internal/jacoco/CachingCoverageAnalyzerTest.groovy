@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.jacoco.core.data.ExecutionData
+import org.jacoco.core.data.ExecutionDataStore
+import org.jacoco.core.data.SessionInfoStore
+import org.jacoco.core.internal.data.CRC64
+import org.junit.Rule
+import spock.lang.Specification
+
+class CachingCoverageAnalyzerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def analyzer = new CachingCoverageAnalyzer(10)
+    def executionData = new ExecutionDataStore()
+    def classesDir = testDir.createDir("classes")
+
+    def setup() {
+        classesDir.file("org/jacoco/core/data/ExecutionDataStore.class").createFile().bytes = classBytes(ExecutionDataStore)
+    }
+
+    def "reuses the analysis of an unchanged class directory"() {
+        when:
+        def first = analyzer.analyze(classesDir, executionData, null)
+        def second = analyzer.analyze(classesDir, executionData, null)
+
+        then:
+        first*.name == ["org/jacoco/core/data/ExecutionDataStore"]
+        second.is(first)
+    }
+
+    def "analyzes a class directory again when its classes change"() {
+        def first = analyzer.analyze(classesDir, executionData, null)
+
+        when:
+        classesDir.file("org/jacoco/core/data/SessionInfoStore.class").createFile().bytes = classBytes(SessionInfoStore)
+        def second = analyzer.analyze(classesDir, executionData, null)
+
+        then:
+        !second.is(first)
+        second*.name.sort() == ["org/jacoco/core/data/ExecutionDataStore", "org/jacoco/core/data/SessionInfoStore"]
+    }
+
+    def "analyzes a class directory again when the execution data of its classes changes"() {
+        def first = analyzer.analyze(classesDir, executionData, null)
+
+        when:
+        executionData.put(new ExecutionData(1L, "org/jacoco/core/data/ExecutionDataStore", 3))
+        def second = analyzer.analyze(classesDir, executionData, null)
+
+        then:
+        !second.is(first)
+        !first[0].noMatch
+        second[0].noMatch
+    }
+
+    def "ignores execution data of classes in other directories"() {
+        def first = analyzer.analyze(classesDir, executionData, null)
+
+        when:
+        executionData.put(new ExecutionData(1L, "org/Other", 3))
+
+        then:
+        analyzer.analyze(classesDir, executionData, null).is(first)
+    }
+
+    def "analyzes archives with nested archives without caching"() {
+        def archive = testDir.file("lib.jar")
+        classesDir.zipTo(testDir.file("outer/nested.jar"))
+        testDir.file("outer").zipTo(archive)
+
+        when:
+        def first = analyzer.analyze(archive, executionData, null)
+        def second = analyzer.analyze(archive, executionData, null)
+
+        then:
+        first*.name == ["org/jacoco/core/data/ExecutionDataStore"]
+        !second.is(first)
+    }
+
+    def "reuses the analysis of an archive and ignores files that are not classes"() {
+        def archive = testDir.file("lib.jar")
+        classesDir.file("META-INF/MANIFEST.MF").text = "Manifest-Version: 1.0"
+        classesDir.file("org/jacoco/core/data/resource.txt").text = "not a class"
+        classesDir.zipTo(archive)
+
+        when:
+        def first = analyzer.analyze(archive, executionData, null)
+        def second = analyzer.analyze(archive, executionData, null)
+
+        then:
+        first*.name == ["org/jacoco/core/data/ExecutionDataStore"]
+        second.is(first)
+    }
+
+    def "reuses the analysis kept in the cache directory by another analyzer"() {
+        def cacheDir = testDir.createDir("cache")
+        def first = analyzer.analyze(classesDir, executionData, cacheDir)
+
+        when:
+        def second = new CachingCoverageAnalyzer(10).analyze(classesDir, executionData, cacheDir)
+
+        then:
+        cacheDir.listFiles().length == 1
+        !second.is(first)
+        second*.name == first*.name
+        second[0].methods*.name == first[0].methods*.name
+        second[0].instructionCounter == first[0].instructionCounter
+        second[0].lineCounter == first[0].lineCounter
+    }
+
+    def "replaces the analysis kept in the cache directory when the execution data of its classes changes"() {
+        def cacheDir = testDir.createDir("cache")
+        analyzer.analyze(classesDir, executionData, cacheDir)
+
+        when:
+        executionData.put(new ExecutionData(1L, "org/jacoco/core/data/ExecutionDataStore", 3))
+        def changed = new CachingCoverageAnalyzer(10).analyze(classesDir, executionData, cacheDir)
+        def reused = new CachingCoverageAnalyzer(10).analyze(classesDir, executionData, cacheDir)
+
+        then:
+        changed[0].noMatch
+        reused[0].noMatch
+        cacheDir.listFiles().length == 1
+    }
+
+    def "analyzes a class directory again when the cache entry cannot be read"() {
+        def cacheDir = testDir.createDir("cache")
+        analyzer.analyze(classesDir, executionData, cacheDir)
+        cacheDir.listFiles()[0].text = "broken"
+
+        when:
+        def result = new CachingCoverageAnalyzer(10).analyze(classesDir, executionData, cacheDir)
+
+        then:
+        result*.name == ["org/jacoco/core/data/ExecutionDataStore"]
+    }
+
+    def "caches analysis only for tested JaCoCo versions"() {
+        expect:
+        CachingCoverageAnalyzer.isSupported(version) == supported
+
+        where:
+        version                | supported
+        "0.7.7.201606060606"   | true
+        "0.7.0.201403182114"   | true
+        "0.8.0.201801022044"   | false
+        "0.6.5.201403032054"   | false
+    }
+
+    def "reads the name of a class"() {
+        def bytes = classBytes(ExecutionDataStore)
+
+        expect:
+        CachingCoverageAnalyzer.readClassName(bytes) == "org/jacoco/core/data/ExecutionDataStore"
+        CRC64.checksum(bytes) != 0L
+    }
+
+    private static byte[] classBytes(Class<?> type) {
+        return type.getResourceAsStream("/${type.name.replace('.', '/')}.class").bytes
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco
+
+import org.jacoco.core.analysis.Analyzer
+import org.jacoco.core.analysis.CoverageBuilder
+import org.jacoco.core.analysis.ICounter
+import org.jacoco.core.analysis.IClassCoverage
+import org.jacoco.core.data.ExecutionData
+import org.jacoco.core.data.ExecutionDataStore
+import org.jacoco.core.internal.data.CRC64
+import spock.lang.Specification
+
+class ClassCoverageSerializerTest extends Specification {
+    def serializer = new ClassCoverageSerializer()
+
+    def "reads the coverage that was written"() {
+        def bytes = ExecutionDataStore.getResourceAsStream("/org/jacoco/core/data/ExecutionDataStore.class").bytes
+        def executionData = new ExecutionDataStore()
+        def probes = new boolean[64]
+        (0..<probes.length).step(2) { probes[it] = true }
+        executionData.put(new ExecutionData(CRC64.checksum(bytes), "org/jacoco/core/data/ExecutionDataStore", probes))
+        def original = analyze(bytes, executionData)
+
+        when:
+        def read = roundTrip(original)
+
+        then:
+        read.size() == 1
+        def expected = original[0]
+        def actual = read[0]
+        actual.name == expected.name
+        actual.id == expected.id
+        actual.noMatch == expected.noMatch
+        actual.superName == expected.superName
+        actual.interfaceNames == expected.interfaceNames
+        actual.sourceFileName == expected.sourceFileName
+        counters(actual) == counters(expected)
+        actual.methods.size() == expected.methods.size()
+        [actual.methods, expected.methods].transpose().each { a, e ->
+            assert [a.name, a.desc, a.signature] == [e.name, e.desc, e.signature]
+            assert counters(a) == counters(e)
+            assert a.firstLine == e.firstLine
+            assert a.lastLine == e.lastLine
+            if (e.firstLine > 0) {
+                (e.firstLine..e.lastLine).each { line ->
+                    assert lineCounters(a, line) == lineCounters(e, line)
+                }
+            }
+        }
+    }
+
+    private static List<IClassCoverage> analyze(byte[] bytes, ExecutionDataStore executionData) {
+        def builder = new CoverageBuilder()
+        new Analyzer(executionData, builder).analyzeClass(bytes, "ExecutionDataStore")
+        return new ArrayList<IClassCoverage>(builder.classes)
+    }
+
+    private List<IClassCoverage> roundTrip(List<IClassCoverage> classes) {
+        def bytes = new ByteArrayOutputStream()
+        def output = new DataOutputStream(bytes)
+        serializer.write(classes, output)
+        output.flush()
+        return serializer.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+    }
+
+    private static List<List<Integer>> counters(node) {
+        return [node.instructionCounter, node.branchCounter, node.lineCounter, node.complexityCounter, node.methodCounter].collect { counts(it) }
+    }
+
+    private static List<Object> lineCounters(node, int line) {
+        def counters = node.getLine(line)
+        return [counts(counters.instructionCounter), counts(counters.branchCounter), counters.status]
+    }
+
+    private static List<Integer> counts(ICounter counter) {
+        return [counter.missedCount, counter.coveredCount]
+    }
+}
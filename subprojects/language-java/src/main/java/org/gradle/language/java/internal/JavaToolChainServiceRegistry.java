@@ -25,6 +25,7 @@ import org.gradle.api.internal.tasks.compile.JavaHomeBasedJavaCompilerFactory;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerClientsManager;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonStarter;
+import org.gradle.api.internal.tasks.compile.daemon.RetainedCompilerClients;
 import org.gradle.internal.Factory;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
@@ -35,8 +36,25 @@ import org.gradle.process.internal.worker.WorkerProcessFactory;
 import javax.tools.JavaCompiler;
 
 public class JavaToolChainServiceRegistry implements PluginServiceRegistry {
+    /**
+     * The maximum number of compiler daemons kept per build session. Defaults to the maximum number of workers.
+     */
+    public static final String MAX_COMPILER_DAEMONS_PROPERTY = "org.gradle.compiler.daemon.maxPoolSize";
+
+    /**
+     * When true, idle compiler daemons are kept alive in the Gradle daemon for use by later builds. Read at the start of each build.
+     */
+    public static final String RETAIN_COMPILER_DAEMONS_PROPERTY = "org.gradle.compiler.daemon.retain";
+
+    /**
+     * The maximum total heap size in megabytes of the compiler daemons kept alive for later builds. Daemons started without a maximum heap size count
+     * with the JVM default of a quarter of the physical memory, which is also the default limit.
+     */
+    public static final String MAX_RETAINED_HEAP_SIZE_PROPERTY = "org.gradle.compiler.daemon.maxRetainedHeapSize";
+
     @Override
     public void registerGlobalServices(ServiceRegistration registration) {
+        registration.addProvider(new GlobalScopeCompileServices());
     }
 
     @Override
@@ -57,9 +75,18 @@ public class JavaToolChainServiceRegistry implements PluginServiceRegistry {
         registration.addProvider(new ProjectScopeCompileServices());
     }
 
+    private static class GlobalScopeCompileServices {
+        RetainedCompilerClients createRetainedCompilerClients() {
+            return new RetainedCompilerClients();
+        }
+    }
+
     private static class BuildSessionScopeCompileServices {
-        CompilerDaemonManager createCompilerDaemonManager(WorkerProcessFactory workerFactory, StartParameter startParameter) {
-            return new CompilerDaemonManager(new CompilerClientsManager(new CompilerDaemonStarter(workerFactory, startParameter)));
+        CompilerDaemonManager createCompilerDaemonManager(WorkerProcessFactory workerFactory, StartParameter startParameter, RetainedCompilerClients retainedCompilerClients) {
+            int maxClients = Integer.getInteger(MAX_COMPILER_DAEMONS_PROPERTY, startParameter.getMaxWorkerCount());
+            int maxRetainedHeapSize = Boolean.getBoolean(RETAIN_COMPILER_DAEMONS_PROPERTY) ? Integer.getInteger(MAX_RETAINED_HEAP_SIZE_PROPERTY, retainedCompilerClients.getDefaultMaxHeapSizeMb()) : 0;
+            CompilerDaemonStarter starter = new CompilerDaemonStarter(workerFactory, startParameter);
+            return new CompilerDaemonManager(new CompilerClientsManager(starter, maxClients, retainedCompilerClients, maxRetainedHeapSize));
         }
 
         Factory<JavaCompiler> createJavaHomeBasedJavaCompilerFactory() {
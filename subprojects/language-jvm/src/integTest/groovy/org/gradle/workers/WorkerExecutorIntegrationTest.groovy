@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import spock.lang.Unroll
+
+class WorkerExecutorIntegrationTest extends AbstractIntegrationSpec {
+    def setup() {
+        file("buildSrc/src/main/java/org/gradle/test/WriteFile.java") << """
+            package org.gradle.test;
+
+            import java.io.File;
+            import java.io.FileWriter;
+            import java.io.IOException;
+
+            public class WriteFile implements Runnable {
+                private final File file;
+                private final String text;
+
+                public WriteFile(File file, String text) {
+                    this.file = file;
+                    this.text = text;
+                }
+
+                public void run() {
+                    if (text.equals("fail")) {
+                        throw new IllegalStateException("Failure from work item writing " + file.getName());
+                    }
+                    try {
+                        FileWriter writer = new FileWriter(file);
+                        try {
+                            writer.write(text);
+                        } finally {
+                            writer.close();
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        """
+        buildFile << """
+            import javax.inject.Inject
+            import org.gradle.test.WriteFile
+            import org.gradle.workers.IsolationMode
+            import org.gradle.workers.WorkerExecutor
+
+            class WriteFiles extends DefaultTask {
+                IsolationMode isolationMode
+                Map<String, String> files = [:]
+
+                @Inject
+                WorkerExecutor getWorkerExecutor() {
+                    throw new UnsupportedOperationException()
+                }
+
+                @TaskAction
+                void writeFiles() {
+                    files.each { name, text ->
+                        def file = project.file("build/\$name")
+                        file.parentFile.mkdirs()
+                        workerExecutor.submit(WriteFile) {
+                            it.isolationMode = this.isolationMode
+                            it.displayName = "write \$name"
+                            it.setParams(file, text)
+                        }
+                    }
+                    workerExecutor.await()
+                }
+            }
+        """
+    }
+
+    @Unroll
+    def "runs work in a task with #isolationMode isolation"() {
+        buildFile << """
+            task writeFiles(type: WriteFiles) {
+                isolationMode = IsolationMode.$isolationMode
+                files = [one: "1", two: "2", three: "3"]
+            }
+        """
+
+        when:
+        succeeds "writeFiles"
+
+        then:
+        file("build/one").text == "1"
+        file("build/two").text == "2"
+        file("build/three").text == "3"
+
+        where:
+        isolationMode << IsolationMode.values()
+    }
+
+    @Unroll
+    def "reports failures of work run with #isolationMode isolation"() {
+        buildFile << """
+            task writeFiles(type: WriteFiles) {
+                isolationMode = IsolationMode.$isolationMode
+                files = [one: "1", two: "fail"]
+            }
+        """
+
+        when:
+        fails "writeFiles"
+
+        then:
+        failure.assertHasDescription("Execution failed for task ':writeFiles'.")
+        failure.assertHasCause("There were failures while executing work items")
+        failure.assertHasCause("A failure occurred while executing write two")
+        failure.assertHasCause("Failure from work item writing two")
+        file("build/one").text == "1"
+
+        where:
+        isolationMode << IsolationMode.values()
+    }
+}
@@ -21,21 +21,48 @@ import org.gradle.internal.concurrent.CompositeStoppable;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Keeps track of the compiler daemons of a build session.
+ *
+ * <p>Idle daemons are reused for compatible fork options, preferring the most recently used daemon started with the same options.
+ * When a new daemon is required and the pool has reached its maximum size, the least recently used idle daemons are stopped first.
+ * Busy daemons are never stopped, so the pool may temporarily exceed its maximum size.</p>
+ */
 public class CompilerClientsManager {
 
     private static final Logger LOGGER = Logging.getLogger(CompilerDaemonManager.class);
 
     private final Object lock = new Object();
     private final List<CompilerDaemonClient> allClients = new ArrayList<CompilerDaemonClient>();
+    // Ordered from least to most recently used
     private final List<CompilerDaemonClient> idleClients = new ArrayList<CompilerDaemonClient>();
 
-    private CompilerDaemonStarter compilerDaemonStarter;
+    private final CompilerDaemonStarter compilerDaemonStarter;
+    private final int maxClients;
+    private final RetainedCompilerClients retainedClients;
+    private final int maxRetainedHeapSizeMb;
+
+    private int started;
+    private int reused;
+    private int evicted;
 
     public CompilerClientsManager(CompilerDaemonStarter compilerDaemonStarter) {
+        this(compilerDaemonStarter, Integer.MAX_VALUE, new RetainedCompilerClients(), 0);
+    }
+
+    /**
+     * @param maxRetainedHeapSizeMb The maximum total heap size of the idle daemons to retain for later build sessions when this session stops, or 0 to stop all daemons.
+     */
+    public CompilerClientsManager(CompilerDaemonStarter compilerDaemonStarter, int maxClients, RetainedCompilerClients retainedClients, int maxRetainedHeapSizeMb) {
         this.compilerDaemonStarter = compilerDaemonStarter;
+        this.maxClients = Math.max(1, maxClients);
+        this.retainedClients = retainedClients;
+        this.maxRetainedHeapSizeMb = maxRetainedHeapSizeMb;
+        List<CompilerDaemonClient> retained = retainedClients.takeAll();
+        allClients.addAll(retained);
+        idleClients.addAll(retained);
     }
 
     public CompilerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
@@ -44,39 +71,83 @@ public class CompilerClientsManager {
 
     CompilerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<CompilerDaemonClient> clients) {
         synchronized (lock) {
-            Iterator<CompilerDaemonClient> it = clients.iterator();
-            while(it.hasNext()) {
-                CompilerDaemonClient candidate = it.next();
-                if(candidate.isCompatibleWith(forkOptions)) {
-                    it.remove();
-                    return candidate;
-                }
+            int index = findIdleClient(forkOptions, clients);
+            if (index < 0) {
+                return null;
             }
-            return null;
+            reused++;
+            return clients.remove(index);
         }
     }
 
+    private static int findIdleClient(DaemonForkOptions forkOptions, List<CompilerDaemonClient> clients) {
+        int compatible = -1;
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            CompilerDaemonClient candidate = clients.get(i);
+            if (candidate.hasSameForkOptions(forkOptions)) {
+                return i;
+            }
+            if (compatible < 0 && candidate.isCompatibleWith(forkOptions)) {
+                compatible = i;
+            }
+        }
+        return compatible;
+    }
+
     public CompilerDaemonClient reserveNewClient(File workingDir, DaemonForkOptions forkOptions) {
+        CompositeStoppable.stoppable(evictIdleClients()).stop();
         //allow the daemon to be started concurrently
         CompilerDaemonClient client = compilerDaemonStarter.startDaemon(workingDir, forkOptions);
         synchronized (lock) {
             allClients.add(client);
+            started++;
         }
         return client;
     }
 
+    private List<CompilerDaemonClient> evictIdleClients() {
+        List<CompilerDaemonClient> evictedClients = new ArrayList<CompilerDaemonClient>();
+        synchronized (lock) {
+            while (allClients.size() >= maxClients && !idleClients.isEmpty()) {
+                CompilerDaemonClient client = idleClients.remove(0);
+                allClients.remove(client);
+                evictedClients.add(client);
+            }
+            evicted += evictedClients.size();
+        }
+        if (!evictedClients.isEmpty()) {
+            LOGGER.info("Stopping {} idle compiler daemon(s) as the maximum of {} compiler daemon(s) has been reached.", evictedClients.size(), maxClients);
+        }
+        return evictedClients;
+    }
+
     public void release(CompilerDaemonClient client) {
         synchronized (lock) {
             idleClients.add(client);
         }
     }
 
+    public CompilerDaemonStatistics getStatistics() {
+        synchronized (lock) {
+            return new CompilerDaemonStatistics(started, reused, evicted, allClients.size());
+        }
+    }
+
     public void stop() {
         synchronized (lock) {
-            LOGGER.debug("Stopping {} compiler daemon(s).", allClients.size());
-            CompositeStoppable.stoppable(allClients).stop();
-            LOGGER.info("Stopped {} compiler daemon(s).", allClients.size());
+            LOGGER.info("Compiler daemon usage: {}.", getStatistics());
+            List<CompilerDaemonClient> clientsToStop = new ArrayList<CompilerDaemonClient>(allClients);
+            if (maxRetainedHeapSizeMb > 0) {
+                clientsToStop.removeAll(idleClients);
+                List<CompilerDaemonClient> notRetained = retainedClients.retain(idleClients, maxRetainedHeapSizeMb);
+                clientsToStop.addAll(notRetained);
+                LOGGER.info("Retained {} idle compiler daemon(s) for use by later builds.", idleClients.size() - notRetained.size());
+            }
+            LOGGER.debug("Stopping {} compiler daemon(s).", clientsToStop.size());
+            CompositeStoppable.stoppable(clientsToStop).stop();
+            LOGGER.info("Stopped {} compiler daemon(s).", clientsToStop.size());
             allClients.clear();
+            idleClients.clear();
         }
     }
-}
\ No newline at end of file
+}
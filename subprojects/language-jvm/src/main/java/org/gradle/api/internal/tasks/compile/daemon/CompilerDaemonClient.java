@@ -39,6 +39,17 @@ class CompilerDaemonClient implements CompilerDaemon, Stoppable {
         return forkOptions.isCompatibleWith(required);
     }
 
+    /**
+     * Returns the maximum heap size of this daemon in megabytes, or -1 when not specified.
+     */
+    public int getMaxHeapSizeMb() {
+        return forkOptions.getMaxHeapSizeMb();
+    }
+
+    public boolean hasSameForkOptions(DaemonForkOptions required) {
+        return forkOptions.isSameAs(required);
+    }
+
     @Override
     public void stop() {
         workerProcess.stop();
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.daemon;
+
+/**
+ * A snapshot of how compiler daemons have been used during a build session.
+ */
+public class CompilerDaemonStatistics {
+    private final int started;
+    private final int reused;
+    private final int evicted;
+    private final int running;
+
+    public CompilerDaemonStatistics(int started, int reused, int evicted, int running) {
+        this.started = started;
+        this.reused = reused;
+        this.evicted = evicted;
+        this.running = running;
+    }
+
+    /**
+     * The number of compiler daemons started.
+     */
+    public int getStarted() {
+        return started;
+    }
+
+    /**
+     * The number of times an idle compiler daemon was reused instead of starting a new one.
+     */
+    public int getReused() {
+        return reused;
+    }
+
+    /**
+     * The number of idle compiler daemons stopped to stay within the maximum pool size.
+     */
+    public int getEvicted() {
+        return evicted;
+    }
+
+    /**
+     * The number of compiler daemons currently running.
+     */
+    public int getRunning() {
+        return running;
+    }
+
+    @Override
+    public String toString() {
+        return started + " started, " + reused + " reused, " + evicted + " evicted, " + running + " running";
+    }
+}
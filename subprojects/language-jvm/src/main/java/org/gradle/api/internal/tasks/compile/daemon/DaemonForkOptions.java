@@ -53,6 +53,13 @@ public class DaemonForkOptions {
         return maxHeapSize;
     }
 
+    /**
+     * Returns the maximum heap size in megabytes, or -1 when not specified.
+     */
+    public int getMaxHeapSizeMb() {
+        return getHeapSizeMb(maxHeapSize);
+    }
+
     public Iterable<String> getJvmArgs() {
         return jvmArgs;
     }
@@ -73,6 +80,18 @@ public class DaemonForkOptions {
                 && getNormalizedSharedPackages(sharedPackages).containsAll(getNormalizedSharedPackages(other.sharedPackages));
     }
 
+    /**
+     * Returns true if the given options are the same as these options, after normalization. A daemon started with the same options
+     * is the best candidate for reuse, as it was sized for the same workload.
+     */
+    public boolean isSameAs(DaemonForkOptions other) {
+        return getHeapSizeMb(minHeapSize) == getHeapSizeMb(other.getMinHeapSize())
+                && getHeapSizeMb(maxHeapSize) == getHeapSizeMb(other.getMaxHeapSize())
+                && getNormalizedJvmArgs(jvmArgs).equals(getNormalizedJvmArgs(other.getJvmArgs()))
+                && getNormalizedClasspath(classpath).equals(getNormalizedClasspath(other.getClasspath()))
+                && getNormalizedSharedPackages(sharedPackages).equals(getNormalizedSharedPackages(other.sharedPackages));
+    }
+
     // one way to merge fork options, good for current use case
     public DaemonForkOptions mergeWith(DaemonForkOptions other) {
         String mergedMinHeapSize = mergeHeapSize(minHeapSize, other.minHeapSize);
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.daemon;
+
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.Stoppable;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds on to idle compiler daemons between build sessions, so that a later build in the same Gradle daemon can reuse them.
+ * The total maximum heap size of the retained compiler daemons is bounded, preferring the most recently used daemons.
+ * Any retained compiler daemons are stopped when the Gradle daemon stops.
+ */
+@ThreadSafe
+public class RetainedCompilerClients implements Stoppable {
+    private static final long MB = 1024 * 1024;
+
+    private final int defaultMaxHeapSizeMb;
+    // Ordered from least to most recently used
+    private final List<CompilerDaemonClient> clients = new ArrayList<CompilerDaemonClient>();
+
+    public RetainedCompilerClients() {
+        this(jvmDefaultMaxHeapSizeMb());
+    }
+
+    /**
+     * @param defaultMaxHeapSizeMb The maximum heap size assumed for compiler daemons started without a maximum heap size.
+     */
+    public RetainedCompilerClients(int defaultMaxHeapSizeMb) {
+        this.defaultMaxHeapSizeMb = defaultMaxHeapSizeMb;
+    }
+
+    /**
+     * Returns the maximum heap size assumed for compiler daemons started without a maximum heap size.
+     */
+    public int getDefaultMaxHeapSizeMb() {
+        return defaultMaxHeapSizeMb;
+    }
+
+    /**
+     * Takes ownership of the most recently used of the given idle clients, as long as the total maximum heap size of all retained clients stays within the given limit.
+     * Returns the clients that were not retained, which the caller remains responsible for stopping.
+     *
+     * @param idleClients The idle clients, ordered from least to most recently used.
+     */
+    public List<CompilerDaemonClient> retain(List<CompilerDaemonClient> idleClients, int maxRetainedHeapSizeMb) {
+        List<CompilerDaemonClient> notRetained = new ArrayList<CompilerDaemonClient>(idleClients);
+        synchronized (clients) {
+            long retainedHeapSizeMb = 0;
+            for (CompilerDaemonClient client : clients) {
+                retainedHeapSizeMb += maxHeapSizeMb(client);
+            }
+            List<CompilerDaemonClient> retained = new ArrayList<CompilerDaemonClient>();
+            for (int i = idleClients.size() - 1; i >= 0; i--) {
+                CompilerDaemonClient client = idleClients.get(i);
+                int heapSizeMb = maxHeapSizeMb(client);
+                if (retainedHeapSizeMb + heapSizeMb <= maxRetainedHeapSizeMb) {
+                    retainedHeapSizeMb += heapSizeMb;
+                    retained.add(0, client);
+                }
+            }
+            clients.addAll(retained);
+            notRetained.removeAll(retained);
+        }
+        return notRetained;
+    }
+
+    /**
+     * Hands over all retained clients, least recently used first.
+     */
+    public List<CompilerDaemonClient> takeAll() {
+        synchronized (clients) {
+            List<CompilerDaemonClient> result = new ArrayList<CompilerDaemonClient>(clients);
+            clients.clear();
+            return result;
+        }
+    }
+
+    @Override
+    public void stop() {
+        CompositeStoppable.stoppable(takeAll()).stop();
+    }
+
+    private int maxHeapSizeMb(CompilerDaemonClient client) {
+        int heapSizeMb = client.getMaxHeapSizeMb();
+        return heapSizeMb < 0 ? defaultMaxHeapSizeMb : heapSizeMb;
+    }
+
+    /**
+     * Returns the maximum heap size the JVM chooses when none is specified, which is a quarter of the physical memory.
+     */
+    private static int jvmDefaultMaxHeapSizeMb() {
+        long physicalMemory;
+        try {
+            physicalMemory = (Long) ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName("java.lang:type=OperatingSystem"), "TotalPhysicalMemorySize");
+        } catch (Exception e) {
+            // Not available on this JVM, so assume the heap size of this process
+            return (int) (Runtime.getRuntime().maxMemory() / MB);
+        }
+        return (int) (physicalMemory / 4 / MB);
+    }
+}
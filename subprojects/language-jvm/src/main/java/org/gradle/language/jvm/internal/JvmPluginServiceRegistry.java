@@ -16,12 +16,20 @@
 
 package org.gradle.language.jvm.internal;
 
+import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.component.ArtifactType;
 import org.gradle.api.internal.component.ComponentTypeRegistry;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
+import org.gradle.api.internal.tasks.compile.daemon.InProcessCompilerDaemonFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.operations.BuildOperationWorkerRegistry;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
+import org.gradle.internal.work.AsyncWorkTracker;
 import org.gradle.jvm.JvmLibrary;
 import org.gradle.language.base.artifact.SourcesArtifact;
+import org.gradle.workers.WorkerExecutor;
+import org.gradle.workers.internal.DefaultWorkerExecutor;
 
 public class JvmPluginServiceRegistry implements PluginServiceRegistry {
     @Override
@@ -39,12 +47,21 @@ public class JvmPluginServiceRegistry implements PluginServiceRegistry {
 
     @Override
     public void registerGradleServices(ServiceRegistration registration) {
+        registration.addProvider(new GradleScopeServices());
     }
 
     @Override
     public void registerProjectServices(ServiceRegistration registration) {
     }
 
+    private static class GradleScopeServices {
+        WorkerExecutor createWorkerExecutor(CompilerDaemonManager compilerDaemonManager, InProcessCompilerDaemonFactory inProcessCompilerDaemonFactory, ExecutorFactory executorFactory,
+                                            BuildOperationWorkerRegistry buildOperationWorkerRegistry, AsyncWorkTracker asyncWorkTracker, GradleInternal gradle) {
+            return new DefaultWorkerExecutor(compilerDaemonManager, inProcessCompilerDaemonFactory, executorFactory, buildOperationWorkerRegistry, asyncWorkTracker,
+                gradle.getRootProject().getProjectDir(), gradle.getStartParameter().getMaxWorkerCount());
+        }
+    }
+
     private static class ComponentRegistrationAction {
         /***
          * @param registration unused parameter required by convention, see {@link org.gradle.internal.service.DefaultServiceRegistry}.
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers;
+
+import org.gradle.api.Incubating;
+
+/**
+ * The isolation that is used when running a unit of work submitted to a {@link WorkerExecutor}.
+ *
+ * @since 3.2
+ */
+@Incubating
+public enum IsolationMode {
+    /**
+     * Runs the work in the build process, using the class loader of the submitting task.
+     */
+    NONE,
+    /**
+     * Runs the work in the build process, in a class loader that contains only the Gradle API and the classpath of the work.
+     */
+    CLASSLOADER,
+    /**
+     * Runs the work in a worker daemon process. Worker daemons are reused for work that requires a compatible classpath and JVM options.
+     */
+    PROCESS
+}
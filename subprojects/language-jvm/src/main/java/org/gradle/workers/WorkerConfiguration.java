@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers;
+
+import org.gradle.api.Incubating;
+import org.gradle.api.Nullable;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Configuration of a unit of work submitted to a {@link WorkerExecutor}.
+ *
+ * @since 3.2
+ */
+@Incubating
+public interface WorkerConfiguration {
+    /**
+     * Returns the isolation used to run the work. Defaults to {@link IsolationMode#PROCESS}.
+     */
+    IsolationMode getIsolationMode();
+
+    /**
+     * Sets the isolation used to run the work.
+     */
+    void setIsolationMode(IsolationMode isolationMode);
+
+    /**
+     * Returns the classpath that the work is run with, in addition to the Gradle API.
+     */
+    Iterable<File> getClasspath();
+
+    /**
+     * Sets the classpath that the work is run with. Not used with {@link IsolationMode#NONE}.
+     */
+    void setClasspath(Iterable<File> classpath);
+
+    /**
+     * Adds the given files to the classpath that the work is run with.
+     */
+    void classpath(Iterable<File> files);
+
+    /**
+     * Returns the minimum heap size of the worker daemon. Only used with {@link IsolationMode#PROCESS}.
+     */
+    @Nullable
+    String getMinHeapSize();
+
+    /**
+     * Sets the minimum heap size of the worker daemon, for example {@code 64m}.
+     */
+    void setMinHeapSize(@Nullable String minHeapSize);
+
+    /**
+     * Returns the maximum heap size of the worker daemon. Only used with {@link IsolationMode#PROCESS}.
+     */
+    @Nullable
+    String getMaxHeapSize();
+
+    /**
+     * Sets the maximum heap size of the worker daemon, for example {@code 1g}.
+     */
+    void setMaxHeapSize(@Nullable String maxHeapSize);
+
+    /**
+     * Returns the extra JVM arguments of the worker daemon. Only used with {@link IsolationMode#PROCESS}.
+     */
+    List<String> getJvmArgs();
+
+    /**
+     * Adds the given JVM arguments for the worker daemon.
+     */
+    void jvmArgs(String... jvmArgs);
+
+    /**
+     * Returns the display name of the work, used in logging and error messages.
+     */
+    String getDisplayName();
+
+    /**
+     * Sets the display name of the work.
+     */
+    void setDisplayName(String displayName);
+
+    /**
+     * Returns the parameters used to construct the action instance.
+     */
+    Object[] getParams();
+
+    /**
+     * Sets the parameters used to construct the action instance. The action class must have a public constructor that accepts these parameters.
+     */
+    void setParams(Object... params);
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers;
+
+import org.gradle.api.Incubating;
+import org.gradle.internal.exceptions.Contextual;
+import org.gradle.internal.exceptions.DefaultMultiCauseException;
+
+/**
+ * Indicates that a failure occurred during execution of work submitted to a {@link WorkerExecutor}.
+ *
+ * @since 3.2
+ */
+@Incubating
+@Contextual
+public class WorkerExecutionException extends DefaultMultiCauseException {
+    public WorkerExecutionException(Iterable<? extends Throwable> causes) {
+        super("There were failures while executing work items", causes);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers;
+
+import org.gradle.api.Action;
+import org.gradle.api.Incubating;
+
+/**
+ * Allows work to be submitted for asynchronous execution. This service can be injected into a task, for example:
+ *
+ * <pre>
+ * class MyTask extends DefaultTask {
+ *     {@literal @}Inject
+ *     WorkerExecutor getWorkerExecutor() {
+ *         throw new UnsupportedOperationException()
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Work submitted by a task action is always complete before the task is considered complete, and counts against the maximum number of workers of the build.</p>
+ *
+ * @since 3.2
+ */
+@Incubating
+public interface WorkerExecutor {
+    /**
+     * Submits a piece of work to be executed asynchronously. The work is performed by an instance of the given class, created using the parameters of
+     * the given configuration. The class and parameters must be serializable unless the work is run with {@link IsolationMode#NONE}.
+     */
+    void submit(Class<? extends Runnable> actionClass, Action<? super WorkerConfiguration> configAction);
+
+    /**
+     * Blocks until all work submitted by the current task action is complete.
+     *
+     * @throws WorkerExecutionException when any of the work fails.
+     */
+    void await() throws WorkerExecutionException;
+}
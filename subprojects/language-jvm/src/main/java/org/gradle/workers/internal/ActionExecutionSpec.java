@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers.internal;
+
+import org.gradle.language.base.internal.compile.CompileSpec;
+
+import java.io.Serializable;
+
+/**
+ * A unit of work submitted to the {@link org.gradle.workers.WorkerExecutor}, as it is passed to the worker that runs it.
+ */
+public class ActionExecutionSpec implements CompileSpec, Serializable {
+    private final Class<? extends Runnable> implementationClass;
+    private final String displayName;
+    private final Object[] params;
+
+    public ActionExecutionSpec(Class<? extends Runnable> implementationClass, String displayName, Object[] params) {
+        this.implementationClass = implementationClass;
+        this.displayName = displayName;
+        this.params = params;
+    }
+
+    public Class<? extends Runnable> getImplementationClass() {
+        return implementationClass;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public Object[] getParams() {
+        return params;
+    }
+}
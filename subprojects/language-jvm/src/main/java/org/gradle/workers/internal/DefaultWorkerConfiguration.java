@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers.internal;
+
+import com.google.common.collect.Lists;
+import org.gradle.api.Nullable;
+import org.gradle.workers.IsolationMode;
+import org.gradle.workers.WorkerConfiguration;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+public class DefaultWorkerConfiguration implements WorkerConfiguration {
+    private final List<File> classpath = Lists.newArrayList();
+    private final List<String> jvmArgs = Lists.newArrayList();
+    private IsolationMode isolationMode = IsolationMode.PROCESS;
+    private String minHeapSize;
+    private String maxHeapSize;
+    private String displayName;
+    private Object[] params = new Object[0];
+
+    @Override
+    public IsolationMode getIsolationMode() {
+        return isolationMode;
+    }
+
+    @Override
+    public void setIsolationMode(IsolationMode isolationMode) {
+        this.isolationMode = isolationMode;
+    }
+
+    @Override
+    public Iterable<File> getClasspath() {
+        return Collections.unmodifiableList(classpath);
+    }
+
+    @Override
+    public void setClasspath(Iterable<File> classpath) {
+        this.classpath.clear();
+        classpath(classpath);
+    }
+
+    @Override
+    public void classpath(Iterable<File> files) {
+        for (File file : files) {
+            classpath.add(file);
+        }
+    }
+
+    @Nullable
+    @Override
+    public String getMinHeapSize() {
+        return minHeapSize;
+    }
+
+    @Override
+    public void setMinHeapSize(@Nullable String minHeapSize) {
+        this.minHeapSize = minHeapSize;
+    }
+
+    @Nullable
+    @Override
+    public String getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    @Override
+    public void setMaxHeapSize(@Nullable String maxHeapSize) {
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    @Override
+    public List<String> getJvmArgs() {
+        return Collections.unmodifiableList(jvmArgs);
+    }
+
+    @Override
+    public void jvmArgs(String... jvmArgs) {
+        Collections.addAll(this.jvmArgs, jvmArgs);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public Object[] getParams() {
+        return params;
+    }
+
+    @Override
+    public void setParams(Object... params) {
+        this.params = params;
+    }
+}
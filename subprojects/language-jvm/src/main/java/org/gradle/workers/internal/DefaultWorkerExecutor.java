@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClasspathUtil;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.internal.exceptions.DefaultMultiCauseException;
+import org.gradle.internal.operations.BuildOperationWorkerRegistry;
+import org.gradle.internal.work.AsyncWorkCompletion;
+import org.gradle.internal.work.AsyncWorkTracker;
+import org.gradle.language.base.internal.compile.CompileSpec;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.workers.IsolationMode;
+import org.gradle.workers.WorkerConfiguration;
+import org.gradle.workers.WorkerExecutionException;
+import org.gradle.workers.WorkerExecutor;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Queues submitted work and runs it on a pool of at most max workers threads. Each thread takes a worker lease of the submitting build operation before
+ * it runs an item, so no more threads wait for a lease than the build could ever run at once. Work that is run in a worker daemon uses the pool of
+ * compiler daemons, so that daemons are reused for work with a compatible classpath and JVM options.
+ */
+public class DefaultWorkerExecutor implements WorkerExecutor, Stoppable {
+    private final CompilerDaemonFactory daemonWorkerFactory;
+    private final CompilerDaemonFactory isolatedClassloaderWorkerFactory;
+    private final BuildOperationWorkerRegistry buildOperationWorkerRegistry;
+    private final AsyncWorkTracker asyncWorkTracker;
+    private final File workingDir;
+    private final StoppableExecutor executor;
+
+    public DefaultWorkerExecutor(CompilerDaemonFactory daemonWorkerFactory, CompilerDaemonFactory isolatedClassloaderWorkerFactory, ExecutorFactory executorFactory,
+                                 BuildOperationWorkerRegistry buildOperationWorkerRegistry, AsyncWorkTracker asyncWorkTracker, File workingDir, int maxWorkers) {
+        this.daemonWorkerFactory = daemonWorkerFactory;
+        this.isolatedClassloaderWorkerFactory = isolatedClassloaderWorkerFactory;
+        this.buildOperationWorkerRegistry = buildOperationWorkerRegistry;
+        this.asyncWorkTracker = asyncWorkTracker;
+        this.workingDir = workingDir;
+        // Leases are held by the thread that takes them, so the threads of the pool take the leases rather than the submitting thread
+        this.executor = executorFactory.create("Worker executor", maxWorkers);
+    }
+
+    @Override
+    public void submit(Class<? extends Runnable> actionClass, Action<? super WorkerConfiguration> configAction) {
+        WorkerConfiguration configuration = new DefaultWorkerConfiguration();
+        configuration.setDisplayName(actionClass.getName());
+        configAction.execute(configuration);
+
+        final String displayName = configuration.getDisplayName();
+        final ActionExecutionSpec spec = new ActionExecutionSpec(actionClass, displayName, configuration.getParams());
+        final CompilerDaemon worker = getWorker(actionClass, configuration);
+        final BuildOperationWorkerRegistry.Operation currentOperation = buildOperationWorkerRegistry.getCurrent();
+        Future<CompileResult> result = executor.submit(new Callable<CompileResult>() {
+            @Override
+            public CompileResult call() {
+                BuildOperationWorkerRegistry.Completion workerLease = currentOperation.operationStart();
+                try {
+                    return worker.execute(new WorkerActionExecutor(), spec);
+                } finally {
+                    workerLease.operationFinish();
+                }
+            }
+        });
+        asyncWorkTracker.registerWork(new WorkItemCompletion(displayName, result));
+    }
+
+    @Override
+    public void await() throws WorkerExecutionException {
+        try {
+            asyncWorkTracker.waitForCompletion();
+        } catch (DefaultMultiCauseException e) {
+            throw new WorkerExecutionException(e.getCauses());
+        }
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+
+    private CompilerDaemon getWorker(Class<?> actionClass, WorkerConfiguration configuration) {
+        switch (configuration.getIsolationMode()) {
+            case NONE:
+                return new DirectWorker();
+            case CLASSLOADER:
+                return isolatedClassloaderWorkerFactory.getDaemon(workingDir, forkOptions(actionClass, configuration));
+            case PROCESS:
+                return daemonWorkerFactory.getDaemon(workingDir, forkOptions(actionClass, configuration));
+            default:
+                throw new IllegalArgumentException("Unknown isolation mode: " + configuration.getIsolationMode());
+        }
+    }
+
+    private static DaemonForkOptions forkOptions(Class<?> actionClass, WorkerConfiguration configuration) {
+        ImmutableList.Builder<File> classpath = ImmutableList.builder();
+        classpath.addAll(configuration.getClasspath());
+        classpath.add(ClasspathUtil.getClasspathForClass(actionClass));
+
+        Set<String> sharedPackages = Sets.newLinkedHashSet();
+        String actionPackage = packageOf(actionClass);
+        if (actionPackage == null) {
+            throw new InvalidUserDataException(String.format("Cannot run %s in isolation, as it is declared in the default package.", actionClass.getName()));
+        }
+        sharedPackages.add(actionPackage);
+        for (Object param : configuration.getParams()) {
+            String paramPackage = param == null ? null : packageOf(param.getClass());
+            if (paramPackage != null && !paramPackage.startsWith("java.")) {
+                sharedPackages.add(paramPackage);
+            }
+        }
+        return new DaemonForkOptions(configuration.getMinHeapSize(), configuration.getMaxHeapSize(), configuration.getJvmArgs(), classpath.build(), sharedPackages);
+    }
+
+    private static String packageOf(Class<?> type) {
+        int separator = type.getName().lastIndexOf('.');
+        return separator < 0 ? null : type.getName().substring(0, separator);
+    }
+
+    private static class DirectWorker implements CompilerDaemon {
+        @Override
+        public <T extends CompileSpec> CompileResult execute(Compiler<T> compiler, T spec) {
+            return new CompileResult(compiler.execute(spec).getDidWork(), null);
+        }
+    }
+
+    private static class WorkItemCompletion implements AsyncWorkCompletion {
+        private final String displayName;
+        private final Future<CompileResult> result;
+
+        WorkItemCompletion(String displayName, Future<CompileResult> result) {
+            this.displayName = displayName;
+            this.result = result;
+        }
+
+        @Override
+        public void waitForCompletion() {
+            Throwable failure;
+            try {
+                failure = result.get().getException();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+            if (failure != null) {
+                throw new GradleException("A failure occurred while executing " + displayName, failure);
+            }
+        }
+    }
+}
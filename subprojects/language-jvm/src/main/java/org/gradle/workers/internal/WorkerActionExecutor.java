@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers.internal;
+
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.reflect.DirectInstantiator;
+import org.gradle.language.base.internal.compile.Compiler;
+
+import java.io.Serializable;
+
+/**
+ * Creates and runs the action of an {@link ActionExecutionSpec}, in whichever process and class loader the spec was sent to.
+ */
+public class WorkerActionExecutor implements Compiler<ActionExecutionSpec>, Serializable {
+    @Override
+    public WorkResult execute(ActionExecutionSpec spec) {
+        Runnable action = DirectInstantiator.instantiate(spec.getImplementationClass(), spec.getParams());
+        action.run();
+        return new SimpleWorkResult(true);
+    }
+}
@@ -94,4 +94,155 @@ class CompilerClientsManagerTest extends ConcurrentSpecification {
         then:
         manager.reserveIdleClient(options) == client
     }
+
+    def "prefers most recently used idle client with the same fork options"() {
+        def compatible = Stub(CompilerDaemonClient) { isCompatibleWith(_) >> true }
+        def same = Stub(CompilerDaemonClient) { hasSameForkOptions(_) >> true; isCompatibleWith(_) >> true }
+        def otherCompatible = Stub(CompilerDaemonClient) { isCompatibleWith(_) >> true }
+        def input = [same, compatible, otherCompatible]
+
+        expect:
+        manager.reserveIdleClient(options, input) == same
+        manager.reserveIdleClient(options, input) == otherCompatible
+        manager.reserveIdleClient(options, input) == compatible
+    }
+
+    def "stops least recently used idle clients when maximum number of clients is reached"() {
+        def manager = new CompilerClientsManager(starter, 2, new RetainedCompilerClients(), 0)
+        def client1 = Mock(CompilerDaemonClient)
+        def client2 = Mock(CompilerDaemonClient)
+        def client3 = Mock(CompilerDaemonClient)
+        starter.startDaemon(workingDir, options) >>> [client1, client2, client3]
+
+        given:
+        manager.reserveNewClient(workingDir, options)
+        manager.reserveNewClient(workingDir, options)
+        manager.release(client2)
+        manager.release(client1)
+
+        when:
+        def client = manager.reserveNewClient(workingDir, options)
+
+        then:
+        client == client3
+        1 * client2.stop()
+        0 * client1.stop()
+
+        and:
+        manager.statistics.started == 3
+        manager.statistics.evicted == 1
+        manager.statistics.running == 2
+    }
+
+    def "does not stop busy clients when maximum number of clients is reached"() {
+        def manager = new CompilerClientsManager(starter, 1, new RetainedCompilerClients(), 0)
+        def client1 = Mock(CompilerDaemonClient)
+        def client2 = Mock(CompilerDaemonClient)
+        starter.startDaemon(workingDir, options) >>> [client1, client2]
+
+        when:
+        manager.reserveNewClient(workingDir, options)
+        manager.reserveNewClient(workingDir, options)
+
+        then:
+        0 * client1.stop()
+        manager.statistics.running == 2
+    }
+
+    def "counts reused clients"() {
+        def client = Stub(CompilerDaemonClient) { isCompatibleWith(_) >> true }
+        starter.startDaemon(workingDir, options) >> client
+
+        when:
+        manager.reserveNewClient(workingDir, options)
+        manager.release(client)
+        manager.reserveIdleClient(options)
+        manager.release(client)
+        manager.reserveIdleClient(options)
+
+        then:
+        manager.statistics.started == 1
+        manager.statistics.reused == 2
+    }
+
+    def "retains idle clients for later build sessions when enabled"() {
+        def retained = new RetainedCompilerClients(256)
+        def manager = new CompilerClientsManager(starter, 4, retained, 1024)
+        def idle = Mock(CompilerDaemonClient) { isCompatibleWith(_) >> true }
+        def busy = Mock(CompilerDaemonClient)
+        starter.startDaemon(workingDir, options) >>> [idle, busy]
+
+        given:
+        manager.reserveNewClient(workingDir, options)
+        manager.reserveNewClient(workingDir, options)
+        manager.release(idle)
+
+        when:
+        manager.stop()
+
+        then:
+        0 * idle.stop()
+        1 * busy.stop()
+
+        when:
+        def nextManager = new CompilerClientsManager(starter, 4, retained, 1024)
+
+        then:
+        nextManager.reserveIdleClient(options) == idle
+
+        when:
+        nextManager.release(idle)
+        nextManager.stop()
+        retained.stop()
+
+        then:
+        1 * idle.stop()
+    }
+
+    def "retains most recently used idle clients that fit in the retained heap size"() {
+        def retained = new RetainedCompilerClients(256)
+        def manager = new CompilerClientsManager(starter, 4, retained, 1024)
+        def large = Mock(CompilerDaemonClient) { getMaxHeapSizeMb() >> 768 }
+        def older = Mock(CompilerDaemonClient) { getMaxHeapSizeMb() >> 512 }
+        def unspecified = Mock(CompilerDaemonClient) { getMaxHeapSizeMb() >> -1 }
+        def recent = Mock(CompilerDaemonClient) { getMaxHeapSizeMb() >> 512 }
+        starter.startDaemon(workingDir, options) >>> [large, older, unspecified, recent]
+
+        given:
+        4.times { manager.reserveNewClient(workingDir, options) }
+        manager.release(large)
+        manager.release(older)
+        manager.release(unspecified)
+        manager.release(recent)
+
+        when:
+        manager.stop()
+
+        then:
+        1 * large.stop()
+        1 * older.stop()
+        0 * unspecified.stop()
+        0 * recent.stop()
+
+        and:
+        retained.takeAll() == [unspecified, recent]
+    }
+
+    def "does not retain idle clients when retention is disabled for the build session"() {
+        def retained = new RetainedCompilerClients(256)
+        def manager = new CompilerClientsManager(starter, 4, retained, 0)
+        def client = Mock(CompilerDaemonClient)
+        starter.startDaemon(workingDir, options) >> client
+
+        given:
+        manager.reserveNewClient(workingDir, options)
+        manager.release(client)
+
+        when:
+        manager.stop()
+
+        then:
+        1 * client.stop()
+        retained.takeAll().empty
+    }
 }
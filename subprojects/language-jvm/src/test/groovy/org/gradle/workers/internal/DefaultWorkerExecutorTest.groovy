@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.workers.internal
+
+import org.gradle.api.GradleException
+import org.gradle.api.internal.tasks.compile.daemon.CompileResult
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemon
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.operations.DefaultBuildOperationWorkerRegistry
+import org.gradle.internal.work.DefaultAsyncWorkTracker
+import org.gradle.workers.IsolationMode
+import org.gradle.workers.WorkerExecutionException
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CopyOnWriteArraySet
+
+class DefaultWorkerExecutorTest extends Specification {
+    def daemonWorkerFactory = Mock(CompilerDaemonFactory)
+    def isolatedClassloaderWorkerFactory = Mock(CompilerDaemonFactory)
+    def executorFactory = new DefaultExecutorFactory()
+    def registry = new DefaultBuildOperationWorkerRegistry(2)
+    def workingDir = new File("root")
+    def workerExecutor = new DefaultWorkerExecutor(daemonWorkerFactory, isolatedClassloaderWorkerFactory, executorFactory, registry, new DefaultAsyncWorkTracker(registry), workingDir, 2)
+    def completion = registry.operationStart()
+
+    def cleanup() {
+        completion.operationFinish()
+        workerExecutor.stop()
+        executorFactory.stop()
+        registry.stop()
+        TestRunnable.executed.clear()
+        TestRunnable.threads.clear()
+    }
+
+    def "runs work in-process when isolation is not required"() {
+        when:
+        workerExecutor.submit(TestRunnable) {
+            it.isolationMode = IsolationMode.NONE
+            it.setParams("one")
+        }
+        workerExecutor.submit(TestRunnable) {
+            it.isolationMode = IsolationMode.NONE
+            it.setParams("two")
+        }
+        workerExecutor.await()
+
+        then:
+        TestRunnable.executed.sort() == ["one", "two"]
+        0 * daemonWorkerFactory._
+        0 * isolatedClassloaderWorkerFactory._
+    }
+
+    def "runs work in a worker daemon with the classpath and fork options of the work"() {
+        def daemon = Mock(CompilerDaemon)
+        def classpathEntry = new File("lib.jar")
+
+        when:
+        workerExecutor.submit(TestRunnable) {
+            it.classpath([classpathEntry])
+            it.maxHeapSize = "256m"
+            it.jvmArgs("-Dsome.prop=value")
+            it.setParams("one")
+        }
+        workerExecutor.await()
+
+        then:
+        1 * daemonWorkerFactory.getDaemon(workingDir, _) >> { dir, forkOptions ->
+            assert forkOptions.maxHeapSize == "256m"
+            assert forkOptions.jvmArgs == ["-Dsome.prop=value"]
+            assert forkOptions.classpath.contains(classpathEntry)
+            assert forkOptions.sharedPackages as List == ["org.gradle.workers.internal"]
+            return daemon
+        }
+        1 * daemon.execute(_ as WorkerActionExecutor, _ as ActionExecutionSpec) >> { executor, ActionExecutionSpec spec ->
+            assert spec.implementationClass == TestRunnable
+            assert spec.params as List == ["one"]
+            new CompileResult(true, null)
+        }
+        0 * isolatedClassloaderWorkerFactory._
+    }
+
+    def "runs work in an isolated class loader"() {
+        def daemon = Mock(CompilerDaemon)
+
+        when:
+        workerExecutor.submit(TestRunnable) {
+            it.isolationMode = IsolationMode.CLASSLOADER
+            it.setParams("one")
+        }
+        workerExecutor.await()
+
+        then:
+        1 * isolatedClassloaderWorkerFactory.getDaemon(workingDir, _) >> daemon
+        1 * daemon.execute(_, _) >> new CompileResult(true, null)
+        0 * daemonWorkerFactory._
+    }
+
+    def "waits for all work and reports failures"() {
+        def daemon = Stub(CompilerDaemon) {
+            execute(_, _) >> new CompileResult(true, new RuntimeException("broken"))
+        }
+        daemonWorkerFactory.getDaemon(_, _) >> daemon
+
+        when:
+        workerExecutor.submit(TestRunnable) {
+            it.displayName = "work 1"
+            it.setParams("one")
+        }
+        workerExecutor.submit(TestRunnable) {
+            it.isolationMode = IsolationMode.NONE
+            it.displayName = "work 2"
+            it.setParams("two")
+        }
+        workerExecutor.await()
+
+        then:
+        def e = thrown(WorkerExecutionException)
+        e.causes.size() == 1
+        e.causes[0] instanceof GradleException
+        e.causes[0].message == "A failure occurred while executing work 1"
+        e.causes[0].cause.message == "broken"
+        TestRunnable.executed == ["two"]
+    }
+
+    def "runs queued work on at most max workers threads"() {
+        when:
+        100.times { index ->
+            workerExecutor.submit(TestRunnable) {
+                it.isolationMode = IsolationMode.NONE
+                it.setParams(String.valueOf(index))
+            }
+        }
+        workerExecutor.await()
+
+        then:
+        TestRunnable.executed.size() == 100
+        TestRunnable.threads.size() <= 2
+    }
+
+    static class TestRunnable implements Runnable {
+        static final List<String> executed = new CopyOnWriteArrayList<String>()
+        static final Set<Thread> threads = new CopyOnWriteArraySet<Thread>()
+        private final String value
+
+        TestRunnable(String value) {
+            this.value = value
+        }
+
+        @Override
+        void run() {
+            threads.add(Thread.currentThread())
+            executed.add(value)
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.Transformer;
 import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileVisitDetails;
@@ -35,10 +36,19 @@ import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CSourceParser;
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.RegexBackedCSourceParser;
+import org.gradle.nativeplatform.platform.internal.NativePlatformInternal;
 import org.gradle.nativeplatform.toolchain.Clang;
 import org.gradle.nativeplatform.toolchain.Gcc;
 import org.gradle.nativeplatform.toolchain.NativeToolChain;
+import org.gradle.nativeplatform.toolchain.internal.CompilerMetadata;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.NativeToolChainInternal;
+import org.gradle.nativeplatform.toolchain.internal.PlatformToolProvider;
+import org.gradle.nativeplatform.toolchain.internal.ToolType;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.CCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.CppCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.ObjectiveCCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.ObjectiveCppCompileSpec;
 import org.gradle.util.CollectionUtils;
 
 import java.io.File;
@@ -49,15 +59,18 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
     private static final Logger LOGGER = Logging.getLogger(IncrementalNativeCompiler.class);
     private final Compiler<T> delegateCompiler;
     private final boolean importsAreIncludes;
+    private final NativeToolChainInternal toolChain;
     private final TaskInternal task;
     private final TaskArtifactStateCacheAccess cacheAccess;
     private final FileSnapshotter fileSnapshotter;
     private final DirectoryFileTreeFactory directoryFileTreeFactory;
     private final CompilationStateCacheFactory compilationStateCacheFactory;
+    private final ObjectFileCache objectFileCache;
 
     private final CSourceParser sourceParser = new RegexBackedCSourceParser();
 
-    public IncrementalNativeCompiler(TaskInternal task, TaskArtifactStateCacheAccess cacheAccess, FileSnapshotter fileSnapshotter, CompilationStateCacheFactory compilationStateCacheFactory, Compiler<T> delegateCompiler, NativeToolChain toolChain, DirectoryFileTreeFactory directoryFileTreeFactory) {
+    public IncrementalNativeCompiler(TaskInternal task, TaskArtifactStateCacheAccess cacheAccess, FileSnapshotter fileSnapshotter, CompilationStateCacheFactory compilationStateCacheFactory, Compiler<T> delegateCompiler, NativeToolChain toolChain, DirectoryFileTreeFactory directoryFileTreeFactory,
+                                     @Nullable ObjectFileCache objectFileCache) {
         this.task = task;
         this.cacheAccess = cacheAccess;
         this.fileSnapshotter = fileSnapshotter;
@@ -65,6 +78,8 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
         this.delegateCompiler = delegateCompiler;
         this.directoryFileTreeFactory = directoryFileTreeFactory;
         this.importsAreIncludes = Clang.class.isAssignableFrom(toolChain.getClass()) || Gcc.class.isAssignableFrom(toolChain.getClass());
+        this.toolChain = toolChain instanceof NativeToolChainInternal ? (NativeToolChainInternal) toolChain : null;
+        this.objectFileCache = objectFileCache;
     }
 
     @Override
@@ -83,11 +98,17 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
 
         handleDiscoveredInputs(spec, compilation, spec.getDiscoveredInputRecorder());
 
+        Compiler<T> compiler = delegateCompiler;
+        CompilerMetadata compilerMetadata = objectFileCache == null ? null : compilerMetadata(spec);
+        if (compilerMetadata != null) {
+            compiler = new ObjectFileCachingCompiler<T>(delegateCompiler, objectFileCache, toolChain.getOutputType(), compilerMetadata, compilation.getFinalState());
+        }
+
         WorkResult workResult;
         if (spec.isIncrementalCompile()) {
-            workResult = doIncrementalCompile(compilation, spec);
+            workResult = doIncrementalCompile(compilation, spec, compiler);
         } else {
-            workResult = doCleanIncrementalCompile(spec);
+            workResult = doCleanIncrementalCompile(spec, compiler);
         }
 
         cacheAccess.useCache("update compilation state", new Factory<Void>() {
@@ -100,6 +121,33 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
         return workResult;
     }
 
+    @Nullable
+    private CompilerMetadata compilerMetadata(T spec) {
+        ToolType compilerType = compilerType(spec);
+        if (toolChain == null || compilerType == null) {
+            return null;
+        }
+        PlatformToolProvider toolProvider = toolChain.select((NativePlatformInternal) spec.getTargetPlatform());
+        return toolProvider.isAvailable() ? toolProvider.getCompilerMetadata(compilerType) : null;
+    }
+
+    @Nullable
+    private static ToolType compilerType(NativeCompileSpec spec) {
+        if (spec instanceof CCompileSpec) {
+            return ToolType.C_COMPILER;
+        }
+        if (spec instanceof CppCompileSpec) {
+            return ToolType.CPP_COMPILER;
+        }
+        if (spec instanceof ObjectiveCCompileSpec) {
+            return ToolType.OBJECTIVEC_COMPILER;
+        }
+        if (spec instanceof ObjectiveCppCompileSpec) {
+            return ToolType.OBJECTIVECPP_COMPILER;
+        }
+        return null;
+    }
+
     protected void handleDiscoveredInputs(T spec, IncrementalCompilation compilation, final DiscoveredInputRecorder discoveredInputRecorder) {
         for (File includeFile : compilation.getDiscoveredInputs()) {
             discoveredInputRecorder.newInput(includeFile);
@@ -145,16 +193,16 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
         });
     }
 
-    protected WorkResult doIncrementalCompile(IncrementalCompilation compilation, T spec) {
+    protected WorkResult doIncrementalCompile(IncrementalCompilation compilation, T spec, Compiler<T> compiler) {
         // Determine the actual sources to clean/compile
         spec.setSourceFiles(compilation.getRecompile());
         spec.setRemovedSourceFiles(compilation.getRemoved());
-        return delegateCompiler.execute(spec);
+        return compiler.execute(spec);
     }
 
-    protected WorkResult doCleanIncrementalCompile(T spec) {
+    protected WorkResult doCleanIncrementalCompile(T spec, Compiler<T> compiler) {
         boolean deleted = cleanPreviousOutputs(spec);
-        WorkResult compileResult = delegateCompiler.execute(spec);
+        WorkResult compileResult = compiler.execute(spec);
         if (deleted && !compileResult.getDidWork()) {
             return new SimpleWorkResult(deleted);
         }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental;
+
+import com.google.common.hash.HashCode;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.internal.FileLockManager;
+import org.gradle.util.GFileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * A cache of the object files produced by native compilation, shared by all builds that use the same Gradle user home. Each entry contains the
+ * output files of a single source file.
+ *
+ * <p>Entries are written to a temporary directory and then renamed into place, so the cache can be used without locking. The least recently used
+ * entries are removed once the cache grows beyond its maximum size.</p>
+ */
+public class ObjectFileCache implements Closeable {
+    /**
+     * When true, object files are restored from the cache instead of invoking the compiler, where possible.
+     */
+    public static final String ENABLED_PROPERTY = "org.gradle.native.objectFileCache";
+
+    /**
+     * The maximum size of the cache, in megabytes.
+     */
+    public static final String MAX_SIZE_PROPERTY = "org.gradle.native.objectFileCache.maxSizeMb";
+
+    private static final Logger LOGGER = Logging.getLogger(ObjectFileCache.class);
+    private static final int DEFAULT_MAX_SIZE_MB = 1024;
+
+    private final CacheRepository cacheRepository;
+    private final long maxSize;
+    private PersistentCache cache;
+    private long currentSize = -1;
+
+    public ObjectFileCache(CacheRepository cacheRepository) {
+        this(cacheRepository, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_MB) * 1024L * 1024L);
+    }
+
+    ObjectFileCache(CacheRepository cacheRepository, long maxSize) {
+        this.cacheRepository = cacheRepository;
+        this.maxSize = maxSize;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Copies the output files of the entry with the given key into the given directory. Returns false when there is no such entry.
+     */
+    public boolean restore(HashCode key, File outputDir) {
+        File entry = entryDir(key);
+        File[] files = entry.listFiles();
+        if (files == null) {
+            return false;
+        }
+        try {
+            GFileUtils.mkdirs(outputDir);
+            for (File file : files) {
+                GFileUtils.copyFile(file, new File(outputDir, file.getName()));
+            }
+        } catch (RuntimeException e) {
+            // The entry may have been removed concurrently
+            LOGGER.debug("Could not restore object files from {}.", entry, e);
+            GFileUtils.cleanDirectory(outputDir);
+            return false;
+        }
+        entry.setLastModified(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Stores the files in the given directory as the entry with the given key.
+     */
+    public void store(HashCode key, File outputDir) {
+        File entry = entryDir(key);
+        File[] files = outputDir.listFiles();
+        if (files == null || files.length == 0 || entry.isDirectory()) {
+            return;
+        }
+        File tempDir = new File(getBaseDir(), key + "-" + UUID.randomUUID() + ".tmp");
+        long size = 0;
+        try {
+            GFileUtils.mkdirs(tempDir);
+            for (File file : files) {
+                if (file.isFile()) {
+                    GFileUtils.copyFile(file, new File(tempDir, file.getName()));
+                    size += file.length();
+                }
+            }
+        } catch (RuntimeException e) {
+            // The cache is only an optimization
+            LOGGER.debug("Could not store object files in {}.", entry, e);
+            GFileUtils.deleteQuietly(tempDir);
+            return;
+        }
+        if (!tempDir.renameTo(entry)) {
+            GFileUtils.deleteQuietly(tempDir);
+            return;
+        }
+        added(size);
+    }
+
+    private synchronized void added(long size) {
+        if (currentSize < 0) {
+            currentSize = 0;
+            for (File entry : entries()) {
+                currentSize += sizeOf(entry);
+            }
+        } else {
+            currentSize += size;
+        }
+        if (currentSize > maxSize) {
+            removeLeastRecentlyUsed();
+        }
+    }
+
+    private void removeLeastRecentlyUsed() {
+        File[] entries = entries();
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                long lastModified1 = o1.lastModified();
+                long lastModified2 = o2.lastModified();
+                return lastModified1 < lastModified2 ? -1 : lastModified1 == lastModified2 ? 0 : 1;
+            }
+        });
+        // Remove entries until the cache is well below its maximum size, so that eviction does not happen for every new entry
+        long targetSize = maxSize * 3 / 4;
+        for (int i = 0; i < entries.length && currentSize > targetSize; i++) {
+            currentSize -= sizeOf(entries[i]);
+            GFileUtils.deleteQuietly(entries[i]);
+        }
+        LOGGER.info("Removed least recently used entries from the native object file cache in {}.", getBaseDir());
+    }
+
+    private File[] entries() {
+        File[] entries = getBaseDir().listFiles();
+        if (entries == null) {
+            return new File[0];
+        }
+        int count = 0;
+        for (File entry : entries) {
+            if (entry.isDirectory() && !entry.getName().endsWith(".tmp")) {
+                entries[count++] = entry;
+            }
+        }
+        return Arrays.copyOf(entries, count);
+    }
+
+    private static long sizeOf(File entry) {
+        long size = 0;
+        File[] files = entry.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private File entryDir(HashCode key) {
+        return new File(getBaseDir(), key.toString());
+    }
+
+    private synchronized File getBaseDir() {
+        if (cache == null) {
+            cache = cacheRepository
+                .cache("native-object-files")
+                .withDisplayName("native object file cache")
+                .withCrossVersionCache()
+                .withLockOptions(mode(FileLockManager.LockMode.None))
+                .open();
+        }
+        return cache.getBaseDir();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.gradle.api.Nullable;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.internal.tasks.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.nativeplatform.internal.CompilerOutputFileNamingScheme;
+import org.gradle.nativeplatform.platform.NativePlatform;
+import org.gradle.nativeplatform.toolchain.internal.CompilerMetadata;
+import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Restores the object files of source files from the {@link ObjectFileCache} instead of compiling them, and stores the object files of the source
+ * files it does compile.
+ *
+ * <p>The cache key of a source file is made up of the content of the source file, the content of the headers it includes, the tool chain, the compiler
+ * executable, version and system include directories, the content of all files in the system include directories, the target platform, the compiler
+ * arguments and the absolute path of the source file. The path is part of the key as the compiler embeds it in the object file, for example in debug
+ * information and in expansions of {@code __FILE__}. System headers include each other in ways that cannot be determined without the preprocessor, so
+ * the system include directories are hashed as a whole, once per compilation. A source file is not cached when the headers it includes cannot be
+ * determined, either because an include uses a macro or because the compiler arguments add include paths that are not known to Gradle.</p>
+ */
+public class ObjectFileCachingCompiler<T extends NativeCompileSpec> implements Compiler<T> {
+    private static final String[] INCLUDE_PATH_ARGS = {"-I", "-isystem", "-iquote", "-idirafter", "-include", "-imacros", "/I", "/FI"};
+
+    private final Compiler<T> delegate;
+    private final ObjectFileCache objectFileCache;
+    private final String toolChainId;
+    private final CompilerMetadata compilerMetadata;
+    private final CompilationState compilationState;
+    private HashCode systemIncludesHash;
+
+    public ObjectFileCachingCompiler(Compiler<T> delegate, ObjectFileCache objectFileCache, String toolChainId, CompilerMetadata compilerMetadata, CompilationState compilationState) {
+        this.delegate = delegate;
+        this.objectFileCache = objectFileCache;
+        this.toolChainId = toolChainId;
+        this.compilerMetadata = compilerMetadata;
+        this.compilationState = compilationState;
+    }
+
+    @Override
+    public WorkResult execute(T spec) {
+        Map<File, HashCode> cacheKeys = new LinkedHashMap<File, HashCode>();
+        List<File> sourcesToCompile = new ArrayList<File>();
+        boolean restored = false;
+        for (File sourceFile : spec.getSourceFiles()) {
+            HashCode cacheKey = cacheKey(spec, sourceFile);
+            if (cacheKey != null && objectFileCache.restore(cacheKey, outputDir(spec, sourceFile))) {
+                restored = true;
+                continue;
+            }
+            if (cacheKey != null) {
+                cacheKeys.put(sourceFile, cacheKey);
+            }
+            sourcesToCompile.add(sourceFile);
+        }
+
+        spec.setSourceFiles(sourcesToCompile);
+        WorkResult result = delegate.execute(spec);
+
+        for (Map.Entry<File, HashCode> entry : cacheKeys.entrySet()) {
+            objectFileCache.store(entry.getValue(), outputDir(spec, entry.getKey()));
+        }
+        return restored ? new SimpleWorkResult(true) : result;
+    }
+
+    private static File outputDir(NativeCompileSpec spec, File sourceFile) {
+        return new CompilerOutputFileNamingScheme()
+            .withObjectFileNameSuffix("")
+            .withOutputBaseFolder(spec.getObjectFileDir())
+            .map(sourceFile)
+            .getParentFile();
+    }
+
+    @Nullable
+    private HashCode cacheKey(T spec, File sourceFile) {
+        if (spec.getPreCompiledHeader() != null || spec.getPrefixHeaderFile() != null) {
+            return null;
+        }
+        List<String> args = spec.getAllArgs();
+        if (hasArgWithPrefix(args, INCLUDE_PATH_ARGS)) {
+            return null;
+        }
+
+        Hasher hasher = Hashing.md5().newHasher();
+        hasher.putString(spec.getClass().getName(), Charsets.UTF_8);
+        hasher.putString(toolChainId, Charsets.UTF_8);
+        hasher.putString(compilerMetadata.getExecutable().getAbsolutePath(), Charsets.UTF_8);
+        hasher.putString(compilerMetadata.getVersion().toString(), Charsets.UTF_8);
+        for (File systemInclude : compilerMetadata.getSystemIncludes()) {
+            hasher.putString(systemInclude.getAbsolutePath(), Charsets.UTF_8);
+        }
+        NativePlatform targetPlatform = spec.getTargetPlatform();
+        hasher.putString(targetPlatform.getArchitecture().getName(), Charsets.UTF_8);
+        hasher.putString(targetPlatform.getOperatingSystem().getName(), Charsets.UTF_8);
+        for (String arg : args) {
+            hasher.putString(arg, Charsets.UTF_8);
+        }
+        for (Map.Entry<String, String> macro : new TreeMap<String, String>(spec.getMacros()).entrySet()) {
+            hasher.putString(macro.getKey(), Charsets.UTF_8);
+            hasher.putString(String.valueOf(macro.getValue()), Charsets.UTF_8);
+        }
+        hasher.putBoolean(spec.isPositionIndependentCode());
+        hasher.putString(sourceFile.getAbsolutePath(), Charsets.UTF_8);
+        if (!hashFileAndIncludes(sourceFile, hasher, new HashSet<File>())) {
+            return null;
+        }
+        hasher.putBytes(systemIncludesHash().asBytes());
+        return hasher.hash();
+    }
+
+    private boolean hashFileAndIncludes(File file, Hasher hasher, Set<File> visited) {
+        if (!visited.add(file)) {
+            return true;
+        }
+        CompilationFileState state = compilationState.getState(file);
+        if (state == null) {
+            return false;
+        }
+        hasher.putBytes(state.getHash().asBytes());
+        List<ResolvedInclude> includes = new ArrayList<ResolvedInclude>(state.getResolvedIncludes());
+        Collections.sort(includes, new Comparator<ResolvedInclude>() {
+            @Override
+            public int compare(ResolvedInclude o1, ResolvedInclude o2) {
+                return o1.getInclude().compareTo(o2.getInclude());
+            }
+        });
+        for (ResolvedInclude include : includes) {
+            hasher.putString(include.getInclude(), Charsets.UTF_8);
+            if (include.isMaybeMacro()) {
+                return false;
+            }
+            // Includes that cannot be resolved against the include roots are system headers, which are hashed separately
+            if (!include.isUnknown() && !hashFileAndIncludes(include.getFile(), hasher, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private HashCode systemIncludesHash() {
+        if (systemIncludesHash == null) {
+            Hasher hasher = Hashing.md5().newHasher();
+            for (File systemInclude : compilerMetadata.getSystemIncludes()) {
+                hasher.putString(systemInclude.getAbsolutePath(), Charsets.UTF_8);
+                hashDirectory(systemInclude, "", hasher);
+            }
+            systemIncludesHash = hasher.hash();
+        }
+        return systemIncludesHash;
+    }
+
+    private static void hashDirectory(File dir, String path, Hasher hasher) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String childPath = path + "/" + child.getName();
+            if (child.isDirectory()) {
+                hashDirectory(child, childPath, hasher);
+            } else if (child.isFile()) {
+                hasher.putString(childPath, Charsets.UTF_8);
+                try {
+                    hasher.putBytes(Files.hash(child, Hashing.md5()).asBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private static boolean hasArgWithPrefix(List<String> args, String[] prefixes) {
+        for (String arg : args) {
+            for (String prefix : prefixes) {
+                if (arg.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -16,10 +16,12 @@
 
 package org.gradle.language.nativeplatform.internal.registry;
 
+import org.gradle.cache.CacheRepository;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
 import org.gradle.language.nativeplatform.internal.incremental.DefaultCompilationStateCacheFactory;
 import org.gradle.language.nativeplatform.internal.incremental.IncrementalCompilerBuilder;
+import org.gradle.language.nativeplatform.internal.incremental.ObjectFileCache;
 
 public class NativeLanguageServices implements PluginServiceRegistry {
     @Override
@@ -28,6 +30,7 @@ public class NativeLanguageServices implements PluginServiceRegistry {
 
     @Override
     public void registerBuildSessionServices(ServiceRegistration registration) {
+        registration.addProvider(new BuildSessionScopeServices());
     }
 
     @Override
@@ -43,4 +46,10 @@ public class NativeLanguageServices implements PluginServiceRegistry {
     public void registerProjectServices(ServiceRegistration registration) {
         registration.add(IncrementalCompilerBuilder.class);
     }
+
+    private static class BuildSessionScopeServices {
+        ObjectFileCache createObjectFileCache(CacheRepository cacheRepository) {
+            return new ObjectFileCache(cacheRepository);
+        }
+    }
 }
@@ -40,7 +40,7 @@ class IncrementalNativeCompilerTest extends Specification {
     def toolChain = Mock(NativeToolChain)
     def task = Mock(TaskInternal)
     def directoryTreeFactory = TestFiles.directoryFileTreeFactory()
-    def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain, directoryTreeFactory)
+    def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain, directoryTreeFactory, null)
 
     def outputs = Mock(TaskOutputsInternal)
 
@@ -56,7 +56,7 @@ class IncrementalNativeCompilerTest extends Specification {
         compilation.getRemoved() >> [removedSource]
 
         and:
-        compiler.doIncrementalCompile(compilation, spec)
+        compiler.doIncrementalCompile(compilation, spec, delegateCompiler)
 
         then:
         1 * spec.setSourceFiles([newSource])
@@ -81,7 +81,7 @@ class IncrementalNativeCompilerTest extends Specification {
         spec.getSourceFiles() >> sources
 
         and:
-        def result = compiler.doCleanIncrementalCompile(spec)
+        def result = compiler.doCleanIncrementalCompile(spec, delegateCompiler)
 
         then:
         1 * spec.getObjectFileDir() >> outputFile.parentFile
@@ -97,7 +97,7 @@ class IncrementalNativeCompilerTest extends Specification {
     @Unroll
     def "imports are includes for toolchain #tcName"() {
        when:
-       def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain, directoryTreeFactory)
+       def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain, directoryTreeFactory, null)
        then:
        compiler.importsAreIncludes
        where:
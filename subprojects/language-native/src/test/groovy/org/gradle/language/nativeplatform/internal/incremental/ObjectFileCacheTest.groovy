@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental
+
+import com.google.common.hash.HashCode
+import org.gradle.cache.CacheBuilder
+import org.gradle.cache.CacheRepository
+import org.gradle.cache.PersistentCache
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class ObjectFileCacheTest extends Specification {
+    @Rule final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def cacheDir = tmpDir.file("cache")
+    def cacheRepository = Mock(CacheRepository)
+
+    def setup() {
+        def builder = Mock(CacheBuilder)
+        def persistentCache = Stub(PersistentCache) {
+            getBaseDir() >> cacheDir
+        }
+        cacheRepository.cache("native-object-files") >> builder
+        builder.withDisplayName(_) >> builder
+        builder.withCrossVersionCache() >> builder
+        builder.withLockOptions(_) >> builder
+        builder.open() >> persistentCache
+    }
+
+    def "restores the files that were stored for a key"() {
+        def cache = new ObjectFileCache(cacheRepository, 1024)
+        def key = HashCode.fromInt(1)
+        def outputDir = tmpDir.file("out1")
+        outputDir.file("source.o").text = "object"
+        outputDir.file("source.pdb").text = "debug"
+        def restoreDir = tmpDir.file("out2")
+
+        when:
+        cache.store(key, outputDir)
+
+        then:
+        cache.restore(key, restoreDir)
+        restoreDir.file("source.o").text == "object"
+        restoreDir.file("source.pdb").text == "debug"
+    }
+
+    def "does not restore files for an unknown key"() {
+        def cache = new ObjectFileCache(cacheRepository, 1024)
+        def restoreDir = tmpDir.file("out")
+
+        expect:
+        !cache.restore(HashCode.fromInt(1), restoreDir)
+        !restoreDir.exists()
+    }
+
+    def "does not store an entry for an empty output directory"() {
+        def cache = new ObjectFileCache(cacheRepository, 1024)
+        def key = HashCode.fromInt(1)
+
+        when:
+        cache.store(key, tmpDir.createDir("out"))
+
+        then:
+        !cache.restore(key, tmpDir.file("restored"))
+    }
+
+    def "removes least recently used entries when the cache grows beyond its maximum size"() {
+        def cache = new ObjectFileCache(cacheRepository, 280)
+        def keys = (1..3).collect { HashCode.fromInt(it) }
+        keys.eachWithIndex { key, i ->
+            def outputDir = tmpDir.file("out$i")
+            outputDir.file("source.o").text = "x" * 100
+            cache.store(key, outputDir)
+            cacheDir.file(key.toString()).lastModified = 1000L * (i + 1)
+        }
+
+        expect:
+        !cache.restore(keys[0], tmpDir.file("restored0"))
+        cache.restore(keys[1], tmpDir.file("restored1"))
+        cache.restore(keys[2], tmpDir.file("restored2"))
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental
+
+import com.google.common.hash.HashCode
+import org.gradle.api.internal.tasks.SimpleWorkResult
+import org.gradle.language.base.internal.compile.Compiler
+import org.gradle.language.c.internal.DefaultCCompileSpec
+import org.gradle.language.nativeplatform.internal.IncludeType
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultInclude
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultIncludeDirectives
+import org.gradle.nativeplatform.internal.CompilerOutputFileNamingScheme
+import org.gradle.nativeplatform.platform.NativePlatform
+import org.gradle.nativeplatform.toolchain.internal.CompilerMetadata
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.VersionNumber
+import org.junit.Rule
+import spock.lang.Specification
+
+class ObjectFileCachingCompilerTest extends Specification {
+    @Rule final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def delegate = Mock(Compiler)
+    def objectFileCache = Mock(ObjectFileCache)
+    def state = new CompilationState()
+    def systemIncludeDir = tmpDir.createDir("usr/include")
+    def compilerMetadata = new CompilerMetadata(new File("/usr/bin/gcc"), VersionNumber.parse("4.9.2"), [systemIncludeDir])
+    def compiler = new ObjectFileCachingCompiler(delegate, objectFileCache, "gcc", compilerMetadata, state)
+    def spec = new DefaultCCompileSpec()
+    def source1 = tmpDir.file("src/one.c")
+    def source2 = tmpDir.file("src/two.c")
+    def header = tmpDir.file("include/header.h")
+
+    def setup() {
+        spec.targetPlatform = Stub(NativePlatform)
+        spec.objectFileDir = tmpDir.file("objs")
+        spec.source([source1, source2])
+        state.setState(source1, fileState(1, new ResolvedInclude("header.h", header), new ResolvedInclude("stdio.h", null)))
+        state.setState(source2, fileState(2))
+        state.setState(header, fileState(3))
+    }
+
+    def "restores object files from the cache and compiles the remaining source files"() {
+        when:
+        def result = compiler.execute(spec)
+
+        then:
+        1 * objectFileCache.restore(_, outputDir(source1)) >> true
+        1 * objectFileCache.restore(_, outputDir(source2)) >> false
+        1 * delegate.execute(spec) >> { assert spec.sourceFiles == [source2]; new SimpleWorkResult(false) }
+        1 * objectFileCache.store(_, outputDir(source2))
+        0 * objectFileCache._
+
+        and:
+        result.didWork
+    }
+
+    def "cache key changes when an included header changes"() {
+        def keys = []
+        objectFileCache.restore(_, outputDir(source1)) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        compiler.execute(spec)
+        spec.sourceFiles = [source1]
+        compiler.execute(spec)
+        state.setState(header, fileState(4))
+        spec.sourceFiles = [source1]
+        compiler.execute(spec)
+
+        then:
+        keys.size() == 3
+        keys[0] == keys[1]
+        keys[0] != keys[2]
+    }
+
+    def "cache key changes when the compiler changes"() {
+        def keys = []
+        objectFileCache.restore(_, outputDir(source2)) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        compiler.execute(spec)
+        spec.sourceFiles = [source2]
+        compilerFor(new CompilerMetadata(new File("/usr/bin/gcc"), VersionNumber.parse("4.9.3"), [systemIncludeDir])).execute(spec)
+        spec.sourceFiles = [source2]
+        compilerFor(new CompilerMetadata(new File("/opt/gcc/bin/gcc"), VersionNumber.parse("4.9.2"), [systemIncludeDir])).execute(spec)
+        spec.sourceFiles = [source2]
+        compilerFor(new CompilerMetadata(new File("/usr/bin/gcc"), VersionNumber.parse("4.9.2"), [systemIncludeDir, tmpDir.file("other")])).execute(spec)
+
+        then:
+        keys.size() == 4
+        keys.unique().size() == 4
+    }
+
+    def "cache key changes when an included system header changes"() {
+        def systemHeader = systemIncludeDir.file("stdio.h")
+        systemHeader.text = "int printf();"
+        def directives = new DefaultIncludeDirectives()
+        directives.addAll([new DefaultInclude("stdio.h", false, IncludeType.SYSTEM)])
+        state.getState(source2).includeDirectives = directives
+        def keys = []
+        objectFileCache.restore(_, outputDir(source2)) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        compiler.execute(spec)
+        spec.sourceFiles = [source2]
+        compilerFor(compilerMetadata).execute(spec)
+        systemHeader.text = "int printf(const char *format, ...);"
+        spec.sourceFiles = [source2]
+        compilerFor(compilerMetadata).execute(spec)
+
+        then:
+        keys.size() == 3
+        keys[0] == keys[1]
+        keys[0] != keys[2]
+    }
+
+    def "cache key changes when a system header included by another system header changes"() {
+        systemIncludeDir.file("stdio.h").text = "#include <bits/types.h>"
+        def nestedHeader = systemIncludeDir.file("bits/types.h")
+        nestedHeader.text = "typedef int size_t;"
+        def keys = []
+        objectFileCache.restore(_, outputDir(source1)) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        compiler.execute(spec)
+        nestedHeader.text = "typedef long size_t;"
+        spec.sourceFiles = [source1]
+        compilerFor(compilerMetadata).execute(spec)
+
+        then:
+        keys.size() == 2
+        keys[0] != keys[1]
+    }
+
+    def "cache key includes the location of the source file"() {
+        def sameNameElsewhere = tmpDir.file("other/two.c")
+        state.setState(sameNameElsewhere, fileState(2))
+        def keys = []
+        objectFileCache.restore(_, _) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        spec.sourceFiles = [source2]
+        compiler.execute(spec)
+        spec.sourceFiles = [sameNameElsewhere]
+        compiler.execute(spec)
+
+        then:
+        keys.size() == 2
+        keys[0] != keys[1]
+    }
+
+    def "cache key changes when compiler arguments change"() {
+        def keys = []
+        objectFileCache.restore(_, outputDir(source2)) >> { HashCode key, File dir -> keys << key; false }
+        delegate.execute(_) >> new SimpleWorkResult(true)
+
+        when:
+        compiler.execute(spec)
+        spec.sourceFiles = [source2]
+        spec.args(["-O2"])
+        compiler.execute(spec)
+
+        then:
+        keys.size() == 2
+        keys[0] != keys[1]
+    }
+
+    def "does not cache source files that include headers using macros"() {
+        state.setState(source1, fileState(1, new ResolvedInclude("HEADER", null)))
+
+        when:
+        compiler.execute(spec)
+
+        then:
+        0 * objectFileCache.restore(_, outputDir(source1))
+        0 * objectFileCache.store(_, outputDir(source1))
+        1 * delegate.execute(spec) >> new SimpleWorkResult(true)
+    }
+
+    def "does not cache source files when compiler arguments add include paths"() {
+        spec.args(["-I/usr/local/include"])
+
+        when:
+        compiler.execute(spec)
+
+        then:
+        0 * objectFileCache._
+        1 * delegate.execute(spec) >> new SimpleWorkResult(true)
+    }
+
+    private ObjectFileCachingCompiler compilerFor(CompilerMetadata compilerMetadata) {
+        return new ObjectFileCachingCompiler(delegate, objectFileCache, "gcc", compilerMetadata, state)
+    }
+
+    private File outputDir(File sourceFile) {
+        return new CompilerOutputFileNamingScheme().withObjectFileNameSuffix("").withOutputBaseFolder(spec.objectFileDir).map(sourceFile).parentFile
+    }
+
+    private static CompilationFileState fileState(int hash, ResolvedInclude... includes) {
+        def state = new CompilationFileState(HashCode.fromInt(hash))
+        state.resolvedIncludes = includes as Set
+        return state
+    }
+}
@@ -32,6 +32,7 @@ package org.gradle.api.internal.tasks.scala;
  * limitations under the License.
  */
 
+import com.google.common.collect.Lists;
 import org.gradle.api.internal.tasks.compile.daemon.AbstractDaemonCompiler;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
 import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
@@ -41,8 +42,23 @@ import org.gradle.language.base.internal.compile.Compiler;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Runs Scala compilation in a compiler daemon.
+ *
+ * <p>Zinc keeps the compilers it has created, resident scalac instances and loaded analysis in memory, bounded by the limits passed to the daemon.
+ * The limits can be changed with the {@value #COMPILER_CACHE_LIMIT_PROPERTY}, {@value #RESIDENT_COMPILER_LIMIT_PROPERTY} and {@value #ANALYSIS_CACHE_LIMIT_PROPERTY}
+ * system properties. As the limits are part of the fork options, daemons are only reused by compile tasks that use the same limits.</p>
+ */
 public class DaemonScalaCompiler<T extends ScalaJavaJointCompileSpec> extends AbstractDaemonCompiler<T> {
+    public static final String COMPILER_CACHE_LIMIT_PROPERTY = "org.gradle.scala.zinc.compilerCacheLimit";
+    public static final String RESIDENT_COMPILER_LIMIT_PROPERTY = "org.gradle.scala.zinc.residentCompilerLimit";
+    public static final String ANALYSIS_CACHE_LIMIT_PROPERTY = "org.gradle.scala.zinc.analysisCacheLimit";
+    private static final int DEFAULT_COMPILER_CACHE_LIMIT = 5;
+    // Resident compilers are experimental in Zinc, so are only used when requested
+    private static final int DEFAULT_RESIDENT_COMPILER_LIMIT = 0;
+    private static final int DEFAULT_ANALYSIS_CACHE_LIMIT = 50;
     private static final Iterable<String> SHARED_PACKAGES = Arrays.asList("scala", "com.typesafe.zinc", "xsbti", "com.sun.tools.javac");
     private final Iterable<File> zincClasspath;
 
@@ -63,8 +79,17 @@ public class DaemonScalaCompiler<T extends ScalaJavaJointCompileSpec> extends Ab
 
     private DaemonForkOptions createScalaForkOptions(T spec) {
         ScalaForkOptions options = spec.getScalaCompileOptions().getForkOptions();
+        List<String> jvmArgs = Lists.newArrayList(options.getJvmArgs());
+        jvmArgs.addAll(zincCacheJvmArgs());
         return new DaemonForkOptions(options.getMemoryInitialSize(), options.getMemoryMaximumSize(),
-                options.getJvmArgs(), zincClasspath, SHARED_PACKAGES);
+                jvmArgs, zincClasspath, SHARED_PACKAGES);
+    }
+
+    static List<String> zincCacheJvmArgs() {
+        return Arrays.asList(
+            "-Dzinc.compiler.cache.limit=" + Integer.getInteger(COMPILER_CACHE_LIMIT_PROPERTY, DEFAULT_COMPILER_CACHE_LIMIT),
+            "-Dzinc.resident.cache.limit=" + Integer.getInteger(RESIDENT_COMPILER_LIMIT_PROPERTY, DEFAULT_RESIDENT_COMPILER_LIMIT),
+            "-Dzinc.analysis.cache.limit=" + Integer.getInteger(ANALYSIS_CACHE_LIMIT_PROPERTY, DEFAULT_ANALYSIS_CACHE_LIMIT));
     }
 }
 
@@ -16,8 +16,11 @@
 
 package org.gradle.api.internal.tasks.scala;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.typesafe.zinc.*;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.internal.tasks.compile.CompilationFailedException;
@@ -26,6 +29,7 @@ import org.gradle.cache.PersistentCache;
 import org.gradle.cache.internal.*;
 import org.gradle.internal.Factory;
 import org.gradle.internal.SystemProperties;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.nativeintegration.services.NativeServices;
 import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.scopes.GlobalScopeServices;
@@ -41,7 +45,10 @@ import xsbti.F0;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 
@@ -68,13 +75,19 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
 
     // need to defer loading of Zinc/sbt/Scala classes until we are
     // running in the compiler daemon and have them on the class path
-    private static class Compiler {
+    static class Compiler {
+        // The compilers created by this daemon, so that later compilations can skip locking the shared Zinc cache directory.
+        // Uses the same limit as the compiler cache of Zinc.
+        private static final Cache<List<List<File>>, com.typesafe.zinc.Compiler> COMPILERS = CacheBuilder.newBuilder()
+            .maximumSize(Integer.getInteger("zinc.compiler.cache.limit", 5))
+            .build();
+
         static WorkResult execute(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, File gradleUserHome, final ScalaJavaJointCompileSpec spec) {
             LOGGER.info("Compiling with Zinc Scala compiler.");
 
             final xsbti.Logger logger = new SbtLoggerAdapter();
 
-            com.typesafe.zinc.Compiler compiler = createParallelSafeCompiler(scalaClasspath, zincClasspath, logger, gradleUserHome);
+            com.typesafe.zinc.Compiler compiler = getCompiler(scalaClasspath, zincClasspath, logger, gradleUserHome);
 
             List<String> scalacOptions = new ZincScalaCompilerArgumentsGenerator().generate(spec);
             List<String> javacOptions = new JavaCompilerArgumentsBuilder(spec).includeClasspath(false).build();
@@ -126,6 +139,31 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
             return compiler;
         }
 
+        static com.typesafe.zinc.Compiler getCompiler(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final xsbti.Logger logger, final File gradleUserHome) {
+            return getOrCreateCompiler(scalaClasspath, zincClasspath, new Callable<com.typesafe.zinc.Compiler>() {
+                @Override
+                public com.typesafe.zinc.Compiler call() {
+                    return createParallelSafeCompiler(scalaClasspath, zincClasspath, logger, gradleUserHome);
+                }
+            });
+        }
+
+        static com.typesafe.zinc.Compiler getOrCreateCompiler(Iterable<File> scalaClasspath, Iterable<File> zincClasspath, Callable<com.typesafe.zinc.Compiler> factory) {
+            List<List<File>> key = Arrays.<List<File>>asList(ImmutableList.copyOf(scalaClasspath), ImmutableList.copyOf(zincClasspath));
+            com.typesafe.zinc.Compiler compiler = COMPILERS.getIfPresent(key);
+            if (compiler != null) {
+                LOGGER.info("Reusing Zinc compiler created by an earlier compilation.");
+                return compiler;
+            }
+            try {
+                return COMPILERS.get(key, factory);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            } catch (UncheckedExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
+
         static com.typesafe.zinc.Compiler createParallelSafeCompiler(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final xsbti.Logger logger, File gradleUserHome) {
             File zincCacheHomeDir = new File(System.getProperty(ZINC_CACHE_HOME_DIR_SYSTEM_PROPERTY, gradleUserHome.getAbsolutePath()));
             CacheRepository cacheRepository = ZincCompilerServices.getInstance(zincCacheHomeDir).get(CacheRepository.class);
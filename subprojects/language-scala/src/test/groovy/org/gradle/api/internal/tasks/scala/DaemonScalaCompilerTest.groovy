@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala
+
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+class DaemonScalaCompilerTest extends Specification {
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
+    def "passes default Zinc cache limits to the compiler daemon"() {
+        expect:
+        DaemonScalaCompiler.zincCacheJvmArgs() == [
+            "-Dzinc.compiler.cache.limit=5",
+            "-Dzinc.resident.cache.limit=0",
+            "-Dzinc.analysis.cache.limit=50"
+        ]
+    }
+
+    def "passes Zinc cache limits set by system properties to the compiler daemon"() {
+        System.setProperty(DaemonScalaCompiler.COMPILER_CACHE_LIMIT_PROPERTY, "2")
+        System.setProperty(DaemonScalaCompiler.RESIDENT_COMPILER_LIMIT_PROPERTY, "1")
+        System.setProperty(DaemonScalaCompiler.ANALYSIS_CACHE_LIMIT_PROPERTY, "10")
+
+        expect:
+        DaemonScalaCompiler.zincCacheJvmArgs() == [
+            "-Dzinc.compiler.cache.limit=2",
+            "-Dzinc.resident.cache.limit=1",
+            "-Dzinc.analysis.cache.limit=10"
+        ]
+    }
+
+    def "uses default Zinc cache limit when system property is not a number"() {
+        System.setProperty(DaemonScalaCompiler.ANALYSIS_CACHE_LIMIT_PROPERTY, "lots")
+
+        expect:
+        DaemonScalaCompiler.zincCacheJvmArgs().contains("-Dzinc.analysis.cache.limit=50")
+    }
+}
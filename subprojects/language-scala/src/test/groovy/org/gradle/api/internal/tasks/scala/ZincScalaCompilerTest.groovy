@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+
+class ZincScalaCompilerTest extends Specification {
+    def scalaClasspath = [new File("scala-library.jar"), new File("scala-compiler.jar")]
+    def zincClasspath = [new File("zinc.jar")]
+    def factory = Mock(Callable)
+
+    def cleanup() {
+        ZincScalaCompiler.Compiler.COMPILERS.invalidateAll()
+    }
+
+    def "reuses compiler created for the same Scala and Zinc classpaths"() {
+        def compiler = Stub(com.typesafe.zinc.Compiler)
+
+        when:
+        def first = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, zincClasspath, factory)
+        def second = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath.collect { new File(it.path) }, zincClasspath.collect { new File(it.path) }, factory)
+
+        then:
+        1 * factory.call() >> compiler
+        first.is(compiler)
+        second.is(compiler)
+    }
+
+    def "does not share compiler between different Scala classpaths"() {
+        def compiler1 = Stub(com.typesafe.zinc.Compiler)
+        def compiler2 = Stub(com.typesafe.zinc.Compiler)
+
+        when:
+        def first = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, zincClasspath, factory)
+        def second = ZincScalaCompiler.Compiler.getOrCreateCompiler([new File("scala-library-2.11.jar"), new File("scala-compiler-2.11.jar")], zincClasspath, factory)
+
+        then:
+        2 * factory.call() >>> [compiler1, compiler2]
+        first.is(compiler1)
+        second.is(compiler2)
+    }
+
+    def "does not share compiler between different Zinc classpaths"() {
+        def compiler1 = Stub(com.typesafe.zinc.Compiler)
+        def compiler2 = Stub(com.typesafe.zinc.Compiler)
+
+        when:
+        def first = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, zincClasspath, factory)
+        def second = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, [new File("zinc-0.3.9.jar")], factory)
+
+        then:
+        2 * factory.call() >>> [compiler1, compiler2]
+        first.is(compiler1)
+        second.is(compiler2)
+    }
+
+    def "does not keep compiler when it cannot be created"() {
+        def failure = new RuntimeException("broken")
+        def compiler = Stub(com.typesafe.zinc.Compiler)
+
+        when:
+        ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, zincClasspath, factory)
+
+        then:
+        1 * factory.call() >> { throw failure }
+        def e = thrown(RuntimeException)
+        e.is(failure)
+
+        when:
+        def result = ZincScalaCompiler.Compiler.getOrCreateCompiler(scalaClasspath, zincClasspath, factory)
+
+        then:
+        1 * factory.call() >> compiler
+        result.is(compiler)
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.publish.maven.internal.publisher;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.gradle.api.Transformer;
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport;
+import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransportFactory;
+import org.gradle.api.publish.maven.MavenArtifact;
+import org.gradle.api.resources.ResourceException;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.artifacts.repositories.AuthenticationSupportedInternal;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.internal.resource.ExternalResource;
+import org.gradle.internal.resource.ExternalResourceName;
+import org.gradle.internal.resource.local.ByteArrayLocalResource;
+import org.gradle.internal.resource.local.FileLocalResource;
+import org.gradle.internal.resource.local.LocalResource;
+import org.gradle.internal.resource.transport.ExternalResourceRepository;
+import org.gradle.util.GUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link MavenPublisher} that uploads directly to the repository using Gradle's resource transports, rather than using the Maven Ant Tasks.
+ *
+ * <p>This publisher holds no static state, so it does not need to be wrapped in a {@link StaticLockingMavenPublisher} and publications can be published in parallel.
+ * The artifacts and POM of a publication are uploaded concurrently, and the SHA1 and MD5 checksums of each file are calculated while the file is being uploaded.
+ * Once all files have been uploaded, the {@code maven-metadata.xml} files are updated. Each metadata file is updated while holding a lock for that file, so
+ * that concurrent publications of the same module within this process do not lose updates. For a snapshot version the lock for the version's metadata is held for the
+ * whole publication, so that each publication is allocated a unique build number.</p>
+ */
+public class ConcurrentMavenPublisher implements MavenPublisher {
+    /**
+     * When set to {@code true}, publishing to a Maven repository uses this publisher rather than the Maven Ant Tasks.
+     */
+    public static final String CONCURRENT_PUBLISHING_PROPERTY = "org.gradle.internal.publish.maven.concurrent";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMavenPublisher.class);
+    private static final int MAX_CONCURRENT_UPLOADS = 4;
+    private static final String SNAPSHOT_VERSION = "SNAPSHOT";
+    private static final String METADATA_FILE_NAME = "maven-metadata.xml";
+
+    // One lock per metadata location. Locks are only ever taken in the order version metadata, then module metadata
+    private static final LoadingCache<String, Lock> METADATA_LOCKS = CacheBuilder.newBuilder()
+        .weakValues()
+        .build(new CacheLoader<String, Lock>() {
+            @Override
+            public Lock load(String location) {
+                return new ReentrantLock();
+            }
+        });
+
+    private final RepositoryTransportFactory repositoryTransportFactory;
+    private final ExecutorFactory executorFactory;
+
+    public ConcurrentMavenPublisher(RepositoryTransportFactory repositoryTransportFactory, ExecutorFactory executorFactory) {
+        this.repositoryTransportFactory = repositoryTransportFactory;
+        this.executorFactory = executorFactory;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(CONCURRENT_PUBLISHING_PROPERTY);
+    }
+
+    public void publish(MavenNormalizedPublication publication, MavenArtifactRepository artifactRepository) {
+        LOGGER.info("Publishing to repository {}", artifactRepository);
+        String protocol = artifactRepository.getUrl().getScheme().toLowerCase();
+        RepositoryTransport transport = repositoryTransportFactory.createTransport(protocol, artifactRepository.getName(),
+            ((AuthenticationSupportedInternal) artifactRepository).getConfiguredAuthentication());
+        publish(publication, transport.getRepository().withProgressLogging(), artifactRepository.getUrl());
+    }
+
+    /**
+     * Publishes the given publication to the given repository, whose root is the given location.
+     */
+    public void publish(MavenNormalizedPublication publication, ExternalResourceRepository repository, URI rootUri) {
+        MavenProjectIdentity identity = publication.getProjectIdentity();
+        ModuleLocation module = new ModuleLocation(rootUri, identity);
+        Date now = new Date();
+
+        if (!module.isSnapshot()) {
+            uploadFiles(publication, repository, module, identity.getVersion());
+            updateModuleMetadata(repository, module, now);
+            return;
+        }
+
+        Lock versionLock = METADATA_LOCKS.getUnchecked(module.getVersionMetadataLocation().toString());
+        versionLock.lock();
+        try {
+            Metadata versionMetadata = readMetadata(repository, module.getVersionMetadataLocation());
+            Snapshot snapshot = new Snapshot();
+            snapshot.setTimestamp(utcFormat("yyyyMMdd.HHmmss", now));
+            snapshot.setBuildNumber(versionMetadata == null || versionMetadata.getVersioning() == null || versionMetadata.getVersioning().getSnapshot() == null
+                ? 1 : versionMetadata.getVersioning().getSnapshot().getBuildNumber() + 1);
+            String baseVersion = identity.getVersion();
+            String uniqueVersion = baseVersion.substring(0, baseVersion.length() - SNAPSHOT_VERSION.length()) + snapshot.getTimestamp() + "-" + snapshot.getBuildNumber();
+
+            List<SnapshotVersion> snapshotVersions = uploadFiles(publication, repository, module, uniqueVersion);
+            updateVersionMetadata(repository, module, versionMetadata, snapshot, snapshotVersions, now);
+            updateModuleMetadata(repository, module, now);
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    private List<SnapshotVersion> uploadFiles(MavenNormalizedPublication publication, ExternalResourceRepository repository, ModuleLocation module, String version) {
+        List<Upload> uploads = new ArrayList<Upload>();
+        uploads.add(new Upload(repository, publication.getPomFile(), module.getArtifactLocation(version, "", "pom"), "", "pom", version));
+        for (MavenArtifact artifact : publication.getArtifacts()) {
+            String classifier = GUtil.elvis(artifact.getClassifier(), "");
+            String extension = GUtil.elvis(artifact.getExtension(), "");
+            uploads.add(new Upload(repository, artifact.getFile(), module.getArtifactLocation(version, classifier, extension), classifier, extension, version));
+        }
+
+        StoppableExecutor executor = executorFactory.create("Maven publish", Math.min(uploads.size(), MAX_CONCURRENT_UPLOADS));
+        try {
+            List<Future<SnapshotVersion>> results = new ArrayList<Future<SnapshotVersion>>(uploads.size());
+            for (Upload upload : uploads) {
+                results.add(executor.submit(upload));
+            }
+            List<SnapshotVersion> snapshotVersions = new ArrayList<SnapshotVersion>(uploads.size());
+            for (Future<SnapshotVersion> result : results) {
+                snapshotVersions.add(result.get());
+            }
+            return snapshotVersions;
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private void updateVersionMetadata(ExternalResourceRepository repository, ModuleLocation module, Metadata existing, Snapshot snapshot, List<SnapshotVersion> snapshotVersions, Date now) {
+        Metadata metadata = existing == null ? module.newMetadata() : existing;
+        metadata.setVersion(module.getVersion());
+        Versioning versioning = versioningFor(metadata);
+        versioning.setSnapshot(snapshot);
+        String updated = utcFormat("yyyyMMddHHmmss", now);
+        for (SnapshotVersion snapshotVersion : snapshotVersions) {
+            snapshotVersion.setUpdated(updated);
+        }
+        versioning.setSnapshotVersions(snapshotVersions);
+        versioning.setLastUpdated(updated);
+        writeMetadata(repository, module.getVersionMetadataLocation(), metadata);
+    }
+
+    private void updateModuleMetadata(ExternalResourceRepository repository, ModuleLocation module, Date now) {
+        Lock moduleLock = METADATA_LOCKS.getUnchecked(module.getModuleMetadataLocation().toString());
+        moduleLock.lock();
+        try {
+            Metadata metadata = readMetadata(repository, module.getModuleMetadataLocation());
+            if (metadata == null) {
+                metadata = module.newMetadata();
+            }
+            Versioning versioning = versioningFor(metadata);
+            if (!versioning.getVersions().contains(module.getVersion())) {
+                versioning.addVersion(module.getVersion());
+            }
+            versioning.setLatest(module.getVersion());
+            if (!module.isSnapshot()) {
+                versioning.setRelease(module.getVersion());
+            }
+            versioning.setLastUpdated(utcFormat("yyyyMMddHHmmss", now));
+            writeMetadata(repository, module.getModuleMetadataLocation(), metadata);
+        } finally {
+            moduleLock.unlock();
+        }
+    }
+
+    private static Versioning versioningFor(Metadata metadata) {
+        if (metadata.getVersioning() == null) {
+            metadata.setVersioning(new Versioning());
+        }
+        return metadata.getVersioning();
+    }
+
+    private static Metadata readMetadata(ExternalResourceRepository repository, final URI location) {
+        ExternalResource resource = repository.getResource(location);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            return resource.withContent(new Transformer<Metadata, InputStream>() {
+                @Override
+                public Metadata transform(InputStream inputStream) {
+                    try {
+                        return new MetadataXpp3Reader().read(inputStream, false);
+                    } catch (Exception e) {
+                        throw new ResourceException(location, String.format("Unable to load Maven meta-data from %s.", location), e);
+                    }
+                }
+            });
+        } finally {
+            resource.close();
+        }
+    }
+
+    private static void writeMetadata(ExternalResourceRepository repository, URI location, Metadata metadata) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            new MetadataXpp3Writer().write(content, metadata);
+            byte[] bytes = content.toByteArray();
+            repository.put(new ByteArrayLocalResource(bytes), location);
+            putChecksums(repository, location, checksums(bytes));
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static Checksums checksums(byte[] bytes) {
+        Checksums checksums = new Checksums();
+        checksums.update(bytes, 0, bytes.length);
+        return checksums;
+    }
+
+    private static void putChecksums(ExternalResourceRepository repository, URI location, Checksums checksums) throws IOException {
+        repository.put(new ByteArrayLocalResource(checksums.getSha1().asZeroPaddedHexString(40).getBytes("US-ASCII")), URI.create(location + ".sha1"));
+        repository.put(new ByteArrayLocalResource(checksums.getMd5().asZeroPaddedHexString(32).getBytes("US-ASCII")), URI.create(location + ".md5"));
+    }
+
+    private static String utcFormat(String pattern, Date date) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(date);
+    }
+
+    private static class Upload implements Callable<SnapshotVersion> {
+        private final ExternalResourceRepository repository;
+        private final File file;
+        private final URI destination;
+        private final String classifier;
+        private final String extension;
+        private final String version;
+
+        Upload(ExternalResourceRepository repository, File file, URI destination, String classifier, String extension, String version) {
+            this.repository = repository;
+            this.file = file;
+            this.destination = destination;
+            this.classifier = classifier;
+            this.extension = extension;
+            this.version = version;
+        }
+
+        @Override
+        public SnapshotVersion call() throws IOException {
+            ChecksummingLocalResource resource = new ChecksummingLocalResource(file);
+            repository.put(resource, destination);
+            putChecksums(repository, destination, resource.getChecksums());
+            LOGGER.info("Published {} to {}", file.getName(), destination);
+
+            SnapshotVersion snapshotVersion = new SnapshotVersion();
+            snapshotVersion.setClassifier(classifier);
+            snapshotVersion.setExtension(extension);
+            snapshotVersion.setVersion(version);
+            return snapshotVersion;
+        }
+    }
+
+    /**
+     * A file resource that calculates the checksums of its content as it is read. The checksums are reset each time the resource is opened, so that
+     * a transport that retries an upload produces the checksums of the last attempt.
+     */
+    private static class ChecksummingLocalResource implements LocalResource {
+        private final FileLocalResource delegate;
+        private Checksums checksums;
+
+        ChecksummingLocalResource(File file) {
+            this.delegate = new FileLocalResource(file);
+        }
+
+        @Override
+        public InputStream open() {
+            checksums = new Checksums();
+            return new DigestInputStream(new DigestInputStream(delegate.open(), checksums.sha1), checksums.md5);
+        }
+
+        @Override
+        public long getContentLength() {
+            return delegate.getContentLength();
+        }
+
+        Checksums getChecksums() {
+            return checksums;
+        }
+    }
+
+    private static class Checksums {
+        private final MessageDigest sha1 = digest("SHA1");
+        private final MessageDigest md5 = digest("MD5");
+
+        void update(byte[] bytes, int offset, int length) {
+            sha1.update(bytes, offset, length);
+            md5.update(bytes, offset, length);
+        }
+
+        HashValue getSha1() {
+            return new HashValue(sha1.digest());
+        }
+
+        HashValue getMd5() {
+            return new HashValue(md5.digest());
+        }
+
+        private static MessageDigest digest(String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+    }
+
+    private static class ModuleLocation {
+        private final URI rootUri;
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String modulePath;
+
+        ModuleLocation(URI rootUri, MavenProjectIdentity identity) {
+            this.rootUri = rootUri;
+            this.groupId = identity.getGroupId();
+            this.artifactId = identity.getArtifactId();
+            this.version = identity.getVersion();
+            this.modulePath = groupId.replace('.', '/') + "/" + artifactId;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        boolean isSnapshot() {
+            return version.endsWith("-" + SNAPSHOT_VERSION);
+        }
+
+        URI getModuleMetadataLocation() {
+            return resolve(modulePath + "/" + METADATA_FILE_NAME);
+        }
+
+        URI getVersionMetadataLocation() {
+            return resolve(modulePath + "/" + version + "/" + METADATA_FILE_NAME);
+        }
+
+        URI getArtifactLocation(String artifactVersion, String classifier, String extension) {
+            StringBuilder path = new StringBuilder(modulePath).append('/').append(version).append('/').append(artifactId).append('-').append(artifactVersion);
+            if (classifier.length() > 0) {
+                path.append('-').append(classifier);
+            }
+            if (extension.length() > 0) {
+                path.append('.').append(extension);
+            }
+            return resolve(path.toString());
+        }
+
+        Metadata newMetadata() {
+            Metadata metadata = new Metadata();
+            metadata.setGroupId(groupId);
+            metadata.setArtifactId(artifactId);
+            return metadata;
+        }
+
+        private URI resolve(String path) {
+            return new ExternalResourceName(rootUri, path).getUri();
+        }
+    }
+}
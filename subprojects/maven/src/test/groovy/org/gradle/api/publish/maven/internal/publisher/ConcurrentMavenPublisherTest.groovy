@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.publish.maven.internal.publisher
+
+import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransportFactory
+import org.gradle.api.publish.maven.MavenArtifact
+import org.gradle.api.publish.maven.internal.publication.DefaultMavenProjectIdentity
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.hash.HashUtil
+import org.gradle.internal.resource.transport.file.FileResourceConnector
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ConcurrentMavenPublisherTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def executorFactory = new DefaultExecutorFactory()
+    def publisher = new ConcurrentMavenPublisher(Stub(RepositoryTransportFactory), executorFactory)
+    def repository = new FileResourceConnector()
+    def repoDir = testDir.createDir("repo")
+
+    def cleanup() {
+        executorFactory.stop()
+    }
+
+    def "publishes artifacts, pom, checksums and metadata for release version"() {
+        def publication = publication("1.0", artifact("jar", null, "main"), artifact("jar", "sources", "sources"))
+
+        when:
+        publisher.publish(publication, repository, repoDir.toURI())
+
+        then:
+        def versionDir = repoDir.file("org/test/module/1.0")
+        versionDir.file("module-1.0.jar").text == "main"
+        versionDir.file("module-1.0-sources.jar").text == "sources"
+        versionDir.file("module-1.0.pom").text == "pom"
+        checksumsValid(versionDir.file("module-1.0.jar"))
+        checksumsValid(versionDir.file("module-1.0-sources.jar"))
+        checksumsValid(versionDir.file("module-1.0.pom"))
+
+        and:
+        def metadata = new XmlSlurper().parse(repoDir.file("org/test/module/maven-metadata.xml"))
+        metadata.groupId == "org.test"
+        metadata.artifactId == "module"
+        metadata.versioning.latest == "1.0"
+        metadata.versioning.release == "1.0"
+        metadata.versioning.versions.version*.text() == ["1.0"]
+        checksumsValid(repoDir.file("org/test/module/maven-metadata.xml"))
+    }
+
+    def "adds version to existing module metadata"() {
+        when:
+        publisher.publish(publication("1.0", artifact("jar", null, "1")), repository, repoDir.toURI())
+        publisher.publish(publication("2.0", artifact("jar", null, "2")), repository, repoDir.toURI())
+        publisher.publish(publication("1.0", artifact("jar", null, "1")), repository, repoDir.toURI())
+
+        then:
+        def metadata = new XmlSlurper().parse(repoDir.file("org/test/module/maven-metadata.xml"))
+        metadata.versioning.latest == "1.0"
+        metadata.versioning.release == "1.0"
+        metadata.versioning.versions.version*.text() == ["1.0", "2.0"]
+    }
+
+    def "publishes snapshot version with unique timestamped version"() {
+        when:
+        publisher.publish(publication("1.0-SNAPSHOT", artifact("jar", null, "first")), repository, repoDir.toURI())
+        publisher.publish(publication("1.0-SNAPSHOT", artifact("jar", null, "second"), artifact("jar", "sources", "sources")), repository, repoDir.toURI())
+
+        then:
+        def versionDir = repoDir.file("org/test/module/1.0-SNAPSHOT")
+        def metadata = new XmlSlurper().parse(versionDir.file("maven-metadata.xml"))
+        metadata.version == "1.0-SNAPSHOT"
+        metadata.versioning.snapshot.buildNumber == "2"
+        def timestamp = metadata.versioning.snapshot.timestamp.text()
+        metadata.versioning.snapshotVersions.snapshotVersion.collect { "${it.classifier}:${it.extension}:${it.value}".toString() } as Set == [
+            ":pom:1.0-${timestamp}-2",
+            ":jar:1.0-${timestamp}-2",
+            "sources:jar:1.0-${timestamp}-2"
+        ]*.toString() as Set
+
+        and:
+        versionDir.file("module-1.0-${timestamp}-2.jar").text == "second"
+        versionDir.file("module-1.0-${timestamp}-2-sources.jar").text == "sources"
+        checksumsValid(versionDir.file("module-1.0-${timestamp}-2.jar"))
+        versionDir.listFiles().findAll { it.name.endsWith(".jar") && !it.name.contains("sources") }.size() == 2
+
+        and:
+        def moduleMetadata = new XmlSlurper().parse(repoDir.file("org/test/module/maven-metadata.xml"))
+        moduleMetadata.versioning.latest == "1.0-SNAPSHOT"
+        moduleMetadata.versioning.release.text() == ""
+    }
+
+    def "does not lose metadata updates when versions are published concurrently"() {
+        def versions = (1..10).collect { "${it}.0".toString() }
+        def start = new CountDownLatch(1)
+        def executor = executorFactory.create("test")
+
+        when:
+        versions.each { version ->
+            executor.execute {
+                start.await()
+                publisher.publish(publication(version, artifact("jar", null, version)), repository, repoDir.toURI())
+            }
+        }
+        start.countDown()
+        executor.stop(30, TimeUnit.SECONDS)
+
+        then:
+        def metadata = new XmlSlurper().parse(repoDir.file("org/test/module/maven-metadata.xml"))
+        metadata.versioning.versions.version*.text() as Set == versions as Set
+    }
+
+    private MavenNormalizedPublication publication(String version, MavenArtifact... artifacts) {
+        def pomFile = testDir.file("poms/${version}/pom.xml")
+        pomFile.text = "pom"
+        def identity = new DefaultMavenProjectIdentity("org.test", "module", version)
+        return new MavenNormalizedPublication("maven", pomFile, identity, artifacts as Set, null)
+    }
+
+    private MavenArtifact artifact(String extension, String classifier, String content) {
+        def file = testDir.file("artifacts/${classifier}/${content}.${extension}")
+        file.text = content
+        return Stub(MavenArtifact) {
+            getFile() >> file
+            getExtension() >> extension
+            getClassifier() >> classifier
+        }
+    }
+
+    private static boolean checksumsValid(File file) {
+        assert new File(file.path + ".sha1").text == HashUtil.createHash(file, "SHA1").asZeroPaddedHexString(40)
+        assert new File(file.path + ".md5").text == HashUtil.createHash(file, "MD5").asZeroPaddedHexString(32)
+        return true
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.remote;
+
+import org.gradle.api.Action;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.remote.services.MessagingServices;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.DefaultSerializerRegistry;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.Serializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends messages from a client to a server over a local socket, serializing the message parameters either using registered serializers or using
+ * Java serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MessageThroughputBenchmark {
+    private static final int MESSAGES = 10000;
+
+    @Param({"serializers", "java"})
+    String serialization;
+
+    private final Semaphore received = new Semaphore(0);
+    private MessagingServices services;
+    private ConnectionAcceptor acceptor;
+    private ObjectConnection clientConnection;
+    private EventListener listener;
+    private Event event;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        services = new MessagingServices();
+        acceptor = services.get(MessagingServer.class).accept(new Action<ObjectConnection>() {
+            public void execute(ObjectConnection connection) {
+                connection.addIncoming(EventListener.class, new EventListener() {
+                    public void onEvent(Event event) {
+                        received.release();
+                    }
+                });
+                configure(connection);
+                connection.connect();
+            }
+        });
+        clientConnection = services.get(MessagingClient.class).getConnection(acceptor.getAddress());
+        listener = clientConnection.addOutgoing(EventListener.class);
+        configure(clientConnection);
+        clientConnection.connect();
+        event = new Event(1234L, "some log message with a modest amount of text in it");
+    }
+
+    private void configure(ObjectConnection connection) {
+        if (serialization.equals("serializers")) {
+            DefaultSerializerRegistry registry = new DefaultSerializerRegistry();
+            registry.register(Event.class, new EventSerializer());
+            connection.useParameterSerializers(registry);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CompositeStoppable.stoppable(clientConnection, acceptor, services).stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void sendMessages() throws InterruptedException {
+        for (int i = 0; i < MESSAGES; i++) {
+            listener.onEvent(event);
+        }
+        received.acquire(MESSAGES);
+    }
+
+    public interface EventListener {
+        void onEvent(Event event);
+    }
+
+    public static class Event implements Serializable {
+        private final long timestamp;
+        private final String message;
+
+        public Event(long timestamp, String message) {
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+    }
+
+    private static class EventSerializer implements Serializer<Event> {
+        public Event read(Decoder decoder) throws Exception {
+            return new Event(decoder.readLong(), decoder.readString());
+        }
+
+        public void write(Encoder encoder, Event value) throws Exception {
+            encoder.writeLong(value.timestamp);
+            encoder.writeString(value.message);
+        }
+    }
+}
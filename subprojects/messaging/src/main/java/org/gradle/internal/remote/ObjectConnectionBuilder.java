@@ -46,12 +46,15 @@ public interface ObjectConnectionBuilder {
     <T> void addIncoming(Class<T> type, T instance);
 
     /**
-     * Use Java serialization for method parameters for method invocations sent between peers.
+     * Use Java serialization for method parameters for method invocations sent between peers, when the parameter types of the method cannot be
+     * serialized using the serializers registered with {@link #useParameterSerializers(SerializerRegistry)} or the built-in serializers for strings,
+     * files and primitive values. Uses the given class loader to load the classes of incoming parameters.
      */
     void useJavaSerializationForParameters(ClassLoader incomingMessageClassLoader);
 
     /**
-     * Use the specified serializers for all incoming and outgoing method parameters.
+     * Use the specified serializers for incoming and outgoing method parameters of the types that they can serialize. Both peers must use the same
+     * serializers.
      */
     void useParameterSerializers(SerializerRegistry serializers);
 }
@@ -16,17 +16,46 @@
 
 package org.gradle.internal.remote.internal.hub;
 
+import org.gradle.api.Nullable;
+import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.NullSafeStringSerializer;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.serialize.SerializerRegistry;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes method arguments using the serializers of the given registries, followed by built-in serializers for strings, files and primitive
+ * values. The arguments of a method that has a parameter type that cannot be serialized this way are serialized using the given fallback serializer
+ * instead. Both peers must use the same registries, so that they make the same choice for each method.
+ */
 class DefaultMethodArgsSerializer implements MethodArgsSerializer {
     private static final Object[] ZERO_ARGS = new Object[0];
-    private final SerializerRegistry serializers;
+    private static final Map<Class<?>, Serializer<?>> KNOWN_TYPES = new HashMap<Class<?>, Serializer<?>>();
+
+    static {
+        KNOWN_TYPES.put(String.class, new NullSafeStringSerializer());
+        KNOWN_TYPES.put(File.class, new NullableSerializer<File>(BaseSerializerFactory.FILE_SERIALIZER));
+        KNOWN_TYPES.put(byte[].class, new NullableSerializer<byte[]>(BaseSerializerFactory.BYTE_ARRAY_SERIALIZER));
+        KNOWN_TYPES.put(Boolean.TYPE, BaseSerializerFactory.BOOLEAN_SERIALIZER);
+        KNOWN_TYPES.put(Boolean.class, new NullableSerializer<Boolean>(BaseSerializerFactory.BOOLEAN_SERIALIZER));
+        KNOWN_TYPES.put(Integer.TYPE, IntegerSerializer.INSTANCE);
+        KNOWN_TYPES.put(Integer.class, new NullableSerializer<Integer>(IntegerSerializer.INSTANCE));
+        KNOWN_TYPES.put(Long.TYPE, BaseSerializerFactory.LONG_SERIALIZER);
+        KNOWN_TYPES.put(Long.class, new NullableSerializer<Long>(BaseSerializerFactory.LONG_SERIALIZER));
+    }
 
-    public DefaultMethodArgsSerializer(SerializerRegistry serializers) {
-        this.serializers = serializers;
+    private final List<SerializerRegistry> serializerRegistries;
+    private final MethodArgsSerializer fallbackSerializer;
+
+    public DefaultMethodArgsSerializer(List<SerializerRegistry> serializerRegistries, MethodArgsSerializer fallbackSerializer) {
+        this.serializerRegistries = serializerRegistries;
+        this.fallbackSerializer = fallbackSerializer;
     }
 
     @Override
@@ -36,12 +65,26 @@ class DefaultMethodArgsSerializer implements MethodArgsSerializer {
         }
         final Serializer<Object>[] serializers = new Serializer[types.length];
         for (int i = 0; i < types.length; i++) {
-            Class<?> type = types[i];
-            serializers[i] = (Serializer<Object>) this.serializers.build(type);
+            Serializer<Object> serializer = serializerFor(types[i]);
+            if (serializer == null) {
+                return fallbackSerializer.forTypes(types);
+            }
+            serializers[i] = serializer;
         }
         return new ArraySerializer(serializers);
     }
 
+    @Nullable
+    private Serializer<Object> serializerFor(Class<?> type) {
+        for (SerializerRegistry registry : serializerRegistries) {
+            if (registry.canSerialize(type)) {
+                return (Serializer<Object>) registry.build(type);
+            }
+        }
+        // Only exact matches, as a parameter declared as a supertype may be passed values of any type at runtime
+        return (Serializer<Object>) KNOWN_TYPES.get(type);
+    }
+
     private static class ArraySerializer implements Serializer<Object[]> {
         private final Serializer<Object>[] serializers;
 
@@ -76,4 +119,39 @@ class DefaultMethodArgsSerializer implements MethodArgsSerializer {
         public void write(Encoder encoder, Object[] value) {
         }
     }
+
+    private static class NullableSerializer<T> implements Serializer<T> {
+        private final Serializer<T> serializer;
+
+        NullableSerializer(Serializer<T> serializer) {
+            this.serializer = serializer;
+        }
+
+        @Override
+        public T read(Decoder decoder) throws Exception {
+            return decoder.readBoolean() ? serializer.read(decoder) : null;
+        }
+
+        @Override
+        public void write(Encoder encoder, T value) throws Exception {
+            encoder.writeBoolean(value != null);
+            if (value != null) {
+                serializer.write(encoder, value);
+            }
+        }
+    }
+
+    private static class IntegerSerializer implements Serializer<Integer> {
+        static final IntegerSerializer INSTANCE = new IntegerSerializer();
+
+        @Override
+        public Integer read(Decoder decoder) throws Exception {
+            return decoder.readInt();
+        }
+
+        @Override
+        public void write(Encoder encoder, Integer value) throws Exception {
+            encoder.writeInt(value);
+        }
+    }
 }
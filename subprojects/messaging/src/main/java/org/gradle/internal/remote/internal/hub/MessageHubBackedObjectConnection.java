@@ -31,6 +31,9 @@ import org.gradle.internal.serialize.kryo.TypeSafeSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.List;
+
 public class MessageHubBackedObjectConnection implements ObjectConnection {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageHubBackedObjectConnection.class);
     private final MessageHub hub;
@@ -81,12 +84,8 @@ public class MessageHubBackedObjectConnection implements ObjectConnection {
             methodParamClassLoader = getClass().getClassLoader();
         }
 
-        MethodArgsSerializer argsSerializer;
-        if (paramSerializers != null) {
-            argsSerializer = new DefaultMethodArgsSerializer(paramSerializers);
-        } else {
-            argsSerializer = new JavaSerializationBackedMethodArgsSerializer(methodParamClassLoader);
-        }
+        List<SerializerRegistry> serializerRegistries = paramSerializers == null ? Collections.<SerializerRegistry>emptyList() : Collections.singletonList(paramSerializers);
+        MethodArgsSerializer argsSerializer = new DefaultMethodArgsSerializer(serializerRegistries, new JavaSerializationBackedMethodArgsSerializer(methodParamClassLoader));
 
         StatefulSerializer<InterHubMessage> serializer = new InterHubMessageSerializer(
                 new TypeSafeSerializer<MethodInvocation>(MethodInvocation.class,
@@ -59,6 +59,21 @@ public class DefaultSerializerRegistry implements SerializerRegistry {
         return new TaggedTypeSerializer<T>(matches, matchingJavaSerialization);
     }
 
+    @Override
+    public boolean canSerialize(Class<?> baseType) {
+        for (Class<?> candidate : serializerMap.keySet()) {
+            if (baseType.isAssignableFrom(candidate)) {
+                return true;
+            }
+        }
+        for (Class<?> candidate : javaSerialization) {
+            if (baseType.isAssignableFrom(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static class TypeInfo {
         final int tag;
         final boolean useForSubtypes;
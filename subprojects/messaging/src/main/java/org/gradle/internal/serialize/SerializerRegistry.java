@@ -32,4 +32,9 @@ public interface SerializerRegistry {
      * Creates a serializer that uses the current registrations to serialize objects of type T.
      */
     <T> Serializer<T> build(Class<T> baseType);
+
+    /**
+     * Returns true when a serializer can be built for objects of type T, that is, when there is at least one registration for T or one of its subtypes.
+     */
+    boolean canSerialize(Class<?> baseType);
 }
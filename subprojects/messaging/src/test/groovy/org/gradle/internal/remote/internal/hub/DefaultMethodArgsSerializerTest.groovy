@@ -22,7 +22,8 @@ import org.gradle.internal.serialize.SerializerSpec
 
 class DefaultMethodArgsSerializerTest extends SerializerSpec {
     def registry = new DefaultSerializerRegistry()
-    def serializer = new DefaultMethodArgsSerializer(registry)
+    def fallback = new JavaSerializationBackedMethodArgsSerializer(getClass().classLoader)
+    def serializer = new DefaultMethodArgsSerializer([registry], fallback)
 
     def "serializes an empty args array"() {
         expect:
@@ -40,4 +41,50 @@ class DefaultMethodArgsSerializerTest extends SerializerSpec {
         def arraySerializer = serializer.forTypes([String, Long, String] as Class[])
         serialize(["a", 12L, "b"] as Object[], arraySerializer) == ["a", 12L, "b"] as Object[]
     }
+
+    def "serializes strings, files and primitive values without registered serializers"() {
+        def types = [String, File, byte[], boolean, Boolean, int, Integer, long, Long] as Class[]
+        def args = ["a", new File("b"), [1, 2] as byte[], true, false, 12, 13, 14L, 15L] as Object[]
+
+        expect:
+        def arraySerializer = serializer.forTypes(types)
+        serialize(args, arraySerializer) == args
+        toBytes(args, arraySerializer).length < toBytes(args, fallback.forTypes(types)).length
+    }
+
+    def "serializes null values of built-in types"() {
+        def types = [String, File, byte[], Boolean, Integer, Long] as Class[]
+        def args = [null, null, null, null, null, null] as Object[]
+
+        expect:
+        serialize(args, serializer.forTypes(types)) == args
+    }
+
+    def "prefers registered serializers over built-in serializers"() {
+        given:
+        registry.register(String, BaseSerializerFactory.STRING_SERIALIZER)
+
+        expect:
+        toBytes(["a"] as Object[], serializer.forTypes([String] as Class[])) == toBytes("a", BaseSerializerFactory.STRING_SERIALIZER)
+    }
+
+    def "uses fallback serializer when any parameter type is not known"() {
+        def types = [String, Serializable] as Class[]
+        def args = ["a", new Date(123)] as Object[]
+
+        expect:
+        def arraySerializer = serializer.forTypes(types)
+        serialize(args, arraySerializer) == args
+        toBytes(args, arraySerializer) == toBytes(args, fallback.forTypes(types))
+    }
+
+    def "uses fallback serializer for parameter declared with supertype of built-in type"() {
+        def types = [Object] as Class[]
+        def args = [new Date(123)] as Object[]
+
+        expect:
+        def arraySerializer = serializer.forTypes(types)
+        serialize(args, arraySerializer) == args
+        toBytes(args, arraySerializer) == toBytes(args, fallback.forTypes(types))
+    }
 }
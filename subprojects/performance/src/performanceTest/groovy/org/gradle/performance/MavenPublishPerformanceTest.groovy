@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.performance
+
+import org.gradle.performance.categories.GradleCorePerformanceTest
+import org.junit.experimental.categories.Category
+import spock.lang.Unroll
+
+@Category([GradleCorePerformanceTest])
+class MavenPublishPerformanceTest extends AbstractCrossVersionPerformanceTest {
+    @Unroll("publish to local Maven repository in parallel - #testProject")
+    def "publish to local Maven repository in parallel"() {
+        given:
+        runner.testId = "publish to local Maven repository in parallel $testProject (daemon)"
+        runner.testProject = testProject
+        runner.tasksToRun = ['publish']
+        runner.args = ['--parallel', '-Dorg.gradle.internal.publish.maven.concurrent=true']
+        runner.targetVersions = ['last']
+        runner.useDaemon = true
+        runner.gradleOpts = ["-Xms1g", "-Xmx1g"]
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+
+        where:
+        testProject << ["manyProjectsPublishing"]
+    }
+}
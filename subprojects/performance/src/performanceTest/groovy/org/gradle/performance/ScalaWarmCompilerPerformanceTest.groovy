@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.performance
+
+import org.gradle.performance.categories.BasicPerformanceTest
+import org.junit.experimental.categories.Category
+
+@Category(BasicPerformanceTest)
+class ScalaWarmCompilerPerformanceTest extends AbstractCrossBuildPerformanceTest {
+
+    def "clean Scala compile with warm compilers"() {
+        when:
+        runner.testId = "clean Scala compile with warm compilers"
+        runner.testGroup = "Scala compiler daemons"
+        runner.buildSpec {
+            projectName("multiScala").displayName("warm").invocation {
+                tasksToRun("clean", "compileScala").useDaemon().gradleOpts("-Xms1g", "-Xmx1g")
+                    .args("-Dorg.gradle.compiler.daemon.retain=true", "-Dorg.gradle.scala.zinc.residentCompilerLimit=4")
+            }
+        }
+        runner.baseline {
+            projectName("multiScala").displayName("cold").invocation {
+                tasksToRun("clean", "compileScala").useDaemon().gradleOpts("-Xms1g", "-Xmx1g")
+            }
+        }
+
+        then:
+        runner.run()
+    }
+}
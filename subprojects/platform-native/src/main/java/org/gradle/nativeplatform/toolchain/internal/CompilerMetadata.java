@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.nativeplatform.toolchain.internal;
+
+import org.gradle.util.VersionNumber;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Identifies the compiler that a {@link PlatformToolProvider} uses for a particular language.
+ */
+public class CompilerMetadata {
+    private final File executable;
+    private final VersionNumber version;
+    private final List<File> systemIncludes;
+
+    public CompilerMetadata(File executable, VersionNumber version, List<File> systemIncludes) {
+        this.executable = executable;
+        this.version = version;
+        this.systemIncludes = systemIncludes;
+    }
+
+    public File getExecutable() {
+        return executable;
+    }
+
+    public VersionNumber getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the directories that the compiler searches for headers by default, in search order.
+     */
+    public List<File> getSystemIncludes() {
+        return systemIncludes;
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.gradle.nativeplatform.toolchain.internal;
 
+import org.gradle.api.Nullable;
 import org.gradle.platform.base.internal.toolchain.ToolProvider;
 
 public interface PlatformToolProvider extends ToolProvider {
@@ -28,4 +29,10 @@ public interface PlatformToolProvider extends ToolProvider {
     String getSharedLibraryLinkFileName(String libraryPath);
 
     String getStaticLibraryName(String libraryPath);
+
+    /**
+     * Returns the metadata of the compiler for the given tool type, or null when it cannot be determined.
+     */
+    @Nullable
+    CompilerMetadata getCompilerMetadata(ToolType compilerType);
 }
@@ -74,6 +74,11 @@ public class UnavailablePlatformToolProvider implements PlatformToolProvider {
         return targetOperatingSystem.getInternalOs().getStaticLibraryName(libraryPath);
     }
 
+    @Override
+    public CompilerMetadata getCompilerMetadata(ToolType compilerType) {
+        return null;
+    }
+
     @Override
     public <T> T get(Class<T> toolType) {
         throw new IllegalArgumentException(String.format("Don't know how to provide tool of type %s.", toolType.getSimpleName()));
@@ -22,23 +22,71 @@ import org.gradle.nativeplatform.internal.StaticLibraryArchiverSpec;
 import org.gradle.nativeplatform.platform.internal.OperatingSystemInternal;
 import org.gradle.nativeplatform.toolchain.internal.*;
 import org.gradle.nativeplatform.toolchain.internal.compilespec.*;
+import org.gradle.nativeplatform.toolchain.internal.gcc.version.CompilerMetaDataProvider;
+import org.gradle.nativeplatform.toolchain.internal.gcc.version.GccVersionResult;
 import org.gradle.nativeplatform.toolchain.internal.tools.GccCommandLineToolConfigurationInternal;
+import org.gradle.nativeplatform.toolchain.internal.tools.CommandLineToolSearchResult;
 import org.gradle.nativeplatform.toolchain.internal.tools.ToolRegistry;
 import org.gradle.nativeplatform.toolchain.internal.tools.ToolSearchPath;
 import org.gradle.process.internal.ExecActionFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 class GccPlatformToolProvider extends AbstractPlatformToolProvider {
     private final ToolSearchPath toolSearchPath;
     private final ToolRegistry toolRegistry;
     private final ExecActionFactory execActionFactory;
     private final boolean useCommandFile;
+    private final CompilerMetaDataProvider metaDataProvider;
+    private final List<String> compilerProbeArgs;
 
-    GccPlatformToolProvider(BuildOperationProcessor buildOperationProcessor, OperatingSystemInternal targetOperatingSystem, ToolSearchPath toolSearchPath, ToolRegistry toolRegistry, ExecActionFactory execActionFactory, boolean useCommandFile) {
+    GccPlatformToolProvider(BuildOperationProcessor buildOperationProcessor, OperatingSystemInternal targetOperatingSystem, ToolSearchPath toolSearchPath, ToolRegistry toolRegistry, ExecActionFactory execActionFactory, boolean useCommandFile,
+                            CompilerMetaDataProvider metaDataProvider, List<String> compilerProbeArgs) {
         super(buildOperationProcessor, targetOperatingSystem);
         this.toolRegistry = toolRegistry;
         this.toolSearchPath = toolSearchPath;
         this.useCommandFile = useCommandFile;
         this.execActionFactory = execActionFactory;
+        this.metaDataProvider = metaDataProvider;
+        this.compilerProbeArgs = compilerProbeArgs;
+    }
+
+    @Override
+    public CompilerMetadata getCompilerMetadata(ToolType compilerType) {
+        String language = language(compilerType);
+        if (language == null) {
+            return null;
+        }
+        GccCommandLineToolConfigurationInternal compilerTool = toolRegistry.getTool(compilerType);
+        CommandLineToolSearchResult compiler = toolSearchPath.locate(compilerType, compilerTool.getExecutable());
+        if (!compiler.isAvailable()) {
+            return null;
+        }
+        // The system include directories depend on the language, so probe the compiler for the language it is used for
+        List<String> probeArgs = new ArrayList<String>(compilerProbeArgs);
+        probeArgs.add("-x");
+        probeArgs.add(language);
+        GccVersionResult versionResult = metaDataProvider.getGccMetaData(compiler.getTool(), probeArgs);
+        if (!versionResult.isAvailable()) {
+            return null;
+        }
+        return new CompilerMetadata(compiler.getTool(), versionResult.getVersion(), versionResult.getSystemIncludes());
+    }
+
+    private static String language(ToolType compilerType) {
+        switch (compilerType) {
+            case C_COMPILER:
+                return "c";
+            case CPP_COMPILER:
+                return "c++";
+            case OBJECTIVEC_COMPILER:
+                return "objective-c";
+            case OBJECTIVECPP_COMPILER:
+                return "objective-c++";
+            default:
+                return null;
+        }
     }
 
     @Override
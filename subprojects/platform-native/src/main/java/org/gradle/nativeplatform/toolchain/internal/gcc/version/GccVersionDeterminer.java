@@ -29,6 +29,7 @@ import org.gradle.util.VersionNumber;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +37,13 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Given a File pointing to an (existing) gcc/g++/clang/clang++ binary, extracts the version number and default architecture by running with -dM -E and scraping the output.
+ * Given a File pointing to an (existing) gcc/g++/clang/clang++ binary, extracts the version number, default architecture and system include directories by running with -dM -E -v and scraping the output.
  */
 public class GccVersionDeterminer implements CompilerMetaDataProvider {
     private static final Pattern DEFINE_PATTERN = Pattern.compile("\\s*#define\\s+(\\S+)\\s+(.*)");
+    private static final String SYSTEM_INCLUDES_START = "#include <...> search starts here:";
+    private static final String SYSTEM_INCLUDES_END = "End of search list.";
+    private static final String FRAMEWORK_INCLUDE = " (framework directory)";
     private final ExecActionFactory execActionFactory;
     private final boolean clang;
 
@@ -61,26 +65,28 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
         List<String> allArgs = new ArrayList<String>(args);
         allArgs.add("-dM");
         allArgs.add("-E");
+        allArgs.add("-v");
         allArgs.add("-");
-        String output = transform(gccBinary, allArgs);
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        String output = transform(gccBinary, allArgs, errorOutput);
         if (output == null) {
             return new BrokenResult(String.format("Could not determine %s version: failed to execute %s %s.", getDescription(), gccBinary.getName(), Joiner.on(' ').join(allArgs)));
         }
-        return transform(output, gccBinary);
+        return transform(output, new String(errorOutput.toByteArray()), gccBinary);
     }
 
     private String getDescription() {
         return clang ? "Clang" : "GCC";
     }
 
-    private String transform(File gccBinary, List<String> args) {
+    private String transform(File gccBinary, List<String> args, ByteArrayOutputStream errorOutput) {
         ExecAction exec = execActionFactory.newExecAction();
         exec.executable(gccBinary.getAbsolutePath());
         exec.setWorkingDir(gccBinary.getParentFile());
         exec.args(args);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         exec.setStandardOutput(baos);
-        exec.setErrorOutput(new ByteArrayOutputStream());
+        exec.setErrorOutput(errorOutput);
         exec.setIgnoreExitValue(true);
         ExecResult result = exec.execute();
 
@@ -92,7 +98,7 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
         }
     }
 
-    private GccVersionResult transform(String output, File gccBinary) {
+    private GccVersionResult transform(String output, String errorOutput, File gccBinary) {
         BufferedReader reader = new BufferedReader(new StringReader(output));
         String line;
         Map<String, String> defines = new HashMap<String, String>();
@@ -130,7 +136,33 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
             patch = toInt(defines.get("__GNUC_PATCHLEVEL__"));
         }
         final ArchitectureInternal architecture = determineArchitecture(defines);
-        return new DefaultGccVersionResult(new VersionNumber(major, minor, patch, null), architecture, clang);
+        return new DefaultGccVersionResult(new VersionNumber(major, minor, patch, null), architecture, clang, determineSystemIncludes(errorOutput));
+    }
+
+    private List<File> determineSystemIncludes(String errorOutput) {
+        BufferedReader reader = new BufferedReader(new StringReader(errorOutput));
+        List<File> systemIncludes = new ArrayList<File>();
+        boolean searchList = false;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(SYSTEM_INCLUDES_START)) {
+                    searchList = true;
+                } else if (line.equals(SYSTEM_INCLUDES_END)) {
+                    break;
+                } else if (searchList) {
+                    String include = line.trim();
+                    if (include.endsWith(FRAMEWORK_INCLUDE)) {
+                        include = include.substring(0, include.length() - FRAMEWORK_INCLUDE.length());
+                    }
+                    systemIncludes.add(new File(include));
+                }
+            }
+        } catch (IOException e) {
+            // Should not happen reading from a StringReader
+            throw new UncheckedIOException(e);
+        }
+        return Collections.unmodifiableList(systemIncludes);
     }
 
     private ArchitectureInternal determineArchitecture(Map<String, String> defines) {
@@ -162,11 +194,13 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
         private final VersionNumber scrapedVersion;
         private final ArchitectureInternal architecture;
         private final boolean clang;
+        private final List<File> systemIncludes;
 
-        public DefaultGccVersionResult(VersionNumber scrapedVersion, ArchitectureInternal architecture, boolean clang) {
+        public DefaultGccVersionResult(VersionNumber scrapedVersion, ArchitectureInternal architecture, boolean clang, List<File> systemIncludes) {
             this.scrapedVersion = scrapedVersion;
             this.architecture = architecture;
             this.clang = clang;
+            this.systemIncludes = systemIncludes;
         }
 
         @Override
@@ -184,6 +218,11 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
             return architecture;
         }
 
+        @Override
+        public List<File> getSystemIncludes() {
+            return systemIncludes;
+        }
+
         @Override
         public boolean isAvailable() {
             return true;
@@ -216,6 +255,11 @@ public class GccVersionDeterminer implements CompilerMetaDataProvider {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public List<File> getSystemIncludes() {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public boolean isAvailable() {
             return false;
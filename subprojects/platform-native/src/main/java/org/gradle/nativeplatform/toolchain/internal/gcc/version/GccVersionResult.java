@@ -20,6 +20,9 @@ import org.gradle.nativeplatform.platform.internal.ArchitectureInternal;
 import org.gradle.platform.base.internal.toolchain.ToolSearchResult;
 import org.gradle.util.VersionNumber;
 
+import java.io.File;
+import java.util.List;
+
 public interface GccVersionResult extends ToolSearchResult {
     /**
      * Returns true if the implementation is Clang, false if GCC.
@@ -29,4 +32,9 @@ public interface GccVersionResult extends ToolSearchResult {
     ArchitectureInternal getDefaultArchitecture();
 
     VersionNumber getVersion();
+
+    /**
+     * Returns the directories that the compiler searches for system headers, in search order.
+     */
+    List<File> getSystemIncludes();
 }
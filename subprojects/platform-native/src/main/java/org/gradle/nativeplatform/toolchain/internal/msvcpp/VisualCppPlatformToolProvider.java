@@ -37,6 +37,7 @@ import org.gradle.nativeplatform.toolchain.internal.tools.CommandLineToolConfigu
 import org.gradle.process.internal.ExecActionFactory;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +57,16 @@ class VisualCppPlatformToolProvider extends AbstractPlatformToolProvider {
         this.execActionFactory = execActionFactory;
     }
 
+    @Override
+    public CompilerMetadata getCompilerMetadata(ToolType compilerType) {
+        if (compilerType != ToolType.C_COMPILER && compilerType != ToolType.CPP_COMPILER) {
+            return null;
+        }
+        List<File> systemIncludes = Lists.newArrayList(visualCpp.getIncludePath(targetPlatform));
+        systemIncludes.addAll(Arrays.asList(sdk.getIncludeDirs()));
+        return new CompilerMetadata(visualCpp.getCompiler(targetPlatform), visualCpp.getVersion(), systemIncludes);
+    }
+
     @Override
     public String getSharedLibraryLinkFileName(String libraryName) {
         return getSharedLibraryName(libraryName).replaceFirst("\\.dll$", ".lib");
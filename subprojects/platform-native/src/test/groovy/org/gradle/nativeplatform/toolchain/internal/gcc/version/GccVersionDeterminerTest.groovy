@@ -135,7 +135,23 @@ class GccVersionDeterminerTest extends Specification {
         result.explain(visitor)
 
         then:
-        1 * visitor.node("Could not determine GCC version: failed to execute g++ -dM -E -.")
+        1 * visitor.node("Could not determine GCC version: failed to execute g++ -dM -E -v -.")
+    }
+
+    def "can scrape system include directories from verbose output"() {
+        def verboseOutput = """Using built-in specs.
+#include "..." search starts here:
+#include <...> search starts here:
+ /usr/lib/gcc/x86_64-linux-gnu/4.9/include
+ /usr/include
+ /System/Library/Frameworks (framework directory)
+End of search list.
+"""
+
+        expect:
+        def result = output(gccAmd64, false, verboseOutput)
+        result.available
+        result.systemIncludes == [new File("/usr/lib/gcc/x86_64-linux-gnu/4.9/include"), new File("/usr/include"), new File("/System/Library/Frameworks")]
     }
 
     def "can scrape ok output for clang"() {
@@ -174,11 +190,12 @@ class GccVersionDeterminerTest extends Specification {
         1 * visitor.node("g++ appears to be GCC rather than Clang. Treating it as GCC.")
     }
 
-    GccVersionResult output(String output, boolean clang = false) {
+    GccVersionResult output(String output, boolean clang = false, String errorOutput = "") {
         def action = Mock(ExecAction)
         def result = Mock(ExecResult)
         1 * execActionFactory.newExecAction() >> action
         1 * action.setStandardOutput(_) >> { OutputStream outstr -> outstr << output; action }
+        1 * action.setErrorOutput(_) >> { OutputStream outstr -> outstr << errorOutput; action }
         1 * action.execute() >> result
         new GccVersionDeterminer(execActionFactory, clang).getGccMetaData(new File("g++"), [])
     }
@@ -119,6 +119,25 @@ class JavaScriptMinifyIntegrationTest extends AbstractJavaScriptMinifyIntegratio
                 ":playBinary")
     }
 
+    def "re-minifies only changed inputs" () {
+        given:
+        withJavaScriptSource("app/assets/test1.js")
+        def source2 = withJavaScriptSource("app/assets/test2.js")
+        succeeds "assemble"
+        def minified1 = processedJavaScript("test1.min.js").snapshot()
+        def minified2 = processedJavaScript("test2.min.js").snapshot()
+
+        when:
+        source2 << "alert('this is a change!');"
+        succeeds "assemble"
+
+        then:
+        executedAndNotSkipped(":minifyPlayBinaryPlayJavaScript")
+        processedJavaScript("test1.min.js").assertHasNotChangedSince(minified1)
+        processedJavaScript("test2.min.js").assertHasChangedSince(minified2)
+        hasProcessedJavaScript("test1")
+    }
+
     def "cleans removed source file on minify" () {
         given:
         withJavaScriptSource("app/assets/test1.js")
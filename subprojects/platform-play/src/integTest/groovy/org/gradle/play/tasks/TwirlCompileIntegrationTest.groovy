@@ -85,6 +85,24 @@ class TwirlCompileIntegrationTest extends PlayMultiVersionIntegrationTest {
         destinationDir.assertHasDescendants("input1.template.scala")
     }
 
+    def "recompiles only changed templates"() {
+        given:
+        withTwirlTemplate("input1.scala.html")
+        withTwirlTemplate("input2.scala.html")
+        succeeds("compilePlayBinaryPlayTwirlTemplates")
+        def input1FirstCompileSnapshot = file("${destinationDirPath}/input1.template.scala").snapshot()
+        def input2FirstCompileSnapshot = file("${destinationDirPath}/input2.template.scala").snapshot()
+
+        when:
+        file("app/views/input2.scala.html") << "<p>changed</p>"
+        succeeds("compilePlayBinaryPlayTwirlTemplates")
+
+        then:
+        destinationDir.assertHasDescendants("input1.template.scala", "input2.template.scala")
+        file("${destinationDirPath}/input1.template.scala").assertHasNotChangedSince(input1FirstCompileSnapshot)
+        file("${destinationDirPath}/input2.template.scala").assertHasChangedSince(input2FirstCompileSnapshot)
+    }
+
     def "removes stale output files in incremental compile"(){
         given:
         withTwirlTemplate("input1.scala.html")
@@ -28,11 +28,13 @@ public class DefaultJavaScriptCompileSpec implements JavaScriptCompileSpec, Seri
     private final Iterable<RelativeFile> sources;
     private final File destinationDir;
     private final BaseForkOptions forkOptions;
+    private final int maxWorkers;
 
-    public DefaultJavaScriptCompileSpec(Iterable<RelativeFile> sources, File destinationDir, BaseForkOptions forkOptions) {
+    public DefaultJavaScriptCompileSpec(Iterable<RelativeFile> sources, File destinationDir, BaseForkOptions forkOptions, int maxWorkers) {
         this.sources = sources;
         this.destinationDir = destinationDir;
         this.forkOptions = forkOptions;
+        this.maxWorkers = maxWorkers;
     }
 
     @Override
@@ -49,4 +51,9 @@ public class DefaultJavaScriptCompileSpec implements JavaScriptCompileSpec, Seri
     public BaseForkOptions getForkOptions() {
         return forkOptions;
     }
+
+    @Override
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
 }
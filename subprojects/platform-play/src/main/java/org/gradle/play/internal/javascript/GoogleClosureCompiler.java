@@ -23,6 +23,8 @@ import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.reflect.DirectInstantiator;
 import org.gradle.internal.reflect.JavaMethod;
 import org.gradle.internal.reflect.JavaReflectionUtil;
@@ -37,14 +39,26 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class GoogleClosureCompiler implements Compiler<JavaScriptCompileSpec>, Serializable {
     private static final Iterable<String> SHARED_PACKAGES = Lists.newArrayList("com.google.javascript");
     private static final String DEFAULT_GOOGLE_CLOSURE_VERSION = "v20141215";
-    private Class<?> sourceFileClass;
-    private Class<?> compilerOptionsClass;
-    private Class<Enum> compilationLevelClass;
-    private Class<Object> compilerClass;
+    private transient Class<?> sourceFileClass;
+    private transient Class<?> compilerOptionsClass;
+    private transient Class<Enum> compilationLevelClass;
+    private transient Class<Object> compilerClass;
+    private transient JavaMethod<?, Object> fromCodeMethod;
+    private transient JavaMethod<?, Object> fromFileMethod;
+    private transient Factory<?> compilerOptionsFactory;
+    @SuppressWarnings("rawtypes")
+    private transient Enum simpleLevel;
+    @SuppressWarnings("rawtypes")
+    private transient JavaMethod<Enum, Void> setOptionsForCompilationLevelMethod;
+    private transient JavaMethod<Object, Object> compileMethod;
+    private transient JavaMethod<Object, String> toSourceMethod;
 
     public Iterable<String> getClassLoaderPackages() {
         return SHARED_PACKAGES;
@@ -55,12 +69,41 @@ public class GoogleClosureCompiler implements Compiler<JavaScriptCompileSpec>, S
     }
 
     @Override
-    public WorkResult execute(JavaScriptCompileSpec spec) {
-        JavaScriptCompileDestinationCalculator destinationCalculator = new JavaScriptCompileDestinationCalculator(spec.getDestinationDir());
+    public WorkResult execute(final JavaScriptCompileSpec spec) {
+        final JavaScriptCompileDestinationCalculator destinationCalculator = new JavaScriptCompileDestinationCalculator(spec.getDestinationDir());
+        List<RelativeFile> sourceFiles = Lists.newArrayList(spec.getSources());
         List<String> allErrors = Lists.newArrayList();
 
-        for (RelativeFile sourceFile : spec.getSources()) {
-            allErrors.addAll(compile(sourceFile, spec, destinationCalculator));
+        loadCompilerClasses(getClass().getClassLoader());
+
+        int threads = Math.min(sourceFiles.size(), spec.getMaxWorkers());
+        if (threads <= 1) {
+            for (RelativeFile sourceFile : sourceFiles) {
+                allErrors.addAll(compile(sourceFile, spec, destinationCalculator));
+            }
+        } else {
+            // Each file is compiled by its own Closure compiler instance, so files can be minified concurrently
+            StoppableExecutor executor = new DefaultExecutorFactory().create("JavaScript minifier", threads);
+            try {
+                List<Future<List<String>>> results = Lists.newArrayListWithCapacity(sourceFiles.size());
+                for (final RelativeFile sourceFile : sourceFiles) {
+                    results.add(executor.submit(new Callable<List<String>>() {
+                        @Override
+                        public List<String> call() {
+                            return compile(sourceFile, spec, destinationCalculator);
+                        }
+                    }));
+                }
+                for (Future<List<String>> result : results) {
+                    allErrors.addAll(result.get());
+                }
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            } finally {
+                executor.stop();
+            }
         }
 
         if (allErrors.isEmpty()) {
@@ -76,28 +119,19 @@ public class GoogleClosureCompiler implements Compiler<JavaScriptCompileSpec>, S
         loadCompilerClasses(getClass().getClassLoader());
 
         // Create a SourceFile object to represent an "empty" extern
-        JavaMethod<?, Object> fromCodeJavaMethod = JavaReflectionUtil.staticMethod(sourceFileClass, Object.class, "fromCode", String.class, String.class);
-        Object extern = fromCodeJavaMethod.invokeStatic("/dev/null", "");
+        Object extern = fromCodeMethod.invokeStatic("/dev/null", "");
 
         // Create a SourceFile object to represent the javascript file to compile
-        JavaMethod<?, Object> fromFileJavaMethod = JavaReflectionUtil.staticMethod(sourceFileClass, Object.class, "fromFile", File.class);
-        Object sourceFile = fromFileJavaMethod.invokeStatic(javascriptFile.getFile());
+        Object sourceFile = fromFileMethod.invokeStatic(javascriptFile.getFile());
 
-        // Construct a new CompilerOptions class
-        Factory<?> compilerOptionsFactory = JavaReflectionUtil.factory(DirectInstantiator.INSTANCE, compilerOptionsClass);
+        // Construct a new CompilerOptions class and apply the CompilationLevel.SIMPLE_OPTIMIZATIONS level
         Object compilerOptions = compilerOptionsFactory.create();
-
-        // Get the CompilationLevel.SIMPLE_OPTIMIZATIONS class and set it on the CompilerOptions class
-        @SuppressWarnings({ "rawtypes", "unchecked" }) Enum simpleLevel = Enum.valueOf(compilationLevelClass, "SIMPLE_OPTIMIZATIONS");
-        @SuppressWarnings("rawtypes") JavaMethod<Enum, Void> setOptionsForCompilationLevelMethod = JavaReflectionUtil.method(compilationLevelClass, Void.class, "setOptionsForCompilationLevel", compilerOptionsClass);
         setOptionsForCompilationLevelMethod.invoke(simpleLevel, compilerOptions);
 
         // Construct a new Compiler class
-        Factory<?> compilerFactory = JavaReflectionUtil.factory(DirectInstantiator.INSTANCE, compilerClass, getDummyPrintStream());
-        Object compiler = compilerFactory.create();
+        Object compiler = JavaReflectionUtil.factory(DirectInstantiator.INSTANCE, compilerClass, getDummyPrintStream()).create();
 
         // Compile the javascript file with the options we've created
-        JavaMethod<Object, Object> compileMethod = JavaReflectionUtil.method(compilerClass, Object.class, "compile", sourceFileClass, sourceFileClass, compilerOptionsClass);
         Object result = compileMethod.invoke(compiler, extern, sourceFile, compilerOptions);
 
         // Get any errors from the compiler result
@@ -106,7 +140,6 @@ public class GoogleClosureCompiler implements Compiler<JavaScriptCompileSpec>, S
 
         if (jsErrors.length == 0) {
             // If no errors, get the compiled source and write it to the destination file
-            JavaMethod<Object, String> toSourceMethod = JavaReflectionUtil.method(compilerClass, String.class, "toSource");
             String compiledSource = toSourceMethod.invoke(compiler);
             GFileUtils.writeFile(compiledSource, destinationCalculator.transform(javascriptFile));
         } else {
@@ -118,22 +151,26 @@ public class GoogleClosureCompiler implements Compiler<JavaScriptCompileSpec>, S
         return errors;
     }
 
-    private void loadCompilerClasses(ClassLoader cl) {
+    private synchronized void loadCompilerClasses(ClassLoader cl) {
+        if (compilerClass != null) {
+            return;
+        }
         try {
-            if (sourceFileClass == null) {
-                sourceFileClass = cl.loadClass("com.google.javascript.jscomp.SourceFile");
-            }
-            if (compilerOptionsClass == null) {
-                compilerOptionsClass = cl.loadClass("com.google.javascript.jscomp.CompilerOptions");
-            }
-            if (compilationLevelClass == null) {
-                @SuppressWarnings("unchecked") Class<Enum> clazz = (Class<Enum>) cl.loadClass("com.google.javascript.jscomp.CompilationLevel");
-                compilationLevelClass = clazz;
-            }
-            if (compilerClass == null) {
-                @SuppressWarnings("unchecked") Class<Object> clazz = (Class<Object>) cl.loadClass("com.google.javascript.jscomp.Compiler");
-                compilerClass = clazz;
-            }
+            sourceFileClass = cl.loadClass("com.google.javascript.jscomp.SourceFile");
+            compilerOptionsClass = cl.loadClass("com.google.javascript.jscomp.CompilerOptions");
+            @SuppressWarnings("unchecked") Class<Enum> levelClass = (Class<Enum>) cl.loadClass("com.google.javascript.jscomp.CompilationLevel");
+            compilationLevelClass = levelClass;
+            @SuppressWarnings("unchecked") Class<Object> clazz = (Class<Object>) cl.loadClass("com.google.javascript.jscomp.Compiler");
+
+            fromCodeMethod = JavaReflectionUtil.staticMethod(sourceFileClass, Object.class, "fromCode", String.class, String.class);
+            fromFileMethod = JavaReflectionUtil.staticMethod(sourceFileClass, Object.class, "fromFile", File.class);
+            compilerOptionsFactory = JavaReflectionUtil.factory(DirectInstantiator.INSTANCE, compilerOptionsClass);
+            @SuppressWarnings({ "rawtypes", "unchecked" }) Enum level = Enum.valueOf(compilationLevelClass, "SIMPLE_OPTIMIZATIONS");
+            simpleLevel = level;
+            setOptionsForCompilationLevelMethod = JavaReflectionUtil.method(compilationLevelClass, Void.class, "setOptionsForCompilationLevel", compilerOptionsClass);
+            compileMethod = JavaReflectionUtil.method(clazz, Object.class, "compile", sourceFileClass, sourceFileClass, compilerOptionsClass);
+            toSourceMethod = JavaReflectionUtil.method(clazz, String.class, "toSource");
+            compilerClass = clazz;
         } catch (ClassNotFoundException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
@@ -21,4 +21,9 @@ import org.gradle.play.internal.spec.PlayCompileSpec;
 
 public interface JavaScriptCompileSpec extends PlayCompileSpec {
     Iterable<RelativeFile> getSources();
+
+    /**
+     * The maximum number of files to minify concurrently.
+     */
+    int getMaxWorkers();
 }
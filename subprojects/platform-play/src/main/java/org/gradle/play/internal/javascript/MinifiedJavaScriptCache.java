@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.javascript;
+
+import org.gradle.api.Nullable;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.internal.FileLockManager;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.util.GFileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * A cache of minified JavaScript files, keyed by the content of the source file and the version of the minifier. The cache is shared by
+ * all {@link org.gradle.play.tasks.JavaScriptMinify} tasks of a build.
+ *
+ * <p>Entries are written to a temporary file and then renamed into place, so the cache can be used without locking.</p>
+ */
+public class MinifiedJavaScriptCache implements Closeable {
+    private final PersistentCache cache;
+    private final File entriesDir;
+
+    public MinifiedJavaScriptCache(CacheRepository cacheRepository, Object scope, String minifierId) {
+        this.cache = cacheRepository
+            .cache(scope, "javascript-minify")
+            .withDisplayName("minified JavaScript cache")
+            .withLockOptions(mode(FileLockManager.LockMode.None))
+            .open();
+        this.entriesDir = new File(cache.getBaseDir(), HashUtil.createCompactMD5(minifierId));
+    }
+
+    public HashValue hash(File sourceFile) {
+        return HashUtil.createHash(sourceFile, "MD5");
+    }
+
+    /**
+     * Returns the cached minified output for the source file with the given hash, or null when there is none.
+     */
+    @Nullable
+    public File get(HashValue sourceHash) {
+        File entry = entryFile(sourceHash);
+        return entry.isFile() ? entry : null;
+    }
+
+    public void put(HashValue sourceHash, File minifiedFile) {
+        File entry = entryFile(sourceHash);
+        if (entry.isFile()) {
+            return;
+        }
+        GFileUtils.mkdirs(entriesDir);
+        File tempFile;
+        try {
+            tempFile = File.createTempFile(sourceHash.asHexString(), ".tmp", entriesDir);
+        } catch (IOException e) {
+            // The cache is only an optimization
+            return;
+        }
+        GFileUtils.copyFile(minifiedFile, tempFile);
+        if (!tempFile.renameTo(entry)) {
+            GFileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    private File entryFile(HashValue sourceHash) {
+        return new File(entriesDir, sourceHash.asHexString() + ".js");
+    }
+
+    @Override
+    public void close() {
+        cache.close();
+    }
+}
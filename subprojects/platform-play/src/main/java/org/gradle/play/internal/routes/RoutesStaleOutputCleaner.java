@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.routes;
+
+import org.gradle.api.UncheckedIOException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Deletes the files generated by the routes compiler for a set of routes files. Every generated file starts with a
+ * {@code // @SOURCE:<path>} header naming the routes file it was generated from, which is used to find the outputs of each routes file.
+ */
+public class RoutesStaleOutputCleaner {
+    private static final String SOURCE_HEADER = "// @SOURCE:";
+    private static final int MAX_HEADER_LINES = 5;
+
+    private final File destinationDir;
+
+    public RoutesStaleOutputCleaner(File destinationDir) {
+        this.destinationDir = destinationDir;
+    }
+
+    /**
+     * Deletes the generated files for the given routes files.
+     *
+     * @return true if any file was deleted.
+     */
+    public boolean execute(Set<File> staleSources) {
+        if (staleSources.isEmpty() || !destinationDir.isDirectory()) {
+            return false;
+        }
+        Set<String> stalePaths = new HashSet<String>();
+        for (File staleSource : staleSources) {
+            stalePaths.add(staleSource.getAbsolutePath());
+        }
+        return deleteGeneratedFiles(destinationDir, stalePaths);
+    }
+
+    private static boolean deleteGeneratedFiles(File dir, Set<String> stalePaths) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return false;
+        }
+        boolean didWork = false;
+        for (File file : files) {
+            if (file.isDirectory()) {
+                didWork = deleteGeneratedFiles(file, stalePaths) || didWork;
+            } else {
+                String source = readSourceHeader(file);
+                if (source != null && stalePaths.contains(source)) {
+                    didWork = file.delete() || didWork;
+                }
+            }
+        }
+        return didWork;
+    }
+
+    private static String readSourceHeader(File generatedFile) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(generatedFile), "UTF-8"));
+            try {
+                for (int i = 0; i < MAX_HEADER_LINES; i++) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    if (line.startsWith(SOURCE_HEADER)) {
+                        return new File(line.substring(SOURCE_HEADER.length()).trim()).getAbsolutePath();
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
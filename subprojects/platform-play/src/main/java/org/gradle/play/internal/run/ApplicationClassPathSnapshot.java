@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.run;
+
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The content hashes of the application classpath of a running Play application, used to detect whether a rebuild actually
+ * changed any application classes or resources.
+ */
+class ApplicationClassPathSnapshot {
+    private final Map<String, HashValue> hashes;
+
+    private ApplicationClassPathSnapshot(Map<String, HashValue> hashes) {
+        this.hashes = hashes;
+    }
+
+    public static ApplicationClassPathSnapshot of(Iterable<File> classpath) {
+        Map<String, HashValue> hashes = new HashMap<String, HashValue>();
+        for (File file : classpath) {
+            visit(file, hashes);
+        }
+        return new ApplicationClassPathSnapshot(hashes);
+    }
+
+    private static void visit(File file, Map<String, HashValue> hashes) {
+        if (file.isFile()) {
+            hashes.put(file.getAbsolutePath(), HashUtil.createHash(file, "MD5"));
+        } else {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    visit(child, hashes);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return hashes.equals(((ApplicationClassPathSnapshot) obj).hashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashes.hashCode();
+    }
+}
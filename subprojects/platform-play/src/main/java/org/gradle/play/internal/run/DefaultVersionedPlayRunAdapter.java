@@ -53,6 +53,7 @@ public abstract class DefaultVersionedPlayRunAdapter implements VersionedPlayRun
 
     private final AtomicBoolean reload = new AtomicBoolean();
     private final AtomicReference<ClassLoader> currentClassloader = new AtomicReference<ClassLoader>();
+    private final AtomicReference<ApplicationClassPathSnapshot> classpathSnapshot = new AtomicReference<ApplicationClassPathSnapshot>();
     private final Queue<SoftReference<Closeable>> loadersToClose = new ConcurrentLinkedQueue<SoftReference<Closeable>>();
     private volatile Throwable buildFailure;
 
@@ -79,9 +80,18 @@ public abstract class DefaultVersionedPlayRunAdapter implements VersionedPlayRun
                     // that triggered the reload as the trigger point to close the replaced loader.
                     closeOldLoaders();
                     if (reload.getAndSet(false)) {
+                        long start = System.currentTimeMillis();
                         ClassPath classpath = new DefaultClassPath(applicationJar).plus(new DefaultClassPath(changingClasspath));
+                        ApplicationClassPathSnapshot snapshot = ApplicationClassPathSnapshot.of(classpath.getAsFiles());
+                        ApplicationClassPathSnapshot previousSnapshot = classpathSnapshot.getAndSet(snapshot);
+                        if (currentClassloader.get() != null && snapshot.equals(previousSnapshot)) {
+                            // Only assets or other build outputs have changed, so keep the running application and its class loader
+                            LOGGER.info("Play application classpath is unchanged, keeping the running application ({} ms).", System.currentTimeMillis() - start);
+                            return null;
+                        }
                         URLClassLoader currentClassLoader = new URLClassLoader(classpath.getAsURLArray(), assetsClassLoader);
                         storeClassLoader(currentClassLoader);
+                        LOGGER.info("Reloading Play application with a new application class loader ({} ms).", System.currentTimeMillis() - start);
                         return currentClassLoader;
                     } else {
                         Throwable failure = buildFailure;
@@ -22,6 +22,7 @@ import org.gradle.api.invocation.Gradle;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.deployment.internal.DeploymentHandle;
+import org.gradle.util.Clock;
 
 public class PlayApplicationDeploymentHandle implements DeploymentHandle {
 
@@ -45,15 +46,20 @@ public class PlayApplicationDeploymentHandle implements DeploymentHandle {
 
     @Override
     public void onNewBuild(Gradle gradle) {
+        final Clock clock = new Clock();
         gradle.addBuildListener(new BuildAdapter() {
             @Override
             public void buildFinished(BuildResult result) {
-                reloadFromResult(result);
+                reloadFromResult(result, clock);
             }
         });
     }
 
     void reloadFromResult(BuildResult result) {
+        reloadFromResult(result, null);
+    }
+
+    private void reloadFromResult(BuildResult result, Clock clock) {
         if (isRunning()) {
             Throwable failure = result.getFailure();
             if (failure != null) {
@@ -61,6 +67,9 @@ public class PlayApplicationDeploymentHandle implements DeploymentHandle {
             } else {
                 runnerToken.rebuildSuccess();
             }
+            if (clock != null) {
+                LOGGER.lifecycle("{} Play application {} in {}.", failure == null ? "Rebuilt" : "Failed to rebuild", id, clock.getTime());
+            }
         }
     }
 
@@ -27,12 +27,14 @@ public class DefaultTwirlCompileSpec implements TwirlCompileSpec {
     private final File destinationDir;
     private BaseForkOptions forkOptions;
     private TwirlImports defaultImports;
+    private final int maxWorkers;
 
-    public DefaultTwirlCompileSpec(Iterable<RelativeFile> sources, File destinationDir, BaseForkOptions forkOptions, TwirlImports defaultImports) {
+    public DefaultTwirlCompileSpec(Iterable<RelativeFile> sources, File destinationDir, BaseForkOptions forkOptions, TwirlImports defaultImports, int maxWorkers) {
         this.sources = sources;
         this.destinationDir = destinationDir;
         this.forkOptions = forkOptions;
         this.defaultImports = defaultImports;
+        this.maxWorkers = maxWorkers;
     }
 
     @Override
@@ -54,4 +56,9 @@ public class DefaultTwirlCompileSpec implements TwirlCompileSpec {
     public BaseForkOptions getForkOptions() {
         return forkOptions;
     }
+
+    @Override
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
 }
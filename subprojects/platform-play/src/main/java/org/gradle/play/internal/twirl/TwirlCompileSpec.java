@@ -26,4 +26,9 @@ public interface TwirlCompileSpec extends PlayCompileSpec, Serializable {
     Iterable<RelativeFile> getSources();
 
     TwirlImports getDefaultImports();
+
+    /**
+     * The maximum number of templates to compile concurrently.
+     */
+    int getMaxWorkers();
 }
@@ -20,13 +20,20 @@ import com.google.common.collect.Lists;
 import org.gradle.api.internal.file.RelativeFile;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.scala.internal.reflect.ScalaMethod;
 import org.gradle.scala.internal.reflect.ScalaOptionInvocationWrapper;
 
 import java.io.File;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Twirl compiler uses reflection to load and invoke the actual compiler classes/methods.
@@ -41,17 +48,39 @@ public class TwirlCompiler implements Compiler<TwirlCompileSpec>, Serializable {
     }
 
     @Override
-    public WorkResult execute(TwirlCompileSpec spec) {
-        ArrayList<File> outputFiles = Lists.newArrayList();
+    public WorkResult execute(final TwirlCompileSpec spec) {
+        List<RelativeFile> sources = Lists.newArrayList(spec.getSources());
+        final List<File> outputFiles = Collections.synchronizedList(Lists.<File>newArrayList());
         try {
-            ClassLoader cl = getClass().getClassLoader();
-            ScalaMethod compile = adapter.getCompileMethod(cl);
-            Iterable<RelativeFile> sources = spec.getSources();
-            for (RelativeFile sourceFile : sources) {
-                Object result = compile.invoke(adapter.createCompileParameters(cl, sourceFile.getFile(), sourceFile.getBaseDir(), spec.getDestinationDir(), spec.getDefaultImports()));
-                ScalaOptionInvocationWrapper<File> maybeFile = new ScalaOptionInvocationWrapper<File>(result);
-                if (maybeFile.isDefined()) {
-                    outputFiles.add(maybeFile.get());
+            final ClassLoader cl = getClass().getClassLoader();
+            final ScalaMethod compile = adapter.getCompileMethod(cl);
+            int threads = adapter.isThreadSafe() ? Math.min(sources.size(), spec.getMaxWorkers()) : 1;
+            if (threads <= 1) {
+                for (RelativeFile sourceFile : sources) {
+                    compile(compile, cl, sourceFile, spec, outputFiles);
+                }
+            } else {
+                StoppableExecutor executor = new DefaultExecutorFactory().create("Twirl compiler", threads);
+                try {
+                    List<Future<?>> results = Lists.newArrayListWithCapacity(sources.size());
+                    for (final RelativeFile sourceFile : sources) {
+                        results.add(executor.submit(new Callable<Void>() {
+                            @Override
+                            public Void call() throws Exception {
+                                compile(compile, cl, sourceFile, spec, outputFiles);
+                                return null;
+                            }
+                        }));
+                    }
+                    for (Future<?> result : results) {
+                        try {
+                            result.get();
+                        } catch (ExecutionException e) {
+                            throw UncheckedException.throwAsUncheckedException(e.getCause());
+                        }
+                    }
+                } finally {
+                    executor.stop();
                 }
             }
         } catch (Exception e) {
@@ -61,6 +90,14 @@ public class TwirlCompiler implements Compiler<TwirlCompileSpec>, Serializable {
         return new SimpleWorkResult(!outputFiles.isEmpty());
     }
 
+    private void compile(ScalaMethod compile, ClassLoader cl, RelativeFile sourceFile, TwirlCompileSpec spec, List<File> outputFiles) throws Exception {
+        Object result = compile.invoke(adapter.createCompileParameters(cl, sourceFile.getFile(), sourceFile.getBaseDir(), spec.getDestinationDir(), spec.getDefaultImports()));
+        ScalaOptionInvocationWrapper<File> maybeFile = new ScalaOptionInvocationWrapper<File>(result);
+        if (maybeFile.isDefined()) {
+            outputFiles.add(maybeFile.get());
+        }
+    }
+
     public Object getDependencyNotation() {
         return adapter.getDependencyNotation();
     }
@@ -106,6 +106,11 @@ class TwirlCompilerAdapterV10X implements VersionedTwirlCompilerAdapter {
         return SHARED_PACKAGES;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public String getDependencyNotation() {
         return "com.typesafe.play:twirl-compiler_" + scalaVersion + ":" + twirlVersion;
@@ -93,6 +93,12 @@ class TwirlCompilerAdapterV22X implements VersionedTwirlCompilerAdapter {
         return SHARED_PACKAGES;
     }
 
+    // The template parser of Play 2.2 is a shared parser combinator object, which is not thread safe
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     @Override
     public String getDependencyNotation() {
         return "com.typesafe.play:templates-compiler_" + scalaVersion + ":" + twirlVersion;
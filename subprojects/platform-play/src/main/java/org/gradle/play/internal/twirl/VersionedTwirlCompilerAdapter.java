@@ -31,4 +31,9 @@ public interface VersionedTwirlCompilerAdapter extends Serializable {
     Object[] createCompileParameters(ClassLoader cl, File file, File sourceDirectory, File destinationDirectory, TwirlImports defaultImports) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException;
 
     Iterable<String> getClassLoaderPackages();
+
+    /**
+     * Returns true when the compile method can be invoked concurrently for different templates.
+     */
+    boolean isThreadSafe();
 }
@@ -17,34 +17,45 @@
 package org.gradle.play.tasks;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.gradle.api.Action;
 import org.gradle.api.Incubating;
-import org.gradle.api.file.CopySpec;
+import org.gradle.api.Nullable;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.FileVisitor;
-import org.gradle.api.internal.file.FileOperations;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.file.RelativeFile;
-import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.SourceTask;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.compile.BaseForkOptions;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.api.tasks.incremental.InputFileDetails;
+import org.gradle.cache.CacheRepository;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 import org.gradle.language.base.internal.tasks.StaleClassCleaner;
 import org.gradle.platform.base.internal.toolchain.ToolProvider;
 import org.gradle.play.internal.javascript.DefaultJavaScriptCompileSpec;
+import org.gradle.play.internal.javascript.GoogleClosureCompiler;
+import org.gradle.play.internal.javascript.JavaScriptCompileDestinationCalculator;
 import org.gradle.play.internal.javascript.JavaScriptCompileSpec;
+import org.gradle.play.internal.javascript.MinifiedJavaScriptCache;
 import org.gradle.play.internal.toolchain.PlayToolChainInternal;
 import org.gradle.play.platform.PlayPlatform;
 import org.gradle.play.toolchain.PlayToolChain;
+import org.gradle.util.GFileUtils;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Task to minify JavaScript assets.
@@ -64,6 +75,11 @@ public class JavaScriptMinify extends SourceTask {
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected CacheRepository getCacheRepository() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns the tool chain that will be used to compile the JavaScript source.
      *
@@ -122,23 +138,102 @@ public class JavaScriptMinify extends SourceTask {
     }
 
     @TaskAction
-    void compileJavaScriptSources() {
-        StaleClassCleaner cleaner = new SimpleStaleClassCleaner(getOutputs());
-        cleaner.setDestinationDir(getDestinationDir());
-        cleaner.execute();
+    void compileJavaScriptSources(IncrementalTaskInputs inputs) {
+        final Set<File> sourcesToMinify;
+        boolean hasRemovedSources = false;
+        if (!inputs.isIncremental()) {
+            StaleClassCleaner cleaner = new SimpleStaleClassCleaner(getOutputs());
+            cleaner.setDestinationDir(getDestinationDir());
+            cleaner.execute();
+            sourcesToMinify = null;
+        } else {
+            sourcesToMinify = new HashSet<File>();
+            inputs.outOfDate(new Action<InputFileDetails>() {
+                @Override
+                public void execute(InputFileDetails inputFileDetails) {
+                    sourcesToMinify.add(inputFileDetails.getFile());
+                }
+            });
+            final List<File> removedSources = Lists.newArrayList();
+            inputs.removed(new Action<InputFileDetails>() {
+                @Override
+                public void execute(InputFileDetails inputFileDetails) {
+                    removedSources.add(inputFileDetails.getFile());
+                }
+            });
+            hasRemovedSources = !removedSources.isEmpty();
+        }
 
-        MinifyFileVisitor visitor = new MinifyFileVisitor();
+        MinifyFileVisitor visitor = new MinifyFileVisitor(sourcesToMinify);
         getSource().visit(visitor);
+        if (hasRemovedSources) {
+            removeStaleOutputs(visitor.expectedOutputs);
+        }
+        if (visitor.relativeFiles.isEmpty()) {
+            return;
+        }
 
-        JavaScriptCompileSpec spec = new DefaultJavaScriptCompileSpec(visitor.relativeFiles, getDestinationDir(), getForkOptions());
-        getCompiler().execute(spec);
+        MinifiedJavaScriptCache cache = new MinifiedJavaScriptCache(getCacheRepository(), getProject().getGradle(), GoogleClosureCompiler.getDependencyNotation().toString());
+        try {
+            minify(visitor.relativeFiles, cache);
+        } finally {
+            cache.close();
+        }
+    }
+
+    private void minify(List<RelativeFile> relativeFiles, MinifiedJavaScriptCache cache) {
+        JavaScriptCompileDestinationCalculator destinationCalculator = new JavaScriptCompileDestinationCalculator(getDestinationDir());
+        Map<RelativeFile, HashValue> toCompile = Maps.newLinkedHashMap();
+        for (RelativeFile relativeFile : relativeFiles) {
+            HashValue sourceHash = cache.hash(relativeFile.getFile());
+            File minifiedFile = destinationCalculator.transform(relativeFile);
+            File cached = cache.get(sourceHash);
+            if (cached != null) {
+                GFileUtils.copyFile(cached, minifiedFile);
+            } else {
+                GFileUtils.deleteQuietly(minifiedFile);
+                toCompile.put(relativeFile, sourceHash);
+            }
+        }
+        getLogger().info("Minifying {} of {} changed JavaScript files, using cached output for the others.", toCompile.size(), relativeFiles.size());
+        if (toCompile.isEmpty()) {
+            return;
+        }
+
+        JavaScriptCompileSpec spec = new DefaultJavaScriptCompileSpec(Lists.newArrayList(toCompile.keySet()), getDestinationDir(), getForkOptions(), getProject().getGradle().getStartParameter().getMaxWorkerCount());
+        try {
+            getCompiler().execute(spec);
+        } finally {
+            // Cache the output of every file that was minified successfully, even when minification of another file failed
+            for (Map.Entry<RelativeFile, HashValue> entry : toCompile.entrySet()) {
+                File minifiedFile = destinationCalculator.transform(entry.getKey());
+                if (minifiedFile.isFile()) {
+                    cache.put(entry.getValue(), minifiedFile);
+                }
+            }
+        }
+    }
+
+    private void removeStaleOutputs(Set<File> expectedOutputs) {
+        for (File outputFile : getProject().fileTree(getDestinationDir())) {
+            if (!expectedOutputs.contains(outputFile)) {
+                GFileUtils.deleteQuietly(outputFile);
+            }
+        }
     }
 
     /**
-     * Copies each file in the source set to the output directory and gathers relative files for compilation
+     * Copies each changed file in the source set to the output directory and gathers relative files for compilation
      */
     class MinifyFileVisitor implements FileVisitor {
+        private final Set<File> sourcesToMinify;
+        private final JavaScriptCompileDestinationCalculator destinationCalculator = new JavaScriptCompileDestinationCalculator(destinationDir);
         List<RelativeFile> relativeFiles = Lists.newArrayList();
+        Set<File> expectedOutputs = Sets.newHashSet();
+
+        MinifyFileVisitor(@Nullable Set<File> sourcesToMinify) {
+            this.sourcesToMinify = sourcesToMinify;
+        }
 
         @Override
         public void visitDir(FileVisitDetails dirDetails) {
@@ -147,19 +242,19 @@ public class JavaScriptMinify extends SourceTask {
 
         @Override
         public void visitFile(final FileVisitDetails fileDetails) {
-            final File outputFileDir = new File(destinationDir, fileDetails.getRelativePath().getParent().getPathString());
+            RelativeFile relativeFile = new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath());
+            File rawFile = new File(destinationDir, fileDetails.getRelativePath().getPathString());
+            expectedOutputs.add(rawFile);
+            expectedOutputs.add(destinationCalculator.transform(relativeFile));
+            if (sourcesToMinify != null && !sourcesToMinify.contains(fileDetails.getFile())) {
+                return;
+            }
 
             // Copy the raw form
-            FileOperations fileOperations = (ProjectInternal) getProject();
-            fileOperations.copy(new Action<CopySpec>() {
-                @Override
-                public void execute(CopySpec copySpec) {
-                    copySpec.from(fileDetails.getFile()).into(outputFileDir);
-                }
-            });
+            fileDetails.copyTo(rawFile);
 
             // Capture the relative file
-            relativeFiles.add(new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath()));
+            relativeFiles.add(relativeFile);
         }
     }
 }
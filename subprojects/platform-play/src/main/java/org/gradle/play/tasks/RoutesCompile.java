@@ -16,6 +16,7 @@
 
 package org.gradle.play.tasks;
 
+import org.gradle.api.Action;
 import org.gradle.api.Incubating;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Internal;
@@ -24,11 +25,14 @@ import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.SourceTask;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.compile.BaseForkOptions;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.api.tasks.incremental.InputFileDetails;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.platform.base.internal.toolchain.ToolProvider;
 import org.gradle.play.internal.CleaningPlayToolCompiler;
 import org.gradle.play.internal.routes.DefaultRoutesCompileSpec;
 import org.gradle.play.internal.routes.RoutesCompileSpec;
+import org.gradle.play.internal.routes.RoutesStaleOutputCleaner;
 import org.gradle.play.internal.toolchain.PlayToolChainInternal;
 import org.gradle.play.platform.PlayPlatform;
 import org.gradle.play.toolchain.PlayToolChain;
@@ -36,7 +40,10 @@ import org.gradle.play.toolchain.PlayToolChain;
 import javax.inject.Inject;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Task for compiling routes templates into Scala code.
@@ -102,9 +109,36 @@ public class RoutesCompile extends SourceTask {
     }
 
     @TaskAction
-    void compile() {
-        RoutesCompileSpec spec = new DefaultRoutesCompileSpec(getSource().getFiles(), getOutputDirectory(), getForkOptions(), isJavaProject(), isNamespaceReverseRouter(), isGenerateReverseRoutes(), getInjectedRoutesGenerator(), getAdditionalImports());
-        new CleaningPlayToolCompiler<RoutesCompileSpec>(getCompiler(), getOutputs()).execute(spec);
+    void compile(IncrementalTaskInputs inputs) {
+        if (!inputs.isIncremental()) {
+            RoutesCompileSpec spec = createSpec(getSource().getFiles());
+            new CleaningPlayToolCompiler<RoutesCompileSpec>(getCompiler(), getOutputs()).execute(spec);
+            return;
+        }
+
+        // The generator options are task inputs, so only the routes files themselves can have changed here
+        final Set<File> sourcesToCompile = new LinkedHashSet<File>();
+        inputs.outOfDate(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails inputFileDetails) {
+                sourcesToCompile.add(inputFileDetails.getFile());
+            }
+        });
+        final Set<File> staleSources = new HashSet<File>(sourcesToCompile);
+        inputs.removed(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails inputFileDetails) {
+                staleSources.add(inputFileDetails.getFile());
+            }
+        });
+
+        boolean didWork = new RoutesStaleOutputCleaner(getOutputDirectory()).execute(staleSources);
+        if (!sourcesToCompile.isEmpty()) {
+            didWork = getCompiler().execute(createSpec(sourcesToCompile)).getDidWork() || didWork;
+        }
+        setDidWork(didWork);
+    }
+
+    private RoutesCompileSpec createSpec(Set<File> sources) {
+        return new DefaultRoutesCompileSpec(sources, getOutputDirectory(), getForkOptions(), isJavaProject(), isNamespaceReverseRouter(), isGenerateReverseRoutes(), getInjectedRoutesGenerator(), getAdditionalImports());
     }
 
     @Internal
@@ -125,8 +125,8 @@ public class TwirlCompile extends SourceTask {
     void compile(IncrementalTaskInputs inputs) {
         RelativeFileCollector relativeFileCollector = new RelativeFileCollector();
         getSource().visit(relativeFileCollector);
-        TwirlCompileSpec spec = new DefaultTwirlCompileSpec(relativeFileCollector.relativeFiles, getOutputDirectory(), getForkOptions(), getDefaultImports());
         if (!inputs.isIncremental()) {
+            TwirlCompileSpec spec = new DefaultTwirlCompileSpec(relativeFileCollector.relativeFiles, getOutputDirectory(), getForkOptions(), getDefaultImports(), getProject().getGradle().getStartParameter().getMaxWorkerCount());
             new CleaningPlayToolCompiler<TwirlCompileSpec>(getCompiler(), getOutputs()).execute(spec);
         } else {
             final Set<File> sourcesToCompile = new HashSet<File>();
@@ -146,6 +146,15 @@ public class TwirlCompile extends SourceTask {
                 cleaner = new TwirlStaleOutputCleaner(getOutputDirectory());
             }
             cleaner.execute(staleOutputFiles);
+
+            // Only templates that are new or have changed need to be compiled again
+            List<RelativeFile> outOfDateFiles = Lists.newArrayList();
+            for (RelativeFile relativeFile : relativeFileCollector.relativeFiles) {
+                if (sourcesToCompile.contains(relativeFile.getFile())) {
+                    outOfDateFiles.add(relativeFile);
+                }
+            }
+            TwirlCompileSpec spec = new DefaultTwirlCompileSpec(outOfDateFiles, getOutputDirectory(), getForkOptions(), getDefaultImports(), getProject().getGradle().getStartParameter().getMaxWorkerCount());
             getCompiler().execute(spec);
         }
     }
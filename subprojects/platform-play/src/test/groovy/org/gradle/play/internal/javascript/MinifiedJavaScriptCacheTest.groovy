@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.javascript
+
+import org.gradle.cache.CacheBuilder
+import org.gradle.cache.CacheRepository
+import org.gradle.cache.PersistentCache
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class MinifiedJavaScriptCacheTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def cacheDir = tmpDir.file("cache")
+    def scope = new Object()
+    def persistentCache = Mock(PersistentCache)
+    def cacheRepository = Stub(CacheRepository)
+
+    def setup() {
+        def cacheBuilder = Stub(CacheBuilder)
+        cacheRepository.cache(scope, "javascript-minify") >> cacheBuilder
+        cacheBuilder.withDisplayName(_) >> cacheBuilder
+        cacheBuilder.withLockOptions(_) >> cacheBuilder
+        cacheBuilder.open() >> persistentCache
+        persistentCache.baseDir >> cacheDir
+    }
+
+    def "returns cached output for source files with the same content"() {
+        def cache = new MinifiedJavaScriptCache(cacheRepository, scope, "minifier:1")
+        def source = tmpDir.file("a/test.js") << "var x = 1;"
+        def sameContent = tmpDir.file("b/other.js") << "var x = 1;"
+        def minified = tmpDir.file("out/test.min.js") << "var x=1;"
+
+        expect:
+        cache.get(cache.hash(source)) == null
+
+        when:
+        cache.put(cache.hash(source), minified)
+
+        then:
+        cache.get(cache.hash(sameContent)).text == "var x=1;"
+        cache.get(cache.hash(tmpDir.file("c/changed.js") << "var x = 2;")) == null
+    }
+
+    def "does not share output between minifier versions"() {
+        def source = tmpDir.file("test.js") << "var x = 1;"
+        def minified = tmpDir.file("out/test.min.js") << "var x=1;"
+        def cache = new MinifiedJavaScriptCache(cacheRepository, scope, "minifier:1")
+        cache.put(cache.hash(source), minified)
+
+        when:
+        def otherVersion = new MinifiedJavaScriptCache(cacheRepository, scope, "minifier:2")
+
+        then:
+        otherVersion.get(otherVersion.hash(source)) == null
+    }
+
+    def "closes the underlying cache"() {
+        when:
+        new MinifiedJavaScriptCache(cacheRepository, scope, "minifier:1").close()
+
+        then:
+        1 * persistentCache.close()
+    }
+}
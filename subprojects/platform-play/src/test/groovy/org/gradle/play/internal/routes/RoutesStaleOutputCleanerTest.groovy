@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.routes
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class RoutesStaleOutputCleanerTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def outputDir = testDir.file("out")
+    def cleaner = new RoutesStaleOutputCleaner(outputDir)
+
+    def "deletes only files generated from stale routes files"() {
+        def routes = testDir.file("conf/routes")
+        def adminRoutes = testDir.file("conf/admin.routes")
+        def routesOutput = generated("router/Routes.scala", routes)
+        def reverseRoutesOutput = generated("controllers/ReverseRoutes.scala", routes)
+        def adminOutput = generated("admin/Routes.scala", adminRoutes)
+        def otherFile = outputDir.file("other/Other.scala") << "object Other"
+
+        when:
+        def didWork = cleaner.execute([routes] as Set)
+
+        then:
+        didWork
+        !routesOutput.exists()
+        !reverseRoutesOutput.exists()
+        adminOutput.exists()
+        otherFile.exists()
+    }
+
+    def "does nothing when there are no stale routes files"() {
+        def routesOutput = generated("router/Routes.scala", testDir.file("conf/routes"))
+
+        expect:
+        !cleaner.execute([] as Set)
+        !cleaner.execute([testDir.file("conf/other.routes")] as Set)
+        routesOutput.exists()
+    }
+
+    private File generated(String path, File source) {
+        return outputDir.file(path) << "\n// @SOURCE:${source.absolutePath}\n// @DATE:Mon Oct 17 12:00:00 CEST 2016\n\npackage router\n"
+    }
+}
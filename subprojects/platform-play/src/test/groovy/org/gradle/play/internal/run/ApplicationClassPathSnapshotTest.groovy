@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal.run
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class ApplicationClassPathSnapshotTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider testDir = new TestNameTestDirectoryProvider()
+
+    def jar = testDir.file("app.jar") << "jar content"
+    def classesDir = testDir.createDir("classes")
+
+    def setup() {
+        classesDir.file("org/Foo.class") << "class content"
+    }
+
+    def "snapshots of an unchanged classpath are equal"() {
+        expect:
+        ApplicationClassPathSnapshot.of([jar, classesDir]) == ApplicationClassPathSnapshot.of([jar, classesDir])
+    }
+
+    def "detects changed, added and removed files"() {
+        def original = ApplicationClassPathSnapshot.of([jar, classesDir])
+
+        when:
+        jar.text = "other content"
+
+        then:
+        ApplicationClassPathSnapshot.of([jar, classesDir]) != original
+
+        when:
+        jar.text = "jar content"
+        classesDir.file("org/Bar.class") << "class content"
+
+        then:
+        ApplicationClassPathSnapshot.of([jar, classesDir]) != original
+
+        when:
+        classesDir.file("org/Bar.class").delete()
+
+        then:
+        ApplicationClassPathSnapshot.of([jar, classesDir]) == original
+    }
+
+    def "ignores missing classpath entries"() {
+        expect:
+        ApplicationClassPathSnapshot.of([jar, testDir.file("missing")]) == ApplicationClassPathSnapshot.of([jar])
+    }
+}
@@ -73,6 +73,32 @@ class TwirlCompileTest extends AbstractProjectBuilderSpec {
         1 * twirlCompiler.execute(_)
     }
 
+    def "compiles only out of date templates"() {
+        given:
+        def sourceDir = temporaryFolder.createDir("app/views")
+        def changed = sourceDir.file("changed.scala.html").createFile()
+        sourceDir.file("unchanged.scala.html").createFile()
+        compile.source(sourceDir)
+        compile.outputDirectory = temporaryFolder.file("outputDir")
+
+        when:
+        compile.compile(withOutOfDateInputFile(changed))
+
+        then:
+        1 * twirlCompiler.execute({ TwirlCompileSpec spec ->
+            spec.sources*.file == [changed] && spec.maxWorkers == project.gradle.startParameter.maxWorkerCount
+        })
+    }
+
+    IncrementalTaskInputs withOutOfDateInputFile(File file) {
+        def details = Mock(InputFileDetails)
+        _ * details.getFile() >> file
+        _ * taskInputs.isIncremental() >> true
+        _ * taskInputs.outOfDate({Action<InputFileDetails> action -> action.execute(details)})
+        _ * taskInputs.removed(_)
+        taskInputs
+    }
+
     IncrementalTaskInputs withDeletedInputFile() {
         def details = someInputFileDetails();
         _ * taskInputs.isIncremental() >> true;
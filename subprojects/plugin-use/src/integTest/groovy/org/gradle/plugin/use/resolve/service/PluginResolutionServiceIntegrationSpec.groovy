@@ -45,6 +45,33 @@ class PluginResolutionServiceIntegrationSpec extends AbstractIntegrationSpec {
         succeeds("verify")
     }
 
+    @LeaksFileHandles
+    def "plugins declared in plugins {} block are resolved concurrently"() {
+        portal.withLatency(500)
+        ["a", "b", "c"].each {
+            portal.expectPluginQuery("org.my.plugin-$it", "1.0", "my", "plugin-$it", "1.0")
+            publishPlugin("org.my.plugin-$it", "my", "plugin-$it", "1.0", new PluginBuilder(file("plugin-$it")))
+        }
+
+        buildScript """
+            plugins {
+                id "org.my.plugin-a" version "1.0"
+                id "org.my.plugin-b" version "1.0"
+                id "org.my.plugin-c" version "1.0"
+            }
+
+            task verify {
+                doLast {
+                    assert pluginApplied
+                }
+            }
+        """
+
+        expect:
+        succeeds("verify")
+        portal.maxConcurrentPluginQueries > 1
+    }
+
     def "resolution fails if Gradle is in offline mode"() {
         buildScript applyAndVerify("org.my.myplugin", "1.0")
         args("--offline")
@@ -76,7 +103,7 @@ class PluginResolutionServiceIntegrationSpec extends AbstractIntegrationSpec {
         pluginVersion << ["[1.0,2.0)", "1.+", "latest.release"]
     }
 
-    private void publishPlugin(String pluginId, String group, String artifact, String version) {
+    private void publishPlugin(String pluginId, String group, String artifact, String version, PluginBuilder pluginBuilder = this.pluginBuilder) {
         def module = portal.m2repo.module(group, artifact, version) // don't know why tests are failing if this module is publish()'ed
         module.allowAll()
         pluginBuilder.addPlugin("project.ext.pluginApplied = true", pluginId)
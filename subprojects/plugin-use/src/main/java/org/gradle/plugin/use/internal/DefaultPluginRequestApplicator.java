@@ -16,13 +16,13 @@
 
 package org.gradle.plugin.use.internal;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.Nullable;
-import org.gradle.api.Transformer;
 import org.gradle.api.artifacts.dsl.RepositoryHandler;
 import org.gradle.api.artifacts.repositories.ArtifactRepository;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
@@ -36,8 +36,11 @@ import org.gradle.api.internal.plugins.PluginRegistry;
 import org.gradle.api.plugins.InvalidPluginException;
 import org.gradle.api.plugins.UnknownPluginException;
 import org.gradle.api.specs.Spec;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.classpath.CachedClasspathTransformer;
 import org.gradle.internal.classpath.ClassPath;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.exceptions.LocationAwareException;
 import org.gradle.plugin.repository.internal.PluginRepositoryRegistry;
 import org.gradle.plugin.internal.PluginId;
@@ -56,21 +59,28 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static org.gradle.util.CollectionUtils.any;
-import static org.gradle.util.CollectionUtils.collect;
 
 public class DefaultPluginRequestApplicator implements PluginRequestApplicator {
+    // Plugin portal lookups are dominated by network latency, so this is not tied to the number of processors
+    private static final int MAX_CONCURRENT_RESOLUTIONS = 8;
+
     private final PluginRegistry pluginRegistry;
     private final PluginResolverFactory pluginResolverFactory;
     private PluginRepositoryRegistry pluginRepositoryRegistry;
     private final CachedClasspathTransformer cachedClasspathTransformer;
+    private final ExecutorFactory executorFactory;
 
-    public DefaultPluginRequestApplicator(PluginRegistry pluginRegistry, PluginResolverFactory pluginResolver, PluginRepositoryRegistry pluginRepositoryRegistry, CachedClasspathTransformer cachedClasspathTransformer) {
+    public DefaultPluginRequestApplicator(PluginRegistry pluginRegistry, PluginResolverFactory pluginResolver, PluginRepositoryRegistry pluginRepositoryRegistry, CachedClasspathTransformer cachedClasspathTransformer, ExecutorFactory executorFactory) {
         this.pluginRegistry = pluginRegistry;
         this.pluginResolverFactory = pluginResolver;
         this.pluginRepositoryRegistry = pluginRepositoryRegistry;
         this.cachedClasspathTransformer = cachedClasspathTransformer;
+        this.executorFactory = executorFactory;
     }
 
     public void applyPlugins(final PluginRequests requests, final ScriptHandlerInternal scriptHandler, @Nullable final PluginManagerInternal target, ClassLoaderScope classLoaderScope) {
@@ -85,11 +95,7 @@ public class DefaultPluginRequestApplicator implements PluginRequestApplicator {
 
         final PluginResolver effectivePluginResolver = wrapInNotInClasspathCheck(classLoaderScope);
 
-        List<Result> results = collect(requests, new Transformer<Result, PluginRequest>() {
-            public Result transform(PluginRequest request) {
-                return resolveToFoundResult(effectivePluginResolver, request);
-            }
-        });
+        List<Result> results = resolveToFoundResults(effectivePluginResolver, ImmutableList.copyOf(requests));
 
         // Could be different to ids in the requests as they may be unqualified
         final Map<Result, PluginId> legacyActualPluginIds = Maps.newLinkedHashMap();
@@ -228,6 +234,50 @@ public class DefaultPluginRequestApplicator implements PluginRequestApplicator {
         }
     }
 
+    /**
+     * Resolves the given requests, returning the results in request order. When only the plugin portal can be consulted for plugins that are not
+     * core plugins, the requests are resolved concurrently so that the portal lookups overlap. Resolvers backed by plugin repositories resolve
+     * dependencies as part of the lookup and are always consulted one request at a time.
+     */
+    private List<Result> resolveToFoundResults(final PluginResolver effectivePluginResolver, List<PluginRequest> requests) {
+        List<Result> results = new ArrayList<Result>(requests.size());
+        if (requests.size() < 2 || !pluginRepositoryRegistry.getPluginRepositories().isEmpty()) {
+            for (PluginRequest request : requests) {
+                results.add(resolveToFoundResult(effectivePluginResolver, request));
+            }
+            return results;
+        }
+
+        StoppableExecutor executor = executorFactory.create("plugin resolution", Math.min(requests.size(), MAX_CONCURRENT_RESOLUTIONS));
+        try {
+            List<Future<Result>> futures = new ArrayList<Future<Result>>(requests.size());
+            for (final PluginRequest request : requests) {
+                futures.add(executor.submit(new Callable<Result>() {
+                    public Result call() {
+                        return resolveToFoundResult(effectivePluginResolver, request);
+                    }
+                }));
+            }
+            // Report the failure of the first failed request, as the sequential resolution does
+            for (Future<Result> future : futures) {
+                results.add(getResult(future));
+            }
+        } finally {
+            executor.stop();
+        }
+        return results;
+    }
+
+    private static Result getResult(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+    }
+
     private Result resolveToFoundResult(PluginResolver effectivePluginResolver, PluginRequest request) {
         Result result = new Result(request);
         try {
@@ -43,6 +43,8 @@ public class HttpPluginResolutionServiceClient implements PluginResolutionServic
     private static final String CLIENT_REQUEST_BASE = String.format("%s", PATH_SEGMENT_ESCAPER.escape(GradleVersion.current().getVersion()));
     private static final String PLUGIN_USE_REQUEST_URL = "/plugin/use/%s/%s";
     private static final String JSON = "application/json";
+    // Allows the plugin requests of a plugins {} block that are resolved concurrently to query the portal at the same time. The HTTP client default is 2 connections per server
+    private static final int MAX_CONNECTIONS = 8;
 
     public static final String CLIENT_STATUS_CHECKSUM_HEADER = "X-Gradle-Client-Status-Checksum";
 
@@ -162,9 +164,9 @@ public class HttpPluginResolutionServiceClient implements PluginResolutionServic
         }
     }
 
-    private HttpResourceAccessor getResourceAccessor() {
+    private synchronized HttpResourceAccessor getResourceAccessor() {
         if (resourceAccessor == null) {
-            resourceAccessor = new HttpResourceAccessor(new HttpClientHelper(new DefaultHttpSettings(Collections.<Authentication>emptyList(), sslContextFactory)));
+            resourceAccessor = new HttpResourceAccessor(new HttpClientHelper(new DefaultHttpSettings(Collections.<Authentication>emptyList(), sslContextFactory, MAX_CONNECTIONS)));
         }
         return resourceAccessor;
     }
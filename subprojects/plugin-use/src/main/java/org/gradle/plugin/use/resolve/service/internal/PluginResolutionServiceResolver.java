@@ -16,6 +16,7 @@
 
 package org.gradle.plugin.use.resolve.service.internal;
 
+import com.google.common.collect.Maps;
 import org.gradle.StartParameter;
 import org.gradle.api.Action;
 import org.gradle.api.GradleException;
@@ -41,6 +42,7 @@ import org.gradle.plugin.use.internal.PluginRequest;
 import org.gradle.plugin.use.resolve.internal.*;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Set;
 
 public class PluginResolutionServiceResolver implements PluginResolver {
@@ -54,6 +56,8 @@ public class PluginResolutionServiceResolver implements PluginResolver {
     private final Factory<DependencyResolutionServices> dependencyResolutionServicesFactory;
     private final ClassLoaderScope parentScope;
     private final PluginInspector pluginInspector;
+    // Keyed by repository and module coordinates, so that each plugin implementation is resolved once per build however many scripts request it
+    private final Map<String, ClassPath> resolvedClassPaths = Maps.newHashMap();
 
     public PluginResolutionServiceResolver(
             PluginResolutionServiceClient portalClient,
@@ -121,11 +125,25 @@ public class PluginResolutionServiceResolver implements PluginResolver {
         return versionSelectorScheme.parseSelector(version).isDynamic();
     }
 
-    private ClassPath resolvePluginDependencies(final PluginUseMetaData metadata) {
+    /**
+     * Resolves the implementation classpath of a plugin. Plugin requests may be resolved concurrently, but dependency resolution is done one plugin
+     * at a time.
+     */
+    private synchronized ClassPath resolvePluginDependencies(final PluginUseMetaData metadata) {
+        final String repoUrl = metadata.implementation.get("repo");
+        String key = repoUrl + "|" + metadata.implementation.get("gav");
+        ClassPath classPath = resolvedClassPaths.get(key);
+        if (classPath == null) {
+            classPath = resolvePluginDependencies(repoUrl, metadata);
+            resolvedClassPaths.put(key, classPath);
+        }
+        return classPath;
+    }
+
+    private ClassPath resolvePluginDependencies(final String repoUrl, PluginUseMetaData metadata) {
         DependencyResolutionServices resolution = dependencyResolutionServicesFactory.create();
 
         RepositoryHandler repositories = resolution.getResolveRepositoryHandler();
-        final String repoUrl = metadata.implementation.get("repo");
         repositories.maven(new Action<MavenArtifactRepository>() {
             public void execute(MavenArtifactRepository mavenArtifactRepository) {
                 mavenArtifactRepository.setUrl(repoUrl);
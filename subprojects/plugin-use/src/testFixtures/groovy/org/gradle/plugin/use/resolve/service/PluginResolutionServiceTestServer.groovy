@@ -30,6 +30,7 @@ import org.junit.rules.ExternalResource
 
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.atomic.AtomicInteger
 
 import static org.gradle.test.fixtures.server.http.HttpServer.Utils.json
 
@@ -43,6 +44,9 @@ class PluginResolutionServiceTestServer extends ExternalResource {
     private GradleVersion gradleVersion = GradleVersion.current()
     private String deprecationMessage
     private String statusChecksum
+    private long latencyMillis
+    private final AtomicInteger pluginQueriesInFlight = new AtomicInteger()
+    private final AtomicInteger maxConcurrentPluginQueries = new AtomicInteger()
 
     PluginResolutionServiceTestServer(GradleExecuter executer, MavenFileRepository repo) {
         this.http = new HttpServer()
@@ -93,6 +97,20 @@ class PluginResolutionServiceTestServer extends ExternalResource {
     void statusChecksum(String checksum) {
         this.statusChecksum = checksum
     }
+
+    /**
+     * Delays each plugin query response by the given time, to simulate the latency of a remote portal.
+     */
+    void withLatency(long millis) {
+        this.latencyMillis = millis
+    }
+
+    /**
+     * Returns the largest number of plugin queries that were being handled at the same time.
+     */
+    int getMaxConcurrentPluginQueries() {
+        maxConcurrentPluginQueries.get()
+    }
 /*
 
     errorCode: «string», // meaningful known identifier of error type
@@ -152,6 +170,7 @@ class PluginResolutionServiceTestServer extends ExternalResource {
 
         http.expect("/$API_PATH/${gradleVersion.version}/plugin/use/$pluginId/$pluginVersion", ["GET"], new HttpServer.ActionSupport("search action") {
             void handle(HttpServletRequest request, HttpServletResponse response) {
+                simulateLatency()
                 addDeprecationHeader(response)
                 json(response, useResponse)
             }
@@ -194,6 +213,7 @@ class PluginResolutionServiceTestServer extends ExternalResource {
     public void expectPluginQuery(String pluginId, String pluginVersion, @DelegatesTo(value = HttpServletResponse, strategy = Closure.DELEGATE_FIRST) Closure<?> configurer) {
         http.expect("/$API_PATH/${gradleVersion.version}/plugin/use/$pluginId/$pluginVersion", ["GET"], new HttpServer.ActionSupport("search action") {
             void handle(HttpServletRequest request, HttpServletResponse response) {
+                simulateLatency()
                 addDeprecationHeader(response)
                 ConfigureUtil.configure(configurer, response)
             }
@@ -206,6 +226,7 @@ class PluginResolutionServiceTestServer extends ExternalResource {
 
         http.expect("/$API_PATH/${gradleVersion.version}/plugin/use/$pluginId/$pluginVersion", ["GET"], new HttpServer.ActionSupport("search action") {
             void handle(HttpServletRequest request, HttpServletResponse response) {
+                simulateLatency()
                 addDeprecationHeader(response)
                 response.status = httpStatus
                 json(response, errorResponse)
@@ -214,6 +235,23 @@ class PluginResolutionServiceTestServer extends ExternalResource {
         })
     }
 
+    private void simulateLatency() {
+        int inFlight = pluginQueriesInFlight.incrementAndGet()
+        try {
+            while (true) {
+                int max = maxConcurrentPluginQueries.get()
+                if (inFlight <= max || maxConcurrentPluginQueries.compareAndSet(max, inFlight)) {
+                    break
+                }
+            }
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis)
+            }
+        } finally {
+            pluginQueriesInFlight.decrementAndGet()
+        }
+    }
+
     private void addDeprecationHeader(HttpServletResponse response) {
         if (deprecationMessage != null) {
             response.addHeader(HttpPluginResolutionServiceClient.CLIENT_STATUS_CHECKSUM_HEADER, statusChecksum)
@@ -25,14 +25,20 @@ public class DefaultHttpSettings implements HttpSettings {
     private final HttpProxySettings secureProxySettings = new JavaSystemPropertiesSecureHttpProxySettings();
     private final Collection<Authentication> authenticationSettings;
     private final SslContextFactory sslContextFactory;
+    private final int maxConnectionsPerRoute;
 
     public DefaultHttpSettings(Collection<Authentication> authenticationSettings, SslContextFactory sslContextFactory) {
+        this(authenticationSettings, sslContextFactory, 0);
+    }
+
+    public DefaultHttpSettings(Collection<Authentication> authenticationSettings, SslContextFactory sslContextFactory, int maxConnectionsPerRoute) {
         if (authenticationSettings == null) {
             throw new IllegalArgumentException("Authentication settings cannot be null.");
         }
 
         this.authenticationSettings = authenticationSettings;
         this.sslContextFactory = sslContextFactory;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
     }
 
     @Override
@@ -54,4 +60,9 @@ public class DefaultHttpSettings implements HttpSettings {
     public SslContextFactory getSslContextFactory() {
         return sslContextFactory;
     }
+
+    @Override
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
 }
@@ -71,9 +71,17 @@ public class HttpClientConfigurer {
         configureCredentials(builder, credentialsProvider, httpSettings.getAuthenticationSettings());
         configureProxy(builder, credentialsProvider, httpSettings);
         configureUserAgent(builder);
+        configureMaxConnections(builder, httpSettings.getMaxConnectionsPerRoute());
         builder.setDefaultCredentialsProvider(credentialsProvider);
     }
 
+    private void configureMaxConnections(HttpClientBuilder builder, int maxConnectionsPerRoute) {
+        if (maxConnectionsPerRoute > 0) {
+            builder.setMaxConnPerRoute(maxConnectionsPerRoute);
+            builder.setMaxConnTotal(maxConnectionsPerRoute);
+        }
+    }
+
     private void configureSslSocketConnectionFactory(HttpClientBuilder builder, SslContextFactory sslContextFactory) {
         builder.setSSLSocketFactory(new SSLConnectionSocketFactory(sslContextFactory.createSslContext(), new DefaultHostnameVerifier(null)));
     }
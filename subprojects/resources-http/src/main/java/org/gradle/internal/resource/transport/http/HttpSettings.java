@@ -28,4 +28,9 @@ public interface HttpSettings {
     Collection<Authentication> getAuthenticationSettings();
 
     SslContextFactory getSslContextFactory();
+
+    /**
+     * Returns the maximum number of concurrent connections to the same server, or 0 to use the HTTP client default.
+     */
+    int getMaxConnectionsPerRoute();
 }
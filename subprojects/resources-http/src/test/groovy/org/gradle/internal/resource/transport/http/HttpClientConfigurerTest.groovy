@@ -110,4 +110,29 @@ public class HttpClientConfigurerTest extends Specification {
         then:
         httpClientBuilder.userAgent == UriTextResource.userAgentString
     }
+
+    def "uses http client default connection limits"() {
+        httpSettings.authenticationSettings >> []
+        httpSettings.sslContextFactory >> sslContextFactory
+
+        when:
+        configurer.configure(httpClientBuilder)
+
+        then:
+        httpClientBuilder.maxConnPerRoute == 0
+        httpClientBuilder.maxConnTotal == 0
+    }
+
+    def "configures http client with connection limit"() {
+        httpSettings.authenticationSettings >> []
+        httpSettings.sslContextFactory >> sslContextFactory
+        httpSettings.maxConnectionsPerRoute >> 8
+
+        when:
+        configurer.configure(httpClientBuilder)
+
+        then:
+        httpClientBuilder.maxConnPerRoute == 8
+        httpClientBuilder.maxConnTotal == 8
+    }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.testing;
+
+/**
+ * A {@link TestClassProcessor} that can do the expensive parts of its startup, such as starting a worker process, before it is given any test classes.
+ */
+public interface PrestartableTestClassProcessor extends TestClassProcessor {
+    /**
+     * Prepares this processor to process test classes. Called after {@link #startProcessing(TestResultProcessor)} and before any test classes are
+     * processed. Blocks until the processor is ready. May do nothing, for example when there is no capacity to spare, in which case the processor starts
+     * when it is given its first test class.
+     */
+    void prestart();
+}
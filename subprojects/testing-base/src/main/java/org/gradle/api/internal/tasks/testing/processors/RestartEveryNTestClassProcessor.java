@@ -17,20 +17,45 @@
 package org.gradle.api.internal.tasks.testing.processors;
 
 import org.gradle.internal.Factory;
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.tasks.testing.PrestartableTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.internal.UncheckedException;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Replaces the delegate processor after every n test classes.
+ *
+ * <p>Can use a standby processor for each batch after the first. When the first test class of the next batch is received, the standby processor is
+ * created and prestarted in the background while the current processor finishes its test classes, so that the next batch does not need to wait for a new
+ * processor to start. No standby processor is started after the last batch.</p>
+ */
 public class RestartEveryNTestClassProcessor implements TestClassProcessor {
     private final Factory<TestClassProcessor> factory;
     private final long restartEvery;
+    private final Executor standbyExecutor;
     private long testCount;
     private TestClassProcessor processor;
     private TestResultProcessor resultProcessor;
 
     public RestartEveryNTestClassProcessor(Factory<TestClassProcessor> factory, long restartEvery) {
+        this(factory, restartEvery, null);
+    }
+
+    /**
+     * @param standbyExecutor Used to create and prestart standby processors, or null to not use standby processors.
+     */
+    public RestartEveryNTestClassProcessor(Factory<TestClassProcessor> factory, long restartEvery, @Nullable Executor standbyExecutor) {
         this.factory = factory;
         this.restartEvery = restartEvery;
+        this.standbyExecutor = standbyExecutor;
     }
 
     @Override
@@ -40,13 +65,15 @@ public class RestartEveryNTestClassProcessor implements TestClassProcessor {
 
     @Override
     public void processTestClass(TestClassRunInfo testClass) {
+        if (processor != null && testCount == restartEvery) {
+            startNextBatch();
+        }
         if (processor == null) {
-            processor = factory.create();
-            processor.startProcessing(resultProcessor);
+            processor = createProcessor();
         }
         processor.processTestClass(testClass);
         testCount++;
-        if (testCount == restartEvery) {
+        if (testCount == restartEvery && standbyExecutor == null) {
             endBatch();
         }
     }
@@ -58,6 +85,17 @@ public class RestartEveryNTestClassProcessor implements TestClassProcessor {
         }
     }
 
+    private void startNextBatch() {
+        Future<TestClassProcessor> standby = startStandbyProcessor();
+        try {
+            endBatch();
+        } catch (RuntimeException e) {
+            discard(standby);
+            throw e;
+        }
+        processor = get(standby);
+    }
+
     private void endBatch() {
         try {
             processor.stop();
@@ -66,4 +104,42 @@ public class RestartEveryNTestClassProcessor implements TestClassProcessor {
             testCount = 0;
         }
     }
+
+    private TestClassProcessor createProcessor() {
+        TestClassProcessor processor = factory.create();
+        processor.startProcessing(resultProcessor);
+        return processor;
+    }
+
+    private Future<TestClassProcessor> startStandbyProcessor() {
+        FutureTask<TestClassProcessor> standby = new FutureTask<TestClassProcessor>(new Callable<TestClassProcessor>() {
+            @Override
+            public TestClassProcessor call() {
+                TestClassProcessor processor = createProcessor();
+                if (processor instanceof PrestartableTestClassProcessor) {
+                    ((PrestartableTestClassProcessor) processor).prestart();
+                }
+                return processor;
+            }
+        });
+        standbyExecutor.execute(standby);
+        return standby;
+    }
+
+    private static void discard(Future<TestClassProcessor> standby) {
+        if (!standby.cancel(false)) {
+            // Already started
+            get(standby).stop();
+        }
+    }
+
+    private static TestClassProcessor get(Future<TestClassProcessor> standby) {
+        try {
+            return standby.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.internal.TimeProvider;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.gradle.internal.dispatch.StreamCompletion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link TestResultProcessor} used in a test worker, which collects test events into batches and sends each batch to the build process as a single
+ * message. Consecutive output for the same test and destination is combined into a single output event.
+ *
+ * <p>A batch is sent once it holds a certain number of events or amount of output, or a short time after its first event was added. Only a limited
+ * number of batches may be waiting for the build process to process them. When this limit is reached, the threads that produce events block until the
+ * build process catches up, rather than buffering an unbounded amount of output in the worker and in the connection.</p>
+ *
+ * <p>This class is thread-safe, as tests may write output from any thread.</p>
+ */
+public class BatchingTestResultProcessor implements TestResultProcessor, TestEventFlowControl, StreamCompletion, Stoppable {
+    private final RemoteTestResultProcessor target;
+    private final int maxEvents;
+    private final int maxOutputChars;
+    private final int maxPendingBatches;
+    private final int flushDelayMs;
+    private final ScheduledExecutorService executor;
+    private final TimeProvider timeProvider;
+    private final Lock lock = new ReentrantLock();
+    private final Condition batchProcessed = lock.newCondition();
+    // Protected by lock
+    private List<TestEventBatch.Event> events = new ArrayList<TestEventBatch.Event>();
+    private TestEventBatch.Output lastOutput;
+    private int outputChars;
+    private boolean flushScheduled;
+    private int pendingBatches;
+    private boolean receiverStopped;
+    private long eventCount;
+    private long outputCharCount;
+    private long batchCount;
+    private long blockedTime;
+
+    public BatchingTestResultProcessor(RemoteTestResultProcessor target, TimeProvider timeProvider) {
+        this(target,
+            Integer.getInteger("org.gradle.test.events.batchSize", 1000),
+            Integer.getInteger("org.gradle.test.events.batchOutputChars", 64 * 1024),
+            Integer.getInteger("org.gradle.test.events.maxPendingBatches", 16),
+            Integer.getInteger("org.gradle.test.events.flushDelayMs", 100),
+            Executors.newSingleThreadScheduledExecutor(new FlushThreadFactory()),
+            timeProvider);
+    }
+
+    BatchingTestResultProcessor(RemoteTestResultProcessor target, int maxEvents, int maxOutputChars, int maxPendingBatches, int flushDelayMs, ScheduledExecutorService executor, TimeProvider timeProvider) {
+        this.target = target;
+        this.maxEvents = maxEvents;
+        this.maxOutputChars = maxOutputChars;
+        this.maxPendingBatches = maxPendingBatches;
+        this.flushDelayMs = flushDelayMs;
+        this.executor = executor;
+        this.timeProvider = timeProvider;
+    }
+
+    @Override
+    public void started(TestDescriptorInternal test, TestStartEvent event) {
+        add(new TestEventBatch.Started(test, event));
+    }
+
+    @Override
+    public void completed(Object testId, TestCompleteEvent event) {
+        add(new TestEventBatch.Completed(testId, event));
+    }
+
+    @Override
+    public void failure(Object testId, Throwable result) {
+        add(new TestEventBatch.Failure(testId, result));
+    }
+
+    @Override
+    public void output(Object testId, TestOutputEvent event) {
+        String message = event.getMessage();
+        lock.lock();
+        try {
+            eventCount++;
+            outputChars += message.length();
+            outputCharCount += message.length();
+            if (lastOutput != null && lastOutput.canAppend(testId, event.getDestination()) && lastOutput.length() + message.length() <= maxOutputChars) {
+                lastOutput.append(message);
+            } else {
+                lastOutput = new TestEventBatch.Output(testId, event.getDestination(), message);
+                events.add(lastOutput);
+            }
+            eventAdded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(TestEventBatch.Event event) {
+        lock.lock();
+        try {
+            eventCount++;
+            lastOutput = null;
+            events.add(event);
+            eventAdded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void eventAdded() {
+        if (events.size() >= maxEvents || outputChars >= maxOutputChars) {
+            send(true);
+        } else if (!flushScheduled) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        flushScheduled = true;
+        executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                lock.lock();
+                try {
+                    flushScheduled = false;
+                    if (!events.isEmpty() && !send(false)) {
+                        // The receiver is busy - try again later rather than block this thread
+                        scheduleFlush();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }, flushDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the current batch, if any. Must be called with the lock held.
+     *
+     * @return false when the receiver has too many pending batches and waitForReceiver is false.
+     */
+    private boolean send(boolean waitForReceiver) {
+        if (pendingBatches >= maxPendingBatches && !receiverStopped) {
+            if (!waitForReceiver) {
+                return false;
+            }
+            long start = timeProvider.getCurrentTime();
+            while (pendingBatches >= maxPendingBatches && !receiverStopped) {
+                batchProcessed.awaitUninterruptibly();
+            }
+            blockedTime += timeProvider.getCurrentTime() - start;
+        }
+        if (events.isEmpty()) {
+            // Another thread has sent the events while waiting for the receiver
+            return true;
+        }
+        TestEventBatch batch = new TestEventBatch(events);
+        events = new ArrayList<TestEventBatch.Event>();
+        lastOutput = null;
+        outputChars = 0;
+        pendingBatches++;
+        batchCount++;
+        target.processEvents(batch);
+        return true;
+    }
+
+    @Override
+    public void batchProcessed() {
+        lock.lock();
+        try {
+            pendingBatches--;
+            batchProcessed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void endStream() {
+        lock.lock();
+        try {
+            receiverStopped = true;
+            batchProcessed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends any remaining events and stops the flush timer.
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            send(true);
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdown();
+    }
+
+    public long getEventCount() {
+        lock.lock();
+        try {
+            return eventCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getOutputCharCount() {
+        lock.lock();
+        try {
+            return outputCharCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBatchCount() {
+        lock.lock();
+        try {
+            return batchCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total time in milliseconds that threads producing events have been blocked waiting for the build process to catch up.
+     */
+    public long getBlockedTime() {
+        lock.lock();
+        try {
+            return blockedTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the thread that sends delayed batches. The thread is a daemon thread, so that it does not keep the worker process alive when tests exit
+     * without stopping the worker.
+     */
+    private static class FlushThreadFactory implements ThreadFactory {
+        private final ThreadFactory threadFactory = new ThreadFactoryImpl("Test event flush");
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = threadFactory.newThread(r);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
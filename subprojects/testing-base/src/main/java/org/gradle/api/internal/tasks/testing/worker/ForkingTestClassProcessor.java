@@ -18,7 +18,7 @@ package org.gradle.api.internal.tasks.testing.worker;
 
 import org.gradle.api.Action;
 import org.gradle.api.internal.classpath.ModuleRegistry;
-import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.PrestartableTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
@@ -34,7 +34,7 @@ import java.io.File;
 import java.net.URL;
 import java.util.List;
 
-public class ForkingTestClassProcessor implements TestClassProcessor {
+public class ForkingTestClassProcessor implements PrestartableTestClassProcessor {
     private final WorkerProcessFactory workerFactory;
     private final WorkerTestClassProcessorFactory processorFactory;
     private final JavaForkOptions options;
@@ -46,6 +46,7 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
     private WorkerProcess workerProcess;
     private TestResultProcessor resultProcessor;
     private BuildOperationWorkerRegistry.Completion workerCompletion;
+    private boolean processing;
 
     public ForkingTestClassProcessor(WorkerProcessFactory workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction, ModuleRegistry moduleRegistry, BuildOperationWorkerRegistry.Operation owner) {
         this.workerFactory = workerFactory;
@@ -62,11 +63,26 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
         this.resultProcessor = resultProcessor;
     }
 
+    /**
+     * Starts the worker process when a worker lease is currently available, without acquiring the lease. The lease is acquired when the first test class
+     * is processed. Does nothing when no lease is available, so that prestarted workers do not exceed the maximum number of workers.
+     */
+    @Override
+    public void prestart() {
+        if (remoteProcessor == null && owner.isLeaseAvailable()) {
+            remoteProcessor = forkProcess();
+        }
+    }
+
     @Override
     public void processTestClass(TestClassRunInfo testClass) {
-        if (remoteProcessor == null) {
+        if (!processing) {
             workerCompletion = owner.operationStart();
-            remoteProcessor = forkProcess();
+            if (remoteProcessor == null) {
+                remoteProcessor = forkProcess();
+            }
+            remoteProcessor.startProcessing();
+            processing = true;
         }
 
         remoteProcessor.processTestClass(testClass);
@@ -85,10 +101,10 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
 
         ObjectConnection connection = workerProcess.getConnection();
         connection.useParameterSerializers(TestEventSerializer.create());
-        connection.addIncoming(TestResultProcessor.class, resultProcessor);
+        TestEventFlowControl flowControl = connection.addOutgoing(TestEventFlowControl.class);
+        connection.addIncoming(RemoteTestResultProcessor.class, new TestEventBatchReceiver(resultProcessor, flowControl));
         RemoteTestClassProcessor remoteProcessor = connection.addOutgoing(RemoteTestClassProcessor.class);
         connection.connect();
-        remoteProcessor.startProcessing();
         return remoteProcessor;
     }
 
@@ -119,7 +135,28 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
                 remoteProcessor.stop();
                 workerProcess.waitForStop();
             } finally {
-                workerCompletion.operationFinish();
+                if (workerCompletion != null) {
+                    workerCompletion.operationFinish();
+                }
+            }
+        }
+    }
+
+    private static class TestEventBatchReceiver implements RemoteTestResultProcessor {
+        private final TestResultProcessor resultProcessor;
+        private final TestEventFlowControl flowControl;
+
+        TestEventBatchReceiver(TestResultProcessor resultProcessor, TestEventFlowControl flowControl) {
+            this.resultProcessor = resultProcessor;
+            this.flowControl = flowControl;
+        }
+
+        @Override
+        public void processEvents(TestEventBatch events) {
+            try {
+                events.dispatchTo(resultProcessor);
+            } finally {
+                flowControl.batchProcessed();
             }
         }
     }
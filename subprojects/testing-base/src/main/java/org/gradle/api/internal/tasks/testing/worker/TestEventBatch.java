@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+
+import java.util.List;
+
+/**
+ * A sequence of test events that is sent from a test worker to the build process as a single message.
+ */
+public class TestEventBatch {
+    private final List<Event> events;
+
+    public TestEventBatch(List<Event> events) {
+        this.events = events;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Forwards the events of this batch to the given processor, in order.
+     */
+    public void dispatchTo(TestResultProcessor processor) {
+        for (Event event : events) {
+            event.dispatchTo(processor);
+        }
+    }
+
+    public abstract static class Event {
+        abstract void dispatchTo(TestResultProcessor processor);
+    }
+
+    public static class Started extends Event {
+        final TestDescriptorInternal test;
+        final TestStartEvent event;
+
+        public Started(TestDescriptorInternal test, TestStartEvent event) {
+            this.test = test;
+            this.event = event;
+        }
+
+        @Override
+        void dispatchTo(TestResultProcessor processor) {
+            processor.started(test, event);
+        }
+    }
+
+    public static class Completed extends Event {
+        final Object testId;
+        final TestCompleteEvent event;
+
+        public Completed(Object testId, TestCompleteEvent event) {
+            this.testId = testId;
+            this.event = event;
+        }
+
+        @Override
+        void dispatchTo(TestResultProcessor processor) {
+            processor.completed(testId, event);
+        }
+    }
+
+    /**
+     * Output written by a test to a single destination. Consecutive output can be appended to this event while the batch is being collected.
+     */
+    public static class Output extends Event {
+        final Object testId;
+        final TestOutputEvent.Destination destination;
+        private final StringBuilder message;
+
+        public Output(Object testId, TestOutputEvent.Destination destination, String message) {
+            this.testId = testId;
+            this.destination = destination;
+            this.message = new StringBuilder(message);
+        }
+
+        boolean canAppend(Object testId, TestOutputEvent.Destination destination) {
+            return this.testId.equals(testId) && this.destination == destination;
+        }
+
+        void append(String message) {
+            this.message.append(message);
+        }
+
+        int length() {
+            return message.length();
+        }
+
+        String getMessage() {
+            return message.toString();
+        }
+
+        @Override
+        void dispatchTo(TestResultProcessor processor) {
+            processor.output(testId, new DefaultTestOutputEvent(destination, getMessage()));
+        }
+    }
+
+    public static class Failure extends Event {
+        final Object testId;
+        final Throwable failure;
+
+        public Failure(Object testId, Throwable failure) {
+            this.testId = testId;
+            this.failure = failure;
+        }
+
+        @Override
+        void dispatchTo(TestResultProcessor processor) {
+            processor.failure(testId, failure);
+        }
+    }
+}
@@ -22,6 +22,9 @@ import org.gradle.api.tasks.testing.TestResult;
 import org.gradle.internal.id.CompositeIdGenerator;
 import org.gradle.internal.serialize.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class TestEventSerializer {
     public static SerializerRegistry create() {
         BaseSerializerFactory factory = new BaseSerializerFactory();
@@ -37,6 +40,7 @@ public class TestEventSerializer {
         registry.register(TestCompleteEvent.class, new TestCompleteEventSerializer());
         registry.register(DefaultTestOutputEvent.class, new DefaultTestOutputEventSerializer());
         registry.register(Throwable.class, factory.getSerializerFor(Throwable.class));
+        registry.register(TestEventBatch.class, new TestEventBatchSerializer(registry.build(TestDescriptorInternal.class), registry.build(Object.class), registry.build(Throwable.class)));
         return registry;
     }
 
@@ -140,6 +144,80 @@ public class TestEventSerializer {
         }
     }
 
+    private static class TestEventBatchSerializer implements Serializer<TestEventBatch> {
+        private static final int STARTED = 0;
+        private static final int COMPLETED = 1;
+        private static final int OUTPUT = 2;
+        private static final int FAILURE = 3;
+        private final Serializer<TestDescriptorInternal> descriptorSerializer;
+        private final Serializer<Object> idSerializer;
+        private final Serializer<Throwable> failureSerializer;
+        private final Serializer<TestStartEvent> startEventSerializer = new TestStartEventSerializer();
+        private final Serializer<TestCompleteEvent> completeEventSerializer = new TestCompleteEventSerializer();
+        private final Serializer<TestOutputEvent.Destination> destinationSerializer = new BaseSerializerFactory().getSerializerFor(TestOutputEvent.Destination.class);
+
+        private TestEventBatchSerializer(Serializer<TestDescriptorInternal> descriptorSerializer, Serializer<Object> idSerializer, Serializer<Throwable> failureSerializer) {
+            this.descriptorSerializer = descriptorSerializer;
+            this.idSerializer = idSerializer;
+            this.failureSerializer = failureSerializer;
+        }
+
+        @Override
+        public TestEventBatch read(Decoder decoder) throws Exception {
+            int count = decoder.readSmallInt();
+            List<TestEventBatch.Event> events = new ArrayList<TestEventBatch.Event>(count);
+            for (int i = 0; i < count; i++) {
+                int tag = decoder.readSmallInt();
+                switch (tag) {
+                    case STARTED:
+                        events.add(new TestEventBatch.Started(descriptorSerializer.read(decoder), startEventSerializer.read(decoder)));
+                        break;
+                    case COMPLETED:
+                        events.add(new TestEventBatch.Completed(idSerializer.read(decoder), completeEventSerializer.read(decoder)));
+                        break;
+                    case OUTPUT:
+                        events.add(new TestEventBatch.Output(idSerializer.read(decoder), destinationSerializer.read(decoder), decoder.readString()));
+                        break;
+                    case FAILURE:
+                        events.add(new TestEventBatch.Failure(idSerializer.read(decoder), failureSerializer.read(decoder)));
+                        break;
+                    default:
+                        throw new IllegalArgumentException(String.format("Unexpected event tag %d found.", tag));
+                }
+            }
+            return new TestEventBatch(events);
+        }
+
+        @Override
+        public void write(Encoder encoder, TestEventBatch value) throws Exception {
+            encoder.writeSmallInt(value.getEvents().size());
+            for (TestEventBatch.Event event : value.getEvents()) {
+                if (event instanceof TestEventBatch.Started) {
+                    TestEventBatch.Started started = (TestEventBatch.Started) event;
+                    encoder.writeSmallInt(STARTED);
+                    descriptorSerializer.write(encoder, started.test);
+                    startEventSerializer.write(encoder, started.event);
+                } else if (event instanceof TestEventBatch.Completed) {
+                    TestEventBatch.Completed completed = (TestEventBatch.Completed) event;
+                    encoder.writeSmallInt(COMPLETED);
+                    idSerializer.write(encoder, completed.testId);
+                    completeEventSerializer.write(encoder, completed.event);
+                } else if (event instanceof TestEventBatch.Output) {
+                    TestEventBatch.Output output = (TestEventBatch.Output) event;
+                    encoder.writeSmallInt(OUTPUT);
+                    idSerializer.write(encoder, output.testId);
+                    destinationSerializer.write(encoder, output.destination);
+                    encoder.writeString(output.getMessage());
+                } else {
+                    TestEventBatch.Failure failure = (TestEventBatch.Failure) event;
+                    encoder.writeSmallInt(FAILURE);
+                    idSerializer.write(encoder, failure.testId);
+                    failureSerializer.write(encoder, failure.failure);
+                }
+            }
+        }
+    }
+
     private static class DefaultTestSuiteDescriptorSerializer implements Serializer<DefaultTestSuiteDescriptor> {
         final Serializer<CompositeIdGenerator.CompositeId> idSerializer = new IdSerializer();
 
@@ -19,7 +19,6 @@ package org.gradle.api.internal.tasks.testing.worker;
 import org.gradle.api.Action;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
-import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
 import org.gradle.internal.TimeProvider;
 import org.gradle.internal.TrueTimeProvider;
@@ -48,7 +47,8 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
     private final WorkerTestClassProcessorFactory factory;
     private CountDownLatch completed;
     private TestClassProcessor processor;
-    private TestResultProcessor resultProcessor;
+    private BatchingTestResultProcessor resultProcessor;
+    private boolean processing;
 
     public TestWorker(WorkerTestClassProcessorFactory factory) {
         this.factory = factory;
@@ -73,6 +73,10 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
             }
         } finally {
             LOGGER.info("{} finished executing tests.", workerProcessContext.getDisplayName());
+            if (resultProcessor != null) {
+                LOGGER.info("{} sent {} test events with {} characters of output in {} batches, and waited {}ms for the build process to process them.",
+                    workerProcessContext.getDisplayName(), resultProcessor.getEventCount(), resultProcessor.getOutputCharCount(), resultProcessor.getBatchCount(), resultProcessor.getBlockedTime());
+            }
             // Clean out any security manager the tests might have installed
             System.setSecurityManager(null);
             testServices.close();
@@ -91,7 +95,8 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
 
         ObjectConnection serverConnection = workerProcessContext.getServerConnection();
         serverConnection.useParameterSerializers(TestEventSerializer.create());
-        this.resultProcessor = serverConnection.addOutgoing(TestResultProcessor.class);
+        this.resultProcessor = new BatchingTestResultProcessor(serverConnection.addOutgoing(RemoteTestResultProcessor.class), testServices.get(TimeProvider.class));
+        serverConnection.addIncoming(TestEventFlowControl.class, resultProcessor);
         serverConnection.addIncoming(RemoteTestClassProcessor.class, this);
         serverConnection.connect();
     }
@@ -99,6 +104,7 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
     @Override
     public void startProcessing() {
         Thread.currentThread().setName("Test worker");
+        processing = true;
         processor.startProcessing(resultProcessor);
     }
 
@@ -117,7 +123,14 @@ public class TestWorker implements Action<WorkerProcessContext>, RemoteTestClass
     public void stop() {
         Thread.currentThread().setName("Test worker");
         try {
-            processor.stop();
+            try {
+                // A worker that was started ahead of time may be stopped without having processed any tests
+                if (processing) {
+                    processor.stop();
+                }
+            } finally {
+                resultProcessor.stop();
+            }
         } finally {
             completed.countDown();
         }
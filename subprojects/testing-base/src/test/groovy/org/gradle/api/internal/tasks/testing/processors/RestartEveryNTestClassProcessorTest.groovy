@@ -16,12 +16,15 @@
 
 package org.gradle.api.internal.tasks.testing.processors
 
+import org.gradle.api.internal.tasks.testing.PrestartableTestClassProcessor
 import org.gradle.api.internal.tasks.testing.TestClassProcessor
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestResultProcessor
 import org.gradle.internal.Factory
 import spock.lang.Specification
 
+import java.util.concurrent.Executor
+
 public class RestartEveryNTestClassProcessorTest extends Specification {
     private final Factory<TestClassProcessor> factory = Mock();
     private final TestClassProcessor delegate = Mock();
@@ -156,4 +159,145 @@ public class RestartEveryNTestClassProcessorTest extends Specification {
         1 * delegate.stop()
         0 * _._
     }
+
+    def 'starts standby processor in the background when the next batch starts and uses it for that batch'() {
+        given:
+        PrestartableTestClassProcessor standby = Mock()
+        def executed = []
+        def executor = { Runnable action -> executed << action; action.run() } as Executor
+        processor = new RestartEveryNTestClassProcessor(factory, 2, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+
+        then:
+        1 * factory.create() >> delegate
+        1 * delegate.startProcessing(resultProcessor)
+        1 * delegate.processTestClass(test1)
+        1 * delegate.processTestClass(test2)
+        0 * _._
+        executed.empty
+
+        when:
+        processor.processTestClass(test3)
+
+        then:
+        1 * factory.create() >> standby
+        then:
+        1 * standby.startProcessing(resultProcessor)
+        then:
+        1 * standby.prestart()
+        then:
+        1 * delegate.stop()
+        then:
+        1 * standby.processTestClass(test3)
+        0 * _._
+        executed.size() == 1
+    }
+
+    def 'does not start standby processor after the last batch'() {
+        given:
+        def executor = Mock(Executor)
+        processor = new RestartEveryNTestClassProcessor(factory, 2, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+        processor.stop()
+
+        then:
+        1 * factory.create() >> delegate
+        1 * delegate.startProcessing(resultProcessor)
+        1 * delegate.processTestClass(test1)
+        1 * delegate.processTestClass(test2)
+        then:
+        1 * delegate.stop()
+        0 * executor._
+        0 * _._
+    }
+
+    def 'does not start standby processors when processors are not restarted'() {
+        given:
+        def executor = Mock(Executor)
+        processor = new RestartEveryNTestClassProcessor(factory, 0, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+        processor.stop()
+
+        then:
+        1 * factory.create() >> delegate
+        1 * delegate.stop()
+        0 * executor._
+    }
+
+    def 'cancels standby processor that has not started when the current processor fails to stop'() {
+        given:
+        def failure = new RuntimeException("broken")
+        def executed = []
+        def executor = { Runnable action -> executed << action } as Executor
+        processor = new RestartEveryNTestClassProcessor(factory, 1, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+
+        then:
+        1 * factory.create() >> delegate
+        1 * delegate.stop() >> { throw failure }
+        RuntimeException e = thrown()
+        e == failure
+        executed.size() == 1
+        executed[0].isCancelled()
+
+        when:
+        executed[0].run()
+
+        then:
+        0 * factory.create()
+    }
+
+    def 'stops standby processor that has started when the current processor fails to stop'() {
+        given:
+        TestClassProcessor standby = Mock()
+        def failure = new RuntimeException("broken")
+        def executor = { Runnable action -> action.run() } as Executor
+        processor = new RestartEveryNTestClassProcessor(factory, 1, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+
+        then:
+        2 * factory.create() >>> [delegate, standby]
+        1 * delegate.stop() >> { throw failure }
+        1 * standby.stop()
+        RuntimeException e = thrown()
+        e == failure
+    }
+
+    def 'rethrows failure to start standby processor'() {
+        given:
+        def failure = new RuntimeException("broken")
+        def executor = { Runnable action -> action.run() } as Executor
+        processor = new RestartEveryNTestClassProcessor(factory, 1, executor)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.processTestClass(test1)
+        processor.processTestClass(test2)
+
+        then:
+        2 * factory.create() >> delegate >> { throw failure }
+        1 * delegate.stop()
+        RuntimeException e = thrown()
+        e == failure
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.TestStartEvent
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.internal.TrueTimeProvider
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+import spock.util.concurrent.BlockingVariable
+
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+class BatchingTestResultProcessorTest extends ConcurrentSpec {
+    def target = Mock(RemoteTestResultProcessor)
+    def scheduler = Mock(ScheduledExecutorService)
+    def scheduled = []
+    def processor = new BatchingTestResultProcessor(target, 3, 10, 1, 100, scheduler, new TrueTimeProvider())
+    def test = Stub(TestDescriptorInternal) {
+        getId() >> "test"
+    }
+
+    def setup() {
+        _ * scheduler.schedule(_, 100, TimeUnit.MILLISECONDS) >> { Runnable action, long delay, TimeUnit unit ->
+            scheduled << action
+            null
+        }
+    }
+
+    def "sends collected events in a single batch after a delay"() {
+        def startEvent = new TestStartEvent(123L)
+        def completeEvent = new TestCompleteEvent(456L)
+        def received = Mock(TestResultProcessor)
+
+        when:
+        processor.started(test, startEvent)
+        processor.completed("test", completeEvent)
+
+        then:
+        scheduled.size() == 1
+        0 * target._
+
+        when:
+        scheduled.remove(0).run()
+
+        then:
+        1 * target.processEvents(_) >> { TestEventBatch batch -> batch.dispatchTo(received) }
+        1 * received.started(test, startEvent)
+        1 * received.completed("test", completeEvent)
+        0 * received._
+    }
+
+    def "combines consecutive output for the same test and destination"() {
+        def received = Mock(TestResultProcessor)
+
+        when:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "a"))
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "b"))
+        processor.output("test", output(TestOutputEvent.Destination.StdErr, "c"))
+        processor.output("other", output(TestOutputEvent.Destination.StdErr, "d"))
+        scheduled.remove(0).run()
+
+        then:
+        1 * target.processEvents(_) >> { TestEventBatch batch ->
+            assert batch.events.size() == 3
+            batch.dispatchTo(received)
+        }
+        1 * received.output("test", { it.destination == TestOutputEvent.Destination.StdOut && it.message == "ab" })
+        1 * received.output("test", { it.destination == TestOutputEvent.Destination.StdErr && it.message == "c" })
+        1 * received.output("other", { it.destination == TestOutputEvent.Destination.StdErr && it.message == "d" })
+        0 * received._
+    }
+
+    def "does not combine output separated by other events"() {
+        when:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "a"))
+        processor.failure("test", new RuntimeException())
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "b"))
+
+        then:
+        1 * target.processEvents({ it.events.size() == 3 })
+    }
+
+    def "sends batch as soon as it contains the maximum number of events"() {
+        when:
+        processor.started(test, new TestStartEvent(123L))
+        processor.failure("test", new RuntimeException())
+
+        then:
+        0 * target._
+
+        when:
+        processor.completed("test", new TestCompleteEvent(456L))
+
+        then:
+        1 * target.processEvents({ it.events.size() == 3 })
+    }
+
+    def "sends batch as soon as it contains the maximum amount of output"() {
+        when:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "12345"))
+
+        then:
+        0 * target._
+
+        when:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "67890"))
+
+        then:
+        1 * target.processEvents({ it.events.size() == 1 && it.events[0].message == "1234567890" })
+    }
+
+    def "blocks producer until receiver has processed pending batches"() {
+        given:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "0123456789"))
+
+        when:
+        async {
+            start {
+                processor.output("test", output(TestOutputEvent.Destination.StdOut, "0123456789"))
+                instant.sent
+            }
+            thread.block()
+            instant.processed
+            processor.batchProcessed()
+        }
+
+        then:
+        instant.sent > instant.processed
+        1 * target.processEvents(_)
+    }
+
+    def "stops waiting for receiver when the receiver goes away"() {
+        given:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "0123456789"))
+
+        when:
+        async {
+            start {
+                processor.output("test", output(TestOutputEvent.Destination.StdOut, "0123456789"))
+                instant.sent
+            }
+            thread.block()
+            instant.stopped
+            processor.endStream()
+        }
+
+        then:
+        instant.sent > instant.stopped
+    }
+
+    def "delayed send does not block when receiver has too many pending batches"() {
+        given:
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "0123456789"))
+        processor.started(test, new TestStartEvent(123L))
+
+        when:
+        scheduled.remove(0).run()
+
+        then:
+        0 * target._
+        scheduled.size() == 1
+
+        when:
+        processor.batchProcessed()
+        scheduled.remove(0).run()
+
+        then:
+        1 * target.processEvents({ it.events.size() == 1 })
+    }
+
+    def "sends remaining events on stop"() {
+        when:
+        processor.started(test, new TestStartEvent(123L))
+        processor.stop()
+
+        then:
+        1 * target.processEvents({ it.events.size() == 1 })
+        1 * scheduler.shutdown()
+    }
+
+    def "tracks number of events, output and batches"() {
+        when:
+        processor.started(test, new TestStartEvent(123L))
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "abc"))
+        processor.output("test", output(TestOutputEvent.Destination.StdOut, "de"))
+        processor.stop()
+
+        then:
+        processor.eventCount == 3
+        processor.outputCharCount == 5
+        processor.batchCount == 1
+        processor.blockedTime == 0
+    }
+
+    def "sends delayed batches from a named daemon thread"() {
+        def processor = new BatchingTestResultProcessor(target, new TrueTimeProvider())
+        def flushThread = new BlockingVariable<Thread>()
+        target.processEvents(_) >> { flushThread.set(Thread.currentThread()) }
+
+        when:
+        processor.started(test, new TestStartEvent(123L))
+
+        then:
+        flushThread.get().name == "Test event flush"
+        flushThread.get().daemon
+
+        cleanup:
+        processor.stop()
+    }
+
+    def output(TestOutputEvent.Destination destination, String message) {
+        return new DefaultTestOutputEvent(destination, message)
+    }
+}
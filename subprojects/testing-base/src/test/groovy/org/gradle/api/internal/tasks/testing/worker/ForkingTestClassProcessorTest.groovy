@@ -55,16 +55,94 @@ class ForkingTestClassProcessorTest extends Specification {
 
         then:
         1 * processor.forkProcess() >> remoteProcessor
+        1 * remoteProcessor.startProcessing()
         1 * remoteProcessor.processTestClass(test1)
         1 * remoteProcessor.processTestClass(test2)
         0 * remoteProcessor._
     }
 
+    def "starts worker process without acquiring worker lease when prestarted"() {
+        def test1 = Mock(TestClassRunInfo)
+        def workerCompletion = Mock(BuildOperationWorkerRegistry.Completion)
+        def remoteProcessor = Mock(RemoteTestClassProcessor)
+
+        when:
+        processor.prestart()
+
+        then:
+        1 * owner.isLeaseAvailable() >> true
+        1 * processor.forkProcess() >> remoteProcessor
+        0 * owner._
+        0 * remoteProcessor._
+
+        when:
+        processor.processTestClass(test1)
+
+        then:
+        1 * owner.operationStart() >> workerCompletion
+        0 * processor.forkProcess()
+
+        then:
+        1 * remoteProcessor.startProcessing()
+        1 * remoteProcessor.processTestClass(test1)
+    }
+
+    def "does not start worker process when prestarted and no worker lease is available"() {
+        def test1 = Mock(TestClassRunInfo)
+        def workerCompletion = Mock(BuildOperationWorkerRegistry.Completion)
+        def remoteProcessor = Mock(RemoteTestClassProcessor)
+
+        when:
+        processor.prestart()
+
+        then:
+        1 * owner.isLeaseAvailable() >> false
+        0 * processor.forkProcess()
+        0 * owner._
+
+        when:
+        processor.processTestClass(test1)
+
+        then:
+        1 * owner.operationStart() >> workerCompletion
+        then:
+        1 * processor.forkProcess() >> remoteProcessor
+        then:
+        1 * remoteProcessor.startProcessing()
+        1 * remoteProcessor.processTestClass(test1)
+    }
+
+    def "stops prestarted worker process that has not processed any tests"() {
+        def remoteProcessor = Mock(RemoteTestClassProcessor)
+        _ * workerProcessFactory.create(_) >> workerProcessBuilder
+        _ * workerProcessBuilder.build() >> workerProcess
+        _ * workerProcess.getConnection() >> Stub(ObjectConnection) {
+            addOutgoing(RemoteTestClassProcessor) >> remoteProcessor
+            addOutgoing(TestEventFlowControl) >> Stub(TestEventFlowControl)
+        }
+        _ * moduleRegistry.getModule(_) >> { module(it[0]) }
+        _ * moduleRegistry.getExternalModule(_) >> { module(it[0]) }
+
+        when:
+        processor.prestart()
+        processor.stop()
+
+        then:
+        1 * owner.isLeaseAvailable() >> true
+        1 * remoteProcessor.stop()
+        1 * workerProcess.waitForStop()
+        0 * owner._
+        0 * remoteProcessor._
+    }
+
     def "starts process with a limited implementation classpath"() {
         setup:
         1 * workerProcessFactory.create(_) >> workerProcessBuilder
         1 * workerProcessBuilder.build() >> workerProcess
-        1 * workerProcess.getConnection() >> Stub(ObjectConnection) { addOutgoing(_) >> Stub(RemoteTestClassProcessor) }
+        1 * workerProcess.getConnection() >> Stub(ObjectConnection) {
+            addOutgoing(RemoteTestClassProcessor) >> Stub(RemoteTestClassProcessor)
+            addOutgoing(TestEventFlowControl) >> Stub(TestEventFlowControl)
+        }
 
         when:
         processor.forkProcess()
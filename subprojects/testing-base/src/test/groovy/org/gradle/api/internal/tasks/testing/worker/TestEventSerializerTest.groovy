@@ -175,6 +175,40 @@ class TestEventSerializerTest extends SerializerSpec {
         result.cause.message == "cause"
     }
 
+    def "serializes TestEventBatch"() {
+        def id = new CompositeIdGenerator.CompositeId(1L, 2L)
+        def descriptor = new DefaultTestMethodDescriptor(id, "some-class", "some-test")
+        def failure = new GradleException("broken")
+        def batch = new TestEventBatch([
+            new TestEventBatch.Started(descriptor, new TestStartEvent(123L, null)),
+            new TestEventBatch.Output(id, TestOutputEvent.Destination.StdOut, "hi"),
+            new TestEventBatch.Failure(id, failure),
+            new TestEventBatch.Completed(id, new TestCompleteEvent(456L, TestResult.ResultType.FAILURE))
+        ])
+        def processor = Mock(TestResultProcessor)
+
+        when:
+        def result = serialize(batch)
+        result.dispatchTo(processor)
+
+        then:
+        result instanceof TestEventBatch
+        result.events.size() == 4
+
+        then:
+        1 * processor.started({ it.id == id && it.className == "some-class" && it.name == "some-test" }, { it.startTime == 123L && it.parentId == null })
+
+        then:
+        1 * processor.output(id, { it.destination == TestOutputEvent.Destination.StdOut && it.message == "hi" })
+
+        then:
+        1 * processor.failure(id, { it.class == GradleException && it.message == "broken" })
+
+        then:
+        1 * processor.completed(id, { it.endTime == 456L && it.resultType == TestResult.ResultType.FAILURE })
+        0 * processor._
+    }
+
     def Object serialize(Object source, Class type = source.getClass()) {
         return super.serialize(source, serializer.build(type))
     }
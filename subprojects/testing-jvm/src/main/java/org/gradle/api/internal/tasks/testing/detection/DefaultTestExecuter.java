@@ -29,6 +29,8 @@ import org.gradle.api.internal.tasks.testing.worker.ForkingTestClassProcessor;
 import org.gradle.api.tasks.testing.Test;
 import org.gradle.internal.Factory;
 import org.gradle.internal.TrueTimeProvider;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.operations.BuildOperationWorkerRegistry;
 import org.gradle.internal.progress.OperationIdGenerator;
 import org.gradle.internal.actor.ActorFactory;
@@ -38,16 +40,23 @@ import org.gradle.process.internal.worker.WorkerProcessFactory;
  * The default test class scanner factory.
  */
 public class DefaultTestExecuter implements TestExecuter {
+    /**
+     * Whether to start the next worker process ahead of time, when test workers are restarted after a number of test classes. A standby worker process
+     * is only started when a worker lease is available.
+     */
+    private static final boolean STANDBY_FORKS = System.getProperty("org.gradle.test.standbyForks", "true").equals("true");
     private final WorkerProcessFactory workerFactory;
     private final ActorFactory actorFactory;
     private final ModuleRegistry moduleRegistry;
     private final BuildOperationWorkerRegistry buildOperationWorkerRegistry;
+    private final ExecutorFactory executorFactory;
 
-    public DefaultTestExecuter(WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry, BuildOperationWorkerRegistry buildOperationWorkerRegistry) {
+    public DefaultTestExecuter(WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry, BuildOperationWorkerRegistry buildOperationWorkerRegistry, ExecutorFactory executorFactory) {
         this.workerFactory = workerFactory;
         this.actorFactory = actorFactory;
         this.moduleRegistry = moduleRegistry;
         this.buildOperationWorkerRegistry = buildOperationWorkerRegistry;
+        this.executorFactory = executorFactory;
     }
 
     @Override
@@ -61,9 +70,10 @@ public class DefaultTestExecuter implements TestExecuter {
                     testTask.getClasspath(), testFramework.getWorkerConfigurationAction(), moduleRegistry, currentOperation);
             }
         };
+        final StoppableExecutor standbyExecutor = STANDBY_FORKS ? executorFactory.create("Test worker standby") : null;
         Factory<TestClassProcessor> reforkingProcessorFactory = new Factory<TestClassProcessor>() {
             public TestClassProcessor create() {
-                return new RestartEveryNTestClassProcessor(forkingProcessorFactory, testTask.getForkEvery());
+                return new RestartEveryNTestClassProcessor(forkingProcessorFactory, testTask.getForkEvery(), standbyExecutor);
             }
         };
 
@@ -84,6 +94,12 @@ public class DefaultTestExecuter implements TestExecuter {
 
         final Object testTaskOperationId = OperationIdGenerator.generateId(testTask);
 
-        new TestMainAction(detector, processor, testResultProcessor, new TrueTimeProvider(), testTaskOperationId, testTask.getPath(), "Gradle Test Run " + testTask.getPath()).run();
+        try {
+            new TestMainAction(detector, processor, testResultProcessor, new TrueTimeProvider(), testTaskOperationId, testTask.getPath(), "Gradle Test Run " + testTask.getPath()).run();
+        } finally {
+            if (standbyExecutor != null) {
+                standbyExecutor.stop();
+            }
+        }
     }
 }
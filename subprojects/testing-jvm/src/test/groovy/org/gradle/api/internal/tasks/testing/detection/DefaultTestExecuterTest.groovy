@@ -25,6 +25,8 @@ import org.gradle.api.internal.tasks.testing.TestResultProcessor
 import org.gradle.api.tasks.testing.Test
 import org.gradle.internal.actor.Actor
 import org.gradle.internal.actor.ActorFactory
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.StoppableExecutor
 import org.gradle.internal.operations.BuildOperationWorkerRegistry
 import org.gradle.process.internal.worker.WorkerProcessFactory
 import spock.lang.Specification
@@ -44,8 +46,10 @@ class DefaultTestExecuterTest extends Specification {
     FileCollection testClasspath = Mock()
     Project project = Mock()
     BuildOperationWorkerRegistry buildOperationWorkerRegistry = Mock()
+    ExecutorFactory executorFactory = Mock()
+    StoppableExecutor standbyExecutor = Mock()
 
-    DefaultTestExecuter executer = new DefaultTestExecuter(workerFactory, actorFactory, moduleRegistry, buildOperationWorkerRegistry)
+    DefaultTestExecuter executer = new DefaultTestExecuter(workerFactory, actorFactory, moduleRegistry, buildOperationWorkerRegistry, executorFactory)
 
     def setup() {
         _ * testTask.testFramework >> testFramework
@@ -56,6 +60,7 @@ class DefaultTestExecuterTest extends Specification {
         _ * resultProcessorActor.getProxy(_) >> resultProcessor
         _ * testTask.isScanForTestClasses() >> true
         _ * testFramework.getDetector() >> testFrameworkTestDetector
+        _ * executorFactory.create(_) >> standbyExecutor
     }
 
     def "testClassDirectory for testclassdetector is configured before executing"() {
@@ -74,4 +79,11 @@ class DefaultTestExecuterTest extends Specification {
         1 * testTask.getClasspath() >> testClasspath
         1 * testFrameworkTestDetector.setTestClasspath(testClasspath)
     }
+
+    def "stops standby worker executor after executing"() {
+        when:
+        executer.execute(testTask, testResultProcessor);
+        then:
+        1 * standbyExecutor.stop()
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.adapter;
+
+import org.gradle.tooling.model.idea.IdeaContentRoot;
+import org.gradle.tooling.model.idea.IdeaDependency;
+import org.gradle.tooling.model.idea.IdeaModule;
+import org.gradle.tooling.model.idea.IdeaProject;
+import org.gradle.tooling.model.idea.IdeaSourceDirectory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapts and traverses a synthetic {@link IdeaProject} model with many modules, using either proxies or generated views.
+ */
+@State(Scope.Benchmark)
+public class ProtocolToModelAdapterBenchmark {
+    private static final int MODULES = 600;
+    private static final int CONTENT_ROOTS = 2;
+    private static final int SOURCE_DIRECTORIES = 4;
+    private static final int DEPENDENCIES = 40;
+
+    @Param({"false", "true"})
+    boolean generatedViews;
+
+    private ProtocolToModelAdapter adapter;
+    private SourceProject project;
+
+    @Setup(Level.Trial)
+    public void createModel() {
+        adapter = new ProtocolToModelAdapter(generatedViews);
+        project = new SourceProject("root");
+        for (int i = 0; i < MODULES; i++) {
+            SourceModule module = new SourceModule("module" + i, project);
+            for (int j = 0; j < CONTENT_ROOTS; j++) {
+                SourceContentRoot contentRoot = new SourceContentRoot(new File(module.name, "root" + j));
+                for (int k = 0; k < SOURCE_DIRECTORIES; k++) {
+                    contentRoot.sourceDirectories.add(new SourceDirectory(new File(contentRoot.rootDirectory, "src" + k)));
+                    contentRoot.testDirectories.add(new SourceDirectory(new File(contentRoot.rootDirectory, "test" + k)));
+                }
+                module.contentRoots.add(contentRoot);
+            }
+            for (int j = 0; j < DEPENDENCIES; j++) {
+                module.dependencies.add(new SourceDependency(j % 2 == 0 ? "COMPILE" : "TEST", j % 3 == 0));
+            }
+            project.modules.add(module);
+        }
+    }
+
+    @Benchmark
+    public void adaptAndTraverse(Blackhole bh) {
+        IdeaProject view = adapter.adapt(IdeaProject.class, project);
+        bh.consume(view.getName());
+        for (IdeaModule module : view.getModules()) {
+            bh.consume(module.getName());
+            bh.consume(module.getParent().getName());
+            for (IdeaContentRoot contentRoot : module.getContentRoots()) {
+                bh.consume(contentRoot.getRootDirectory());
+                for (IdeaSourceDirectory directory : contentRoot.getSourceDirectories()) {
+                    bh.consume(directory.getDirectory());
+                }
+                for (IdeaSourceDirectory directory : contentRoot.getTestDirectories()) {
+                    bh.consume(directory.getDirectory());
+                }
+            }
+            for (IdeaDependency dependency : module.getDependencies()) {
+                bh.consume(dependency.getScope().getScope());
+                bh.consume(dependency.getExported());
+            }
+        }
+    }
+
+    public static class SourceProject {
+        private final String name;
+        private final List<SourceModule> modules = new ArrayList<SourceModule>();
+
+        SourceProject(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<SourceModule> getModules() {
+            return modules;
+        }
+
+        public List<SourceModule> getChildren() {
+            return modules;
+        }
+    }
+
+    public static class SourceModule {
+        private final String name;
+        private final SourceProject parent;
+        private final List<SourceContentRoot> contentRoots = new ArrayList<SourceContentRoot>();
+        private final List<SourceDependency> dependencies = new ArrayList<SourceDependency>();
+
+        SourceModule(String name, SourceProject parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SourceProject getParent() {
+            return parent;
+        }
+
+        public SourceProject getProject() {
+            return parent;
+        }
+
+        public List<SourceContentRoot> getContentRoots() {
+            return contentRoots;
+        }
+
+        public List<SourceDependency> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    public static class SourceContentRoot {
+        private final File rootDirectory;
+        private final List<SourceDirectory> sourceDirectories = new ArrayList<SourceDirectory>();
+        private final List<SourceDirectory> testDirectories = new ArrayList<SourceDirectory>();
+
+        SourceContentRoot(File rootDirectory) {
+            this.rootDirectory = rootDirectory;
+        }
+
+        public File getRootDirectory() {
+            return rootDirectory;
+        }
+
+        public List<SourceDirectory> getSourceDirectories() {
+            return sourceDirectories;
+        }
+
+        public List<SourceDirectory> getTestDirectories() {
+            return testDirectories;
+        }
+    }
+
+    public static class SourceDirectory {
+        private final File directory;
+
+        SourceDirectory(File directory) {
+            this.directory = directory;
+        }
+
+        public File getDirectory() {
+            return directory;
+        }
+    }
+
+    public static class SourceDependency {
+        private final SourceScope scope;
+        private final boolean exported;
+
+        SourceDependency(String scope, boolean exported) {
+            this.scope = new SourceScope(scope);
+            this.exported = exported;
+        }
+
+        public SourceScope getScope() {
+            return scope;
+        }
+
+        public boolean getExported() {
+            return exported;
+        }
+    }
+
+    public static class SourceScope {
+        private final String scope;
+
+        SourceScope(String scope) {
+            this.scope = scope;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+    }
+}
@@ -114,6 +114,7 @@ public interface ProjectConnection {
      * <ul>
      *     <li>{@link org.gradle.tooling.model.gradle.GradleBuild}</li>
      *     <li>{@link org.gradle.tooling.model.build.BuildEnvironment}</li>
+     *     <li>{@link org.gradle.tooling.model.build.BuildMetrics}</li>
      *     <li>{@link org.gradle.tooling.model.GradleProject}</li>
      *     <li>{@link org.gradle.tooling.model.gradle.BuildInvocations}</li>
      *     <li>{@link org.gradle.tooling.model.gradle.ProjectPublications}</li>
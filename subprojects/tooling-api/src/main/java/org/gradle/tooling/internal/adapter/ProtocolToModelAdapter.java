@@ -50,8 +50,16 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Adapts some source object to some target view type.
+ *
+ * <p>By default, each view is a {@link Proxy} that dispatches to the source object using reflection. When generated views are enabled, views without mix-ins
+ * are instead instances of a class generated for each pair of view type and source type, which calls the methods of the source object directly.
+ * Generated views fall back to the reflective implementation for methods that cannot be called directly and are replaced by proxies when serialized.</p>
  */
 public class ProtocolToModelAdapter implements ObjectGraphAdapter {
+    /**
+     * Enables generated views for adapters created without explicitly specifying whether to use them.
+     */
+    public static final String GENERATED_VIEWS_PROPERTY = "org.gradle.tooling.internal.adapter.generatedViews";
     private static final ViewDecoration NO_OP_MAPPER = new NoOpDecoration();
     private static final TargetTypeProvider IDENTITY_TYPE_PROVIDER = new TargetTypeProvider() {
         public <T> Class<? extends T> getTargetType(Class<T> initialTargetType, Object protocolObject) {
@@ -65,8 +73,10 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
     private static final Class[] EMPTY_CLASS_ARRAY = new Class[0];
     private static final Method EQUALS_METHOD;
     private static final Method HASHCODE_METHOD;
+    private static final ViewClassGenerator VIEW_CLASS_GENERATOR = new ViewClassGenerator();
 
     private final TargetTypeProvider targetTypeProvider;
+    private final boolean generateViews;
 
     static {
         Method equalsMethod;
@@ -86,14 +96,23 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
     }
 
     public ProtocolToModelAdapter(TargetTypeProvider targetTypeProvider) {
+        this(targetTypeProvider, Boolean.getBoolean(GENERATED_VIEWS_PROPERTY));
+    }
+
+    public ProtocolToModelAdapter(boolean generateViews) {
+        this(IDENTITY_TYPE_PROVIDER, generateViews);
+    }
+
+    public ProtocolToModelAdapter(TargetTypeProvider targetTypeProvider, boolean generateViews) {
         this.targetTypeProvider = targetTypeProvider;
+        this.generateViews = generateViews;
     }
 
     /**
      * Creates an adapter for a single object graph. Each object adapted by the returned adapter is treated as part of the same object graph, for the purposes of caching etc.
      */
     public ObjectGraphAdapter newGraph() {
-        final ViewGraphDetails graphDetails = new ViewGraphDetails(targetTypeProvider);
+        final ViewGraphDetails graphDetails = new ViewGraphDetails(targetTypeProvider, generateViews);
         return new ObjectGraphAdapter() {
             @Override
             public <T> T adapt(Class<T> targetType, Object sourceObject) {
@@ -115,7 +134,7 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
         if (sourceObject == null) {
             return null;
         }
-        return createView(targetType, sourceObject, NO_OP_MAPPER, new ViewGraphDetails(targetTypeProvider));
+        return createView(targetType, sourceObject, NO_OP_MAPPER, new ViewGraphDetails(targetTypeProvider, generateViews));
     }
 
     /**
@@ -150,6 +169,15 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
             return targetType.cast(view);
         }
 
+        if (graphDetails.generateViews && decorationsForThisType.isNoOp()) {
+            ViewClassGenerator.GeneratedViewType generatedType = VIEW_CLASS_GENERATOR.generate(viewType, sourceObject.getClass());
+            if (generatedType != null) {
+                GeneratedView generatedView = generatedType.newView(sourceObject, new GeneratedViewDetails(targetType, decorationsForThisType, graphDetails, generatedType));
+                graphDetails.views.put(viewKey, generatedView);
+                return viewType.cast(generatedView);
+            }
+        }
+
         // Create a proxy
         InvocationHandlerImpl handler = new InvocationHandlerImpl(targetType, sourceObject, decorationsForThisType, graphDetails);
         Object proxy = Proxy.newProxyInstance(viewType.getClassLoader(), new Class<?>[]{viewType}, handler);
@@ -238,6 +266,9 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
      * Unpacks the source object from a given view object.
      */
     public Object unpack(Object viewObject) {
+        if (viewObject instanceof GeneratedView) {
+            return ((GeneratedView) viewObject).sourceObject;
+        }
         if (!Proxy.isProxyClass(viewObject.getClass()) || !(Proxy.getInvocationHandler(viewObject) instanceof InvocationHandlerImpl)) {
             throw new IllegalArgumentException("The given object is not a view object");
         }
@@ -249,9 +280,11 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
         // Transient, don't serialize all the views that happen to have been visited, recreate them when visited via the deserialized view
         private transient Map<ViewKey, Object> views = new HashMap<ViewKey, Object>();
         private final TargetTypeProvider typeProvider;
+        private final boolean generateViews;
 
-        ViewGraphDetails(TargetTypeProvider typeProvider) {
+        ViewGraphDetails(TargetTypeProvider typeProvider, boolean generateViews) {
             this.typeProvider = typeProvider;
+            this.generateViews = generateViews;
         }
 
         private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -341,6 +374,9 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
         public Object invoke(Object target, Method method, Object[] params) throws Throwable {
             if (EQUALS_METHOD.equals(method)) {
                 Object param = params[0];
+                if (param instanceof GeneratedView) {
+                    return sourceObject.equals(((GeneratedView) param).sourceObject);
+                }
                 if (param == null || !Proxy.isProxyClass(param.getClass())) {
                     return false;
                 }
@@ -363,6 +399,120 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
             this.proxy = proxy;
             graphDetails.views.put(new ViewKey(targetType, sourceObject, decoration), proxy);
         }
+
+        /**
+         * Returns a proxy for this handler, without registering it as the view of the source object.
+         */
+        Object getOrCreateProxy(Class<?> viewType) {
+            if (proxy == null) {
+                proxy = Proxy.newProxyInstance(viewType.getClassLoader(), new Class<?>[]{viewType}, this);
+            }
+            return proxy;
+        }
+    }
+
+    private static class GeneratedViewDetails {
+        private final Class<?> targetType;
+        private final ViewDecoration decoration;
+        private final ViewGraphDetails graphDetails;
+        private final ViewClassGenerator.GeneratedViewType type;
+
+        GeneratedViewDetails(Class<?> targetType, ViewDecoration decoration, ViewGraphDetails graphDetails, ViewClassGenerator.GeneratedViewType type) {
+            this.targetType = targetType;
+            this.decoration = decoration;
+            this.graphDetails = graphDetails;
+            this.type = type;
+        }
+    }
+
+    /**
+     * The base class for views generated by {@link ViewClassGenerator}. This type is public so that the generated classes, which are defined by their own
+     * ClassLoader, can extend it. It should not be used directly.
+     */
+    public abstract static class GeneratedView implements Serializable {
+        protected static final Object NOT_CACHED = new Object();
+
+        protected final Object sourceObject;
+        private final transient GeneratedViewDetails details;
+        private transient Object[] properties;
+        private transient InvocationHandlerImpl handler;
+
+        protected GeneratedView(Object sourceObject, Object details) {
+            this.sourceObject = sourceObject;
+            this.details = (GeneratedViewDetails) details;
+        }
+
+        protected abstract GeneratedView newView(Object sourceObject, Object details);
+
+        /**
+         * Returns the cached value of the given getter, or {@link #NOT_CACHED}.
+         */
+        protected final Object getCachedProperty(int method) {
+            return properties == null ? NOT_CACHED : properties[method];
+        }
+
+        /**
+         * Adapts the value returned by the source object for the given method, caching the result when the method is a getter.
+         */
+        protected final Object adaptResult(int method, Object result) {
+            ViewClassGenerator.GeneratedViewType type = details.type;
+            if (result != null) {
+                result = convert(type.getViewMethod(method).getGenericReturnType(), result, details.decoration, details.graphDetails);
+            }
+            if (type.isGetter(method)) {
+                if (properties == null) {
+                    properties = new Object[type.getViewMethodCount()];
+                    Arrays.fill(properties, NOT_CACHED);
+                }
+                properties[method] = result;
+            }
+            return result;
+        }
+
+        /**
+         * Invokes the given method using reflection, for methods that the generated class cannot call directly.
+         */
+        protected final Object invokeFallback(int method, Object[] params) throws Throwable {
+            return getHandler().invoke(this, details.type.getViewMethod(method), params);
+        }
+
+        private InvocationHandlerImpl getHandler() {
+            if (handler == null) {
+                handler = new InvocationHandlerImpl(details.targetType, sourceObject, details.decoration, details.graphDetails);
+            }
+            return handler;
+        }
+
+        /**
+         * Generated classes cannot be loaded by the receiver, so replace this view with an equivalent proxy.
+         */
+        protected final Object writeReplace() {
+            return getHandler().getOrCreateProxy(details.type.getViewType());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof GeneratedView) {
+                return sourceObject.equals(((GeneratedView) obj).sourceObject);
+            }
+            if (obj != null && Proxy.isProxyClass(obj.getClass()) && Proxy.getInvocationHandler(obj) instanceof InvocationHandlerImpl) {
+                return sourceObject.equals(((InvocationHandlerImpl) Proxy.getInvocationHandler(obj)).sourceObject);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return sourceObject.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return sourceObject.toString();
+        }
     }
 
     private static class ChainedMethodInvoker implements MethodInvoker {
@@ -979,7 +1129,7 @@ public class ProtocolToModelAdapter implements ObjectGraphAdapter {
             }
 
             ViewDecoration viewDecoration = MixInMappingAction.chain(viewDecorations);
-            return createView(viewType, sourceObject, viewDecoration, graphDetails != null ? graphDetails : new ViewGraphDetails(targetTypeProvider));
+            return createView(viewType, sourceObject, viewDecoration, graphDetails != null ? graphDetails : new ViewGraphDetails(targetTypeProvider, generateViews));
         }
     }
 }
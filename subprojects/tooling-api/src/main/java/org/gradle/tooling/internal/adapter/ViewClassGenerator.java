@@ -0,0 +1,527 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.adapter;
+
+import org.gradle.api.Nullable;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.MultiParentClassLoader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Generates a view class for each pair of view type and source type, used by {@link ProtocolToModelAdapter} instead of a {@link java.lang.reflect.Proxy}.
+ *
+ * <p>Each method of the view type that has a matching public method on the source type calls that method directly, adapts the return value and, for getters,
+ * caches the adapted value. All other methods are delegated to the reflective implementation, so that mix-ins, safe getters and {@code isXSupported()} methods
+ * keep working as before.</p>
+ *
+ * <p>The generated classes are cached per source type and are only softly referenced, so that they do not prevent the source and view ClassLoaders from being
+ * collected.</p>
+ */
+class ViewClassGenerator implements Opcodes {
+    private static final GeneratedViewType UNSUPPORTED = new GeneratedViewType(null, null, new Method[0], new boolean[0]);
+    private static final String BASE_TYPE = Type.getInternalName(ProtocolToModelAdapter.GeneratedView.class);
+    private static final String OBJECT_TYPE = Type.getInternalName(Object.class);
+    private static final String SOURCE_FIELD_DESCRIPTOR = Type.getDescriptor(Object.class);
+    private static final String NOT_CACHED_FIELD_DESCRIPTOR = Type.getDescriptor(Object.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object.class));
+    private static final String NEW_VIEW_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(ProtocolToModelAdapter.GeneratedView.class), Type.getType(Object.class), Type.getType(Object.class));
+    private static final String GET_CACHED_PROPERTY_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE);
+    private static final String ADAPT_RESULT_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE, Type.getType(Object.class));
+    private static final String INVOKE_FALLBACK_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE, Type.getType(Object[].class));
+    private static final String[] EMPTY_STRINGS = new String[0];
+
+    private final Map<Class<?>, Map<Class<?>, SoftReference<GeneratedViewType>>> generatedTypes = new WeakHashMap<Class<?>, Map<Class<?>, SoftReference<GeneratedViewType>>>();
+    private int counter;
+
+    /**
+     * Returns the view class for the given view and source types, or null when views of the given type cannot be generated.
+     */
+    @Nullable
+    public synchronized GeneratedViewType generate(Class<?> viewType, Class<?> sourceType) {
+        Map<Class<?>, SoftReference<GeneratedViewType>> typesForSource = generatedTypes.get(sourceType);
+        if (typesForSource == null) {
+            typesForSource = new HashMap<Class<?>, SoftReference<GeneratedViewType>>();
+            generatedTypes.put(sourceType, typesForSource);
+        }
+        SoftReference<GeneratedViewType> reference = typesForSource.get(viewType);
+        GeneratedViewType type = reference == null ? null : reference.get();
+        if (type == null) {
+            type = generateType(viewType, sourceType);
+            typesForSource.put(viewType, new SoftReference<GeneratedViewType>(type));
+        }
+        return type == UNSUPPORTED ? null : type;
+    }
+
+    private GeneratedViewType generateType(Class<?> viewType, Class<?> sourceType) {
+        if (!viewType.isInterface() || !Modifier.isPublic(viewType.getModifiers())) {
+            return UNSUPPORTED;
+        }
+        Map<String, List<Method>> methodsBySignature = collectViewMethods(viewType);
+        ClassLoader parent = createParentClassLoader(viewType, sourceType);
+        if (!isVisible(viewType, parent)) {
+            return UNSUPPORTED;
+        }
+
+        List<Method> viewMethods = new ArrayList<Method>(methodsBySignature.size());
+        List<List<Method>> bridgedMethods = new ArrayList<List<Method>>(methodsBySignature.size());
+        for (List<Method> methods : methodsBySignature.values()) {
+            Method viewMethod = mostSpecific(methods);
+            if (viewMethod == null || !isVisible(viewMethod, parent)) {
+                return UNSUPPORTED;
+            }
+            methods.remove(viewMethod);
+            viewMethods.add(viewMethod);
+            bridgedMethods.add(methods);
+        }
+
+        String generatedTypeName = BASE_TYPE.substring(0, BASE_TYPE.lastIndexOf('/') + 1) + "$GeneratedView$" + viewType.getSimpleName() + "$" + (++counter);
+        ClassWriter visitor = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        visitor.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, generatedTypeName, null, BASE_TYPE, new String[]{Type.getInternalName(viewType)});
+        addConstructor(visitor);
+        addNewViewMethod(visitor, generatedTypeName);
+
+        boolean[] getters = new boolean[viewMethods.size()];
+        for (int i = 0; i < viewMethods.size(); i++) {
+            Method viewMethod = viewMethods.get(i);
+            getters[i] = isGetter(viewMethod);
+            Method sourceMethod = findSourceMethod(sourceType, viewMethod);
+            if (sourceMethod != null && isVisible(sourceMethod, parent)) {
+                addDirectMethod(visitor, i, viewMethod, sourceMethod, getters[i]);
+            } else {
+                addFallbackMethod(visitor, i, viewMethod);
+            }
+            for (Method bridgedMethod : bridgedMethods.get(i)) {
+                addBridgeMethod(visitor, generatedTypeName, bridgedMethod, viewMethod);
+            }
+        }
+        visitor.visitEnd();
+
+        byte[] bytecode = visitor.toByteArray();
+        Class<?> generatedClass = new GeneratedViewClassLoader(parent).define(generatedTypeName.replace('/', '.'), bytecode);
+        ProtocolToModelAdapter.GeneratedView prototype;
+        try {
+            prototype = (ProtocolToModelAdapter.GeneratedView) generatedClass.getConstructor(Object.class, Object.class).newInstance(null, null);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        return new GeneratedViewType(viewType, prototype, viewMethods.toArray(new Method[0]), getters);
+    }
+
+    /**
+     * Collects the methods that the generated class must implement, grouped by name and parameter types. A group contains more than one method when
+     * a method is overridden with a covariant return type.
+     */
+    private static Map<String, List<Method>> collectViewMethods(Class<?> viewType) {
+        Map<String, List<Method>> methods = new LinkedHashMap<String, List<Method>>();
+        for (Method method : viewType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            String descriptor = Type.getMethodDescriptor(method);
+            String signature = method.getName() + descriptor.substring(0, descriptor.indexOf(')') + 1);
+            List<Method> group = methods.get(signature);
+            if (group == null) {
+                group = new ArrayList<Method>(1);
+                methods.put(signature, group);
+            }
+            group.add(method);
+        }
+        return methods;
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Selects the method whose return type can be returned from all of the given methods, preferring the declaration of the most specific type.
+     */
+    @Nullable
+    private static Method mostSpecific(List<Method> methods) {
+        Method candidate = methods.get(0);
+        for (int i = 1; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            if (candidate.getReturnType().equals(method.getReturnType())) {
+                if (candidate.getDeclaringClass().isAssignableFrom(method.getDeclaringClass())) {
+                    candidate = method;
+                }
+            } else if (candidate.getReturnType().isAssignableFrom(method.getReturnType())) {
+                candidate = method;
+            }
+        }
+        for (Method method : methods) {
+            if (!method.getReturnType().isAssignableFrom(candidate.getReturnType())) {
+                return null;
+            }
+        }
+        return candidate;
+    }
+
+    private static boolean isGetter(Method method) {
+        String name = method.getName();
+        return method.getParameterTypes().length == 0 && ((name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2));
+    }
+
+    /**
+     * Locates the method of the source type to call for the given view method, in the same way as the reflective implementation. Returns null when the
+     * source type has no such method or the method cannot be called from the generated class.
+     */
+    @Nullable
+    private static Method findSourceMethod(Class<?> sourceType, Method viewMethod) {
+        Method match;
+        try {
+            match = sourceType.getMethod(viewMethod.getName(), viewMethod.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        LinkedList<Class<?>> queue = new LinkedList<Class<?>>();
+        queue.add(sourceType);
+        while (!queue.isEmpty()) {
+            Class<?> c = queue.removeFirst();
+            try {
+                match = c.getMethod(viewMethod.getName(), viewMethod.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                // ignore
+            }
+            for (Class<?> interfaceType : c.getInterfaces()) {
+                queue.addFirst(interfaceType);
+            }
+            if (c.getSuperclass() != null) {
+                queue.addFirst(c.getSuperclass());
+            }
+        }
+        if (Modifier.isStatic(match.getModifiers()) || !Modifier.isPublic(match.getDeclaringClass().getModifiers())) {
+            return null;
+        }
+        return match;
+    }
+
+    private static ClassLoader createParentClassLoader(Class<?> viewType, Class<?> sourceType) {
+        List<ClassLoader> parents = new ArrayList<ClassLoader>(3);
+        addClassLoader(parents, ProtocolToModelAdapter.GeneratedView.class.getClassLoader());
+        addClassLoader(parents, viewType.getClassLoader());
+        addClassLoader(parents, sourceType.getClassLoader());
+        return new MultiParentClassLoader(parents);
+    }
+
+    private static void addClassLoader(List<ClassLoader> parents, @Nullable ClassLoader classLoader) {
+        if (classLoader != null && !parents.contains(classLoader)) {
+            parents.add(classLoader);
+        }
+    }
+
+    private static boolean isVisible(Method method, ClassLoader classLoader) {
+        if (!isVisible(method.getDeclaringClass(), classLoader) || !isVisible(method.getReturnType(), classLoader)) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType, classLoader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true when the given type is the type that the generated class will see for its name. The view and source ClassLoaders may
+     * each have their own copy of a type.
+     */
+    private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, classLoader) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static void addConstructor(ClassWriter visitor) {
+        MethodVisitor methodVisitor = visitor.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, EMPTY_STRINGS);
+        methodVisitor.visitCode();
+        // super(sourceObject, details)
+        methodVisitor.visitVarInsn(ALOAD, 0);
+        methodVisitor.visitVarInsn(ALOAD, 1);
+        methodVisitor.visitVarInsn(ALOAD, 2);
+        methodVisitor.visitMethodInsn(INVOKESPECIAL, BASE_TYPE, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        methodVisitor.visitInsn(RETURN);
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    private static void addNewViewMethod(ClassWriter visitor, String generatedTypeName) {
+        MethodVisitor methodVisitor = visitor.visitMethod(ACC_PROTECTED, "newView", NEW_VIEW_DESCRIPTOR, null, EMPTY_STRINGS);
+        methodVisitor.visitCode();
+        // return new <generated>(sourceObject, details)
+        methodVisitor.visitTypeInsn(NEW, generatedTypeName);
+        methodVisitor.visitInsn(DUP);
+        methodVisitor.visitVarInsn(ALOAD, 1);
+        methodVisitor.visitVarInsn(ALOAD, 2);
+        methodVisitor.visitMethodInsn(INVOKESPECIAL, generatedTypeName, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        methodVisitor.visitInsn(ARETURN);
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    private static void addDirectMethod(ClassWriter visitor, int index, Method viewMethod, Method sourceMethod, boolean getter) {
+        MethodVisitor methodVisitor = visitor.visitMethod(ACC_PUBLIC, viewMethod.getName(), Type.getMethodDescriptor(viewMethod), null, EMPTY_STRINGS);
+        methodVisitor.visitCode();
+        Class<?> returnType = viewMethod.getReturnType();
+        int resultVar = parametersSize(viewMethod) + 1;
+
+        if (getter && returnType != void.class) {
+            // Object result = getCachedProperty(index); if (result != NOT_CACHED) { return (ReturnType) result; }
+            Label notCached = new Label();
+            methodVisitor.visitVarInsn(ALOAD, 0);
+            pushInt(methodVisitor, index);
+            methodVisitor.visitMethodInsn(INVOKEVIRTUAL, BASE_TYPE, "getCachedProperty", GET_CACHED_PROPERTY_DESCRIPTOR, false);
+            methodVisitor.visitVarInsn(ASTORE, resultVar);
+            methodVisitor.visitVarInsn(ALOAD, resultVar);
+            methodVisitor.visitFieldInsn(GETSTATIC, BASE_TYPE, "NOT_CACHED", NOT_CACHED_FIELD_DESCRIPTOR);
+            methodVisitor.visitJumpInsn(IF_ACMPEQ, notCached);
+            methodVisitor.visitVarInsn(ALOAD, resultVar);
+            unboxOrCast(methodVisitor, returnType);
+            methodVisitor.visitInsn(Type.getType(returnType).getOpcode(IRETURN));
+            methodVisitor.visitLabel(notCached);
+        }
+
+        // ((SourceType) sourceObject).method(p0 .. pn)
+        Class<?> declaringType = sourceMethod.getDeclaringClass();
+        methodVisitor.visitVarInsn(ALOAD, 0);
+        methodVisitor.visitFieldInsn(GETFIELD, BASE_TYPE, "sourceObject", SOURCE_FIELD_DESCRIPTOR);
+        methodVisitor.visitTypeInsn(CHECKCAST, Type.getInternalName(declaringType));
+        loadParameters(methodVisitor, viewMethod);
+        methodVisitor.visitMethodInsn(declaringType.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(declaringType), sourceMethod.getName(), Type.getMethodDescriptor(sourceMethod), declaringType.isInterface());
+
+        Class<?> sourceReturnType = sourceMethod.getReturnType();
+        if (returnType == void.class) {
+            if (sourceReturnType != void.class) {
+                methodVisitor.visitInsn(Type.getType(sourceReturnType).getSize() == 2 ? POP2 : POP);
+            }
+            methodVisitor.visitInsn(RETURN);
+        } else {
+            // return (ReturnType) adaptResult(index, result)
+            if (sourceReturnType == void.class) {
+                methodVisitor.visitInsn(ACONST_NULL);
+            } else {
+                box(methodVisitor, sourceReturnType);
+            }
+            methodVisitor.visitVarInsn(ASTORE, resultVar);
+            methodVisitor.visitVarInsn(ALOAD, 0);
+            pushInt(methodVisitor, index);
+            methodVisitor.visitVarInsn(ALOAD, resultVar);
+            methodVisitor.visitMethodInsn(INVOKEVIRTUAL, BASE_TYPE, "adaptResult", ADAPT_RESULT_DESCRIPTOR, false);
+            unboxOrCast(methodVisitor, returnType);
+            methodVisitor.visitInsn(Type.getType(returnType).getOpcode(IRETURN));
+        }
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    private static void addFallbackMethod(ClassWriter visitor, int index, Method viewMethod) {
+        MethodVisitor methodVisitor = visitor.visitMethod(ACC_PUBLIC, viewMethod.getName(), Type.getMethodDescriptor(viewMethod), null, EMPTY_STRINGS);
+        methodVisitor.visitCode();
+
+        // return (ReturnType) invokeFallback(index, new Object[] {p0 .. pn})
+        methodVisitor.visitVarInsn(ALOAD, 0);
+        pushInt(methodVisitor, index);
+        Class<?>[] parameterTypes = viewMethod.getParameterTypes();
+        if (parameterTypes.length == 0) {
+            methodVisitor.visitInsn(ACONST_NULL);
+        } else {
+            pushInt(methodVisitor, parameterTypes.length);
+            methodVisitor.visitTypeInsn(ANEWARRAY, OBJECT_TYPE);
+            int var = 1;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Type parameterType = Type.getType(parameterTypes[i]);
+                methodVisitor.visitInsn(DUP);
+                pushInt(methodVisitor, i);
+                methodVisitor.visitVarInsn(parameterType.getOpcode(ILOAD), var);
+                box(methodVisitor, parameterTypes[i]);
+                methodVisitor.visitInsn(AASTORE);
+                var += parameterType.getSize();
+            }
+        }
+        methodVisitor.visitMethodInsn(INVOKEVIRTUAL, BASE_TYPE, "invokeFallback", INVOKE_FALLBACK_DESCRIPTOR, false);
+
+        Class<?> returnType = viewMethod.getReturnType();
+        if (returnType == void.class) {
+            methodVisitor.visitInsn(POP);
+            methodVisitor.visitInsn(RETURN);
+        } else {
+            unboxOrCast(methodVisitor, returnType);
+            methodVisitor.visitInsn(Type.getType(returnType).getOpcode(IRETURN));
+        }
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    /**
+     * Adds a method with a less specific return type that delegates to the implementation of the most specific one.
+     */
+    private static void addBridgeMethod(ClassWriter visitor, String generatedTypeName, Method bridgedMethod, Method viewMethod) {
+        MethodVisitor methodVisitor = visitor.visitMethod(ACC_PUBLIC | ACC_BRIDGE | ACC_SYNTHETIC, bridgedMethod.getName(), Type.getMethodDescriptor(bridgedMethod), null, EMPTY_STRINGS);
+        methodVisitor.visitCode();
+        methodVisitor.visitVarInsn(ALOAD, 0);
+        loadParameters(methodVisitor, viewMethod);
+        methodVisitor.visitMethodInsn(INVOKEVIRTUAL, generatedTypeName, viewMethod.getName(), Type.getMethodDescriptor(viewMethod), false);
+        methodVisitor.visitInsn(Type.getType(bridgedMethod.getReturnType()).getOpcode(IRETURN));
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    private static int parametersSize(Method method) {
+        int size = 0;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            size += Type.getType(parameterType).getSize();
+        }
+        return size;
+    }
+
+    private static void loadParameters(MethodVisitor methodVisitor, Method method) {
+        int var = 1;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            Type type = Type.getType(parameterType);
+            methodVisitor.visitVarInsn(type.getOpcode(ILOAD), var);
+            var += type.getSize();
+        }
+    }
+
+    private static void pushInt(MethodVisitor methodVisitor, int value) {
+        if (value <= 5) {
+            methodVisitor.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            methodVisitor.visitIntInsn(BIPUSH, value);
+        } else if (value <= Short.MAX_VALUE) {
+            methodVisitor.visitIntInsn(SIPUSH, value);
+        } else {
+            methodVisitor.visitLdcInsn(value);
+        }
+    }
+
+    private static void box(MethodVisitor methodVisitor, Class<?> type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        Type boxedType = Type.getType(boxedType(type));
+        methodVisitor.visitMethodInsn(INVOKESTATIC, boxedType.getInternalName(), "valueOf", Type.getMethodDescriptor(boxedType, Type.getType(type)), false);
+    }
+
+    private static void unboxOrCast(MethodVisitor methodVisitor, Class<?> type) {
+        if (type.isPrimitive()) {
+            String boxedType = Type.getInternalName(boxedType(type));
+            methodVisitor.visitTypeInsn(CHECKCAST, boxedType);
+            methodVisitor.visitMethodInsn(INVOKEVIRTUAL, boxedType, type.getName() + "Value", Type.getMethodDescriptor(Type.getType(type)), false);
+        } else if (!type.equals(Object.class)) {
+            methodVisitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        }
+    }
+
+    private static Class<?> boxedType(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else {
+            return Double.class;
+        }
+    }
+
+    private static class GeneratedViewClassLoader extends ClassLoader {
+        GeneratedViewClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+
+    /**
+     * A generated view class, along with the view methods that it implements.
+     */
+    static class GeneratedViewType {
+        private final Class<?> viewType;
+        private final ProtocolToModelAdapter.GeneratedView prototype;
+        private final Method[] viewMethods;
+        private final boolean[] getters;
+
+        GeneratedViewType(Class<?> viewType, ProtocolToModelAdapter.GeneratedView prototype, Method[] viewMethods, boolean[] getters) {
+            this.viewType = viewType;
+            this.prototype = prototype;
+            this.viewMethods = viewMethods;
+            this.getters = getters;
+        }
+
+        Class<?> getViewType() {
+            return viewType;
+        }
+
+        ProtocolToModelAdapter.GeneratedView newView(Object sourceObject, Object details) {
+            return prototype.newView(sourceObject, details);
+        }
+
+        int getViewMethodCount() {
+            return viewMethods.length;
+        }
+
+        Method getViewMethod(int index) {
+            return viewMethods[index];
+        }
+
+        boolean isGetter(int index) {
+            return getters[index];
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.tooling.internal.build;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+public class DefaultBuildMetrics implements Serializable {
+    private final Map<String, Long> counters;
+    private final List<DefaultHistogramMetric> histograms;
+
+    public DefaultBuildMetrics(Map<String, Long> counters, List<DefaultHistogramMetric> histograms) {
+        this.counters = counters;
+        this.histograms = histograms;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public List<DefaultHistogramMetric> getHistograms() {
+        return histograms;
+    }
+}
@@ -25,6 +25,7 @@ import org.gradle.tooling.internal.protocol.eclipse.HierarchicalEclipseProjectVe
 import org.gradle.tooling.model.gradle.GradleBuild;
 import org.gradle.tooling.model.GradleProject;
 import org.gradle.tooling.model.build.BuildEnvironment;
+import org.gradle.tooling.model.build.BuildMetrics;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 import org.gradle.tooling.model.eclipse.HierarchicalEclipseProject;
 import org.gradle.tooling.model.gradle.ProjectPublications;
@@ -57,6 +58,7 @@ public class ModelMapping {
         map.put(Void.class, "1.0-milestone-3");
         map.put(GradleBuild.class, "1.8");
         map.put(ProjectPublications.class, "1.12");
+        map.put(BuildMetrics.class, "3.2");
     }
 
     static void addModelToProtocolMappings(Map<Class<?>, Class<?>> map) {
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.tooling.model.build;
+
+import org.gradle.api.Incubating;
+import org.gradle.tooling.model.DomainObjectSet;
+import org.gradle.tooling.model.Model;
+
+import java.util.Map;
+
+/**
+ * Internal metrics collected by Gradle during the current build, such as the number of files hashed, task history cache hits and misses, time spent
+ * waiting for cache locks and the number of network requests. Useful for diagnosing slow builds.
+ *
+ * <p>The values cover the build up to the point where the model is built. Request the model after running tasks to include task execution.
+ * The names of the metrics are not part of the public API and may change between Gradle versions.</p>
+ *
+ * @since 3.2
+ */
+@Incubating
+public interface BuildMetrics extends Model {
+    /**
+     * Returns the value of each counter, keyed by counter name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the recorded histograms, such as durations.
+     */
+    DomainObjectSet<? extends HistogramMetric> getHistograms();
+}
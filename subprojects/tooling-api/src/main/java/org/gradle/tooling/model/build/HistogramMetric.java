@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.tooling.model.build;
+
+import org.gradle.api.Incubating;
+
+/**
+ * Summarizes the values recorded by a histogram metric during the build. The unit of the values is part of the name, for example {@code Ms} for milliseconds.
+ *
+ * @since 3.2
+ */
+@Incubating
+public interface HistogramMetric {
+    /**
+     * Returns the name of this metric.
+     */
+    String getName();
+
+    /**
+     * Returns the number of values recorded.
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of the values recorded.
+     */
+    long getTotal();
+
+    /**
+     * Returns the largest value recorded.
+     */
+    long getMax();
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.adapter
+
+import org.gradle.tooling.model.DomainObjectSet
+
+import java.lang.reflect.Proxy
+
+class GeneratedViewsProtocolToModelAdapterTest extends ProtocolToModelAdapterTest {
+    @Override
+    ProtocolToModelAdapter createAdapter() {
+        return new ProtocolToModelAdapter(true)
+    }
+
+    def "uses generated class rather than proxy for view without mix ins"() {
+        def protocolModel = new TestModelImpl()
+
+        expect:
+        def model = adapter.adapt(TestModel.class, protocolModel)
+        model instanceof ProtocolToModelAdapter.GeneratedView
+        !Proxy.isProxyClass(model.getClass())
+        model.project instanceof ProtocolToModelAdapter.GeneratedView
+
+        and:
+        def other = adapter.adapt(TestModel.class, new TestModelImpl())
+        other.getClass() == model.getClass()
+    }
+
+    def "uses proxy for view with mix ins"() {
+        def protocolModel = new TestModelImpl()
+
+        expect:
+        def model = adapter.builder(TestModel.class).mixInTo(TestModel, ConfigMixin).build(protocolModel)
+        Proxy.isProxyClass(model.getClass())
+    }
+
+    def "generated view and proxy for same source object are equal"() {
+        def protocolModel = new TestModelImpl()
+
+        expect:
+        def generated = adapter.adapt(TestModel.class, protocolModel)
+        def proxy = new ProtocolToModelAdapter(false).adapt(TestModel.class, protocolModel)
+        generated == proxy
+        proxy == generated
+        generated.hashCode() == proxy.hashCode()
+    }
+
+    def "implements methods that are overridden with covariant return type"() {
+        def protocolModel = new TestProtocolTreeImpl(name: "parent")
+        protocolModel.children = [new TestProtocolTreeImpl(name: "child", parent: protocolModel)]
+
+        expect:
+        def model = adapter.adapt(TestCovariantTree.class, protocolModel)
+        model.children.size() == 1
+        model.children[0] instanceof TestCovariantTree
+        model.children[0].parent.is(model)
+        ((TestTreeElement) model.children[0]).parent.is(model)
+        model.parent == null
+    }
+
+    def "calls source methods with primitive parameters and return types"() {
+        def source = new TestPrimitivesImpl()
+
+        expect:
+        def view = adapter.adapt(TestPrimitives.class, source)
+        view.add(1L, 2) == 3L
+        view.enabled
+        view.ratio(2.0d) == 1.0d
+        view.reset()
+        source.resetCount == 1
+    }
+}
+
+interface TestTreeElement {
+    TestTreeElement getParent()
+
+    DomainObjectSet<? extends TestTreeElement> getChildren()
+}
+
+interface TestCovariantTree extends TestTreeElement {
+    TestCovariantTree getParent()
+
+    DomainObjectSet<? extends TestCovariantTree> getChildren()
+}
+
+class TestProtocolTreeImpl {
+    String name
+    TestProtocolTreeImpl parent
+    List<TestProtocolTreeImpl> children = []
+}
+
+interface TestPrimitives {
+    long add(long a, int b)
+
+    boolean isEnabled()
+
+    double ratio(double value)
+
+    void reset()
+}
+
+class TestPrimitivesImpl {
+    int resetCount
+
+    long add(long a, int b) {
+        return a + b
+    }
+
+    boolean isEnabled() {
+        return true
+    }
+
+    double ratio(double value) {
+        return value / 2
+    }
+
+    int reset() {
+        return ++resetCount
+    }
+}
@@ -22,6 +22,7 @@ import org.gradle.tooling.internal.protocol.eclipse.HierarchicalEclipseProjectVe
 import org.gradle.tooling.model.gradle.GradleBuild
 import org.gradle.tooling.model.GradleProject
 import org.gradle.tooling.model.build.BuildEnvironment
+import org.gradle.tooling.model.build.BuildMetrics
 import org.gradle.tooling.model.eclipse.EclipseProject
 import org.gradle.tooling.model.eclipse.HierarchicalEclipseProject
 import org.gradle.tooling.model.idea.BasicIdeaProject
@@ -108,6 +109,7 @@ class ModelMappingTest extends Specification {
         BuildEnvironment           | "1.0-milestone-8"
         ProjectOutcomes            | "1.2"
         GradleBuild                | "1.8"
+        BuildMetrics               | "3.2"
         CustomModel                | null
     }
 }